@@ -0,0 +1,79 @@
+/**
+ * Copyright (c), Data Geekery GmbH, contact@datageekery.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jooq.lambda;
+
+/**
+ * A Bloom filter of keys, based on their 64 bit hashes, as computed by
+ * {@link SeqUtils#hash64(Object)}.
+ * <p>
+ * The filter is sized for an expected number of keys and a false positive
+ * probability when it is created, and doesn't grow. Adding more keys than
+ * expected increases the false positive probability. Keys that are hashed
+ * based on their {@link Object#hashCode()}, and whose hash codes are equal,
+ * are indistinguishable.
+ *
+ * @author Lukas Eder
+ */
+final class BloomFilter {
+
+    /**
+     * The maximum number of bits, given that bits are stored in a
+     * <code>long[]</code>.
+     */
+    private static final long MAX_BITS = (long) Integer.MAX_VALUE * Long.SIZE;
+
+    private final long[]      bits;
+    private final long        size;
+    private final int         hashes;
+
+    BloomFilter(long expectedKeys, double falsePositiveProbability) {
+        if (expectedKeys < 1)
+            throw new IllegalArgumentException("Expected keys must be >= 1");
+        if (!(falsePositiveProbability > 0.0 && falsePositiveProbability < 1.0))
+            throw new IllegalArgumentException("False positive probability must be > 0.0 and < 1.0");
+
+        double ln2 = Math.log(2);
+        long m = (long) Math.ceil(-expectedKeys * Math.log(falsePositiveProbability) / (ln2 * ln2));
+
+        this.size = Math.max(Long.SIZE, Math.min(m, MAX_BITS));
+        this.hashes = (int) Math.max(1, Math.round((double) size / expectedKeys * ln2));
+        this.bits = new long[(int) ((size + Long.SIZE - 1) / Long.SIZE)];
+    }
+
+    /**
+     * Add a key, returning <code>true</code> if it was definitely not
+     * contained yet, or <code>false</code> if it was possibly contained.
+     */
+    boolean add(Object key) {
+        long h1 = SeqUtils.hash64(key);
+        long h2 = SeqUtils.hash64(h1) | 1L;
+        boolean added = false;
+
+        // Kirsch and Mitzenmacher's double hashing derives all hash functions from two
+        for (int i = 0; i < hashes; i++) {
+            long bit = Long.remainderUnsigned(h1 + i * h2, size);
+            int index = (int) (bit >>> 6);
+            long mask = 1L << bit;
+
+            if ((bits[index] & mask) == 0) {
+                bits[index] |= mask;
+                added = true;
+            }
+        }
+
+        return added;
+    }
+}
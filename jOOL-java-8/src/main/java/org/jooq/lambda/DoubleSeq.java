@@ -0,0 +1,484 @@
+/**
+ * Copyright (c), Data Geekery GmbH, contact@datageekery.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jooq.lambda;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalDouble;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleConsumer;
+import java.util.function.DoubleFunction;
+import java.util.function.DoublePredicate;
+import java.util.function.DoubleSupplier;
+import java.util.function.DoubleToIntFunction;
+import java.util.function.DoubleToLongFunction;
+import java.util.function.DoubleUnaryOperator;
+import java.util.stream.Collectors;
+import java.util.stream.DoubleStream;
+import java.util.stream.StreamSupport;
+
+import org.jooq.lambda.tuple.Tuple2;
+
+/**
+ * A sequential, ordered {@link DoubleStream} that adds all sorts of useful methods
+ * known from {@link Seq}, operating on primitive <code>double</code> values
+ * without boxing them.
+ * <p>
+ * Scans, sliding windows and aggregates work directly on primitive arrays.
+ * Values are only boxed when explicitly leaving the primitive world, e.g.
+ * through {@link #boxed()}, {@link #mapToObj(DoubleFunction)} or
+ * {@link #zipWithIndex()}.
+ *
+ * @author Lukas Eder
+ */
+public interface DoubleSeq extends DoubleStream {
+
+    /**
+     * The underlying {@link DoubleStream} implementation.
+     */
+    DoubleStream stream();
+
+    /**
+     * @see DoubleStream#of(double...)
+     */
+    static DoubleSeq of(double... values) {
+        return values == null ? empty() : seq(DoubleStream.of(values));
+    }
+
+    /**
+     * @see DoubleStream#empty()
+     */
+    static DoubleSeq empty() {
+        return seq(DoubleStream.empty());
+    }
+
+    /**
+     * Wrap a <code>DoubleStream</code> into a <code>DoubleSeq</code>.
+     */
+    static DoubleSeq seq(DoubleStream stream) {
+        if (stream == null)
+            return empty();
+
+        if (stream instanceof DoubleSeq)
+            return (DoubleSeq) stream;
+
+        return new DoubleSeqImpl(stream);
+    }
+
+    /**
+     * Wrap a <code>Spliterator</code> into a <code>DoubleSeq</code>.
+     */
+    static DoubleSeq seq(Spliterator.OfDouble spliterator) {
+        return seq(StreamSupport.doubleStream(spliterator, false));
+    }
+
+    /**
+     * @see DoubleStream#iterate(double, DoubleUnaryOperator)
+     */
+    static DoubleSeq iterate(double seed, DoubleUnaryOperator f) {
+        return seq(DoubleStream.iterate(seed, f));
+    }
+
+    /**
+     * @see DoubleStream#generate(DoubleSupplier)
+     */
+    static DoubleSeq generate(DoubleSupplier s) {
+        return seq(DoubleStream.generate(s));
+    }
+
+    /**
+     * Concatenate two streams.
+     * <p>
+     * <code><pre>
+     * // (1.0, 2.0, 3.0, 4.0, 5.0, 6.0)
+     * DoubleSeq.of(1.0, 2.0, 3.0).concat(DoubleSeq.of(4.0, 5.0, 6.0))
+     * </pre></code>
+     */
+    default DoubleSeq concat(DoubleStream other) {
+        return seq(DoubleStream.concat(this, other));
+    }
+
+    /**
+     * Scan a stream to the left.
+     * <p>
+     * <code><pre>
+     * // (0.0, 1.0, 3.0, 6.0)
+     * DoubleSeq.of(1.0, 2.0, 3.0).scanLeft(0.0, (a, b) -> a + b)
+     * </pre></code>
+     */
+    default DoubleSeq scanLeft(double seed, DoubleBinaryOperator function) {
+        double[] value = { seed };
+
+        return of(seed).concat(PrimitiveSeqUtils.transform(this, (delegate, action) ->
+            delegate.tryAdvance((double t) -> action.accept(value[0] = function.applyAsDouble(value[0], t)))
+        ));
+    }
+
+    /**
+     * Returns a stream limited to all elements for which a predicate evaluates to <code>true</code>.
+     * <p>
+     * <code><pre>
+     * // (1.0, 2.0)
+     * DoubleSeq.of(1.0, 2.0, 3.0, 4.0, 5.0).limitWhile(d -> d &lt; 3.0)
+     * </pre></code>
+     */
+    default DoubleSeq limitWhile(DoublePredicate predicate) {
+        return limitUntil(predicate.negate());
+    }
+
+    /**
+     * Returns a stream limited to all elements for which a predicate evaluates to <code>false</code>.
+     * <p>
+     * <code><pre>
+     * // (1.0, 2.0)
+     * DoubleSeq.of(1.0, 2.0, 3.0, 4.0, 5.0).limitUntil(d -> d == 3.0)
+     * </pre></code>
+     */
+    default DoubleSeq limitUntil(DoublePredicate predicate) {
+        boolean[] test = { false };
+
+        return PrimitiveSeqUtils.transform(this, (delegate, action) ->
+            !test[0] && delegate.tryAdvance((double t) -> {
+                if (!(test[0] = predicate.test(t)))
+                    action.accept(t);
+            })
+        );
+    }
+
+    /**
+     * Returns a stream with all elements skipped for which a predicate evaluates to <code>true</code>.
+     * <p>
+     * <code><pre>
+     * // (3.0, 4.0, 5.0)
+     * DoubleSeq.of(1.0, 2.0, 3.0, 4.0, 5.0).skipWhile(d -> d &lt; 3.0)
+     * </pre></code>
+     */
+    default DoubleSeq skipWhile(DoublePredicate predicate) {
+        return skipUntil(predicate.negate());
+    }
+
+    /**
+     * Returns a stream with all elements skipped for which a predicate evaluates to <code>false</code>.
+     * <p>
+     * <code><pre>
+     * // (3.0, 4.0, 5.0)
+     * DoubleSeq.of(1.0, 2.0, 3.0, 4.0, 5.0).skipUntil(d -> d == 3.0)
+     * </pre></code>
+     */
+    default DoubleSeq skipUntil(DoublePredicate predicate) {
+        // [0]: true = we've skipped values until the predicate yielded true
+        // [1]: true = there is at least one value that was considered for skipping
+        boolean[] test = { false, false };
+
+        return PrimitiveSeqUtils.transform(this, (delegate, action) -> {
+            if (test[0]) {
+                return delegate.tryAdvance(action);
+            }
+            else {
+                do {
+                    test[1] = delegate.tryAdvance((double t) -> {
+                        if (test[0] = predicate.test(t))
+                            action.accept(t);
+                    });
+                }
+                while (test[1] && !test[0]);
+                return test[0];
+            }
+        });
+    }
+
+    /**
+     * Zip two streams into one using a {@link DoubleBinaryOperator} to
+     * produce resulting values.
+     * <p>
+     * <code><pre>
+     * // (5.0, 7.0, 9.0)
+     * DoubleSeq.of(1.0, 2.0, 3.0).zip(DoubleSeq.of(4.0, 5.0, 6.0), (a, b) -> a + b)
+     * </pre></code>
+     */
+    default DoubleSeq zip(DoubleStream other, DoubleBinaryOperator zipper) {
+        Spliterator.OfDouble s1 = spliterator();
+        Spliterator.OfDouble s2 = other.spliterator();
+        double[] value = { 0.0 };
+
+        return seq(new Spliterators.AbstractDoubleSpliterator(
+            Math.min(s1.estimateSize(), s2.estimateSize()),
+            s1.characteristics() & s2.characteristics() & (Spliterator.ORDERED | Spliterator.SIZED)
+        ) {
+            @Override
+            public boolean tryAdvance(DoubleConsumer action) {
+                return s1.tryAdvance((double t) -> value[0] = t)
+                    && s2.tryAdvance((double u) -> action.accept(zipper.applyAsDouble(value[0], u)));
+            }
+        }).onClose(SeqUtils.closeAll(this, other));
+    }
+
+    /**
+     * Zip a stream with a corresponding stream of indexes.
+     * <p>
+     * <code><pre>
+     * // (tuple(7.0, 0L), tuple(8.0, 1L), tuple(9.0, 2L))
+     * DoubleSeq.of(7.0, 8.0, 9.0).zipWithIndex()
+     * </pre></code>
+     */
+    default Seq<Tuple2<Double, Long>> zipWithIndex() {
+        return boxed().zipWithIndex();
+    }
+
+    /**
+     * Map this stream to a stream containing a sliding window over the
+     * previous stream.
+     * <p>
+     * Each window is a new array of exactly <code>size</code> values.
+     * <p>
+     * <code><pre>
+     * // ([1.0, 2.0, 3.0], [2.0, 3.0, 4.0], [3.0, 4.0, 5.0])
+     * DoubleSeq.of(1.0, 2.0, 3.0, 4.0, 5.0).sliding(3)
+     * </pre></code>
+     */
+    default Seq<double[]> sliding(int size) {
+        if (size <= 0)
+            throw new IllegalArgumentException("Size must be >= 1");
+
+        Spliterator.OfDouble delegate = spliterator();
+        double[] ring = new double[size];
+        long[] count = { 0L };
+        DoubleConsumer push = t -> ring[(int) (count[0]++ % size)] = t;
+
+        return Seq.seq((FunctionalSpliterator<double[]>) action -> {
+            while (count[0] < size - 1 && delegate.tryAdvance(push));
+
+            if (!delegate.tryAdvance(push))
+                return false;
+
+            // The oldest value of the window is the one after the newest one
+            int oldest = (int) (count[0] % size);
+            double[] window = new double[size];
+            System.arraycopy(ring, oldest, window, 0, size - oldest);
+            System.arraycopy(ring, 0, window, size - oldest, oldest);
+            action.accept(window);
+            return true;
+        }).onClose(this::close);
+    }
+
+    /**
+     * Classify this stream's elements according to a given classifier
+     * function, collecting each group's values in a primitive array.
+     * <p>
+     * <code><pre>
+     * // (tuple(1.0, DoubleSeq(1.0, 3.0, 5.0)), tuple(0.0, DoubleSeq(2.0, 4.0, 6.0)))
+     * DoubleSeq.of(1.0, 2.0, 3.0, 4.0, 5.0, 6.0).grouped(d -> d % 2)
+     * </pre></code>
+     */
+    default <K> Seq<Tuple2<K, DoubleSeq>> grouped(DoubleFunction<? extends K> classifier) {
+        return Seq.seq(() -> this.<K>groupBy(classifier))
+                  .flatMap(Seq::seq)
+                  .map(t -> t.map2(DoubleSeq::of))
+                  .onClose(this::close);
+    }
+
+    /**
+     * Classify this stream's elements according to a given classifier
+     * function, collecting each group's values in a primitive array.
+     * <p>
+     * <code><pre>
+     * // {1.0: [1.0, 3.0, 5.0], 0.0: [2.0, 4.0, 6.0]}
+     * DoubleSeq.of(1.0, 2.0, 3.0, 4.0, 5.0, 6.0).groupBy(d -> d % 2)
+     * </pre></code>
+     */
+    default <K> Map<K, double[]> groupBy(DoubleFunction<? extends K> classifier) {
+        Map<K, DoubleStream.Builder> builders = collect(
+            LinkedHashMap<K, DoubleStream.Builder>::new,
+            (m, t) -> m.computeIfAbsent(classifier.apply(t), k -> DoubleStream.builder()).accept(t),
+            (m1, m2) -> m2.forEach((k, b) -> b.build().forEachOrdered(m1.computeIfAbsent(k, x -> DoubleStream.builder())))
+        );
+
+        Map<K, double[]> result = new LinkedHashMap<>();
+        builders.forEach((k, b) -> result.put(k, b.build().toArray()));
+        return result;
+    }
+
+    /**
+     * Reverse a stream.
+     * <p>
+     * <code><pre>
+     * // (3.0, 2.0, 1.0)
+     * DoubleSeq.of(1.0, 2.0, 3.0).reverse()
+     * </pre></code>
+     */
+    default DoubleSeq reverse() {
+        double[][] array = { null };
+        int[] index = { 0 };
+
+        return PrimitiveSeqUtils.transform(this, (delegate, action) -> {
+            if (array[0] == null) {
+                array[0] = seq(delegate).toArray();
+                index[0] = array[0].length;
+            }
+
+            if (index[0] == 0)
+                return false;
+
+            action.accept(array[0][--index[0]]);
+            return true;
+        });
+    }
+
+    /**
+     * Get the median value.
+     * <p>
+     * This is the same as calling {@link #percentile(double)} with
+     * <code>0.5</code>.
+     */
+    default OptionalDouble median() {
+        return percentile(0.5);
+    }
+
+    /**
+     * Get the discrete <code>PERCENTILE_DISC()</code> value, computed like
+     * {@link Agg#percentile(double)}, on a sorted copy of the values.
+     */
+    default OptionalDouble percentile(double percentile) {
+        PrimitiveSeqUtils.checkPercentile(percentile);
+        double[] values = toArray();
+
+        if (values.length == 0)
+            return OptionalDouble.empty();
+
+        Arrays.sort(values);
+        return OptionalDouble.of(values[PrimitiveSeqUtils.percentileIndex(percentile, values.length)]);
+    }
+
+    /**
+     * Get the <code>MODE()</code> value, i.e. the most frequent value, or in
+     * case of ties, the first one of the most frequent values in encounter
+     * order, like {@link Agg#mode()}.
+     */
+    default OptionalDouble mode() {
+        double[] values = toArray();
+
+        if (values.length == 0)
+            return OptionalDouble.empty();
+
+        return OptionalDouble.of(PrimitiveSeqUtils.mode(values));
+    }
+
+    /**
+     * Count the distinct values in this stream.
+     */
+    default long countDistinct() {
+        double[] sorted = toArray();
+        Arrays.sort(sorted);
+        return PrimitiveSeqUtils.countRuns(sorted);
+    }
+
+    /**
+     * Collect the stream into a {@link List} of boxed values.
+     */
+    default List<Double> toList() {
+        return boxed().toList();
+    }
+
+    /**
+     * Consume a stream and concatenate all elements using a separator.
+     */
+    default String toString(CharSequence delimiter) {
+        return mapToObj(String::valueOf).collect(Collectors.joining(delimiter));
+    }
+
+    // Covariant overriding of DoubleStream return types
+    // -------------------------------------------------
+
+    @Override
+    DoubleSeq filter(DoublePredicate predicate);
+
+    @Override
+    DoubleSeq map(DoubleUnaryOperator mapper);
+
+    @Override
+    <U> Seq<U> mapToObj(DoubleFunction<? extends U> mapper);
+
+    @Override
+    IntSeq mapToInt(DoubleToIntFunction mapper);
+
+    @Override
+    LongSeq mapToLong(DoubleToLongFunction mapper);
+
+    @Override
+    DoubleSeq flatMap(DoubleFunction<? extends DoubleStream> mapper);
+
+    @Override
+    DoubleSeq distinct();
+
+    @Override
+    DoubleSeq sorted();
+
+    @Override
+    DoubleSeq peek(DoubleConsumer action);
+
+    @Override
+    DoubleSeq limit(long maxSize);
+
+    @Override
+    DoubleSeq skip(long n);
+
+    @Override
+    Seq<Double> boxed();
+
+    @Override
+    DoubleSeq onClose(Runnable closeHandler);
+
+    /**
+     * Returns this stream, unless it has been put in parallel mode using
+     * {@link #parallel(ForkJoinPool)}, in case of which a sequential copy of
+     * this stream is returned.
+     */
+    @Override
+    default DoubleSeq sequential() {
+        return this;
+    }
+
+    /**
+     * Like {@link Seq#parallel()}, this has no effect. Use
+     * {@link #parallel(ForkJoinPool)} to explicitly opt in to parallel
+     * execution.
+     */
+    @Override
+    default DoubleSeq parallel() {
+        return this;
+    }
+
+    /**
+     * Opt in to parallel execution of this stream in the argument
+     * {@link ForkJoinPool}, with the same semantics as
+     * {@link Seq#parallel(ForkJoinPool)}.
+     */
+    DoubleSeq parallel(ForkJoinPool pool);
+
+    /**
+     * Returns this stream. All DoubleSeq streams are ordered so this method has
+     * no effect.
+     */
+    @Override
+    default DoubleSeq unordered() {
+        return this;
+    }
+}
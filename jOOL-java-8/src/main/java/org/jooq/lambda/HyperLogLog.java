@@ -0,0 +1,213 @@
+/**
+ * Copyright (c), Data Geekery GmbH, contact@datageekery.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jooq.lambda;
+
+import java.util.Arrays;
+
+/**
+ * A HyperLogLog sketch, which estimates the number of distinct values that
+ * have been added to it, using a fixed amount of memory.
+ * <p>
+ * A sketch with a precision <code>p</code> uses <code>2<sup>p</sup></code>
+ * one byte registers, and has a relative standard error of about
+ * <code>1.04 / sqrt(2<sup>p</sup>)</code>, e.g. <code>0.81%</code> for a
+ * precision of <code>14</code>, which uses 16 kB.
+ * <p>
+ * {@link Long}, {@link Double}, {@link java.util.UUID},
+ * {@link CharSequence}, and <code>byte[]</code> values are hashed to 64 bits
+ * based on all of their contents, as are values added with
+ * {@link #add(long)}. Other values are hashed based on their
+ * {@link Object#hashCode()}, such that values with equal hash codes are
+ * considered equal. As there are only 2<sup>32</sup> hash codes, their
+ * collisions bias the estimate down by more than its standard error for
+ * about a hundred million distinct values or more, e.g. by about 5.6% at 500
+ * million values. Such values should be
+ * mapped to a <code>long</code> key, or to one of the above types, e.g. using
+ * {@link Agg#approxCountDistinctBy(int, java.util.function.Function)}.
+ * <p>
+ * Sketches of equal precision can be merged, e.g. to combine partial results
+ * of a parallel collection, or to combine results across runs, using
+ * {@link #toByteArray()} and {@link #fromByteArray(byte[])}.
+ * <p>
+ * <code><pre>
+ * // 3
+ * Seq.of(1, 2, 2, 3).collect(Agg.hyperLogLog(14)).estimate()
+ * </pre></code>
+ *
+ * @author Lukas Eder
+ * @see Agg#approxCountDistinct(int)
+ */
+public final class HyperLogLog {
+
+    /**
+     * The minimum precision.
+     */
+    public static final int MIN_PRECISION = 4;
+
+    /**
+     * The maximum precision.
+     */
+    public static final int MAX_PRECISION = 18;
+
+    private final int       precision;
+    private final byte[]    registers;
+
+    /**
+     * Create an empty sketch.
+     *
+     * @throws IllegalArgumentException If <code>precision</code> isn't
+     *             between {@link #MIN_PRECISION} and {@link #MAX_PRECISION}.
+     */
+    public HyperLogLog(int precision) {
+        this(checkPrecision(precision), new byte[1 << precision]);
+    }
+
+    private HyperLogLog(int precision, byte[] registers) {
+        this.precision = precision;
+        this.registers = registers;
+    }
+
+    static int checkPrecision(int precision) {
+        if (precision < MIN_PRECISION || precision > MAX_PRECISION)
+            throw new IllegalArgumentException("Precision must be between " + MIN_PRECISION + " and " + MAX_PRECISION + ": " + precision);
+
+        return precision;
+    }
+
+    /**
+     * Restore a sketch from its {@link #toByteArray()} representation.
+     *
+     * @throws IllegalArgumentException If the argument isn't a valid sketch.
+     */
+    public static HyperLogLog fromByteArray(byte[] bytes) {
+        if (bytes.length < 1)
+            throw new IllegalArgumentException("Not a valid sketch");
+
+        int precision = checkPrecision(bytes[0]);
+        if (bytes.length != 1 + (1 << precision))
+            throw new IllegalArgumentException("Not a valid sketch of precision " + precision + ": " + bytes.length + " bytes");
+
+        return new HyperLogLog(precision, Arrays.copyOfRange(bytes, 1, bytes.length));
+    }
+
+    /**
+     * The precision of this sketch.
+     */
+    public int precision() {
+        return precision;
+    }
+
+    /**
+     * Add a value to this sketch.
+     */
+    public HyperLogLog add(Object value) {
+        return addHash(SeqUtils.hash64(value));
+    }
+
+    /**
+     * Add a value to this sketch.
+     */
+    public HyperLogLog add(long value) {
+        return addHash(SeqUtils.hash64(value));
+    }
+
+    private HyperLogLog addHash(long hash) {
+
+        // The first precision bits select the register, the remaining bits' leading zeros are counted
+        int index = (int) (hash >>> (Long.SIZE - precision));
+        byte rank = (byte) (Long.numberOfLeadingZeros((hash << precision) | (1L << (precision - 1))) + 1);
+
+        if (registers[index] < rank)
+            registers[index] = rank;
+
+        return this;
+    }
+
+    /**
+     * Merge another sketch into this one.
+     *
+     * @throws IllegalArgumentException If the other sketch's precision
+     *             differs from this one's.
+     */
+    public HyperLogLog merge(HyperLogLog other) {
+        if (precision != other.precision)
+            throw new IllegalArgumentException("Cannot merge sketches of precision " + precision + " and " + other.precision);
+
+        for (int i = 0; i < registers.length; i++)
+            if (registers[i] < other.registers[i])
+                registers[i] = other.registers[i];
+
+        return this;
+    }
+
+    /**
+     * Estimate the number of distinct values that have been added to this
+     * sketch.
+     */
+    public long estimate() {
+        int m = registers.length;
+        double sum = 0.0;
+        int zeros = 0;
+
+        for (byte register : registers) {
+            sum += 1.0 / (1L << register);
+
+            if (register == 0)
+                zeros++;
+        }
+
+        double alpha = m == 16 ? 0.673 : m == 32 ? 0.697 : m == 64 ? 0.709 : 0.7213 / (1.0 + 1.079 / m);
+        double estimate = alpha * m * m / sum;
+
+        // Small cardinalities are estimated more accurately by linear counting
+        if (estimate <= 2.5 * m && zeros > 0)
+            estimate = m * Math.log((double) m / zeros);
+
+        return Math.round(estimate);
+    }
+
+    /**
+     * A representation of this sketch, which can be restored with
+     * {@link #fromByteArray(byte[])}.
+     */
+    public byte[] toByteArray() {
+        byte[] result = new byte[1 + registers.length];
+        result[0] = (byte) precision;
+        System.arraycopy(registers, 0, result, 1, registers.length);
+        return result;
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(registers);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj)
+            return true;
+        if (!(obj instanceof HyperLogLog))
+            return false;
+
+        HyperLogLog other = (HyperLogLog) obj;
+        return precision == other.precision && Arrays.equals(registers, other.registers);
+    }
+
+    @Override
+    public String toString() {
+        return "HyperLogLog [precision=" + precision + ", estimate=" + estimate() + "]";
+    }
+}
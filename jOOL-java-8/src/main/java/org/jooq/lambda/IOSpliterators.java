@@ -0,0 +1,278 @@
+/**
+ * Copyright (c), Data Geekery GmbH, contact@datageekery.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jooq.lambda;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+
+/**
+ * {@link Spliterator} implementations that read {@link InputStream}s and
+ * {@link Reader}s in blocks, rather than one <code>read()</code> call per
+ * value.
+ * <p>
+ * All {@link IOException}'s are wrapped by {@link UncheckedIOException}'s.
+ *
+ * @author Lukas Eder
+ */
+final class IOSpliterators {
+
+    static final int BUFFER_SIZE = 8192;
+
+    /**
+     * The bytes of an {@link InputStream}, as signed <code>int</code> values.
+     */
+    static Spliterator.OfInt bytes(InputStream is) {
+        return new Bytes(is);
+    }
+
+    /**
+     * The characters of a {@link Reader}, as <code>int</code> values.
+     */
+    static Spliterator.OfInt chars(Reader reader) {
+        return new Chars(reader);
+    }
+
+    /**
+     * Chunks of up to <code>chunkSize</code> bytes of an {@link InputStream}.
+     */
+    static Spliterator<ByteBuffer> chunks(InputStream is, int chunkSize) {
+        return new Chunks(is, chunkSize);
+    }
+
+    /**
+     * The records of a {@link Reader}, separated by a delimiter.
+     */
+    static Spliterator<String> records(Reader reader, String delimiter) {
+        return new Records(reader, delimiter);
+    }
+
+    private static final class Bytes extends Spliterators.AbstractIntSpliterator {
+
+        private final InputStream is;
+        private final byte[]      buffer = new byte[BUFFER_SIZE];
+        private int               position;
+        private int               limit;
+
+        Bytes(InputStream is) {
+            super(Long.MAX_VALUE, ORDERED);
+
+            this.is = is;
+        }
+
+        private boolean fill() {
+            try {
+                do {
+                    limit = is.read(buffer);
+                }
+                while (limit == 0);
+
+                position = 0;
+                return limit > 0;
+            }
+            catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public boolean tryAdvance(IntConsumer action) {
+            if (position >= limit && !fill())
+                return false;
+
+            action.accept(buffer[position++]);
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(IntConsumer action) {
+            while (position < limit || fill())
+                while (position < limit)
+                    action.accept(buffer[position++]);
+        }
+    }
+
+    private static final class Chars extends Spliterators.AbstractIntSpliterator {
+
+        private final Reader reader;
+        private final char[] buffer = new char[BUFFER_SIZE];
+        private int          position;
+        private int          limit;
+
+        Chars(Reader reader) {
+            super(Long.MAX_VALUE, ORDERED);
+
+            this.reader = reader;
+        }
+
+        private boolean fill() {
+            try {
+                do {
+                    limit = reader.read(buffer);
+                }
+                while (limit == 0);
+
+                position = 0;
+                return limit > 0;
+            }
+            catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public boolean tryAdvance(IntConsumer action) {
+            if (position >= limit && !fill())
+                return false;
+
+            action.accept(buffer[position++]);
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(IntConsumer action) {
+            while (position < limit || fill())
+                while (position < limit)
+                    action.accept(buffer[position++]);
+        }
+    }
+
+    private static final class Chunks extends Spliterators.AbstractSpliterator<ByteBuffer> {
+
+        private final InputStream is;
+        private final int         chunkSize;
+        private boolean           eof;
+
+        Chunks(InputStream is, int chunkSize) {
+            super(Long.MAX_VALUE, ORDERED | NONNULL);
+
+            this.is = is;
+            this.chunkSize = chunkSize;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super ByteBuffer> action) {
+            if (eof)
+                return false;
+
+            try {
+                byte[] chunk = new byte[chunkSize];
+                int length = 0;
+
+                // Fill the chunk completely, unless the end of the stream is reached
+                while (length < chunkSize) {
+                    int read = is.read(chunk, length, chunkSize - length);
+
+                    if (read < 0) {
+                        eof = true;
+                        break;
+                    }
+
+                    length += read;
+                }
+
+                if (length == 0)
+                    return false;
+
+                action.accept(ByteBuffer.wrap(length == chunkSize ? chunk : Arrays.copyOf(chunk, length)));
+                return true;
+            }
+            catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private static final class Records extends Spliterators.AbstractSpliterator<String> {
+
+        private final Reader        reader;
+        private final String        delimiter;
+        private final char          last;
+        private final char[]        buffer = new char[BUFFER_SIZE];
+        private final StringBuilder record = new StringBuilder();
+        private int                 position;
+        private int                 limit;
+
+        Records(Reader reader, String delimiter) {
+            super(Long.MAX_VALUE, ORDERED | NONNULL);
+
+            this.reader = reader;
+            this.delimiter = delimiter;
+            this.last = delimiter.charAt(delimiter.length() - 1);
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super String> action) {
+            try {
+                for (;;) {
+                    while (position < limit) {
+                        char c = buffer[position++];
+                        record.append(c);
+
+                        if (c == last && endsWithDelimiter()) {
+                            record.setLength(record.length() - delimiter.length());
+                            return emit(action);
+                        }
+                    }
+
+                    do {
+                        limit = reader.read(buffer);
+                    }
+                    while (limit == 0);
+
+                    position = 0;
+
+                    if (limit < 0) {
+                        limit = 0;
+                        return record.length() > 0 && emit(action);
+                    }
+                }
+            }
+            catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private boolean endsWithDelimiter() {
+            int offset = record.length() - delimiter.length();
+
+            if (offset < 0)
+                return false;
+
+            for (int i = 0; i < delimiter.length() - 1; i++)
+                if (record.charAt(offset + i) != delimiter.charAt(i))
+                    return false;
+
+            return true;
+        }
+
+        private boolean emit(Consumer<? super String> action) {
+            String result = record.toString();
+            record.setLength(0);
+            action.accept(result);
+            return true;
+        }
+    }
+
+    private IOSpliterators() {}
+}
@@ -0,0 +1,572 @@
+/**
+ * Copyright (c), Data Geekery GmbH, contact@datageekery.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jooq.lambda;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
+import java.util.function.IntSupplier;
+import java.util.function.IntToDoubleFunction;
+import java.util.function.IntToLongFunction;
+import java.util.function.IntUnaryOperator;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+import org.jooq.lambda.tuple.Tuple2;
+
+/**
+ * A sequential, ordered {@link IntStream} that adds all sorts of useful methods
+ * known from {@link Seq}, operating on primitive <code>int</code> values
+ * without boxing them.
+ * <p>
+ * Scans, sliding windows and aggregates work directly on primitive arrays.
+ * Values are only boxed when explicitly leaving the primitive world, e.g.
+ * through {@link #boxed()}, {@link #mapToObj(IntFunction)} or
+ * {@link #zipWithIndex()}.
+ *
+ * @author Lukas Eder
+ */
+public interface IntSeq extends IntStream {
+
+    /**
+     * The underlying {@link IntStream} implementation.
+     */
+    IntStream stream();
+
+    /**
+     * @see IntStream#of(int...)
+     */
+    static IntSeq of(int... values) {
+        return values == null ? empty() : seq(IntStream.of(values));
+    }
+
+    /**
+     * @see IntStream#empty()
+     */
+    static IntSeq empty() {
+        return seq(IntStream.empty());
+    }
+
+    /**
+     * Wrap an <code>IntStream</code> into an <code>IntSeq</code>.
+     */
+    static IntSeq seq(IntStream stream) {
+        if (stream == null)
+            return empty();
+
+        if (stream instanceof IntSeq)
+            return (IntSeq) stream;
+
+        return new IntSeqImpl(stream);
+    }
+
+    /**
+     * Wrap a <code>Spliterator</code> into an <code>IntSeq</code>.
+     */
+    static IntSeq seq(Spliterator.OfInt spliterator) {
+        return seq(StreamSupport.intStream(spliterator, false));
+    }
+
+    /**
+     * Wrap an <code>InputStream</code> into an <code>IntSeq</code> of its
+     * (signed) byte values, without boxing them.
+     * <p>
+     * Client code must close the <code>InputStream</code>. All
+     * {@link IOException}'s thrown be the <code>InputStream</code> are wrapped
+     * by {@link UncheckedIOException}'s. The <code>InputStream</code> is read
+     * in blocks, so more bytes may be read from it than are consumed from the
+     * resulting stream.
+     */
+    static IntSeq seq(InputStream is) {
+        if (is == null)
+            return empty();
+
+        return seq(IOSpliterators.bytes(is)).onClose(Unchecked.runnable(is::close));
+    }
+
+    /**
+     * Wrap a <code>Reader</code> into an <code>IntSeq</code> of its
+     * characters, without boxing them.
+     * <p>
+     * Client code must close the <code>Reader</code>. All
+     * {@link IOException}'s thrown be the <code>Reader</code> are wrapped
+     * by {@link UncheckedIOException}'s. The <code>Reader</code> is read in
+     * blocks, so more characters may be read from it than are consumed from
+     * the resulting stream.
+     */
+    static IntSeq seq(Reader reader) {
+        if (reader == null)
+            return empty();
+
+        return seq(IOSpliterators.chars(reader)).onClose(Unchecked.runnable(reader::close));
+    }
+
+    /**
+     * The range between two values.
+     *
+     * @param fromInclusive The lower bound
+     * @param toExclusive The upper bound
+     */
+    static IntSeq range(int fromInclusive, int toExclusive) {
+        return range(fromInclusive, toExclusive, 1);
+    }
+
+    /**
+     * The range between two values.
+     *
+     * @param fromInclusive The lower bound
+     * @param toExclusive The upper bound
+     * @param step The increase between two values, which must be positive
+     *            for non-empty ranges
+     */
+    static IntSeq range(int fromInclusive, int toExclusive, int step) {
+        return seq(RangeSpliterator.ints(fromInclusive, toExclusive, step, false));
+    }
+
+    /**
+     * The range between two values.
+     *
+     * @param fromInclusive The lower bound
+     * @param toInclusive The upper bound
+     */
+    static IntSeq rangeClosed(int fromInclusive, int toInclusive) {
+        return rangeClosed(fromInclusive, toInclusive, 1);
+    }
+
+    /**
+     * The range between two values.
+     *
+     * @param fromInclusive The lower bound
+     * @param toInclusive The upper bound
+     * @param step The increase between two values, which must be positive
+     *            for non-empty ranges
+     */
+    static IntSeq rangeClosed(int fromInclusive, int toInclusive, int step) {
+        return seq(RangeSpliterator.ints(fromInclusive, toInclusive, step, true));
+    }
+
+    /**
+     * @see IntStream#iterate(int, IntUnaryOperator)
+     */
+    static IntSeq iterate(int seed, IntUnaryOperator f) {
+        return seq(IntStream.iterate(seed, f));
+    }
+
+    /**
+     * @see IntStream#generate(IntSupplier)
+     */
+    static IntSeq generate(IntSupplier s) {
+        return seq(IntStream.generate(s));
+    }
+
+    /**
+     * Concatenate two streams.
+     * <p>
+     * <code><pre>
+     * // (1, 2, 3, 4, 5, 6)
+     * IntSeq.of(1, 2, 3).concat(IntSeq.of(4, 5, 6))
+     * </pre></code>
+     */
+    default IntSeq concat(IntStream other) {
+        return seq(IntStream.concat(this, other));
+    }
+
+    /**
+     * Scan a stream to the left.
+     * <p>
+     * <code><pre>
+     * // (0, 1, 3, 6)
+     * IntSeq.of(1, 2, 3).scanLeft(0, (a, b) -> a + b)
+     * </pre></code>
+     */
+    default IntSeq scanLeft(int seed, IntBinaryOperator function) {
+        int[] value = { seed };
+
+        return of(seed).concat(PrimitiveSeqUtils.transform(this, (delegate, action) ->
+            delegate.tryAdvance((int t) -> action.accept(value[0] = function.applyAsInt(value[0], t)))
+        ));
+    }
+
+    /**
+     * Returns a stream limited to all elements for which a predicate evaluates to <code>true</code>.
+     * <p>
+     * <code><pre>
+     * // (1, 2)
+     * IntSeq.of(1, 2, 3, 4, 5).limitWhile(i -> i &lt; 3)
+     * </pre></code>
+     */
+    default IntSeq limitWhile(IntPredicate predicate) {
+        return limitUntil(predicate.negate());
+    }
+
+    /**
+     * Returns a stream limited to all elements for which a predicate evaluates to <code>false</code>.
+     * <p>
+     * <code><pre>
+     * // (1, 2)
+     * IntSeq.of(1, 2, 3, 4, 5).limitUntil(i -> i == 3)
+     * </pre></code>
+     */
+    default IntSeq limitUntil(IntPredicate predicate) {
+        boolean[] test = { false };
+
+        return PrimitiveSeqUtils.transform(this, (delegate, action) ->
+            !test[0] && delegate.tryAdvance((int t) -> {
+                if (!(test[0] = predicate.test(t)))
+                    action.accept(t);
+            })
+        );
+    }
+
+    /**
+     * Returns a stream with all elements skipped for which a predicate evaluates to <code>true</code>.
+     * <p>
+     * <code><pre>
+     * // (3, 4, 5)
+     * IntSeq.of(1, 2, 3, 4, 5).skipWhile(i -> i &lt; 3)
+     * </pre></code>
+     */
+    default IntSeq skipWhile(IntPredicate predicate) {
+        return skipUntil(predicate.negate());
+    }
+
+    /**
+     * Returns a stream with all elements skipped for which a predicate evaluates to <code>false</code>.
+     * <p>
+     * <code><pre>
+     * // (3, 4, 5)
+     * IntSeq.of(1, 2, 3, 4, 5).skipUntil(i -> i == 3)
+     * </pre></code>
+     */
+    default IntSeq skipUntil(IntPredicate predicate) {
+        // [0]: true = we've skipped values until the predicate yielded true
+        // [1]: true = there is at least one value that was considered for skipping
+        boolean[] test = { false, false };
+
+        return PrimitiveSeqUtils.transform(this, (delegate, action) -> {
+            if (test[0]) {
+                return delegate.tryAdvance(action);
+            }
+            else {
+                do {
+                    test[1] = delegate.tryAdvance((int t) -> {
+                        if (test[0] = predicate.test(t))
+                            action.accept(t);
+                    });
+                }
+                while (test[1] && !test[0]);
+                return test[0];
+            }
+        });
+    }
+
+    /**
+     * Zip two streams into one using an {@link IntBinaryOperator} to
+     * produce resulting values.
+     * <p>
+     * <code><pre>
+     * // (5, 7, 9)
+     * IntSeq.of(1, 2, 3).zip(IntSeq.of(4, 5, 6), (a, b) -> a + b)
+     * </pre></code>
+     */
+    default IntSeq zip(IntStream other, IntBinaryOperator zipper) {
+        Spliterator.OfInt s1 = spliterator();
+        Spliterator.OfInt s2 = other.spliterator();
+        int[] value = { 0 };
+
+        return seq(new Spliterators.AbstractIntSpliterator(
+            Math.min(s1.estimateSize(), s2.estimateSize()),
+            s1.characteristics() & s2.characteristics() & (Spliterator.ORDERED | Spliterator.SIZED)
+        ) {
+            @Override
+            public boolean tryAdvance(IntConsumer action) {
+                return s1.tryAdvance((int t) -> value[0] = t)
+                    && s2.tryAdvance((int u) -> action.accept(zipper.applyAsInt(value[0], u)));
+            }
+        }).onClose(SeqUtils.closeAll(this, other));
+    }
+
+    /**
+     * Zip a stream with a corresponding stream of indexes.
+     * <p>
+     * <code><pre>
+     * // (tuple(7, 0L), tuple(8, 1L), tuple(9, 2L))
+     * IntSeq.of(7, 8, 9).zipWithIndex()
+     * </pre></code>
+     */
+    default Seq<Tuple2<Integer, Long>> zipWithIndex() {
+        return boxed().zipWithIndex();
+    }
+
+    /**
+     * Map this stream to a stream containing a sliding window over the
+     * previous stream.
+     * <p>
+     * Each window is a new array of exactly <code>size</code> values.
+     * <p>
+     * <code><pre>
+     * // ([1, 2, 3], [2, 3, 4], [3, 4, 5])
+     * IntSeq.of(1, 2, 3, 4, 5).sliding(3)
+     * </pre></code>
+     */
+    default Seq<int[]> sliding(int size) {
+        if (size <= 0)
+            throw new IllegalArgumentException("Size must be >= 1");
+
+        Spliterator.OfInt delegate = spliterator();
+        int[] ring = new int[size];
+        long[] count = { 0L };
+        IntConsumer push = t -> ring[(int) (count[0]++ % size)] = t;
+
+        return Seq.seq((FunctionalSpliterator<int[]>) action -> {
+            while (count[0] < size - 1 && delegate.tryAdvance(push));
+
+            if (!delegate.tryAdvance(push))
+                return false;
+
+            // The oldest value of the window is the one after the newest one
+            int oldest = (int) (count[0] % size);
+            int[] window = new int[size];
+            System.arraycopy(ring, oldest, window, 0, size - oldest);
+            System.arraycopy(ring, 0, window, size - oldest, oldest);
+            action.accept(window);
+            return true;
+        }).onClose(this::close);
+    }
+
+    /**
+     * Classify this stream's elements according to a given classifier
+     * function, collecting each group's values in a primitive array.
+     * <p>
+     * <code><pre>
+     * // (tuple(1, IntSeq(1, 3, 5)), tuple(0, IntSeq(2, 4, 6)))
+     * IntSeq.of(1, 2, 3, 4, 5, 6).grouped(i -> i % 2)
+     * </pre></code>
+     */
+    default <K> Seq<Tuple2<K, IntSeq>> grouped(IntFunction<? extends K> classifier) {
+        return Seq.seq(() -> this.<K>groupBy(classifier))
+                  .flatMap(Seq::seq)
+                  .map(t -> t.map2(IntSeq::of))
+                  .onClose(this::close);
+    }
+
+    /**
+     * Classify this stream's elements according to a given classifier
+     * function, collecting each group's values in a primitive array.
+     * <p>
+     * <code><pre>
+     * // {1: [1, 3, 5], 0: [2, 4, 6]}
+     * IntSeq.of(1, 2, 3, 4, 5, 6).groupBy(i -> i % 2)
+     * </pre></code>
+     */
+    default <K> Map<K, int[]> groupBy(IntFunction<? extends K> classifier) {
+        Map<K, IntStream.Builder> builders = collect(
+            LinkedHashMap<K, IntStream.Builder>::new,
+            (m, t) -> m.computeIfAbsent(classifier.apply(t), k -> IntStream.builder()).accept(t),
+            (m1, m2) -> m2.forEach((k, b) -> b.build().forEachOrdered(m1.computeIfAbsent(k, x -> IntStream.builder())))
+        );
+
+        Map<K, int[]> result = new LinkedHashMap<>();
+        builders.forEach((k, b) -> result.put(k, b.build().toArray()));
+        return result;
+    }
+
+    /**
+     * Reverse a stream.
+     * <p>
+     * <code><pre>
+     * // (3, 2, 1)
+     * IntSeq.of(1, 2, 3).reverse()
+     * </pre></code>
+     */
+    default IntSeq reverse() {
+        int[][] array = { null };
+        int[] index = { 0 };
+
+        return PrimitiveSeqUtils.transform(this, (delegate, action) -> {
+            if (array[0] == null) {
+                array[0] = seq(delegate).toArray();
+                index[0] = array[0].length;
+            }
+
+            if (index[0] == 0)
+                return false;
+
+            action.accept(array[0][--index[0]]);
+            return true;
+        });
+    }
+
+    /**
+     * Get the median value.
+     * <p>
+     * This is the same as calling {@link #percentile(double)} with
+     * <code>0.5</code>.
+     */
+    default OptionalInt median() {
+        return percentile(0.5);
+    }
+
+    /**
+     * Get the discrete <code>PERCENTILE_DISC()</code> value, computed like
+     * {@link Agg#percentile(double)}, on a sorted copy of the values.
+     */
+    default OptionalInt percentile(double percentile) {
+        PrimitiveSeqUtils.checkPercentile(percentile);
+        int[] values = toArray();
+
+        if (values.length == 0)
+            return OptionalInt.empty();
+
+        Arrays.sort(values);
+        return OptionalInt.of(values[PrimitiveSeqUtils.percentileIndex(percentile, values.length)]);
+    }
+
+    /**
+     * Get the <code>MODE()</code> value, i.e. the most frequent value, or in
+     * case of ties, the first one of the most frequent values in encounter
+     * order, like {@link Agg#mode()}.
+     */
+    default OptionalInt mode() {
+        int[] values = toArray();
+
+        if (values.length == 0)
+            return OptionalInt.empty();
+
+        return OptionalInt.of(PrimitiveSeqUtils.mode(values));
+    }
+
+    /**
+     * Count the distinct values in this stream.
+     */
+    default long countDistinct() {
+        int[] sorted = toArray();
+        Arrays.sort(sorted);
+        return PrimitiveSeqUtils.countRuns(sorted);
+    }
+
+    /**
+     * Collect the stream into a {@link List} of boxed values.
+     */
+    default List<Integer> toList() {
+        return boxed().toList();
+    }
+
+    /**
+     * Consume a stream and concatenate all elements using a separator.
+     */
+    default String toString(CharSequence delimiter) {
+        return mapToObj(String::valueOf).collect(Collectors.joining(delimiter));
+    }
+
+    // Covariant overriding of IntStream return types
+    // ----------------------------------------------
+
+    @Override
+    IntSeq filter(IntPredicate predicate);
+
+    @Override
+    IntSeq map(IntUnaryOperator mapper);
+
+    @Override
+    <U> Seq<U> mapToObj(IntFunction<? extends U> mapper);
+
+    @Override
+    LongSeq mapToLong(IntToLongFunction mapper);
+
+    @Override
+    DoubleSeq mapToDouble(IntToDoubleFunction mapper);
+
+    @Override
+    LongSeq asLongStream();
+
+    @Override
+    DoubleSeq asDoubleStream();
+
+    @Override
+    IntSeq flatMap(IntFunction<? extends IntStream> mapper);
+
+    @Override
+    IntSeq distinct();
+
+    @Override
+    IntSeq sorted();
+
+    @Override
+    IntSeq peek(IntConsumer action);
+
+    @Override
+    IntSeq limit(long maxSize);
+
+    @Override
+    IntSeq skip(long n);
+
+    @Override
+    Seq<Integer> boxed();
+
+    @Override
+    IntSeq onClose(Runnable closeHandler);
+
+    /**
+     * Returns this stream, unless it has been put in parallel mode using
+     * {@link #parallel(ForkJoinPool)}, in case of which a sequential copy of
+     * this stream is returned.
+     */
+    @Override
+    default IntSeq sequential() {
+        return this;
+    }
+
+    /**
+     * Like {@link Seq#parallel()}, this has no effect. Use
+     * {@link #parallel(ForkJoinPool)} to explicitly opt in to parallel
+     * execution.
+     */
+    @Override
+    default IntSeq parallel() {
+        return this;
+    }
+
+    /**
+     * Opt in to parallel execution of this stream in the argument
+     * {@link ForkJoinPool}, with the same semantics as
+     * {@link Seq#parallel(ForkJoinPool)}.
+     */
+    IntSeq parallel(ForkJoinPool pool);
+
+    /**
+     * Returns this stream. All IntSeq streams are ordered so this method has
+     * no effect.
+     */
+    @Override
+    default IntSeq unordered() {
+        return this;
+    }
+}
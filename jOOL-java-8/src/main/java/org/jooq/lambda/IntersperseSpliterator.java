@@ -0,0 +1,96 @@
+/**
+ * Copyright (c), Data Geekery GmbH, contact@datageekery.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jooq.lambda;
+
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * A {@link Spliterator} that intersperses a value between any two values of a
+ * delegate spliterator.
+ * <p>
+ * Sizes and prefix splits of {@link Spliterator#SUBSIZED} delegates are
+ * retained: <code>n</code> elements produce <code>2 * n - 1</code> elements,
+ * and a suffix produced by a split emits the separating value before each of
+ * its elements.
+ *
+ * @author Lukas Eder
+ */
+class IntersperseSpliterator<T> implements Spliterator<T> {
+
+    private final Spliterator<? extends T> delegate;
+    private final T                        value;
+    private boolean                        separate;
+    private boolean                        pending;
+    private T                              next;
+
+    IntersperseSpliterator(Spliterator<? extends T> delegate, T value, boolean separate) {
+        this.delegate = delegate;
+        this.value = value;
+        this.separate = separate;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action) {
+        if (pending) {
+            T t = next;
+
+            pending = false;
+            next = null;
+            action.accept(t);
+            return true;
+        }
+        else if (!separate) {
+            return separate = delegate.tryAdvance(action);
+        }
+        else if (delegate.tryAdvance(t -> next = t)) {
+            pending = true;
+            action.accept(value);
+            return true;
+        }
+        else
+            return false;
+    }
+
+    @Override
+    public Spliterator<T> trySplit() {
+        if (pending || !delegate.hasCharacteristics(SUBSIZED))
+            return null;
+
+        Spliterator<? extends T> prefix = delegate.trySplit();
+        if (prefix == null)
+            return null;
+
+        Spliterator<T> result = new IntersperseSpliterator<>(prefix, value, separate);
+        separate = separate || prefix.getExactSizeIfKnown() > 0;
+        return result;
+    }
+
+    @Override
+    public long estimateSize() {
+        long size = delegate.estimateSize();
+
+        if (size >= Long.MAX_VALUE / 2)
+            return Long.MAX_VALUE;
+        else
+            return (pending ? 1 : 0) + (size == 0 ? 0 : separate ? 2 * size : 2 * size - 1);
+    }
+
+    @Override
+    public int characteristics() {
+        return delegate.characteristics() & (ORDERED | SIZED | SUBSIZED);
+    }
+}
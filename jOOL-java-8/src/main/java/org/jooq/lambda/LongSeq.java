@@ -0,0 +1,531 @@
+/**
+ * Copyright (c), Data Geekery GmbH, contact@datageekery.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jooq.lambda;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.LongBinaryOperator;
+import java.util.function.LongConsumer;
+import java.util.function.LongFunction;
+import java.util.function.LongPredicate;
+import java.util.function.LongSupplier;
+import java.util.function.LongToDoubleFunction;
+import java.util.function.LongToIntFunction;
+import java.util.function.LongUnaryOperator;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import java.util.stream.StreamSupport;
+
+import org.jooq.lambda.tuple.Tuple2;
+
+/**
+ * A sequential, ordered {@link LongStream} that adds all sorts of useful methods
+ * known from {@link Seq}, operating on primitive <code>long</code> values
+ * without boxing them.
+ * <p>
+ * Scans, sliding windows and aggregates work directly on primitive arrays.
+ * Values are only boxed when explicitly leaving the primitive world, e.g.
+ * through {@link #boxed()}, {@link #mapToObj(LongFunction)} or
+ * {@link #zipWithIndex()}.
+ *
+ * @author Lukas Eder
+ */
+public interface LongSeq extends LongStream {
+
+    /**
+     * The underlying {@link LongStream} implementation.
+     */
+    LongStream stream();
+
+    /**
+     * @see LongStream#of(long...)
+     */
+    static LongSeq of(long... values) {
+        return values == null ? empty() : seq(LongStream.of(values));
+    }
+
+    /**
+     * @see LongStream#empty()
+     */
+    static LongSeq empty() {
+        return seq(LongStream.empty());
+    }
+
+    /**
+     * Wrap a <code>LongStream</code> into a <code>LongSeq</code>.
+     */
+    static LongSeq seq(LongStream stream) {
+        if (stream == null)
+            return empty();
+
+        if (stream instanceof LongSeq)
+            return (LongSeq) stream;
+
+        return new LongSeqImpl(stream);
+    }
+
+    /**
+     * Wrap a <code>Spliterator</code> into a <code>LongSeq</code>.
+     */
+    static LongSeq seq(Spliterator.OfLong spliterator) {
+        return seq(StreamSupport.longStream(spliterator, false));
+    }
+
+    /**
+     * The range between two values.
+     *
+     * @param fromInclusive The lower bound
+     * @param toExclusive The upper bound
+     */
+    static LongSeq range(long fromInclusive, long toExclusive) {
+        return range(fromInclusive, toExclusive, 1L);
+    }
+
+    /**
+     * The range between two values.
+     *
+     * @param fromInclusive The lower bound
+     * @param toExclusive The upper bound
+     * @param step The increase between two values, which must be positive
+     *            for non-empty ranges
+     */
+    static LongSeq range(long fromInclusive, long toExclusive, long step) {
+        return seq(RangeSpliterator.longs(fromInclusive, toExclusive, step, false));
+    }
+
+    /**
+     * The range between two values.
+     *
+     * @param fromInclusive The lower bound
+     * @param toInclusive The upper bound
+     */
+    static LongSeq rangeClosed(long fromInclusive, long toInclusive) {
+        return rangeClosed(fromInclusive, toInclusive, 1L);
+    }
+
+    /**
+     * The range between two values.
+     *
+     * @param fromInclusive The lower bound
+     * @param toInclusive The upper bound
+     * @param step The increase between two values, which must be positive
+     *            for non-empty ranges
+     */
+    static LongSeq rangeClosed(long fromInclusive, long toInclusive, long step) {
+        return seq(RangeSpliterator.longs(fromInclusive, toInclusive, step, true));
+    }
+
+    /**
+     * @see LongStream#iterate(long, LongUnaryOperator)
+     */
+    static LongSeq iterate(long seed, LongUnaryOperator f) {
+        return seq(LongStream.iterate(seed, f));
+    }
+
+    /**
+     * @see LongStream#generate(LongSupplier)
+     */
+    static LongSeq generate(LongSupplier s) {
+        return seq(LongStream.generate(s));
+    }
+
+    /**
+     * Concatenate two streams.
+     * <p>
+     * <code><pre>
+     * // (1L, 2L, 3L, 4L, 5L, 6L)
+     * LongSeq.of(1L, 2L, 3L).concat(LongSeq.of(4L, 5L, 6L))
+     * </pre></code>
+     */
+    default LongSeq concat(LongStream other) {
+        return seq(LongStream.concat(this, other));
+    }
+
+    /**
+     * Scan a stream to the left.
+     * <p>
+     * <code><pre>
+     * // (0L, 1L, 3L, 6L)
+     * LongSeq.of(1L, 2L, 3L).scanLeft(0L, (a, b) -> a + b)
+     * </pre></code>
+     */
+    default LongSeq scanLeft(long seed, LongBinaryOperator function) {
+        long[] value = { seed };
+
+        return of(seed).concat(PrimitiveSeqUtils.transform(this, (delegate, action) ->
+            delegate.tryAdvance((long t) -> action.accept(value[0] = function.applyAsLong(value[0], t)))
+        ));
+    }
+
+    /**
+     * Returns a stream limited to all elements for which a predicate evaluates to <code>true</code>.
+     * <p>
+     * <code><pre>
+     * // (1L, 2L)
+     * LongSeq.of(1L, 2L, 3L, 4L, 5L).limitWhile(i -> i &lt; 3L)
+     * </pre></code>
+     */
+    default LongSeq limitWhile(LongPredicate predicate) {
+        return limitUntil(predicate.negate());
+    }
+
+    /**
+     * Returns a stream limited to all elements for which a predicate evaluates to <code>false</code>.
+     * <p>
+     * <code><pre>
+     * // (1L, 2L)
+     * LongSeq.of(1L, 2L, 3L, 4L, 5L).limitUntil(i -> i == 3L)
+     * </pre></code>
+     */
+    default LongSeq limitUntil(LongPredicate predicate) {
+        boolean[] test = { false };
+
+        return PrimitiveSeqUtils.transform(this, (delegate, action) ->
+            !test[0] && delegate.tryAdvance((long t) -> {
+                if (!(test[0] = predicate.test(t)))
+                    action.accept(t);
+            })
+        );
+    }
+
+    /**
+     * Returns a stream with all elements skipped for which a predicate evaluates to <code>true</code>.
+     * <p>
+     * <code><pre>
+     * // (3L, 4L, 5L)
+     * LongSeq.of(1L, 2L, 3L, 4L, 5L).skipWhile(i -> i &lt; 3L)
+     * </pre></code>
+     */
+    default LongSeq skipWhile(LongPredicate predicate) {
+        return skipUntil(predicate.negate());
+    }
+
+    /**
+     * Returns a stream with all elements skipped for which a predicate evaluates to <code>false</code>.
+     * <p>
+     * <code><pre>
+     * // (3L, 4L, 5L)
+     * LongSeq.of(1L, 2L, 3L, 4L, 5L).skipUntil(i -> i == 3L)
+     * </pre></code>
+     */
+    default LongSeq skipUntil(LongPredicate predicate) {
+        // [0]: true = we've skipped values until the predicate yielded true
+        // [1]: true = there is at least one value that was considered for skipping
+        boolean[] test = { false, false };
+
+        return PrimitiveSeqUtils.transform(this, (delegate, action) -> {
+            if (test[0]) {
+                return delegate.tryAdvance(action);
+            }
+            else {
+                do {
+                    test[1] = delegate.tryAdvance((long t) -> {
+                        if (test[0] = predicate.test(t))
+                            action.accept(t);
+                    });
+                }
+                while (test[1] && !test[0]);
+                return test[0];
+            }
+        });
+    }
+
+    /**
+     * Zip two streams into one using a {@link LongBinaryOperator} to
+     * produce resulting values.
+     * <p>
+     * <code><pre>
+     * // (5L, 7L, 9L)
+     * LongSeq.of(1L, 2L, 3L).zip(LongSeq.of(4L, 5L, 6L), (a, b) -> a + b)
+     * </pre></code>
+     */
+    default LongSeq zip(LongStream other, LongBinaryOperator zipper) {
+        Spliterator.OfLong s1 = spliterator();
+        Spliterator.OfLong s2 = other.spliterator();
+        long[] value = { 0L };
+
+        return seq(new Spliterators.AbstractLongSpliterator(
+            Math.min(s1.estimateSize(), s2.estimateSize()),
+            s1.characteristics() & s2.characteristics() & (Spliterator.ORDERED | Spliterator.SIZED)
+        ) {
+            @Override
+            public boolean tryAdvance(LongConsumer action) {
+                return s1.tryAdvance((long t) -> value[0] = t)
+                    && s2.tryAdvance((long u) -> action.accept(zipper.applyAsLong(value[0], u)));
+            }
+        }).onClose(SeqUtils.closeAll(this, other));
+    }
+
+    /**
+     * Zip a stream with a corresponding stream of indexes.
+     * <p>
+     * <code><pre>
+     * // (tuple(7L, 0L), tuple(8L, 1L), tuple(9L, 2L))
+     * LongSeq.of(7L, 8L, 9L).zipWithIndex()
+     * </pre></code>
+     */
+    default Seq<Tuple2<Long, Long>> zipWithIndex() {
+        return boxed().zipWithIndex();
+    }
+
+    /**
+     * Map this stream to a stream containing a sliding window over the
+     * previous stream.
+     * <p>
+     * Each window is a new array of exactly <code>size</code> values.
+     * <p>
+     * <code><pre>
+     * // ([1L, 2L, 3L], [2L, 3L, 4L], [3L, 4L, 5L])
+     * LongSeq.of(1L, 2L, 3L, 4L, 5L).sliding(3)
+     * </pre></code>
+     */
+    default Seq<long[]> sliding(int size) {
+        if (size <= 0)
+            throw new IllegalArgumentException("Size must be >= 1");
+
+        Spliterator.OfLong delegate = spliterator();
+        long[] ring = new long[size];
+        long[] count = { 0L };
+        LongConsumer push = t -> ring[(int) (count[0]++ % size)] = t;
+
+        return Seq.seq((FunctionalSpliterator<long[]>) action -> {
+            while (count[0] < size - 1 && delegate.tryAdvance(push));
+
+            if (!delegate.tryAdvance(push))
+                return false;
+
+            // The oldest value of the window is the one after the newest one
+            int oldest = (int) (count[0] % size);
+            long[] window = new long[size];
+            System.arraycopy(ring, oldest, window, 0, size - oldest);
+            System.arraycopy(ring, 0, window, size - oldest, oldest);
+            action.accept(window);
+            return true;
+        }).onClose(this::close);
+    }
+
+    /**
+     * Classify this stream's elements according to a given classifier
+     * function, collecting each group's values in a primitive array.
+     * <p>
+     * <code><pre>
+     * // (tuple(1L, LongSeq(1L, 3L, 5L)), tuple(0L, LongSeq(2L, 4L, 6L)))
+     * LongSeq.of(1L, 2L, 3L, 4L, 5L, 6L).grouped(i -> i % 2)
+     * </pre></code>
+     */
+    default <K> Seq<Tuple2<K, LongSeq>> grouped(LongFunction<? extends K> classifier) {
+        return Seq.seq(() -> this.<K>groupBy(classifier))
+                  .flatMap(Seq::seq)
+                  .map(t -> t.map2(LongSeq::of))
+                  .onClose(this::close);
+    }
+
+    /**
+     * Classify this stream's elements according to a given classifier
+     * function, collecting each group's values in a primitive array.
+     * <p>
+     * <code><pre>
+     * // {1L: [1L, 3L, 5L], 0L: [2L, 4L, 6L]}
+     * LongSeq.of(1L, 2L, 3L, 4L, 5L, 6L).groupBy(i -> i % 2)
+     * </pre></code>
+     */
+    default <K> Map<K, long[]> groupBy(LongFunction<? extends K> classifier) {
+        Map<K, LongStream.Builder> builders = collect(
+            LinkedHashMap<K, LongStream.Builder>::new,
+            (m, t) -> m.computeIfAbsent(classifier.apply(t), k -> LongStream.builder()).accept(t),
+            (m1, m2) -> m2.forEach((k, b) -> b.build().forEachOrdered(m1.computeIfAbsent(k, x -> LongStream.builder())))
+        );
+
+        Map<K, long[]> result = new LinkedHashMap<>();
+        builders.forEach((k, b) -> result.put(k, b.build().toArray()));
+        return result;
+    }
+
+    /**
+     * Reverse a stream.
+     * <p>
+     * <code><pre>
+     * // (3L, 2L, 1L)
+     * LongSeq.of(1L, 2L, 3L).reverse()
+     * </pre></code>
+     */
+    default LongSeq reverse() {
+        long[][] array = { null };
+        int[] index = { 0 };
+
+        return PrimitiveSeqUtils.transform(this, (delegate, action) -> {
+            if (array[0] == null) {
+                array[0] = seq(delegate).toArray();
+                index[0] = array[0].length;
+            }
+
+            if (index[0] == 0)
+                return false;
+
+            action.accept(array[0][--index[0]]);
+            return true;
+        });
+    }
+
+    /**
+     * Get the median value.
+     * <p>
+     * This is the same as calling {@link #percentile(double)} with
+     * <code>0.5</code>.
+     */
+    default OptionalLong median() {
+        return percentile(0.5);
+    }
+
+    /**
+     * Get the discrete <code>PERCENTILE_DISC()</code> value, computed like
+     * {@link Agg#percentile(double)}, on a sorted copy of the values.
+     */
+    default OptionalLong percentile(double percentile) {
+        PrimitiveSeqUtils.checkPercentile(percentile);
+        long[] values = toArray();
+
+        if (values.length == 0)
+            return OptionalLong.empty();
+
+        Arrays.sort(values);
+        return OptionalLong.of(values[PrimitiveSeqUtils.percentileIndex(percentile, values.length)]);
+    }
+
+    /**
+     * Get the <code>MODE()</code> value, i.e. the most frequent value, or in
+     * case of ties, the first one of the most frequent values in encounter
+     * order, like {@link Agg#mode()}.
+     */
+    default OptionalLong mode() {
+        long[] values = toArray();
+
+        if (values.length == 0)
+            return OptionalLong.empty();
+
+        return OptionalLong.of(PrimitiveSeqUtils.mode(values));
+    }
+
+    /**
+     * Count the distinct values in this stream.
+     */
+    default long countDistinct() {
+        long[] sorted = toArray();
+        Arrays.sort(sorted);
+        return PrimitiveSeqUtils.countRuns(sorted);
+    }
+
+    /**
+     * Collect the stream into a {@link List} of boxed values.
+     */
+    default List<Long> toList() {
+        return boxed().toList();
+    }
+
+    /**
+     * Consume a stream and concatenate all elements using a separator.
+     */
+    default String toString(CharSequence delimiter) {
+        return mapToObj(String::valueOf).collect(Collectors.joining(delimiter));
+    }
+
+    // Covariant overriding of LongStream return types
+    // -----------------------------------------------
+
+    @Override
+    LongSeq filter(LongPredicate predicate);
+
+    @Override
+    LongSeq map(LongUnaryOperator mapper);
+
+    @Override
+    <U> Seq<U> mapToObj(LongFunction<? extends U> mapper);
+
+    @Override
+    IntSeq mapToInt(LongToIntFunction mapper);
+
+    @Override
+    DoubleSeq mapToDouble(LongToDoubleFunction mapper);
+
+    @Override
+    DoubleSeq asDoubleStream();
+
+    @Override
+    LongSeq flatMap(LongFunction<? extends LongStream> mapper);
+
+    @Override
+    LongSeq distinct();
+
+    @Override
+    LongSeq sorted();
+
+    @Override
+    LongSeq peek(LongConsumer action);
+
+    @Override
+    LongSeq limit(long maxSize);
+
+    @Override
+    LongSeq skip(long n);
+
+    @Override
+    Seq<Long> boxed();
+
+    @Override
+    LongSeq onClose(Runnable closeHandler);
+
+    /**
+     * Returns this stream, unless it has been put in parallel mode using
+     * {@link #parallel(ForkJoinPool)}, in case of which a sequential copy of
+     * this stream is returned.
+     */
+    @Override
+    default LongSeq sequential() {
+        return this;
+    }
+
+    /**
+     * Like {@link Seq#parallel()}, this has no effect. Use
+     * {@link #parallel(ForkJoinPool)} to explicitly opt in to parallel
+     * execution.
+     */
+    @Override
+    default LongSeq parallel() {
+        return this;
+    }
+
+    /**
+     * Opt in to parallel execution of this stream in the argument
+     * {@link ForkJoinPool}, with the same semantics as
+     * {@link Seq#parallel(ForkJoinPool)}.
+     */
+    LongSeq parallel(ForkJoinPool pool);
+
+    /**
+     * Returns this stream. All LongSeq streams are ordered so this method has
+     * no effect.
+     */
+    @Override
+    default LongSeq unordered() {
+        return this;
+    }
+}
@@ -0,0 +1,178 @@
+/**
+ * Copyright (c), Data Geekery GmbH, contact@datageekery.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jooq.lambda;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.jooq.lambda.tuple.Tuple;
+import org.jooq.lambda.tuple.Tuple2;
+
+/**
+ * A sort-merge join of two streams that are sorted by their join keys.
+ * <p>
+ * Both streams are consumed in a single pass. Only the current run of right
+ * side rows sharing the same key is buffered, so memory is bounded by the
+ * size of the largest duplicate key run. The sort order of both streams is
+ * verified as they are consumed.
+ *
+ * @author Lukas Eder
+ */
+final class MergeJoin<T, U, K> extends Spliterators.AbstractSpliterator<Tuple2<T, U>> {
+
+    static <T, U, K> Seq<Tuple2<T, U>> join(
+        Seq<? extends T> left,
+        Seq<? extends U> right,
+        Function<? super T, ? extends K> leftKey,
+        Function<? super U, ? extends K> rightKey,
+        Comparator<? super K> comparator,
+        boolean leftOuter
+    ) {
+        return Seq.seq(new MergeJoin<T, U, K>(left.spliterator(), right.spliterator(), leftKey, rightKey, comparator, leftOuter))
+                  .onClose(SeqUtils.closeAll(left, right));
+    }
+
+    private final Spliterator<? extends T>         left;
+    private final Spliterator<? extends U>         right;
+    private final Function<? super T, ? extends K> leftKey;
+    private final Function<? super U, ? extends K> rightKey;
+    private final Comparator<? super K>            comparator;
+    private final boolean                          leftOuter;
+
+    // The current left row, and the position in the run of right rows it matches
+    private T                                      t;
+    private K                                      tKey;
+    private boolean                                leftStarted;
+    private int                                    runIndex = -1;
+
+    // The current run of right rows sharing the same key
+    private final List<U>                          run = new ArrayList<>();
+    private K                                      runKey;
+
+    // The next right row, which hasn't been added to a run yet
+    private U                                      u;
+    private K                                      uKey;
+    private boolean                                hasRight;
+    private boolean                                rightStarted;
+    private boolean                                rightExhausted;
+
+    private MergeJoin(
+        Spliterator<? extends T> left,
+        Spliterator<? extends U> right,
+        Function<? super T, ? extends K> leftKey,
+        Function<? super U, ? extends K> rightKey,
+        Comparator<? super K> comparator,
+        boolean leftOuter
+    ) {
+        super(Long.MAX_VALUE, Spliterator.ORDERED);
+
+        this.left = left;
+        this.right = right;
+        this.leftKey = leftKey;
+        this.rightKey = rightKey;
+        this.comparator = comparator;
+        this.leftOuter = leftOuter;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super Tuple2<T, U>> action) {
+        for (;;) {
+            if (runIndex >= 0) {
+                if (runIndex < run.size()) {
+                    action.accept(Tuple.tuple(t, run.get(runIndex++)));
+                    return true;
+                }
+
+                runIndex = -1;
+            }
+
+            if (!advanceLeft())
+                return false;
+
+            // A new key: discard the current run and skip all smaller right keys
+            if (run.isEmpty() || comparator.compare(runKey, tKey) != 0) {
+                run.clear();
+
+                while (advanceRight() && comparator.compare(uKey, tKey) < 0)
+                    hasRight = false;
+
+                if (hasRight && comparator.compare(uKey, tKey) == 0) {
+                    runKey = uKey;
+
+                    do {
+                        run.add(u);
+                        hasRight = false;
+                    }
+                    while (advanceRight() && comparator.compare(uKey, runKey) == 0);
+                }
+            }
+
+            if (!run.isEmpty()) {
+                runIndex = 0;
+            }
+            else if (leftOuter) {
+                action.accept(Tuple.tuple(t, null));
+                return true;
+            }
+        }
+    }
+
+    private boolean advanceLeft() {
+        K previous = tKey;
+
+        if (!left.tryAdvance(value -> t = value))
+            return false;
+
+        tKey = leftKey.apply(t);
+
+        if (leftStarted && comparator.compare(previous, tKey) > 0)
+            throw new IllegalStateException("Left stream is not sorted: " + previous + " is followed by " + tKey);
+
+        leftStarted = true;
+        return true;
+    }
+
+    /**
+     * Make sure the next right row is available, if there is any.
+     */
+    private boolean advanceRight() {
+        if (hasRight)
+            return true;
+        if (rightExhausted)
+            return false;
+
+        K previous = uKey;
+
+        if (!right.tryAdvance(value -> u = value)) {
+            rightExhausted = true;
+            return false;
+        }
+
+        uKey = rightKey.apply(u);
+        hasRight = true;
+
+        if (rightStarted && comparator.compare(previous, uKey) > 0)
+            throw new IllegalStateException("Right stream is not sorted: " + previous + " is followed by " + uKey);
+
+        rightStarted = true;
+        return true;
+    }
+}
@@ -15,22 +15,26 @@
  */
 package org.jooq.lambda;
 
+import static org.jooq.lambda.Seq.seq;
+import static org.jooq.lambda.tuple.Tuple.tuple;
+
 import java.util.*;
 import java.util.function.BooleanSupplier;
+import java.util.function.Function;
 import java.util.function.Supplier;
-
-import org.jooq.lambda.tuple.Tuple2;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
 
 /**
  * @author Lukas Eder
  */
 class Partition<T> {
     
-    final List<Tuple2<T, Long>> list;
-    final Map<Object, Object>   cache;
+    final List<T>             list;
+    final Map<Object, Object> cache;
     
-    Partition(Collection<Tuple2<T, Long>> list) {
-        this.list = list instanceof ArrayList ? (List<Tuple2<T, Long>>) list : new ArrayList<>(list);
+    Partition(List<T> list) {
+        this.list = list;
         this.cache = new HashMap<>();
     }
     
@@ -63,6 +67,132 @@ class Partition<T> {
   
     @SuppressWarnings("unchecked")
     <R> R cache(Supplier<?> key, Supplier<? extends R> value) {
-        return (R) cache.computeIfAbsent(key.get(), k -> value.get());
+        Object k = key.get();
+
+        // Values may themselves be computed from cached values, which computeIfAbsent() doesn't allow
+        if (cache.containsKey(k))
+            return (R) cache.get(k);
+
+        R result = value.get();
+        cache.put(k, result);
+        return result;
+    }
+
+    /**
+     * Prefix sums of a function of this partition's values, from which the
+     * sum of any frame can be read in <code>O(1)</code>.
+     */
+    long[] prefixSums(Object key, ToLongFunction<? super T> function) {
+        return cache(key, () -> {
+            long[] result = new long[list.size() + 1];
+
+            for (int i = 0; i < list.size(); i++)
+                result[i + 1] = result[i] + function.applyAsLong(list.get(i));
+
+            return result;
+        });
+    }
+
+    /**
+     * A segment tree of a function of this partition's values, from which
+     * the sum of any frame can be read in <code>O(log n)</code>, without the
+     * cancellation errors of prefix sums.
+     */
+    SegmentTree.OfDouble sums(Object key, ToDoubleFunction<? super T> function) {
+        return cache(key, () -> new SegmentTree.OfDouble(seq(list).mapToDouble(function).toArray()));
+    }
+
+    /**
+     * A segment tree of a function of this partition's values, from which
+     * the index of the first minimum of any frame can be read in
+     * <code>O(log n)</code>.
+     */
+    @SuppressWarnings("unchecked")
+    <U> SegmentTree min(Object key, Function<? super T, ? extends U> function, Comparator<? super U> comparator) {
+        return cache(key, () -> {
+            Object[] keys = seq(list).map(function).toArray();
+            return new SegmentTree(keys.length, (i, j) -> comparator.compare((U) keys[i], (U) keys[j]) <= 0 ? i : j);
+        });
+    }
+
+    /**
+     * The numeric keys of this partition's values, by which the values of
+     * {@link WindowSpecification.FrameUnits#RANGE} windows are sorted.
+     */
+    long[] keys(ToLongFunction<? super T> key) {
+        return cache(tuple("keys", key), () -> seq(list).mapToLong(key).toArray());
+    }
+
+    /**
+     * The ranks of this partition's values given an order, which are
+     * computed once for all rows of the partition.
+     */
+    Ranks ranks(Comparator<? super T> order) {
+        return cache(tuple("ranks", order), () -> new Ranks(order));
+    }
+
+    /**
+     * The rank, dense rank, and peer group of each row of the partition.
+     */
+    final class Ranks {
+        final int[] rank;
+        final int[] denseRank;
+        final int[] peersEnd;
+
+        /**
+         * The start of each peer group by dense rank in the sorted partition,
+         * followed by the partition size.
+         */
+        final int[] groups;
+
+        Ranks(Comparator<? super T> order) {
+            int size = list.size();
+            int[] sorted = sorted(order);
+            rank = new int[size];
+            denseRank = new int[size];
+            peersEnd = new int[size];
+
+            int[] starts = new int[size + 1];
+            int dense = -1;
+
+            for (int i = 0, start = 0; i < size; i++) {
+                if (i == 0 || order.compare(list.get(sorted[i - 1]), list.get(sorted[i])) != 0) {
+                    start = i;
+                    starts[++dense] = i;
+                }
+
+                rank[sorted[i]] = start;
+                denseRank[sorted[i]] = dense;
+            }
+
+            starts[dense + 1] = size;
+            groups = Arrays.copyOf(starts, dense + 2);
+
+            // Each peer group ends where the next one starts
+            for (int i = size - 1, end = size; i >= 0; i--) {
+                peersEnd[sorted[i]] = end;
+
+                if (rank[sorted[i]] == i)
+                    end = i;
+            }
+        }
+
+        private int[] sorted(Comparator<? super T> order) {
+            int size = list.size();
+            int[] result = new int[size];
+            boolean sorted = true;
+
+            for (int i = 0; i < size; i++)
+                result[i] = i;
+
+            // The partition is already sorted if the order is that of the window specification
+            for (int i = 1; sorted && i < size; i++)
+                sorted = order.compare(list.get(i - 1), list.get(i)) <= 0;
+
+            if (!sorted)
+                SeqUtils.sort(result, (i, j) -> order.compare(list.get(i), list.get(j)));
+
+            return result;
+        }
     }
 }
@@ -0,0 +1,309 @@
+/**
+ * Copyright (c), Data Geekery GmbH, contact@datageekery.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jooq.lambda;
+
+import java.math.BigInteger;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+import java.util.function.LongConsumer;
+import java.util.function.LongFunction;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A sized, evenly splittable {@link Spliterator} over the values
+ * <code>f(lo), f(lo + 1), ..., f(hi - 1)</code> of an arithmetic range.
+ * <p>
+ * The range is represented by the indexes of its values, whose count is
+ * computed up front. Values are only computed (and boxed) when they are
+ * consumed.
+ *
+ * @author Lukas Eder
+ */
+final class RangeSpliterator<T> implements Spliterator<T> {
+
+    static final int CHARACTERISTICS = ORDERED | SIZED | SUBSIZED | IMMUTABLE | NONNULL | DISTINCT;
+
+    private final LongFunction<? extends T> value;
+    private long                            lo;
+    private final long                      hi;
+
+    RangeSpliterator(LongFunction<? extends T> value, long lo, long hi) {
+        this.value = value;
+        this.lo = lo;
+        this.hi = hi;
+    }
+
+    /**
+     * A range of boxed integer values.
+     */
+    static <T> Seq<T> seq(long from, long to, long step, boolean closed, LongFunction<? extends T> box) {
+        long count = count(from, to, step, closed);
+
+        // Ranges of more than Long.MAX_VALUE values are split in several sized ranges
+        if (count < 0)
+            return Seq.<T>seq(new RangeSpliterator<T>(i -> box.apply(from + step * i), 0L, Long.MAX_VALUE))
+                      .concat(seq(from + step * Long.MAX_VALUE, to, step, closed, box));
+        else
+            return Seq.seq(new RangeSpliterator<T>(i -> box.apply(from + step * i), 0L, count));
+    }
+
+    /**
+     * A range of {@link Instant} values.
+     */
+    static Seq<Instant> seq(Instant from, Instant to, Duration step, boolean closed) {
+        long count = count(from, to, step, closed);
+
+        if (count < 0)
+            return Seq.<Instant>seq(new RangeSpliterator<Instant>(i -> from.plus(step.multipliedBy(i)), 0L, Long.MAX_VALUE))
+                      .concat(seq(from.plus(step.multipliedBy(Long.MAX_VALUE)), to, step, closed));
+        else
+            return Seq.seq(new RangeSpliterator<Instant>(i -> from.plus(step.multipliedBy(i)), 0L, count));
+    }
+
+    /**
+     * A range of primitive <code>int</code> values.
+     */
+    static IntStream ints(int from, int to, int step, boolean closed) {
+        return StreamSupport.intStream(new OfInt(from, step, 0L, count(from, to, step, closed)), false);
+    }
+
+    /**
+     * A range of primitive <code>long</code> values.
+     */
+    static LongStream longs(long from, long to, long step, boolean closed) {
+        long count = count(from, to, step, closed);
+
+        if (count < 0)
+            return LongStream.concat(
+                StreamSupport.longStream(new OfLong(from, step, 0L, Long.MAX_VALUE), false),
+                longs(from + step * Long.MAX_VALUE, to, step, closed)
+            );
+        else
+            return StreamSupport.longStream(new OfLong(from, step, 0L, count), false);
+    }
+
+    /**
+     * The number of values in <code>[fromInclusive, toExclusive)</code> or
+     * <code>[fromInclusive, toInclusive]</code>, or <code>-1</code> if that
+     * number exceeds <code>Long.MAX_VALUE</code>.
+     */
+    static long count(long from, long to, long step, boolean closed) {
+        if (closed ? to < from : to <= from)
+            return 0L;
+
+        if (step <= 0)
+            throw new IllegalArgumentException("Step must be positive: " + step);
+
+        // The difference may overflow signed long arithmetic, but not unsigned arithmetic
+        long steps = Long.divideUnsigned(closed ? to - from : to - from - 1, step);
+        return steps < 0 || steps == Long.MAX_VALUE ? -1L : steps + 1;
+    }
+
+    /**
+     * The number of values in <code>[fromInclusive, toExclusive)</code> or
+     * <code>[fromInclusive, toInclusive]</code>, or <code>-1</code> if that
+     * number exceeds <code>Long.MAX_VALUE</code>.
+     */
+    static long count(Instant from, Instant to, Duration step, boolean closed) {
+        int c = to.compareTo(from);
+
+        if (closed ? c < 0 : c <= 0)
+            return 0L;
+
+        if (step.isNegative() || step.isZero())
+            throw new IllegalArgumentException("Step must be positive: " + step);
+
+        BigInteger billion = BigInteger.valueOf(1_000_000_000L);
+        BigInteger diff = BigInteger.valueOf(to.getEpochSecond()).subtract(BigInteger.valueOf(from.getEpochSecond())).multiply(billion)
+            .add(BigInteger.valueOf(to.getNano() - from.getNano()));
+        BigInteger nanos = BigInteger.valueOf(step.getSeconds()).multiply(billion).add(BigInteger.valueOf(step.getNano()));
+        BigInteger steps = (closed ? diff : diff.subtract(BigInteger.ONE)).divide(nanos);
+
+        return steps.bitLength() < 63 && steps.longValue() < Long.MAX_VALUE ? steps.longValue() + 1 : -1L;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action) {
+        if (lo < hi) {
+            action.accept(value.apply(lo++));
+            return true;
+        }
+
+        return false;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super T> action) {
+        for (long i = lo; i < hi; i++)
+            action.accept(value.apply(i));
+
+        lo = hi;
+    }
+
+    @Override
+    public Spliterator<T> trySplit() {
+        long mid = lo + (hi - lo) / 2;
+
+        if (mid <= lo)
+            return null;
+
+        Spliterator<T> prefix = new RangeSpliterator<>(value, lo, mid);
+        lo = mid;
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+        return hi - lo;
+    }
+
+    @Override
+    public int characteristics() {
+        return CHARACTERISTICS;
+    }
+
+    /**
+     * A primitive <code>int</code> range.
+     */
+    static final class OfInt implements Spliterator.OfInt {
+
+        private final long from;
+        private final long step;
+        private long       lo;
+        private final long hi;
+
+        OfInt(long from, long step, long lo, long hi) {
+            this.from = from;
+            this.step = step;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        public boolean tryAdvance(IntConsumer action) {
+            if (lo < hi) {
+                action.accept((int) (from + step * lo++));
+                return true;
+            }
+
+            return false;
+        }
+
+        @Override
+        public void forEachRemaining(IntConsumer action) {
+            for (long i = lo; i < hi; i++)
+                action.accept((int) (from + step * i));
+
+            lo = hi;
+        }
+
+        @Override
+        public Spliterator.OfInt trySplit() {
+            long mid = lo + (hi - lo) / 2;
+
+            if (mid <= lo)
+                return null;
+
+            Spliterator.OfInt prefix = new RangeSpliterator.OfInt(from, step, lo, mid);
+            lo = mid;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return hi - lo;
+        }
+
+        @Override
+        public int characteristics() {
+            return CHARACTERISTICS | SORTED;
+        }
+
+        @Override
+        public Comparator<? super Integer> getComparator() {
+            return null;
+        }
+    }
+
+    /**
+     * A primitive <code>long</code> range.
+     */
+    static final class OfLong implements Spliterator.OfLong {
+
+        private final long from;
+        private final long step;
+        private long       lo;
+        private final long hi;
+
+        OfLong(long from, long step, long lo, long hi) {
+            this.from = from;
+            this.step = step;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        public boolean tryAdvance(LongConsumer action) {
+            if (lo < hi) {
+                action.accept(from + step * lo++);
+                return true;
+            }
+
+            return false;
+        }
+
+        @Override
+        public void forEachRemaining(LongConsumer action) {
+            for (long i = lo; i < hi; i++)
+                action.accept(from + step * i);
+
+            lo = hi;
+        }
+
+        @Override
+        public Spliterator.OfLong trySplit() {
+            long mid = lo + (hi - lo) / 2;
+
+            if (mid <= lo)
+                return null;
+
+            Spliterator.OfLong prefix = new RangeSpliterator.OfLong(from, step, lo, mid);
+            lo = mid;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return hi - lo;
+        }
+
+        @Override
+        public int characteristics() {
+            return CHARACTERISTICS | SORTED;
+        }
+
+        @Override
+        public Comparator<? super Long> getComparator() {
+            return null;
+        }
+    }
+}
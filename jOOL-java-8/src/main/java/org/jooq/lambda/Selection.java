@@ -0,0 +1,245 @@
+/**
+ * Copyright (c), Data Geekery GmbH, contact@datageekery.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jooq.lambda;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.stream.Collector;
+
+/**
+ * A buffer of elements and their keys, from which several order statistics
+ * can be selected in expected <code>O(n log r)</code> time, for
+ * <code>r</code> requested ranks, without sorting the buffer.
+ * <p>
+ * Elements are ranked by their keys, and then by their position in the
+ * stream, such that the result is the same as that of a stable sort. Keys of
+ * a numeric wrapper type that are ranked by their natural order are selected
+ * from a primitive <code>long[]</code> array.
+ *
+ * @author Lukas Eder
+ */
+final class Selection<T, U> {
+
+    /**
+     * The size of ranges that are sorted rather than partitioned.
+     */
+    private static final int    INSERTION_SORT_THRESHOLD = 16;
+
+    private final List<T>       values = new ArrayList<>();
+    private final List<U>       keys   = new ArrayList<>();
+
+    /**
+     * Get a {@link Collector} that selects the elements at the argument
+     * percentiles, or {@link Optional#empty()} if there are no elements.
+     */
+    static <T, U> Collector<T, ?, Optional<List<T>>> collector(
+        double[] percentiles,
+        Function<? super T, ? extends U> function,
+        Comparator<? super U> comparator
+    ) {
+        for (double percentile : percentiles)
+            if (percentile < 0.0 || percentile > 1.0)
+                throw new IllegalArgumentException("Percentile must be between 0.0 and 1.0");
+
+        double[] p = percentiles.clone();
+
+        return Collector.<T, Selection<T, U>, Optional<List<T>>>of(
+            Selection::new,
+            (s, v) -> {
+                s.values.add(v);
+                s.keys.add(function.apply(v));
+            },
+            (s1, s2) -> {
+                s1.values.addAll(s2.values);
+                s1.keys.addAll(s2.keys);
+                return s1;
+            },
+            s -> s.select(p, comparator)
+        );
+    }
+
+    private Optional<List<T>> select(double[] percentiles, Comparator<? super U> comparator) {
+        int size = values.size();
+
+        if (size == 0)
+            return Optional.empty();
+
+        int[] ranks = new int[percentiles.length];
+        for (int i = 0; i < ranks.length; i++)
+            ranks[i] = rank(percentiles[i], size);
+
+        int[] sorted = Arrays.stream(ranks).sorted().distinct().toArray();
+        Selector selector = selector(comparator);
+        selector.select(0, size, sorted, 0, sorted.length);
+
+        List<T> result = new ArrayList<>(ranks.length);
+        for (int rank : ranks)
+            result.add(values.get(selector.index[rank]));
+
+        return Optional.of(result);
+    }
+
+    private static int rank(double percentile, int size) {
+        if (size == 1 || percentile == 0.0)
+            return 0;
+        else if (percentile == 1.0)
+            return size - 1;
+
+        // x.5 should be rounded down
+        return (int) -Math.round(-(size * percentile + 0.5)) - 1;
+    }
+
+    private Selector selector(Comparator<? super U> comparator) {
+        int size = keys.size();
+
+        if (comparator == Comparator.naturalOrder()) {
+            long[] primitive = new long[size];
+            boolean integral = false;
+            boolean floating = false;
+            int i = 0;
+
+            for (U key : keys) {
+                if (key instanceof Integer || key instanceof Long || key instanceof Short || key instanceof Byte) {
+                    integral = true;
+                    primitive[i++] = ((Number) key).longValue();
+                }
+
+                // The bits of doubles are ordered like longs, once the bits of negative values are flipped
+                else if (key instanceof Double || key instanceof Float) {
+                    long bits = Double.doubleToLongBits(((Number) key).doubleValue());
+                    floating = true;
+                    primitive[i++] = bits ^ ((bits >> 63) & Long.MAX_VALUE);
+                }
+                else
+                    break;
+            }
+
+            if (i == size && !(integral && floating))
+                return new LongSelector(primitive);
+        }
+
+        return new ObjectSelector<>(keys.toArray(), comparator);
+    }
+
+    /**
+     * A quickselect on a permutation of the buffer's indexes.
+     */
+    private static abstract class Selector {
+        final int[] index;
+
+        Selector(int size) {
+            index = new int[size];
+
+            for (int i = 0; i < size; i++)
+                index[i] = i;
+        }
+
+        /**
+         * Compare the keys at the argument positions of the permutation, and
+         * then their indexes.
+         */
+        abstract int compare(int i, int j);
+
+        abstract void swap(int i, int j);
+
+        /**
+         * Move the elements of the ranks <code>ranks[rlo] .. ranks[rhi - 1]</code>
+         * to their sorted positions, within the range <code>lo .. hi - 1</code>.
+         */
+        final void select(int lo, int hi, int[] ranks, int rlo, int rhi) {
+            while (rlo < rhi) {
+                if (hi - lo <= INSERTION_SORT_THRESHOLD) {
+                    for (int i = lo + 1; i < hi; i++)
+                        for (int j = i; j > lo && compare(j - 1, j) > 0; j--)
+                            swap(j - 1, j);
+
+                    return;
+                }
+
+                swap(ThreadLocalRandom.current().nextInt(lo, hi), hi - 1);
+                int pivot = lo;
+
+                for (int i = lo; i < hi - 1; i++)
+                    if (compare(i, hi - 1) < 0)
+                        swap(i, pivot++);
+
+                swap(pivot, hi - 1);
+
+                int r = rlo;
+                while (r < rhi && ranks[r] < pivot)
+                    r++;
+
+                select(lo, pivot, ranks, rlo, r);
+
+                if (r < rhi && ranks[r] == pivot)
+                    r++;
+
+                lo = pivot + 1;
+                rlo = r;
+            }
+        }
+    }
+
+    private static final class LongSelector extends Selector {
+        private final long[] keys;
+
+        LongSelector(long[] keys) {
+            super(keys.length);
+            this.keys = keys;
+        }
+
+        @Override
+        int compare(int i, int j) {
+            int result = Long.compare(keys[i], keys[j]);
+            return result != 0 ? result : Integer.compare(index[i], index[j]);
+        }
+
+        @Override
+        void swap(int i, int j) {
+            long k = keys[i]; keys[i] = keys[j]; keys[j] = k;
+            int x = index[i]; index[i] = index[j]; index[j] = x;
+        }
+    }
+
+    private static final class ObjectSelector<U> extends Selector {
+        private final Object[]              keys;
+        private final Comparator<? super U> comparator;
+
+        ObjectSelector(Object[] keys, Comparator<? super U> comparator) {
+            super(keys.length);
+            this.keys = keys;
+            this.comparator = comparator;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        int compare(int i, int j) {
+            int result = comparator.compare((U) keys[i], (U) keys[j]);
+            return result != 0 ? result : Integer.compare(index[i], index[j]);
+        }
+
+        @Override
+        void swap(int i, int j) {
+            Object k = keys[i]; keys[i] = keys[j]; keys[j] = k;
+            int x = index[i]; index[i] = index[j]; index[j] = x;
+        }
+    }
+}
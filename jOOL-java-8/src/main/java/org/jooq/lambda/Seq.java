@@ -22,12 +22,17 @@ import static java.util.Spliterators.spliteratorUnknownSize;
 import static org.jooq.lambda.SeqUtils.sneakyThrow;
 import static org.jooq.lambda.tuple.Tuple.tuple;
 
+import java.io.BufferedReader;
+import java.io.DataInput;
+import java.io.DataOutput;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.PrintStream;
 import java.io.PrintWriter;
 import java.io.Reader;
 import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayDeque;
@@ -37,6 +42,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.Enumeration;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
@@ -52,6 +58,7 @@ import java.util.Random;
 import java.util.Set;
 import java.util.Spliterator;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.*;
 import java.util.stream.Collector;
 import java.util.stream.Collectors;
@@ -61,7 +68,10 @@ import java.util.stream.LongStream;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
+import org.jooq.lambda.exception.LagExceededException;
 import org.jooq.lambda.exception.TooManyElementsException;
+import org.jooq.lambda.fi.util.function.CheckedBiConsumer;
+import org.jooq.lambda.fi.util.function.CheckedFunction;
 import org.jooq.lambda.function.Function10;
 import org.jooq.lambda.function.Function11;
 import org.jooq.lambda.function.Function12;
@@ -76,6 +86,7 @@ import org.jooq.lambda.function.Function6;
 import org.jooq.lambda.function.Function7;
 import org.jooq.lambda.function.Function8;
 import org.jooq.lambda.function.Function9;
+import org.jooq.lambda.tuple.Range;
 import org.jooq.lambda.tuple.Tuple;
 import org.jooq.lambda.tuple.Tuple1;
 import org.jooq.lambda.tuple.Tuple10;
@@ -98,6 +109,9 @@ import org.jooq.lambda.tuple.Tuple9;
 /**
  * A sequential, ordered {@link Stream} that adds all sorts of useful methods that work only because
  * it is sequential and ordered.
+ * <p>
+ * Parallel execution of order-insensitive operations can be requested
+ * explicitly using {@link #parallel(ForkJoinPool)}.
  *
  * @author Lukas Eder
  * @author Roman Tkalenko
@@ -370,6 +384,962 @@ public interface Seq<T> extends Stream<T>, Iterable<T>, Collectable<T> {
               .map(t -> tuple(t.v2, t.v1));
     }
 
+    /**
+     * Inner join 2 streams into one, using a hash join on keys.
+     * <p>
+     * Rows are joined if their keys are equal according to
+     * {@link Objects#equals(Object, Object)}. The hash table is built on the
+     * right side, in <code>O(n + m)</code>.
+     * <p>
+     * <code><pre>
+     * // (tuple(1, 1), tuple(2, 2), tuple(2, 2))
+     * Seq.of(1, 2, 3).innerJoin(Seq.of(1, 2, 2), t -> t, u -> u)
+     * </pre></code>
+     */
+    default <U, K> Seq<Tuple2<T, U>> innerJoin(Stream<? extends U> other, Function<? super T, ? extends K> leftKey, Function<? super U, ? extends K> rightKey) {
+        return innerJoin(seq(other), leftKey, rightKey);
+    }
+
+    /**
+     * Inner join 2 streams into one, using a hash join on keys.
+     * <p>
+     * Rows are joined if their keys are equal according to
+     * {@link Objects#equals(Object, Object)}. The hash table is built on the
+     * right side, in <code>O(n + m)</code>.
+     * <p>
+     * <code><pre>
+     * // (tuple(1, 1), tuple(2, 2), tuple(2, 2))
+     * Seq.of(1, 2, 3).innerJoin(Seq.of(1, 2, 2), t -> t, u -> u)
+     * </pre></code>
+     */
+    default <U, K> Seq<Tuple2<T, U>> innerJoin(Iterable<? extends U> other, Function<? super T, ? extends K> leftKey, Function<? super U, ? extends K> rightKey) {
+        return innerJoin(seq(other), leftKey, rightKey);
+    }
+
+    /**
+     * Inner join 2 streams into one, using a hash join on keys.
+     * <p>
+     * Rows are joined if their keys are equal according to
+     * {@link Objects#equals(Object, Object)}. The hash table is built on the
+     * right side, in <code>O(n + m)</code>.
+     * <p>
+     * <code><pre>
+     * // (tuple(1, 1), tuple(2, 2), tuple(2, 2))
+     * Seq.of(1, 2, 3).innerJoin(Seq.of(1, 2, 2), t -> t, u -> u)
+     * </pre></code>
+     */
+    default <U, K> Seq<Tuple2<T, U>> innerJoin(Seq<? extends U> other, Function<? super T, ? extends K> leftKey, Function<? super U, ? extends K> rightKey) {
+        return HashJoin.join(this, other, leftKey, rightKey, false, false);
+    }
+
+    /**
+     * Inner join 2 streams into one, using a hash join on hash codes and a predicate.
+     * <p>
+     * The predicate is evaluated only for rows whose hash codes are equal.
+     * This allows for joining on compound keys without creating a key object
+     * per row. The hash table is built on the right side.
+     * <p>
+     * <code><pre>
+     * // (tuple(tuple(1, 2), tuple(1, 2)))
+     * Seq.of(tuple(1, 1), tuple(1, 2)).innerJoin(Seq.of(tuple(1, 2)), t -> 31 * t.v1 + t.v2, u -> 31 * u.v1 + u.v2, (t, u) -> t.v1.equals(u.v1) &amp;&amp; t.v2.equals(u.v2))
+     * </pre></code>
+     */
+    default <U> Seq<Tuple2<T, U>> innerJoin(Stream<? extends U> other, ToIntFunction<? super T> leftHash, ToIntFunction<? super U> rightHash, BiPredicate<? super T, ? super U> predicate) {
+        return innerJoin(seq(other), leftHash, rightHash, predicate);
+    }
+
+    /**
+     * Inner join 2 streams into one, using a hash join on hash codes and a predicate.
+     * <p>
+     * The predicate is evaluated only for rows whose hash codes are equal.
+     * This allows for joining on compound keys without creating a key object
+     * per row. The hash table is built on the right side.
+     * <p>
+     * <code><pre>
+     * // (tuple(tuple(1, 2), tuple(1, 2)))
+     * Seq.of(tuple(1, 1), tuple(1, 2)).innerJoin(Seq.of(tuple(1, 2)), t -> 31 * t.v1 + t.v2, u -> 31 * u.v1 + u.v2, (t, u) -> t.v1.equals(u.v1) &amp;&amp; t.v2.equals(u.v2))
+     * </pre></code>
+     */
+    default <U> Seq<Tuple2<T, U>> innerJoin(Iterable<? extends U> other, ToIntFunction<? super T> leftHash, ToIntFunction<? super U> rightHash, BiPredicate<? super T, ? super U> predicate) {
+        return innerJoin(seq(other), leftHash, rightHash, predicate);
+    }
+
+    /**
+     * Inner join 2 streams into one, using a hash join on hash codes and a predicate.
+     * <p>
+     * The predicate is evaluated only for rows whose hash codes are equal.
+     * This allows for joining on compound keys without creating a key object
+     * per row. The hash table is built on the right side.
+     * <p>
+     * <code><pre>
+     * // (tuple(tuple(1, 2), tuple(1, 2)))
+     * Seq.of(tuple(1, 1), tuple(1, 2)).innerJoin(Seq.of(tuple(1, 2)), t -> 31 * t.v1 + t.v2, u -> 31 * u.v1 + u.v2, (t, u) -> t.v1.equals(u.v1) &amp;&amp; t.v2.equals(u.v2))
+     * </pre></code>
+     */
+    default <U> Seq<Tuple2<T, U>> innerJoin(Seq<? extends U> other, ToIntFunction<? super T> leftHash, ToIntFunction<? super U> rightHash, BiPredicate<? super T, ? super U> predicate) {
+        return HashJoin.join(this, other, leftHash, rightHash, predicate, false, false);
+    }
+
+    /**
+     * Left outer join 2 streams into one, using a hash join on keys.
+     * <p>
+     * Rows are joined if their keys are equal according to
+     * {@link Objects#equals(Object, Object)}. The hash table is built on the
+     * right side, in <code>O(n + m)</code>.
+     * <p>
+     * <code><pre>
+     * // (tuple(1, 1), tuple(2, 2), tuple(2, 2), tuple(3, null))
+     * Seq.of(1, 2, 3).leftOuterJoin(Seq.of(1, 2, 2), t -> t, u -> u)
+     * </pre></code>
+     */
+    default <U, K> Seq<Tuple2<T, U>> leftOuterJoin(Stream<? extends U> other, Function<? super T, ? extends K> leftKey, Function<? super U, ? extends K> rightKey) {
+        return leftOuterJoin(seq(other), leftKey, rightKey);
+    }
+
+    /**
+     * Left outer join 2 streams into one, using a hash join on keys.
+     * <p>
+     * Rows are joined if their keys are equal according to
+     * {@link Objects#equals(Object, Object)}. The hash table is built on the
+     * right side, in <code>O(n + m)</code>.
+     * <p>
+     * <code><pre>
+     * // (tuple(1, 1), tuple(2, 2), tuple(2, 2), tuple(3, null))
+     * Seq.of(1, 2, 3).leftOuterJoin(Seq.of(1, 2, 2), t -> t, u -> u)
+     * </pre></code>
+     */
+    default <U, K> Seq<Tuple2<T, U>> leftOuterJoin(Iterable<? extends U> other, Function<? super T, ? extends K> leftKey, Function<? super U, ? extends K> rightKey) {
+        return leftOuterJoin(seq(other), leftKey, rightKey);
+    }
+
+    /**
+     * Left outer join 2 streams into one, using a hash join on keys.
+     * <p>
+     * Rows are joined if their keys are equal according to
+     * {@link Objects#equals(Object, Object)}. The hash table is built on the
+     * right side, in <code>O(n + m)</code>.
+     * <p>
+     * <code><pre>
+     * // (tuple(1, 1), tuple(2, 2), tuple(2, 2), tuple(3, null))
+     * Seq.of(1, 2, 3).leftOuterJoin(Seq.of(1, 2, 2), t -> t, u -> u)
+     * </pre></code>
+     */
+    default <U, K> Seq<Tuple2<T, U>> leftOuterJoin(Seq<? extends U> other, Function<? super T, ? extends K> leftKey, Function<? super U, ? extends K> rightKey) {
+        return HashJoin.join(this, other, leftKey, rightKey, true, false);
+    }
+
+    /**
+     * Left outer join 2 streams into one, using a hash join on hash codes and a predicate.
+     * <p>
+     * The predicate is evaluated only for rows whose hash codes are equal.
+     * This allows for joining on compound keys without creating a key object
+     * per row. The hash table is built on the right side.
+     * <p>
+     * <code><pre>
+     * // (tuple(tuple(1, 1), null), tuple(tuple(1, 2), tuple(1, 2)))
+     * Seq.of(tuple(1, 1), tuple(1, 2)).leftOuterJoin(Seq.of(tuple(1, 2)), t -> 31 * t.v1 + t.v2, u -> 31 * u.v1 + u.v2, (t, u) -> t.v1.equals(u.v1) &amp;&amp; t.v2.equals(u.v2))
+     * </pre></code>
+     */
+    default <U> Seq<Tuple2<T, U>> leftOuterJoin(Stream<? extends U> other, ToIntFunction<? super T> leftHash, ToIntFunction<? super U> rightHash, BiPredicate<? super T, ? super U> predicate) {
+        return leftOuterJoin(seq(other), leftHash, rightHash, predicate);
+    }
+
+    /**
+     * Left outer join 2 streams into one, using a hash join on hash codes and a predicate.
+     * <p>
+     * The predicate is evaluated only for rows whose hash codes are equal.
+     * This allows for joining on compound keys without creating a key object
+     * per row. The hash table is built on the right side.
+     * <p>
+     * <code><pre>
+     * // (tuple(tuple(1, 1), null), tuple(tuple(1, 2), tuple(1, 2)))
+     * Seq.of(tuple(1, 1), tuple(1, 2)).leftOuterJoin(Seq.of(tuple(1, 2)), t -> 31 * t.v1 + t.v2, u -> 31 * u.v1 + u.v2, (t, u) -> t.v1.equals(u.v1) &amp;&amp; t.v2.equals(u.v2))
+     * </pre></code>
+     */
+    default <U> Seq<Tuple2<T, U>> leftOuterJoin(Iterable<? extends U> other, ToIntFunction<? super T> leftHash, ToIntFunction<? super U> rightHash, BiPredicate<? super T, ? super U> predicate) {
+        return leftOuterJoin(seq(other), leftHash, rightHash, predicate);
+    }
+
+    /**
+     * Left outer join 2 streams into one, using a hash join on hash codes and a predicate.
+     * <p>
+     * The predicate is evaluated only for rows whose hash codes are equal.
+     * This allows for joining on compound keys without creating a key object
+     * per row. The hash table is built on the right side.
+     * <p>
+     * <code><pre>
+     * // (tuple(tuple(1, 1), null), tuple(tuple(1, 2), tuple(1, 2)))
+     * Seq.of(tuple(1, 1), tuple(1, 2)).leftOuterJoin(Seq.of(tuple(1, 2)), t -> 31 * t.v1 + t.v2, u -> 31 * u.v1 + u.v2, (t, u) -> t.v1.equals(u.v1) &amp;&amp; t.v2.equals(u.v2))
+     * </pre></code>
+     */
+    default <U> Seq<Tuple2<T, U>> leftOuterJoin(Seq<? extends U> other, ToIntFunction<? super T> leftHash, ToIntFunction<? super U> rightHash, BiPredicate<? super T, ? super U> predicate) {
+        return HashJoin.join(this, other, leftHash, rightHash, predicate, true, false);
+    }
+
+    /**
+     * Right outer join 2 streams into one, using a hash join on keys.
+     * <p>
+     * Rows are joined if their keys are equal according to
+     * {@link Objects#equals(Object, Object)}. The hash table is built on the
+     * left side, in <code>O(n + m)</code>.
+     * <p>
+     * <code><pre>
+     * // (tuple(1, 1), tuple(2, 2), tuple(null, 3))
+     * Seq.of(1, 2).rightOuterJoin(Seq.of(1, 2, 3), t -> t, u -> u)
+     * </pre></code>
+     */
+    default <U, K> Seq<Tuple2<T, U>> rightOuterJoin(Stream<? extends U> other, Function<? super T, ? extends K> leftKey, Function<? super U, ? extends K> rightKey) {
+        return rightOuterJoin(seq(other), leftKey, rightKey);
+    }
+
+    /**
+     * Right outer join 2 streams into one, using a hash join on keys.
+     * <p>
+     * Rows are joined if their keys are equal according to
+     * {@link Objects#equals(Object, Object)}. The hash table is built on the
+     * left side, in <code>O(n + m)</code>.
+     * <p>
+     * <code><pre>
+     * // (tuple(1, 1), tuple(2, 2), tuple(null, 3))
+     * Seq.of(1, 2).rightOuterJoin(Seq.of(1, 2, 3), t -> t, u -> u)
+     * </pre></code>
+     */
+    default <U, K> Seq<Tuple2<T, U>> rightOuterJoin(Iterable<? extends U> other, Function<? super T, ? extends K> leftKey, Function<? super U, ? extends K> rightKey) {
+        return rightOuterJoin(seq(other), leftKey, rightKey);
+    }
+
+    /**
+     * Right outer join 2 streams into one, using a hash join on keys.
+     * <p>
+     * Rows are joined if their keys are equal according to
+     * {@link Objects#equals(Object, Object)}. The hash table is built on the
+     * left side, in <code>O(n + m)</code>.
+     * <p>
+     * <code><pre>
+     * // (tuple(1, 1), tuple(2, 2), tuple(null, 3))
+     * Seq.of(1, 2).rightOuterJoin(Seq.of(1, 2, 3), t -> t, u -> u)
+     * </pre></code>
+     */
+    default <U, K> Seq<Tuple2<T, U>> rightOuterJoin(Seq<? extends U> other, Function<? super T, ? extends K> leftKey, Function<? super U, ? extends K> rightKey) {
+        return HashJoin.join(other, this, rightKey, leftKey, true, false)
+                       .map(t -> Tuple.<T, U>tuple(t.v2, t.v1));
+    }
+
+    /**
+     * Right outer join 2 streams into one, using a hash join on hash codes and a predicate.
+     * <p>
+     * The predicate is evaluated only for rows whose hash codes are equal.
+     * This allows for joining on compound keys without creating a key object
+     * per row. The hash table is built on the left side.
+     * <p>
+     * <code><pre>
+     * // (tuple(tuple(1, 2), tuple(1, 2)), tuple(null, tuple(2, 2)))
+     * Seq.of(tuple(1, 1), tuple(1, 2)).rightOuterJoin(Seq.of(tuple(1, 2), tuple(2, 2)), t -> 31 * t.v1 + t.v2, u -> 31 * u.v1 + u.v2, (t, u) -> t.v1.equals(u.v1) &amp;&amp; t.v2.equals(u.v2))
+     * </pre></code>
+     */
+    default <U> Seq<Tuple2<T, U>> rightOuterJoin(Stream<? extends U> other, ToIntFunction<? super T> leftHash, ToIntFunction<? super U> rightHash, BiPredicate<? super T, ? super U> predicate) {
+        return rightOuterJoin(seq(other), leftHash, rightHash, predicate);
+    }
+
+    /**
+     * Right outer join 2 streams into one, using a hash join on hash codes and a predicate.
+     * <p>
+     * The predicate is evaluated only for rows whose hash codes are equal.
+     * This allows for joining on compound keys without creating a key object
+     * per row. The hash table is built on the left side.
+     * <p>
+     * <code><pre>
+     * // (tuple(tuple(1, 2), tuple(1, 2)), tuple(null, tuple(2, 2)))
+     * Seq.of(tuple(1, 1), tuple(1, 2)).rightOuterJoin(Seq.of(tuple(1, 2), tuple(2, 2)), t -> 31 * t.v1 + t.v2, u -> 31 * u.v1 + u.v2, (t, u) -> t.v1.equals(u.v1) &amp;&amp; t.v2.equals(u.v2))
+     * </pre></code>
+     */
+    default <U> Seq<Tuple2<T, U>> rightOuterJoin(Iterable<? extends U> other, ToIntFunction<? super T> leftHash, ToIntFunction<? super U> rightHash, BiPredicate<? super T, ? super U> predicate) {
+        return rightOuterJoin(seq(other), leftHash, rightHash, predicate);
+    }
+
+    /**
+     * Right outer join 2 streams into one, using a hash join on hash codes and a predicate.
+     * <p>
+     * The predicate is evaluated only for rows whose hash codes are equal.
+     * This allows for joining on compound keys without creating a key object
+     * per row. The hash table is built on the left side.
+     * <p>
+     * <code><pre>
+     * // (tuple(tuple(1, 2), tuple(1, 2)), tuple(null, tuple(2, 2)))
+     * Seq.of(tuple(1, 1), tuple(1, 2)).rightOuterJoin(Seq.of(tuple(1, 2), tuple(2, 2)), t -> 31 * t.v1 + t.v2, u -> 31 * u.v1 + u.v2, (t, u) -> t.v1.equals(u.v1) &amp;&amp; t.v2.equals(u.v2))
+     * </pre></code>
+     */
+    default <U> Seq<Tuple2<T, U>> rightOuterJoin(Seq<? extends U> other, ToIntFunction<? super T> leftHash, ToIntFunction<? super U> rightHash, BiPredicate<? super T, ? super U> predicate) {
+        return HashJoin.<U, T>join(other, this, rightHash, leftHash, (u, t) -> predicate.test(t, u), true, false)
+                       .map(t -> Tuple.<T, U>tuple(t.v2, t.v1));
+    }
+
+    /**
+     * Full outer join 2 streams into one, using a hash join on keys.
+     * <p>
+     * Rows are joined if their keys are equal according to
+     * {@link Objects#equals(Object, Object)}. The hash table is built on the
+     * right side, in <code>O(n + m)</code>.
+     * <p>
+     * <code><pre>
+     * // (tuple(1, 1), tuple(2, 2), tuple(4, null), tuple(null, 3))
+     * Seq.of(1, 2, 4).fullOuterJoin(Seq.of(1, 2, 3), t -> t, u -> u)
+     * </pre></code>
+     */
+    default <U, K> Seq<Tuple2<T, U>> fullOuterJoin(Stream<? extends U> other, Function<? super T, ? extends K> leftKey, Function<? super U, ? extends K> rightKey) {
+        return fullOuterJoin(seq(other), leftKey, rightKey);
+    }
+
+    /**
+     * Full outer join 2 streams into one, using a hash join on keys.
+     * <p>
+     * Rows are joined if their keys are equal according to
+     * {@link Objects#equals(Object, Object)}. The hash table is built on the
+     * right side, in <code>O(n + m)</code>.
+     * <p>
+     * <code><pre>
+     * // (tuple(1, 1), tuple(2, 2), tuple(4, null), tuple(null, 3))
+     * Seq.of(1, 2, 4).fullOuterJoin(Seq.of(1, 2, 3), t -> t, u -> u)
+     * </pre></code>
+     */
+    default <U, K> Seq<Tuple2<T, U>> fullOuterJoin(Iterable<? extends U> other, Function<? super T, ? extends K> leftKey, Function<? super U, ? extends K> rightKey) {
+        return fullOuterJoin(seq(other), leftKey, rightKey);
+    }
+
+    /**
+     * Full outer join 2 streams into one, using a hash join on keys.
+     * <p>
+     * Rows are joined if their keys are equal according to
+     * {@link Objects#equals(Object, Object)}. The hash table is built on the
+     * right side, in <code>O(n + m)</code>.
+     * <p>
+     * <code><pre>
+     * // (tuple(1, 1), tuple(2, 2), tuple(4, null), tuple(null, 3))
+     * Seq.of(1, 2, 4).fullOuterJoin(Seq.of(1, 2, 3), t -> t, u -> u)
+     * </pre></code>
+     */
+    default <U, K> Seq<Tuple2<T, U>> fullOuterJoin(Seq<? extends U> other, Function<? super T, ? extends K> leftKey, Function<? super U, ? extends K> rightKey) {
+        return HashJoin.join(this, other, leftKey, rightKey, true, true);
+    }
+
+    /**
+     * Full outer join 2 streams into one, using a hash join on hash codes and a predicate.
+     * <p>
+     * The predicate is evaluated only for rows whose hash codes are equal.
+     * This allows for joining on compound keys without creating a key object
+     * per row. The hash table is built on the right side.
+     * <p>
+     * <code><pre>
+     * // (tuple(tuple(1, 1), null), tuple(tuple(1, 2), tuple(1, 2)), tuple(null, tuple(2, 2)))
+     * Seq.of(tuple(1, 1), tuple(1, 2)).fullOuterJoin(Seq.of(tuple(1, 2), tuple(2, 2)), t -> 31 * t.v1 + t.v2, u -> 31 * u.v1 + u.v2, (t, u) -> t.v1.equals(u.v1) &amp;&amp; t.v2.equals(u.v2))
+     * </pre></code>
+     */
+    default <U> Seq<Tuple2<T, U>> fullOuterJoin(Stream<? extends U> other, ToIntFunction<? super T> leftHash, ToIntFunction<? super U> rightHash, BiPredicate<? super T, ? super U> predicate) {
+        return fullOuterJoin(seq(other), leftHash, rightHash, predicate);
+    }
+
+    /**
+     * Full outer join 2 streams into one, using a hash join on hash codes and a predicate.
+     * <p>
+     * The predicate is evaluated only for rows whose hash codes are equal.
+     * This allows for joining on compound keys without creating a key object
+     * per row. The hash table is built on the right side.
+     * <p>
+     * <code><pre>
+     * // (tuple(tuple(1, 1), null), tuple(tuple(1, 2), tuple(1, 2)), tuple(null, tuple(2, 2)))
+     * Seq.of(tuple(1, 1), tuple(1, 2)).fullOuterJoin(Seq.of(tuple(1, 2), tuple(2, 2)), t -> 31 * t.v1 + t.v2, u -> 31 * u.v1 + u.v2, (t, u) -> t.v1.equals(u.v1) &amp;&amp; t.v2.equals(u.v2))
+     * </pre></code>
+     */
+    default <U> Seq<Tuple2<T, U>> fullOuterJoin(Iterable<? extends U> other, ToIntFunction<? super T> leftHash, ToIntFunction<? super U> rightHash, BiPredicate<? super T, ? super U> predicate) {
+        return fullOuterJoin(seq(other), leftHash, rightHash, predicate);
+    }
+
+    /**
+     * Full outer join 2 streams into one, using a hash join on hash codes and a predicate.
+     * <p>
+     * The predicate is evaluated only for rows whose hash codes are equal.
+     * This allows for joining on compound keys without creating a key object
+     * per row. The hash table is built on the right side.
+     * <p>
+     * <code><pre>
+     * // (tuple(tuple(1, 1), null), tuple(tuple(1, 2), tuple(1, 2)), tuple(null, tuple(2, 2)))
+     * Seq.of(tuple(1, 1), tuple(1, 2)).fullOuterJoin(Seq.of(tuple(1, 2), tuple(2, 2)), t -> 31 * t.v1 + t.v2, u -> 31 * u.v1 + u.v2, (t, u) -> t.v1.equals(u.v1) &amp;&amp; t.v2.equals(u.v2))
+     * </pre></code>
+     */
+    default <U> Seq<Tuple2<T, U>> fullOuterJoin(Seq<? extends U> other, ToIntFunction<? super T> leftHash, ToIntFunction<? super U> rightHash, BiPredicate<? super T, ? super U> predicate) {
+        return HashJoin.join(this, other, leftHash, rightHash, predicate, true, true);
+    }
+
+    /**
+     * Inner join 2 streams into one, using a sort-merge join on keys in their natural order.
+     * <p>
+     * Both streams must be sorted by their keys. They are joined in a single
+     * pass, buffering only the current run of right side rows that share the
+     * same key. If either stream turns out not to be sorted, an
+     * {@link IllegalStateException} is thrown.
+     * <p>
+     * <code><pre>
+     * // (tuple(1, 1), tuple(2, 2), tuple(2, 2))
+     * Seq.of(1, 2, 3).mergeJoin(Seq.of(1, 2, 2, 4), t -> t, u -> u)
+     * </pre></code>
+     */
+    default <U, K extends Comparable<? super K>> Seq<Tuple2<T, U>> mergeJoin(Stream<? extends U> other, Function<? super T, ? extends K> leftKey, Function<? super U, ? extends K> rightKey) {
+        return mergeJoin(seq(other), leftKey, rightKey);
+    }
+
+    /**
+     * Inner join 2 streams into one, using a sort-merge join on keys in their natural order.
+     * <p>
+     * Both streams must be sorted by their keys. They are joined in a single
+     * pass, buffering only the current run of right side rows that share the
+     * same key. If either stream turns out not to be sorted, an
+     * {@link IllegalStateException} is thrown.
+     * <p>
+     * <code><pre>
+     * // (tuple(1, 1), tuple(2, 2), tuple(2, 2))
+     * Seq.of(1, 2, 3).mergeJoin(Seq.of(1, 2, 2, 4), t -> t, u -> u)
+     * </pre></code>
+     */
+    default <U, K extends Comparable<? super K>> Seq<Tuple2<T, U>> mergeJoin(Iterable<? extends U> other, Function<? super T, ? extends K> leftKey, Function<? super U, ? extends K> rightKey) {
+        return mergeJoin(seq(other), leftKey, rightKey);
+    }
+
+    /**
+     * Inner join 2 streams into one, using a sort-merge join on keys in their natural order.
+     * <p>
+     * Both streams must be sorted by their keys. They are joined in a single
+     * pass, buffering only the current run of right side rows that share the
+     * same key. If either stream turns out not to be sorted, an
+     * {@link IllegalStateException} is thrown.
+     * <p>
+     * <code><pre>
+     * // (tuple(1, 1), tuple(2, 2), tuple(2, 2))
+     * Seq.of(1, 2, 3).mergeJoin(Seq.of(1, 2, 2, 4), t -> t, u -> u)
+     * </pre></code>
+     */
+    default <U, K extends Comparable<? super K>> Seq<Tuple2<T, U>> mergeJoin(Seq<? extends U> other, Function<? super T, ? extends K> leftKey, Function<? super U, ? extends K> rightKey) {
+        return mergeJoin(other, leftKey, rightKey, Comparator.<K>naturalOrder());
+    }
+
+    /**
+     * Inner join 2 streams into one, using a sort-merge join on keys in the order of a given comparator.
+     * <p>
+     * Both streams must be sorted by their keys. They are joined in a single
+     * pass, buffering only the current run of right side rows that share the
+     * same key. If either stream turns out not to be sorted, an
+     * {@link IllegalStateException} is thrown.
+     * <p>
+     * <code><pre>
+     * // (tuple(1, 1), tuple(2, 2), tuple(2, 2))
+     * Seq.of(1, 2, 3).mergeJoin(Seq.of(1, 2, 2, 4), t -> t, u -> u)
+     * </pre></code>
+     */
+    default <U, K> Seq<Tuple2<T, U>> mergeJoin(Stream<? extends U> other, Function<? super T, ? extends K> leftKey, Function<? super U, ? extends K> rightKey, Comparator<? super K> comparator) {
+        return mergeJoin(seq(other), leftKey, rightKey, comparator);
+    }
+
+    /**
+     * Inner join 2 streams into one, using a sort-merge join on keys in the order of a given comparator.
+     * <p>
+     * Both streams must be sorted by their keys. They are joined in a single
+     * pass, buffering only the current run of right side rows that share the
+     * same key. If either stream turns out not to be sorted, an
+     * {@link IllegalStateException} is thrown.
+     * <p>
+     * <code><pre>
+     * // (tuple(1, 1), tuple(2, 2), tuple(2, 2))
+     * Seq.of(1, 2, 3).mergeJoin(Seq.of(1, 2, 2, 4), t -> t, u -> u)
+     * </pre></code>
+     */
+    default <U, K> Seq<Tuple2<T, U>> mergeJoin(Iterable<? extends U> other, Function<? super T, ? extends K> leftKey, Function<? super U, ? extends K> rightKey, Comparator<? super K> comparator) {
+        return mergeJoin(seq(other), leftKey, rightKey, comparator);
+    }
+
+    /**
+     * Inner join 2 streams into one, using a sort-merge join on keys in the order of a given comparator.
+     * <p>
+     * Both streams must be sorted by their keys. They are joined in a single
+     * pass, buffering only the current run of right side rows that share the
+     * same key. If either stream turns out not to be sorted, an
+     * {@link IllegalStateException} is thrown.
+     * <p>
+     * <code><pre>
+     * // (tuple(1, 1), tuple(2, 2), tuple(2, 2))
+     * Seq.of(1, 2, 3).mergeJoin(Seq.of(1, 2, 2, 4), t -> t, u -> u)
+     * </pre></code>
+     */
+    default <U, K> Seq<Tuple2<T, U>> mergeJoin(Seq<? extends U> other, Function<? super T, ? extends K> leftKey, Function<? super U, ? extends K> rightKey, Comparator<? super K> comparator) {
+        return MergeJoin.join(this, other, leftKey, rightKey, comparator, false);
+    }
+
+    /**
+     * Left outer join 2 streams into one, using a sort-merge join on keys in their natural order.
+     * <p>
+     * Both streams must be sorted by their keys. They are joined in a single
+     * pass, buffering only the current run of right side rows that share the
+     * same key. If either stream turns out not to be sorted, an
+     * {@link IllegalStateException} is thrown.
+     * <p>
+     * <code><pre>
+     * // (tuple(1, 1), tuple(2, 2), tuple(2, 2), tuple(3, null))
+     * Seq.of(1, 2, 3).leftOuterMergeJoin(Seq.of(1, 2, 2, 4), t -> t, u -> u)
+     * </pre></code>
+     */
+    default <U, K extends Comparable<? super K>> Seq<Tuple2<T, U>> leftOuterMergeJoin(Stream<? extends U> other, Function<? super T, ? extends K> leftKey, Function<? super U, ? extends K> rightKey) {
+        return leftOuterMergeJoin(seq(other), leftKey, rightKey);
+    }
+
+    /**
+     * Left outer join 2 streams into one, using a sort-merge join on keys in their natural order.
+     * <p>
+     * Both streams must be sorted by their keys. They are joined in a single
+     * pass, buffering only the current run of right side rows that share the
+     * same key. If either stream turns out not to be sorted, an
+     * {@link IllegalStateException} is thrown.
+     * <p>
+     * <code><pre>
+     * // (tuple(1, 1), tuple(2, 2), tuple(2, 2), tuple(3, null))
+     * Seq.of(1, 2, 3).leftOuterMergeJoin(Seq.of(1, 2, 2, 4), t -> t, u -> u)
+     * </pre></code>
+     */
+    default <U, K extends Comparable<? super K>> Seq<Tuple2<T, U>> leftOuterMergeJoin(Iterable<? extends U> other, Function<? super T, ? extends K> leftKey, Function<? super U, ? extends K> rightKey) {
+        return leftOuterMergeJoin(seq(other), leftKey, rightKey);
+    }
+
+    /**
+     * Left outer join 2 streams into one, using a sort-merge join on keys in their natural order.
+     * <p>
+     * Both streams must be sorted by their keys. They are joined in a single
+     * pass, buffering only the current run of right side rows that share the
+     * same key. If either stream turns out not to be sorted, an
+     * {@link IllegalStateException} is thrown.
+     * <p>
+     * <code><pre>
+     * // (tuple(1, 1), tuple(2, 2), tuple(2, 2), tuple(3, null))
+     * Seq.of(1, 2, 3).leftOuterMergeJoin(Seq.of(1, 2, 2, 4), t -> t, u -> u)
+     * </pre></code>
+     */
+    default <U, K extends Comparable<? super K>> Seq<Tuple2<T, U>> leftOuterMergeJoin(Seq<? extends U> other, Function<? super T, ? extends K> leftKey, Function<? super U, ? extends K> rightKey) {
+        return leftOuterMergeJoin(other, leftKey, rightKey, Comparator.<K>naturalOrder());
+    }
+
+    /**
+     * Left outer join 2 streams into one, using a sort-merge join on keys in the order of a given comparator.
+     * <p>
+     * Both streams must be sorted by their keys. They are joined in a single
+     * pass, buffering only the current run of right side rows that share the
+     * same key. If either stream turns out not to be sorted, an
+     * {@link IllegalStateException} is thrown.
+     * <p>
+     * <code><pre>
+     * // (tuple(1, 1), tuple(2, 2), tuple(2, 2), tuple(3, null))
+     * Seq.of(1, 2, 3).leftOuterMergeJoin(Seq.of(1, 2, 2, 4), t -> t, u -> u)
+     * </pre></code>
+     */
+    default <U, K> Seq<Tuple2<T, U>> leftOuterMergeJoin(Stream<? extends U> other, Function<? super T, ? extends K> leftKey, Function<? super U, ? extends K> rightKey, Comparator<? super K> comparator) {
+        return leftOuterMergeJoin(seq(other), leftKey, rightKey, comparator);
+    }
+
+    /**
+     * Left outer join 2 streams into one, using a sort-merge join on keys in the order of a given comparator.
+     * <p>
+     * Both streams must be sorted by their keys. They are joined in a single
+     * pass, buffering only the current run of right side rows that share the
+     * same key. If either stream turns out not to be sorted, an
+     * {@link IllegalStateException} is thrown.
+     * <p>
+     * <code><pre>
+     * // (tuple(1, 1), tuple(2, 2), tuple(2, 2), tuple(3, null))
+     * Seq.of(1, 2, 3).leftOuterMergeJoin(Seq.of(1, 2, 2, 4), t -> t, u -> u)
+     * </pre></code>
+     */
+    default <U, K> Seq<Tuple2<T, U>> leftOuterMergeJoin(Iterable<? extends U> other, Function<? super T, ? extends K> leftKey, Function<? super U, ? extends K> rightKey, Comparator<? super K> comparator) {
+        return leftOuterMergeJoin(seq(other), leftKey, rightKey, comparator);
+    }
+
+    /**
+     * Left outer join 2 streams into one, using a sort-merge join on keys in the order of a given comparator.
+     * <p>
+     * Both streams must be sorted by their keys. They are joined in a single
+     * pass, buffering only the current run of right side rows that share the
+     * same key. If either stream turns out not to be sorted, an
+     * {@link IllegalStateException} is thrown.
+     * <p>
+     * <code><pre>
+     * // (tuple(1, 1), tuple(2, 2), tuple(2, 2), tuple(3, null))
+     * Seq.of(1, 2, 3).leftOuterMergeJoin(Seq.of(1, 2, 2, 4), t -> t, u -> u)
+     * </pre></code>
+     */
+    default <U, K> Seq<Tuple2<T, U>> leftOuterMergeJoin(Seq<? extends U> other, Function<? super T, ? extends K> leftKey, Function<? super U, ? extends K> rightKey, Comparator<? super K> comparator) {
+        return MergeJoin.join(this, other, leftKey, rightKey, comparator, true);
+    }
+
+    /**
+     * Inner join 2 streams into one, on overlapping ranges.
+     * <p>
+     * The other stream's ranges are sorted and indexed in an interval tree,
+     * which is probed with each of this stream's ranges. This takes
+     * <code>O((n + m) log m)</code> time, plus at most <code>O(log m)</code>
+     * per match, instead of comparing all pairs. The result is produced in this
+     * stream's order, with matches ordered by their lower bounds. Bounds are
+     * inclusive, and <code>null</code> bounds are unbounded, as in {@link Range}.
+     * <p>
+     * <code><pre>
+     * // (tuple(1, 1), tuple(4, 3), tuple(4, 5))
+     * Seq.of(1, 4, 7).intervalJoin(Seq.of(1, 3, 5), t -> range(t, t + 1), u -> range(u, u + 1))
+     * </pre></code>
+     */
+    default <U, K extends Comparable<K>> Seq<Tuple2<T, U>> intervalJoin(Stream<? extends U> other, Function<? super T, ? extends Range<K>> leftRange, Function<? super U, ? extends Range<K>> rightRange) {
+        return intervalJoin(seq(other), leftRange, rightRange);
+    }
+
+    /**
+     * Inner join 2 streams into one, on overlapping ranges.
+     * <p>
+     * The other stream's ranges are sorted and indexed in an interval tree,
+     * which is probed with each of this stream's ranges. This takes
+     * <code>O((n + m) log m)</code> time, plus at most <code>O(log m)</code>
+     * per match, instead of comparing all pairs. The result is produced in this
+     * stream's order, with matches ordered by their lower bounds. Bounds are
+     * inclusive, and <code>null</code> bounds are unbounded, as in {@link Range}.
+     * <p>
+     * <code><pre>
+     * // (tuple(1, 1), tuple(4, 3), tuple(4, 5))
+     * Seq.of(1, 4, 7).intervalJoin(Seq.of(1, 3, 5), t -> range(t, t + 1), u -> range(u, u + 1))
+     * </pre></code>
+     */
+    default <U, K extends Comparable<K>> Seq<Tuple2<T, U>> intervalJoin(Iterable<? extends U> other, Function<? super T, ? extends Range<K>> leftRange, Function<? super U, ? extends Range<K>> rightRange) {
+        return intervalJoin(seq(other), leftRange, rightRange);
+    }
+
+    /**
+     * Inner join 2 streams into one, on overlapping ranges.
+     * <p>
+     * The other stream's ranges are sorted and indexed in an interval tree,
+     * which is probed with each of this stream's ranges. This takes
+     * <code>O((n + m) log m)</code> time, plus at most <code>O(log m)</code>
+     * per match, instead of comparing all pairs. The result is produced in this
+     * stream's order, with matches ordered by their lower bounds. Bounds are
+     * inclusive, and <code>null</code> bounds are unbounded, as in {@link Range}.
+     * <p>
+     * <code><pre>
+     * // (tuple(1, 1), tuple(4, 3), tuple(4, 5))
+     * Seq.of(1, 4, 7).intervalJoin(Seq.of(1, 3, 5), t -> range(t, t + 1), u -> range(u, u + 1))
+     * </pre></code>
+     */
+    default <U, K extends Comparable<K>> Seq<Tuple2<T, U>> intervalJoin(Seq<? extends U> other, Function<? super T, ? extends Range<K>> leftRange, Function<? super U, ? extends Range<K>> rightRange) {
+        return IntervalJoin.join(this, other, leftRange, rightRange, false);
+    }
+
+    /**
+     * Left outer join 2 streams into one, on overlapping ranges.
+     * <p>
+     * The other stream's ranges are sorted and indexed in an interval tree,
+     * which is probed with each of this stream's ranges. This takes
+     * <code>O((n + m) log m)</code> time, plus at most <code>O(log m)</code>
+     * per match, instead of comparing all pairs. The result is produced in this
+     * stream's order, with matches ordered by their lower bounds. Bounds are
+     * inclusive, and <code>null</code> bounds are unbounded, as in {@link Range}.
+     * <p>
+     * <code><pre>
+     * // (tuple(1, 1), tuple(4, 3), tuple(4, 5), tuple(7, null))
+     * Seq.of(1, 4, 7).leftOuterIntervalJoin(Seq.of(1, 3, 5), t -> range(t, t + 1), u -> range(u, u + 1))
+     * </pre></code>
+     */
+    default <U, K extends Comparable<K>> Seq<Tuple2<T, U>> leftOuterIntervalJoin(Stream<? extends U> other, Function<? super T, ? extends Range<K>> leftRange, Function<? super U, ? extends Range<K>> rightRange) {
+        return leftOuterIntervalJoin(seq(other), leftRange, rightRange);
+    }
+
+    /**
+     * Left outer join 2 streams into one, on overlapping ranges.
+     * <p>
+     * The other stream's ranges are sorted and indexed in an interval tree,
+     * which is probed with each of this stream's ranges. This takes
+     * <code>O((n + m) log m)</code> time, plus at most <code>O(log m)</code>
+     * per match, instead of comparing all pairs. The result is produced in this
+     * stream's order, with matches ordered by their lower bounds. Bounds are
+     * inclusive, and <code>null</code> bounds are unbounded, as in {@link Range}.
+     * <p>
+     * <code><pre>
+     * // (tuple(1, 1), tuple(4, 3), tuple(4, 5), tuple(7, null))
+     * Seq.of(1, 4, 7).leftOuterIntervalJoin(Seq.of(1, 3, 5), t -> range(t, t + 1), u -> range(u, u + 1))
+     * </pre></code>
+     */
+    default <U, K extends Comparable<K>> Seq<Tuple2<T, U>> leftOuterIntervalJoin(Iterable<? extends U> other, Function<? super T, ? extends Range<K>> leftRange, Function<? super U, ? extends Range<K>> rightRange) {
+        return leftOuterIntervalJoin(seq(other), leftRange, rightRange);
+    }
+
+    /**
+     * Left outer join 2 streams into one, on overlapping ranges.
+     * <p>
+     * The other stream's ranges are sorted and indexed in an interval tree,
+     * which is probed with each of this stream's ranges. This takes
+     * <code>O((n + m) log m)</code> time, plus at most <code>O(log m)</code>
+     * per match, instead of comparing all pairs. The result is produced in this
+     * stream's order, with matches ordered by their lower bounds. Bounds are
+     * inclusive, and <code>null</code> bounds are unbounded, as in {@link Range}.
+     * <p>
+     * <code><pre>
+     * // (tuple(1, 1), tuple(4, 3), tuple(4, 5), tuple(7, null))
+     * Seq.of(1, 4, 7).leftOuterIntervalJoin(Seq.of(1, 3, 5), t -> range(t, t + 1), u -> range(u, u + 1))
+     * </pre></code>
+     */
+    default <U, K extends Comparable<K>> Seq<Tuple2<T, U>> leftOuterIntervalJoin(Seq<? extends U> other, Function<? super T, ? extends Range<K>> leftRange, Function<? super U, ? extends Range<K>> rightRange) {
+        return IntervalJoin.join(this, other, leftRange, rightRange, true);
+    }
+
+    /**
+     * Inner join 2 streams into one, on a band predicate of the form
+     * <code>lower(u) &lt;= key(t) &lt;= upper(u)</code>, in natural order.
+     * <p>
+     * The other stream's bounds are sorted and indexed in an interval tree,
+     * which is probed with each of this stream's keys. This takes
+     * <code>O((n + m) log m)</code> time, plus at most <code>O(log m)</code>
+     * per match, instead of comparing all pairs. The result is produced in this
+     * stream's order, with matches ordered by their lower bounds. Bounds are
+     * inclusive, and <code>null</code> bounds are unbounded. <code>null</code>
+     * keys don't match any bounds.
+     * <p>
+     * <code><pre>
+     * // (tuple(1, 0), tuple(1, 2), tuple(2, 2))
+     * Seq.of(1, 2, 5).bandJoin(Seq.of(0, 2), t -> t, u -> u - 1, u -> u + 1)
+     * </pre></code>
+     */
+    default <U, K extends Comparable<? super K>> Seq<Tuple2<T, U>> bandJoin(Stream<? extends U> other, Function<? super T, ? extends K> key, Function<? super U, ? extends K> lower, Function<? super U, ? extends K> upper) {
+        return bandJoin(seq(other), key, lower, upper);
+    }
+
+    /**
+     * Inner join 2 streams into one, on a band predicate of the form
+     * <code>lower(u) &lt;= key(t) &lt;= upper(u)</code>, in natural order.
+     * <p>
+     * The other stream's bounds are sorted and indexed in an interval tree,
+     * which is probed with each of this stream's keys. This takes
+     * <code>O((n + m) log m)</code> time, plus at most <code>O(log m)</code>
+     * per match, instead of comparing all pairs. The result is produced in this
+     * stream's order, with matches ordered by their lower bounds. Bounds are
+     * inclusive, and <code>null</code> bounds are unbounded. <code>null</code>
+     * keys don't match any bounds.
+     * <p>
+     * <code><pre>
+     * // (tuple(1, 0), tuple(1, 2), tuple(2, 2))
+     * Seq.of(1, 2, 5).bandJoin(Seq.of(0, 2), t -> t, u -> u - 1, u -> u + 1)
+     * </pre></code>
+     */
+    default <U, K extends Comparable<? super K>> Seq<Tuple2<T, U>> bandJoin(Iterable<? extends U> other, Function<? super T, ? extends K> key, Function<? super U, ? extends K> lower, Function<? super U, ? extends K> upper) {
+        return bandJoin(seq(other), key, lower, upper);
+    }
+
+    /**
+     * Inner join 2 streams into one, on a band predicate of the form
+     * <code>lower(u) &lt;= key(t) &lt;= upper(u)</code>, in natural order.
+     * <p>
+     * The other stream's bounds are sorted and indexed in an interval tree,
+     * which is probed with each of this stream's keys. This takes
+     * <code>O((n + m) log m)</code> time, plus at most <code>O(log m)</code>
+     * per match, instead of comparing all pairs. The result is produced in this
+     * stream's order, with matches ordered by their lower bounds. Bounds are
+     * inclusive, and <code>null</code> bounds are unbounded. <code>null</code>
+     * keys don't match any bounds.
+     * <p>
+     * <code><pre>
+     * // (tuple(1, 0), tuple(1, 2), tuple(2, 2))
+     * Seq.of(1, 2, 5).bandJoin(Seq.of(0, 2), t -> t, u -> u - 1, u -> u + 1)
+     * </pre></code>
+     */
+    default <U, K extends Comparable<? super K>> Seq<Tuple2<T, U>> bandJoin(Seq<? extends U> other, Function<? super T, ? extends K> key, Function<? super U, ? extends K> lower, Function<? super U, ? extends K> upper) {
+        return bandJoin(other, key, lower, upper, Comparator.<K>naturalOrder());
+    }
+
+    /**
+     * Inner join 2 streams into one, on a band predicate of the form
+     * <code>lower(u) &lt;= key(t) &lt;= upper(u)</code>, in the order of a given comparator.
+     * <p>
+     * The other stream's bounds are sorted and indexed in an interval tree,
+     * which is probed with each of this stream's keys. This takes
+     * <code>O((n + m) log m)</code> time, plus at most <code>O(log m)</code>
+     * per match, instead of comparing all pairs. The result is produced in this
+     * stream's order, with matches ordered by their lower bounds. Bounds are
+     * inclusive, and <code>null</code> bounds are unbounded. <code>null</code>
+     * keys don't match any bounds.
+     * <p>
+     * <code><pre>
+     * // (tuple(1, 0), tuple(1, 2), tuple(2, 2))
+     * Seq.of(1, 2, 5).bandJoin(Seq.of(0, 2), t -> t, u -> u - 1, u -> u + 1)
+     * </pre></code>
+     */
+    default <U, K> Seq<Tuple2<T, U>> bandJoin(Stream<? extends U> other, Function<? super T, ? extends K> key, Function<? super U, ? extends K> lower, Function<? super U, ? extends K> upper, Comparator<? super K> comparator) {
+        return bandJoin(seq(other), key, lower, upper, comparator);
+    }
+
+    /**
+     * Inner join 2 streams into one, on a band predicate of the form
+     * <code>lower(u) &lt;= key(t) &lt;= upper(u)</code>, in the order of a given comparator.
+     * <p>
+     * The other stream's bounds are sorted and indexed in an interval tree,
+     * which is probed with each of this stream's keys. This takes
+     * <code>O((n + m) log m)</code> time, plus at most <code>O(log m)</code>
+     * per match, instead of comparing all pairs. The result is produced in this
+     * stream's order, with matches ordered by their lower bounds. Bounds are
+     * inclusive, and <code>null</code> bounds are unbounded. <code>null</code>
+     * keys don't match any bounds.
+     * <p>
+     * <code><pre>
+     * // (tuple(1, 0), tuple(1, 2), tuple(2, 2))
+     * Seq.of(1, 2, 5).bandJoin(Seq.of(0, 2), t -> t, u -> u - 1, u -> u + 1)
+     * </pre></code>
+     */
+    default <U, K> Seq<Tuple2<T, U>> bandJoin(Iterable<? extends U> other, Function<? super T, ? extends K> key, Function<? super U, ? extends K> lower, Function<? super U, ? extends K> upper, Comparator<? super K> comparator) {
+        return bandJoin(seq(other), key, lower, upper, comparator);
+    }
+
+    /**
+     * Inner join 2 streams into one, on a band predicate of the form
+     * <code>lower(u) &lt;= key(t) &lt;= upper(u)</code>, in the order of a given comparator.
+     * <p>
+     * The other stream's bounds are sorted and indexed in an interval tree,
+     * which is probed with each of this stream's keys. This takes
+     * <code>O((n + m) log m)</code> time, plus at most <code>O(log m)</code>
+     * per match, instead of comparing all pairs. The result is produced in this
+     * stream's order, with matches ordered by their lower bounds. Bounds are
+     * inclusive, and <code>null</code> bounds are unbounded. <code>null</code>
+     * keys don't match any bounds.
+     * <p>
+     * <code><pre>
+     * // (tuple(1, 0), tuple(1, 2), tuple(2, 2))
+     * Seq.of(1, 2, 5).bandJoin(Seq.of(0, 2), t -> t, u -> u - 1, u -> u + 1)
+     * </pre></code>
+     */
+    default <U, K> Seq<Tuple2<T, U>> bandJoin(Seq<? extends U> other, Function<? super T, ? extends K> key, Function<? super U, ? extends K> lower, Function<? super U, ? extends K> upper, Comparator<? super K> comparator) {
+        return IntervalJoin.join(this, other, key, lower, upper, comparator, false);
+    }
+
+    /**
+     * Left outer join 2 streams into one, on a band predicate of the form
+     * <code>lower(u) &lt;= key(t) &lt;= upper(u)</code>, in natural order.
+     * <p>
+     * The other stream's bounds are sorted and indexed in an interval tree,
+     * which is probed with each of this stream's keys. This takes
+     * <code>O((n + m) log m)</code> time, plus at most <code>O(log m)</code>
+     * per match, instead of comparing all pairs. The result is produced in this
+     * stream's order, with matches ordered by their lower bounds. Bounds are
+     * inclusive, and <code>null</code> bounds are unbounded. <code>null</code>
+     * keys don't match any bounds.
+     * <p>
+     * <code><pre>
+     * // (tuple(1, 0), tuple(1, 2), tuple(2, 2), tuple(5, null))
+     * Seq.of(1, 2, 5).leftOuterBandJoin(Seq.of(0, 2), t -> t, u -> u - 1, u -> u + 1)
+     * </pre></code>
+     */
+    default <U, K extends Comparable<? super K>> Seq<Tuple2<T, U>> leftOuterBandJoin(Stream<? extends U> other, Function<? super T, ? extends K> key, Function<? super U, ? extends K> lower, Function<? super U, ? extends K> upper) {
+        return leftOuterBandJoin(seq(other), key, lower, upper);
+    }
+
+    /**
+     * Left outer join 2 streams into one, on a band predicate of the form
+     * <code>lower(u) &lt;= key(t) &lt;= upper(u)</code>, in natural order.
+     * <p>
+     * The other stream's bounds are sorted and indexed in an interval tree,
+     * which is probed with each of this stream's keys. This takes
+     * <code>O((n + m) log m)</code> time, plus at most <code>O(log m)</code>
+     * per match, instead of comparing all pairs. The result is produced in this
+     * stream's order, with matches ordered by their lower bounds. Bounds are
+     * inclusive, and <code>null</code> bounds are unbounded. <code>null</code>
+     * keys don't match any bounds.
+     * <p>
+     * <code><pre>
+     * // (tuple(1, 0), tuple(1, 2), tuple(2, 2), tuple(5, null))
+     * Seq.of(1, 2, 5).leftOuterBandJoin(Seq.of(0, 2), t -> t, u -> u - 1, u -> u + 1)
+     * </pre></code>
+     */
+    default <U, K extends Comparable<? super K>> Seq<Tuple2<T, U>> leftOuterBandJoin(Iterable<? extends U> other, Function<? super T, ? extends K> key, Function<? super U, ? extends K> lower, Function<? super U, ? extends K> upper) {
+        return leftOuterBandJoin(seq(other), key, lower, upper);
+    }
+
+    /**
+     * Left outer join 2 streams into one, on a band predicate of the form
+     * <code>lower(u) &lt;= key(t) &lt;= upper(u)</code>, in natural order.
+     * <p>
+     * The other stream's bounds are sorted and indexed in an interval tree,
+     * which is probed with each of this stream's keys. This takes
+     * <code>O((n + m) log m)</code> time, plus at most <code>O(log m)</code>
+     * per match, instead of comparing all pairs. The result is produced in this
+     * stream's order, with matches ordered by their lower bounds. Bounds are
+     * inclusive, and <code>null</code> bounds are unbounded. <code>null</code>
+     * keys don't match any bounds.
+     * <p>
+     * <code><pre>
+     * // (tuple(1, 0), tuple(1, 2), tuple(2, 2), tuple(5, null))
+     * Seq.of(1, 2, 5).leftOuterBandJoin(Seq.of(0, 2), t -> t, u -> u - 1, u -> u + 1)
+     * </pre></code>
+     */
+    default <U, K extends Comparable<? super K>> Seq<Tuple2<T, U>> leftOuterBandJoin(Seq<? extends U> other, Function<? super T, ? extends K> key, Function<? super U, ? extends K> lower, Function<? super U, ? extends K> upper) {
+        return leftOuterBandJoin(other, key, lower, upper, Comparator.<K>naturalOrder());
+    }
+
+    /**
+     * Left outer join 2 streams into one, on a band predicate of the form
+     * <code>lower(u) &lt;= key(t) &lt;= upper(u)</code>, in the order of a given comparator.
+     * <p>
+     * The other stream's bounds are sorted and indexed in an interval tree,
+     * which is probed with each of this stream's keys. This takes
+     * <code>O((n + m) log m)</code> time, plus at most <code>O(log m)</code>
+     * per match, instead of comparing all pairs. The result is produced in this
+     * stream's order, with matches ordered by their lower bounds. Bounds are
+     * inclusive, and <code>null</code> bounds are unbounded. <code>null</code>
+     * keys don't match any bounds.
+     * <p>
+     * <code><pre>
+     * // (tuple(1, 0), tuple(1, 2), tuple(2, 2), tuple(5, null))
+     * Seq.of(1, 2, 5).leftOuterBandJoin(Seq.of(0, 2), t -> t, u -> u - 1, u -> u + 1)
+     * </pre></code>
+     */
+    default <U, K> Seq<Tuple2<T, U>> leftOuterBandJoin(Stream<? extends U> other, Function<? super T, ? extends K> key, Function<? super U, ? extends K> lower, Function<? super U, ? extends K> upper, Comparator<? super K> comparator) {
+        return leftOuterBandJoin(seq(other), key, lower, upper, comparator);
+    }
+
+    /**
+     * Left outer join 2 streams into one, on a band predicate of the form
+     * <code>lower(u) &lt;= key(t) &lt;= upper(u)</code>, in the order of a given comparator.
+     * <p>
+     * The other stream's bounds are sorted and indexed in an interval tree,
+     * which is probed with each of this stream's keys. This takes
+     * <code>O((n + m) log m)</code> time, plus at most <code>O(log m)</code>
+     * per match, instead of comparing all pairs. The result is produced in this
+     * stream's order, with matches ordered by their lower bounds. Bounds are
+     * inclusive, and <code>null</code> bounds are unbounded. <code>null</code>
+     * keys don't match any bounds.
+     * <p>
+     * <code><pre>
+     * // (tuple(1, 0), tuple(1, 2), tuple(2, 2), tuple(5, null))
+     * Seq.of(1, 2, 5).leftOuterBandJoin(Seq.of(0, 2), t -> t, u -> u - 1, u -> u + 1)
+     * </pre></code>
+     */
+    default <U, K> Seq<Tuple2<T, U>> leftOuterBandJoin(Iterable<? extends U> other, Function<? super T, ? extends K> key, Function<? super U, ? extends K> lower, Function<? super U, ? extends K> upper, Comparator<? super K> comparator) {
+        return leftOuterBandJoin(seq(other), key, lower, upper, comparator);
+    }
+
+    /**
+     * Left outer join 2 streams into one, on a band predicate of the form
+     * <code>lower(u) &lt;= key(t) &lt;= upper(u)</code>, in the order of a given comparator.
+     * <p>
+     * The other stream's bounds are sorted and indexed in an interval tree,
+     * which is probed with each of this stream's keys. This takes
+     * <code>O((n + m) log m)</code> time, plus at most <code>O(log m)</code>
+     * per match, instead of comparing all pairs. The result is produced in this
+     * stream's order, with matches ordered by their lower bounds. Bounds are
+     * inclusive, and <code>null</code> bounds are unbounded. <code>null</code>
+     * keys don't match any bounds.
+     * <p>
+     * <code><pre>
+     * // (tuple(1, 0), tuple(1, 2), tuple(2, 2), tuple(5, null))
+     * Seq.of(1, 2, 5).leftOuterBandJoin(Seq.of(0, 2), t -> t, u -> u - 1, u -> u + 1)
+     * </pre></code>
+     */
+    default <U, K> Seq<Tuple2<T, U>> leftOuterBandJoin(Seq<? extends U> other, Function<? super T, ? extends K> key, Function<? super U, ? extends K> lower, Function<? super U, ? extends K> upper, Comparator<? super K> comparator) {
+        return IntervalJoin.join(this, other, key, lower, upper, comparator, true);
+    }
+
     /**
      * Produce this stream, or an alternative stream with the
      * <code>value</code>, in case this stream is empty.
@@ -981,36 +1951,173 @@ public interface Seq<T> extends Stream<T>, Iterable<T>, Collectable<T> {
     }
     
     /**
-     * Repeat a stream a certain amount of times.
+     * Repeat a stream a certain amount of times.
+     * <p>
+     * <code><pre>
+     * // ()
+     * Seq.of(1, 2, 3).cycle(0);
+     * 
+     * // (1, 2, 3)
+     * Seq.of(1, 2, 3).cycle(1);
+     * 
+     * // (1, 2, 3, 1, 2, 3, 1, 2, 3)
+     * Seq.of(1, 2, 3).cycle(3);
+     * </pre></code>
+     *
+     * @see #cycle(Stream, long)
+     */
+    default Seq<T> cycle(long times) {
+        return cycle(this, times);
+    }
+
+    /**
+     * Get a stream of distinct keys.
+     * <p>
+     * <code><pre>
+     * // (1, 2, 3)
+     * Seq.of(1, 1, 2, -2, 3).distinct(Math::abs)
+     * </pre></code>
+     */
+    default <U> Seq<T> distinct(Function<? super T, ? extends U> keyExtractor) {
+        final Map<U, String> seen = new ConcurrentHashMap<>();
+        return filter(t -> seen.put(keyExtractor.apply(t), "") == null);
+    }
+
+    /**
+     * Get a stream without adjacent duplicates.
+     * <p>
+     * Only the previous element is remembered, which removes all duplicates
+     * from sorted input.
+     * <p>
+     * <code><pre>
+     * // (1, 2, 1)
+     * Seq.of(1, 1, 2, 2, 1).distinctAdjacent()
+     * </pre></code>
+     */
+    default Seq<T> distinctAdjacent() {
+        return distinctAdjacent(t -> t);
+    }
+
+    /**
+     * Get a stream without adjacent duplicate keys.
+     * <p>
+     * Only the previous element's key is remembered, which removes all
+     * duplicate keys from input that is sorted by key.
+     * <p>
+     * <code><pre>
+     * // (1, 2, -1)
+     * Seq.of(1, -1, 2, -2, -1).distinctAdjacent(Math::abs)
+     * </pre></code>
+     */
+    default <U> Seq<T> distinctAdjacent(Function<? super T, ? extends U> keyExtractor) {
+        Object[] previous = { null, null };
+
+        return SeqUtils.filter(this, t -> {
+            U key = keyExtractor.apply(t);
+            boolean distinct = previous[1] == null || !Objects.equals(previous[0], key);
+            previous[0] = key;
+            previous[1] = Boolean.TRUE;
+            return distinct;
+        });
+    }
+
+    /**
+     * Get a stream of keys that are distinct within a window of elements.
+     * <p>
+     * An element is removed if an element with the same key has been
+     * produced within the previous <code>window</code> elements. Only the
+     * keys produced within the window are remembered, i.e. at most
+     * <code>window</code> keys.
+     * <p>
+     * <code><pre>
+     * // (1, 2, 3, 1)
+     * Seq.of(1, 2, 1, 3, 1).distinctWithin(2, t -> t)
+     * </pre></code>
+     *
+     * @throws IllegalArgumentException If <code>window</code> is less than 1.
+     */
+    default <U> Seq<T> distinctWithin(long window, Function<? super T, ? extends U> keyExtractor) {
+        if (window < 1)
+            throw new IllegalArgumentException("Window must be >= 1");
+
+        // Keys are evicted in the order in which they were produced
+        Map<U, Long> produced = new LinkedHashMap<>();
+        long[] index = { 0L };
+
+        return SeqUtils.filter(this, t -> {
+            long i = index[0]++;
+            U key = keyExtractor.apply(t);
+            boolean distinct = !produced.containsKey(key);
+
+            // Evict the keys that leave the window before producing a new key
+            for (Iterator<Long> it = produced.values().iterator(); it.hasNext() && it.next() <= i - window;)
+                it.remove();
+
+            if (distinct)
+                produced.put(key, i);
+
+            return distinct;
+        });
+    }
+
+    /**
+     * Get a stream of keys that are distinct within a time window.
+     * <p>
+     * An element is removed if an element with the same key has been
+     * produced within the <code>window</code> before its timestamp. Only the
+     * keys produced within the window are remembered. Timestamps are
+     * expected to be non-decreasing, as is usual for event streams.
      * <p>
      * <code><pre>
-     * // ()
-     * Seq.of(1, 2, 3).cycle(0);
-     * 
-     * // (1, 2, 3)
-     * Seq.of(1, 2, 3).cycle(1);
-     * 
-     * // (1, 2, 3, 1, 2, 3, 1, 2, 3)
-     * Seq.of(1, 2, 3).cycle(3);
+     * // (tuple("a", 0), tuple("b", 1), tuple("a", 5))
+     * Seq.of(tuple("a", 0), tuple("b", 1), tuple("a", 2), tuple("a", 5))
+     *    .distinctWithin(Duration.ofSeconds(5), t -> t.v1, t -> Instant.ofEpochSecond(t.v2))
      * </pre></code>
-     *
-     * @see #cycle(Stream, long)
      */
-    default Seq<T> cycle(long times) {
-        return cycle(this, times);
+    default <U> Seq<T> distinctWithin(Duration window, Function<? super T, ? extends U> keyExtractor, Function<? super T, ? extends Instant> timestamp) {
+        Objects.requireNonNull(window);
+
+        // Keys are evicted in the order in which they were produced
+        Map<U, Instant> produced = new LinkedHashMap<>();
+
+        return SeqUtils.filter(this, t -> {
+            Instant now = timestamp.apply(t);
+            Instant expired = now.minus(window);
+
+            for (Iterator<Instant> it = produced.values().iterator(); it.hasNext() && !it.next().isAfter(expired);)
+                it.remove();
+
+            return produced.putIfAbsent(keyExtractor.apply(t), now) == null;
+        });
     }
 
     /**
-     * Get a stream of distinct keys.
+     * Get a stream of approximately distinct keys, using a Bloom filter.
+     * <p>
+     * The filter's memory is allocated up front, based on the expected
+     * number of distinct keys and the false positive probability, i.e. the
+     * probability of a distinct key being removed. Duplicate keys are always
+     * removed. Adding more keys than expected increases the false positive
+     * probability. {@link Long}, {@link Double}, {@link java.util.UUID},
+     * {@link CharSequence}, and <code>byte[]</code> keys are hashed to 64 bits
+     * based on all of their contents. Other keys are compared by their
+     * {@link Object#hashCode()}, such that keys with equal hash codes are
+     * considered equal, which adds a false positive probability of about
+     * <code>n / 2<sup>32</sup></code> for <code>n</code> keys. Such keys
+     * should be mapped to one of the above types.
      * <p>
      * <code><pre>
      * // (1, 2, 3)
-     * Seq.of(1, 1, 2, -2, 3).distinct(Math::abs)
+     * Seq.of(1, 1, 2, -2, 3).approxDistinct(Math::abs, 1000, 0.01)
      * </pre></code>
+     *
+     * @throws IllegalArgumentException If <code>expectedKeys</code> is less
+     *             than 1, or <code>falsePositiveProbability</code> isn't
+     *             between 0.0 and 1.0, exclusively.
      */
-    default <U> Seq<T> distinct(Function<? super T, ? extends U> keyExtractor) {
-        final Map<U, String> seen = new ConcurrentHashMap<>();
-        return filter(t -> seen.put(keyExtractor.apply(t), "") == null);
+    default <U> Seq<T> approxDistinct(Function<? super T, ? extends U> keyExtractor, long expectedKeys, double falsePositiveProbability) {
+        BloomFilter filter = new BloomFilter(expectedKeys, falsePositiveProbability);
+        return SeqUtils.filter(this, t -> filter.add(keyExtractor.apply(t)));
     }
 
     /**
@@ -3296,6 +4403,9 @@ public interface Seq<T> extends Stream<T>, Iterable<T>, Collectable<T> {
     /**
      * Duplicate a Streams into two equivalent Streams.
      * <p>
+     * Elements are buffered only until both streams have consumed them, or
+     * until the slower stream is closed.
+     * <p>
      * <code><pre>
      * // tuple((1, 2, 3), (1, 2, 3))
      * Seq.of(1, 2, 3).duplicate()
@@ -3307,6 +4417,41 @@ public interface Seq<T> extends Stream<T>, Iterable<T>, Collectable<T> {
         return duplicate(this);
     }
 
+    /**
+     * Duplicate a Streams into two equivalent Streams, failing with a
+     * {@link LagExceededException} if one of them gets more than
+     * <code>maxLag</code> elements ahead of the other one.
+     * <p>
+     * This bounds the number of elements that are buffered for the slower
+     * stream.
+     * <p>
+     * <code><pre>
+     * // ((1, 1), (2, 2), (3, 3))
+     * Seq.of(1, 2, 3).duplicate(1).map((s1, s2) -> s1.zip(s2))
+     * </pre></code>
+     *
+     * @see #duplicate(Stream, long)
+     */
+    default Tuple2<Seq<T>, Seq<T>> duplicate(long maxLag) {
+        return duplicate(this, maxLag);
+    }
+
+    /**
+     * Duplicate a Streams into two equivalent Streams, blocking the leading
+     * stream for at most <code>timeout</code> if it gets more than
+     * <code>maxLag</code> elements ahead of the other one, e.g. when the
+     * streams are consumed by different threads.
+     * <p>
+     * This bounds the number of elements that are buffered for the slower
+     * stream. If the slower stream doesn't catch up in time, a
+     * {@link LagExceededException} is thrown.
+     *
+     * @see #duplicate(Stream, long, Duration)
+     */
+    default Tuple2<Seq<T>, Seq<T>> duplicate(long maxLag, Duration timeout) {
+        return duplicate(this, maxLag, timeout);
+    }
+
     /**
      * Classify this stream's elements according to a given classifier function.
      * <p>
@@ -3343,6 +4488,96 @@ public interface Seq<T> extends Stream<T>, Iterable<T>, Collectable<T> {
         return grouped(this, classifier, downstream);
     }
 
+    /**
+     * Classify this stream's adjacent elements according to a given classifier function.
+     * <p>
+     * A new group is started whenever the classifier produces a key that is
+     * not equal to the previous element's key. Unlike {@link #grouped(Function)},
+     * only the current group is buffered, and each group is produced as soon
+     * as the key changes, which is useful for input that is already
+     * clustered by key, e.g. sorted input.
+     * <p>
+     * <code><pre>
+     * // Seq(tuple(1, Seq(1, 3)), tuple(0, Seq(2, 4)), tuple(1, Seq(5)))
+     * Seq.of(1, 3, 2, 4, 5).groupedAdjacent(i -> i % 2)
+     * </pre></code>
+     *
+     * @see #grouped(Function)
+     */
+    default <K> Seq<Tuple2<K, Seq<T>>> groupedAdjacent(Function<? super T, ? extends K> classifier) {
+        return groupedAdjacent(this, classifier);
+    }
+
+    /**
+     * Classify this stream's adjacent elements according to a given classifier
+     * function and collect each group's elements using a collector.
+     * <p>
+     * A new group is started whenever the classifier produces a key that is
+     * not equal to the previous element's key. Elements are accumulated
+     * without being buffered, and each group is produced as soon as the key
+     * changes.
+     * <p>
+     * <code><pre>
+     * // Seq(tuple(1, 4), tuple(0, 6), tuple(1, 5))
+     * Seq.of(1, 3, 2, 4, 5).groupedAdjacent(i -> i % 2, Collectors.summingInt(i -> i))
+     * </pre></code>
+     *
+     * @see #grouped(Function, Collector)
+     */
+    default <K, A, D> Seq<Tuple2<K, D>> groupedAdjacent(Function<? super T, ? extends K> classifier, Collector<? super T, A, D> downstream) {
+        return groupedAdjacent(this, classifier, downstream);
+    }
+
+    /**
+     * Classify this stream's elements according to a given classifier function
+     * and collect each class's elements using a collector, holding at most
+     * <code>maxKeysInMemory</code> classes in memory, and spilling the rest to
+     * temporary files using Java serialisation.
+     * <p>
+     * Up to <code>maxKeysInMemory</code> keys are aggregated in memory. The
+     * elements of all other keys are hash partitioned into temporary files,
+     * which are then aggregated one at a time, in the same way. Each class's
+     * elements are collected in encounter order, but classes are produced in
+     * the order in which they are aggregated. Temporary files are deleted once
+     * they have been aggregated, or when the resulting stream is closed.
+     * <p>
+     * <code><pre>
+     * // Seq(tuple(1, 9), tuple(0, 12))
+     * Seq.of(1, 2, 3, 4, 5, 6).grouped(i -> i % 2, Collectors.summingInt(i -> i), 1000)
+     * </pre></code>
+     *
+     * @throws IllegalArgumentException If <code>maxKeysInMemory</code> is less than 1.
+     * @see #grouped(Function, Collector)
+     */
+    default <K, A, D> Seq<Tuple2<K, D>> grouped(Function<? super T, ? extends K> classifier, Collector<? super T, A, D> downstream, int maxKeysInMemory) {
+        return ExternalGroupBy.grouped(this, classifier, downstream, maxKeysInMemory);
+    }
+
+    /**
+     * Classify this stream's elements according to a given classifier function
+     * and collect each class's elements using a collector, holding at most
+     * <code>maxKeysInMemory</code> classes in memory, and spilling the rest to
+     * temporary files using an encoder and a decoder.
+     * <p>
+     * Up to <code>maxKeysInMemory</code> keys are aggregated in memory. The
+     * elements of all other keys are hash partitioned into temporary files,
+     * which are then aggregated one at a time, in the same way. Each class's
+     * elements are collected in encounter order, but classes are produced in
+     * the order in which they are aggregated. Temporary files are deleted once
+     * they have been aggregated, or when the resulting stream is closed.
+     * <p>
+     * <code><pre>
+     * // Seq(tuple(1, 9), tuple(0, 12))
+     * Seq.of(1, 2, 3, 4, 5, 6).grouped(i -> i % 2, Collectors.summingInt(i -> i), 1000, (t, out) -> out.writeInt(t), in -> in.readInt())
+     * </pre></code>
+     *
+     * @throws IllegalArgumentException If <code>maxKeysInMemory</code> is less than 1.
+     * @see #grouped(Function, Collector)
+     */
+    default <K, A, D> Seq<Tuple2<K, D>> grouped(Function<? super T, ? extends K> classifier, Collector<? super T, A, D> downstream, int maxKeysInMemory, CheckedBiConsumer<? super T, ? super DataOutput> encoder, CheckedFunction<? super DataInput, ? extends T> decoder) {
+        return ExternalGroupBy.grouped(this, classifier, downstream, maxKeysInMemory, encoder, decoder);
+    }
+
     /**
      * Partition a stream into two given a predicate.
      * <p>
@@ -3357,6 +4592,22 @@ public interface Seq<T> extends Stream<T>, Iterable<T>, Collectable<T> {
         return partition(this, predicate);
     }
 
+    /**
+     * Partition a stream into two given a predicate, failing with a
+     * {@link LagExceededException} if more than <code>maxLag</code> elements
+     * need to be buffered for the stream that is consumed later.
+     * <p>
+     * <code><pre>
+     * // ((1, 2), (3, 4), (5, 6))
+     * Seq.of(1, 2, 3, 4, 5, 6).partition(i -> i % 2 != 0, 1).map((s1, s2) -> s1.zip(s2))
+     * </pre></code>
+     *
+     * @see #partition(Stream, Predicate, long)
+     */
+    default Tuple2<Seq<T>, Seq<T>> partition(Predicate<? super T> predicate, long maxLag) {
+        return partition(this, predicate, maxLag);
+    }
+
     /**
      * Split a stream at a given position.
      * <p>
@@ -3371,6 +4622,35 @@ public interface Seq<T> extends Stream<T>, Iterable<T>, Collectable<T> {
         return splitAt(this, position);
     }
 
+    /**
+     * Split a stream at a given position, failing with a
+     * {@link LagExceededException} if more than <code>maxLag</code> elements
+     * need to be buffered for the stream that is consumed later.
+     * <p>
+     * Consuming the first stream before the second one never needs to buffer
+     * any elements.
+     *
+     * @see #splitAt(Stream, long, long)
+     */
+    default Tuple2<Seq<T>, Seq<T>> splitAt(long position, long maxLag) {
+        return splitAt(this, position, maxLag);
+    }
+
+    /**
+     * Split a stream at a given position, blocking the leading stream for at
+     * most <code>timeout</code> if more than <code>maxLag</code> elements
+     * need to be buffered for the other one, e.g. when the streams are
+     * consumed by different threads.
+     * <p>
+     * If the other stream doesn't catch up in time, a
+     * {@link LagExceededException} is thrown.
+     *
+     * @see #splitAt(Stream, long, long, Duration)
+     */
+    default Tuple2<Seq<T>, Seq<T>> splitAt(long position, long maxLag, Duration timeout) {
+        return splitAt(this, position, maxLag, timeout);
+    }
+
     /**
      * Split a stream at the head.
      * <p>
@@ -3427,6 +4707,127 @@ public interface Seq<T> extends Stream<T>, Iterable<T>, Collectable<T> {
         return sorted(comparing(function, comparator));
     }
 
+    /**
+     * Sort using a comparator, holding at most <code>maxElementsInMemory</code>
+     * elements in memory, and spilling the rest to temporary files using
+     * Java serialisation.
+     * <p>
+     * The stream is cut into runs of <code>maxElementsInMemory</code>
+     * elements, which are sorted in memory, and written to temporary files.
+     * The runs are then merged lazily, as the resulting stream is consumed.
+     * Temporary files are deleted once they have been merged, or when the
+     * resulting stream is closed. The sort is stable.
+     * <p>
+     * <code><pre>
+     * // (1, 2, 3, 4)
+     * Seq.of(4, 1, 3, 2).sorted(Comparator.naturalOrder(), 2)
+     * </pre></code>
+     *
+     * @throws IllegalArgumentException If <code>maxElementsInMemory</code> is less than 1.
+     */
+    default Seq<T> sorted(Comparator<? super T> comparator, int maxElementsInMemory) {
+        return ExternalSort.sort(this, comparator, maxElementsInMemory);
+    }
+
+    /**
+     * Sort using a comparator, holding at most <code>maxElementsInMemory</code>
+     * elements in memory, and spilling the rest to temporary files using an
+     * encoder and a decoder.
+     * <p>
+     * The stream is cut into runs of <code>maxElementsInMemory</code>
+     * elements, which are sorted in memory, and written to temporary files.
+     * The runs are then merged lazily, as the resulting stream is consumed.
+     * Temporary files are deleted once they have been merged, or when the
+     * resulting stream is closed. The sort is stable.
+     * <p>
+     * <code><pre>
+     * // (1, 2, 3, 4)
+     * Seq.of(4, 1, 3, 2).sorted(Comparator.naturalOrder(), 2, (t, out) -> out.writeInt(t), in -> in.readInt())
+     * </pre></code>
+     *
+     * @throws IllegalArgumentException If <code>maxElementsInMemory</code> is less than 1.
+     */
+    default Seq<T> sorted(Comparator<? super T> comparator, int maxElementsInMemory, CheckedBiConsumer<? super T, ? super DataOutput> encoder, CheckedFunction<? super DataInput, ? extends T> decoder) {
+        return ExternalSort.sort(this, comparator, maxElementsInMemory, encoder, decoder);
+    }
+
+    /**
+     * Keep the <code>k</code> highest elements according to a comparator, in descending order.
+     * <p>
+     * This produces the same result as
+     * <code>sorted(comparator.reversed()).limit(k)</code>, but keeps only
+     * <code>k</code> elements in a bounded heap, in <code>O(n log k)</code>
+     * time. Among equal elements, earlier ones are kept and produced first.
+     * <p>
+     * <code><pre>
+     * // (4, 3)
+     * Seq.of(1, 4, 2, 3).topK(2, Comparator.naturalOrder())
+     * </pre></code>
+     *
+     * @throws IllegalArgumentException If <code>k</code> is negative.
+     */
+    default Seq<T> topK(long k, Comparator<? super T> comparator) {
+        return bottomK(k, comparator.reversed());
+    }
+
+    /**
+     * Keep the <code>k</code> elements with the highest function results, in descending order.
+     * <p>
+     * This produces the same result as
+     * <code>sorted(function, Comparator.reverseOrder()).limit(k)</code>, but
+     * keeps only <code>k</code> elements in a bounded heap, in
+     * <code>O(n log k)</code> time. Among elements with equal function
+     * results, earlier ones are kept and produced first.
+     * <p>
+     * <code><pre>
+     * // ("ccc", "bb")
+     * Seq.of("a", "ccc", "bb").topK(2, String::length)
+     * </pre></code>
+     *
+     * @throws IllegalArgumentException If <code>k</code> is negative.
+     */
+    default <U extends Comparable<? super U>> Seq<T> topK(long k, Function<? super T, ? extends U> function) {
+        return topK(k, comparing(function));
+    }
+
+    /**
+     * Keep the <code>k</code> lowest elements according to a comparator, in ascending order.
+     * <p>
+     * This produces the same result as <code>sorted(comparator).limit(k)</code>,
+     * but keeps only <code>k</code> elements in a bounded heap, in
+     * <code>O(n log k)</code> time. Among equal elements, earlier ones are
+     * kept and produced first.
+     * <p>
+     * <code><pre>
+     * // (1, 2)
+     * Seq.of(1, 4, 2, 3).bottomK(2, Comparator.naturalOrder())
+     * </pre></code>
+     *
+     * @throws IllegalArgumentException If <code>k</code> is negative.
+     */
+    default Seq<T> bottomK(long k, Comparator<? super T> comparator) {
+        return TopK.bottomK(this, k, comparator);
+    }
+
+    /**
+     * Keep the <code>k</code> elements with the lowest function results, in ascending order.
+     * <p>
+     * This produces the same result as <code>sorted(function).limit(k)</code>,
+     * but keeps only <code>k</code> elements in a bounded heap, in
+     * <code>O(n log k)</code> time. Among elements with equal function
+     * results, earlier ones are kept and produced first.
+     * <p>
+     * <code><pre>
+     * // ("a", "bb")
+     * Seq.of("a", "ccc", "bb").bottomK(2, String::length)
+     * </pre></code>
+     *
+     * @throws IllegalArgumentException If <code>k</code> is negative.
+     */
+    default <U extends Comparable<? super U>> Seq<T> bottomK(long k, Function<? super T, ? extends U> function) {
+        return bottomK(k, comparing(function));
+    }
+
     // Methods taken from LINQ
     // -----------------------
 
@@ -3471,7 +4872,7 @@ public interface Seq<T> extends Stream<T>, Iterable<T>, Collectable<T> {
      * <code><pre>
      * int n = 3;
      * Seq.of(1, 2, 3, 4, 5)
-     *    .window(0, n - 1)
+     *    .slidingWindow(0, n - 1)
      *    .filter(w -> w.count() == n)
      *    .map(w -> w.toList());
      * </pre></code>
@@ -3480,7 +4881,7 @@ public interface Seq<T> extends Stream<T>, Iterable<T>, Collectable<T> {
         if (size <= 0)
             throw new IllegalArgumentException("Size must be >= 1");
         
-        return window(0, size - 1).filter(w -> w.count() == size).map(w -> w.window());
+        return slidingWindow(0, size - 1).filter(w -> w.count() == size).map(w -> w.window());
     }
     
     /**
@@ -3506,6 +4907,29 @@ public interface Seq<T> extends Stream<T>, Iterable<T>, Collectable<T> {
     default Seq<Window<T>> window(long lower, long upper) {
         return window(Window.of(lower, upper)).map(t -> t.v1);
     }
+
+    /**
+     * Map this stream to a stream of the frames of a sliding window, using
+     * the default partition and order with a bounded frame, without
+     * buffering the complete stream.
+     * <p>
+     * Unlike {@link #window(long, long)}, this only buffers the rows of each
+     * row's frame, which is why each {@link Frame} only offers functions that
+     * depend on these rows, such as aggregate functions, but no ranking
+     * functions.
+     * <p>
+     * <code><pre>
+     * // (2, 4, 4, 4, 3)
+     * Seq.of(1, 2, 4, 2, 3).slidingWindow(-1, 1).map(Frame::max)
+     * </pre></code>
+     *
+     * @throws IllegalArgumentException If <code>lower</code> is
+     *             {@link Long#MIN_VALUE} or <code>upper</code> is
+     *             {@link Long#MAX_VALUE}.
+     */
+    default Seq<Frame<T>> slidingWindow(long lower, long upper) {
+        return SlidingWindowImpl.window(this, lower, upper);
+    }
    
     /**
      * Map this stream to a windowed stream using the default partition and a specific order.
@@ -3588,13 +5012,13 @@ public interface Seq<T> extends Stream<T>, Iterable<T>, Collectable<T> {
     default Seq<Tuple1<Window<T>>> window(
         WindowSpecification<T> specification1
     ) {
-        List<Tuple2<T, Long>> buffer = zipWithIndex().toList();
+        List<T> buffer = toList();
 
-        Map<?, Partition<T>> partitions1 = SeqUtils.partitions(specification1, buffer);
+        Partitions<T> partitions1 = SeqUtils.partitions(specification1, buffer);
 
-        return seq(buffer)
-              .map(t -> tuple(
-                   (Window<T>) new WindowImpl<>(t, partitions1.get(specification1.partition().apply(t.v1)), specification1)
+        return Seq.range(0, buffer.size())
+              .map(i -> tuple(
+                   partitions1.window(i, specification1)
               ))
               .onClose(this::close);
     }
@@ -3607,15 +5031,16 @@ public interface Seq<T> extends Stream<T>, Iterable<T>, Collectable<T> {
         WindowSpecification<T> specification1,
         WindowSpecification<T> specification2
     ) {
-        List<Tuple2<T, Long>> buffer = zipWithIndex().toList();
+        List<T> buffer = toList();
+        Map<Object, Partitions<T>> cache = new HashMap<>();
 
-        Map<?, Partition<T>> partitions1 = SeqUtils.partitions(specification1, buffer);
-        Map<?, Partition<T>> partitions2 = SeqUtils.partitions(specification2, buffer);
+        Partitions<T> partitions1 = SeqUtils.partitions(specification1, buffer, cache);
+        Partitions<T> partitions2 = SeqUtils.partitions(specification2, buffer, cache);
 
-        return seq(buffer)
-              .map(t -> tuple(
-                   (Window<T>) new WindowImpl<>(t, partitions1.get(specification1.partition().apply(t.v1)), specification1),
-                   (Window<T>) new WindowImpl<>(t, partitions2.get(specification2.partition().apply(t.v1)), specification2)
+        return Seq.range(0, buffer.size())
+              .map(i -> tuple(
+                   partitions1.window(i, specification1),
+                   partitions2.window(i, specification2)
               ))
               .onClose(this::close);
     }
@@ -3629,17 +5054,18 @@ public interface Seq<T> extends Stream<T>, Iterable<T>, Collectable<T> {
         WindowSpecification<T> specification2,
         WindowSpecification<T> specification3
     ) {
-        List<Tuple2<T, Long>> buffer = zipWithIndex().toList();
-
-        Map<?, Partition<T>> partitions1 = SeqUtils.partitions(specification1, buffer);
-        Map<?, Partition<T>> partitions2 = SeqUtils.partitions(specification2, buffer);
-        Map<?, Partition<T>> partitions3 = SeqUtils.partitions(specification3, buffer);
-
-        return seq(buffer)
-              .map(t -> tuple(
-                   (Window<T>) new WindowImpl<>(t, partitions1.get(specification1.partition().apply(t.v1)), specification1),
-                   (Window<T>) new WindowImpl<>(t, partitions2.get(specification2.partition().apply(t.v1)), specification2),
-                   (Window<T>) new WindowImpl<>(t, partitions3.get(specification3.partition().apply(t.v1)), specification3)
+        List<T> buffer = toList();
+        Map<Object, Partitions<T>> cache = new HashMap<>();
+
+        Partitions<T> partitions1 = SeqUtils.partitions(specification1, buffer, cache);
+        Partitions<T> partitions2 = SeqUtils.partitions(specification2, buffer, cache);
+        Partitions<T> partitions3 = SeqUtils.partitions(specification3, buffer, cache);
+
+        return Seq.range(0, buffer.size())
+              .map(i -> tuple(
+                   partitions1.window(i, specification1),
+                   partitions2.window(i, specification2),
+                   partitions3.window(i, specification3)
               ))
               .onClose(this::close);
     }
@@ -3654,19 +5080,20 @@ public interface Seq<T> extends Stream<T>, Iterable<T>, Collectable<T> {
         WindowSpecification<T> specification3,
         WindowSpecification<T> specification4
     ) {
-        List<Tuple2<T, Long>> buffer = zipWithIndex().toList();
-
-        Map<?, Partition<T>> partitions1 = SeqUtils.partitions(specification1, buffer);
-        Map<?, Partition<T>> partitions2 = SeqUtils.partitions(specification2, buffer);
-        Map<?, Partition<T>> partitions3 = SeqUtils.partitions(specification3, buffer);
-        Map<?, Partition<T>> partitions4 = SeqUtils.partitions(specification4, buffer);
-
-        return seq(buffer)
-              .map(t -> tuple(
-                   (Window<T>) new WindowImpl<>(t, partitions1.get(specification1.partition().apply(t.v1)), specification1),
-                   (Window<T>) new WindowImpl<>(t, partitions2.get(specification2.partition().apply(t.v1)), specification2),
-                   (Window<T>) new WindowImpl<>(t, partitions3.get(specification3.partition().apply(t.v1)), specification3),
-                   (Window<T>) new WindowImpl<>(t, partitions4.get(specification4.partition().apply(t.v1)), specification4)
+        List<T> buffer = toList();
+        Map<Object, Partitions<T>> cache = new HashMap<>();
+
+        Partitions<T> partitions1 = SeqUtils.partitions(specification1, buffer, cache);
+        Partitions<T> partitions2 = SeqUtils.partitions(specification2, buffer, cache);
+        Partitions<T> partitions3 = SeqUtils.partitions(specification3, buffer, cache);
+        Partitions<T> partitions4 = SeqUtils.partitions(specification4, buffer, cache);
+
+        return Seq.range(0, buffer.size())
+              .map(i -> tuple(
+                   partitions1.window(i, specification1),
+                   partitions2.window(i, specification2),
+                   partitions3.window(i, specification3),
+                   partitions4.window(i, specification4)
               ))
               .onClose(this::close);
     }
@@ -3682,21 +5109,22 @@ public interface Seq<T> extends Stream<T>, Iterable<T>, Collectable<T> {
         WindowSpecification<T> specification4,
         WindowSpecification<T> specification5
     ) {
-        List<Tuple2<T, Long>> buffer = zipWithIndex().toList();
-
-        Map<?, Partition<T>> partitions1 = SeqUtils.partitions(specification1, buffer);
-        Map<?, Partition<T>> partitions2 = SeqUtils.partitions(specification2, buffer);
-        Map<?, Partition<T>> partitions3 = SeqUtils.partitions(specification3, buffer);
-        Map<?, Partition<T>> partitions4 = SeqUtils.partitions(specification4, buffer);
-        Map<?, Partition<T>> partitions5 = SeqUtils.partitions(specification5, buffer);
-
-        return seq(buffer)
-              .map(t -> tuple(
-                   (Window<T>) new WindowImpl<>(t, partitions1.get(specification1.partition().apply(t.v1)), specification1),
-                   (Window<T>) new WindowImpl<>(t, partitions2.get(specification2.partition().apply(t.v1)), specification2),
-                   (Window<T>) new WindowImpl<>(t, partitions3.get(specification3.partition().apply(t.v1)), specification3),
-                   (Window<T>) new WindowImpl<>(t, partitions4.get(specification4.partition().apply(t.v1)), specification4),
-                   (Window<T>) new WindowImpl<>(t, partitions5.get(specification5.partition().apply(t.v1)), specification5)
+        List<T> buffer = toList();
+        Map<Object, Partitions<T>> cache = new HashMap<>();
+
+        Partitions<T> partitions1 = SeqUtils.partitions(specification1, buffer, cache);
+        Partitions<T> partitions2 = SeqUtils.partitions(specification2, buffer, cache);
+        Partitions<T> partitions3 = SeqUtils.partitions(specification3, buffer, cache);
+        Partitions<T> partitions4 = SeqUtils.partitions(specification4, buffer, cache);
+        Partitions<T> partitions5 = SeqUtils.partitions(specification5, buffer, cache);
+
+        return Seq.range(0, buffer.size())
+              .map(i -> tuple(
+                   partitions1.window(i, specification1),
+                   partitions2.window(i, specification2),
+                   partitions3.window(i, specification3),
+                   partitions4.window(i, specification4),
+                   partitions5.window(i, specification5)
               ))
               .onClose(this::close);
     }
@@ -3713,23 +5141,24 @@ public interface Seq<T> extends Stream<T>, Iterable<T>, Collectable<T> {
         WindowSpecification<T> specification5,
         WindowSpecification<T> specification6
     ) {
-        List<Tuple2<T, Long>> buffer = zipWithIndex().toList();
-
-        Map<?, Partition<T>> partitions1 = SeqUtils.partitions(specification1, buffer);
-        Map<?, Partition<T>> partitions2 = SeqUtils.partitions(specification2, buffer);
-        Map<?, Partition<T>> partitions3 = SeqUtils.partitions(specification3, buffer);
-        Map<?, Partition<T>> partitions4 = SeqUtils.partitions(specification4, buffer);
-        Map<?, Partition<T>> partitions5 = SeqUtils.partitions(specification5, buffer);
-        Map<?, Partition<T>> partitions6 = SeqUtils.partitions(specification6, buffer);
-
-        return seq(buffer)
-              .map(t -> tuple(
-                   (Window<T>) new WindowImpl<>(t, partitions1.get(specification1.partition().apply(t.v1)), specification1),
-                   (Window<T>) new WindowImpl<>(t, partitions2.get(specification2.partition().apply(t.v1)), specification2),
-                   (Window<T>) new WindowImpl<>(t, partitions3.get(specification3.partition().apply(t.v1)), specification3),
-                   (Window<T>) new WindowImpl<>(t, partitions4.get(specification4.partition().apply(t.v1)), specification4),
-                   (Window<T>) new WindowImpl<>(t, partitions5.get(specification5.partition().apply(t.v1)), specification5),
-                   (Window<T>) new WindowImpl<>(t, partitions6.get(specification6.partition().apply(t.v1)), specification6)
+        List<T> buffer = toList();
+        Map<Object, Partitions<T>> cache = new HashMap<>();
+
+        Partitions<T> partitions1 = SeqUtils.partitions(specification1, buffer, cache);
+        Partitions<T> partitions2 = SeqUtils.partitions(specification2, buffer, cache);
+        Partitions<T> partitions3 = SeqUtils.partitions(specification3, buffer, cache);
+        Partitions<T> partitions4 = SeqUtils.partitions(specification4, buffer, cache);
+        Partitions<T> partitions5 = SeqUtils.partitions(specification5, buffer, cache);
+        Partitions<T> partitions6 = SeqUtils.partitions(specification6, buffer, cache);
+
+        return Seq.range(0, buffer.size())
+              .map(i -> tuple(
+                   partitions1.window(i, specification1),
+                   partitions2.window(i, specification2),
+                   partitions3.window(i, specification3),
+                   partitions4.window(i, specification4),
+                   partitions5.window(i, specification5),
+                   partitions6.window(i, specification6)
               ))
               .onClose(this::close);
     }
@@ -3747,25 +5176,26 @@ public interface Seq<T> extends Stream<T>, Iterable<T>, Collectable<T> {
         WindowSpecification<T> specification6,
         WindowSpecification<T> specification7
     ) {
-        List<Tuple2<T, Long>> buffer = zipWithIndex().toList();
-
-        Map<?, Partition<T>> partitions1 = SeqUtils.partitions(specification1, buffer);
-        Map<?, Partition<T>> partitions2 = SeqUtils.partitions(specification2, buffer);
-        Map<?, Partition<T>> partitions3 = SeqUtils.partitions(specification3, buffer);
-        Map<?, Partition<T>> partitions4 = SeqUtils.partitions(specification4, buffer);
-        Map<?, Partition<T>> partitions5 = SeqUtils.partitions(specification5, buffer);
-        Map<?, Partition<T>> partitions6 = SeqUtils.partitions(specification6, buffer);
-        Map<?, Partition<T>> partitions7 = SeqUtils.partitions(specification7, buffer);
-
-        return seq(buffer)
-              .map(t -> tuple(
-                   (Window<T>) new WindowImpl<>(t, partitions1.get(specification1.partition().apply(t.v1)), specification1),
-                   (Window<T>) new WindowImpl<>(t, partitions2.get(specification2.partition().apply(t.v1)), specification2),
-                   (Window<T>) new WindowImpl<>(t, partitions3.get(specification3.partition().apply(t.v1)), specification3),
-                   (Window<T>) new WindowImpl<>(t, partitions4.get(specification4.partition().apply(t.v1)), specification4),
-                   (Window<T>) new WindowImpl<>(t, partitions5.get(specification5.partition().apply(t.v1)), specification5),
-                   (Window<T>) new WindowImpl<>(t, partitions6.get(specification6.partition().apply(t.v1)), specification6),
-                   (Window<T>) new WindowImpl<>(t, partitions7.get(specification7.partition().apply(t.v1)), specification7)
+        List<T> buffer = toList();
+        Map<Object, Partitions<T>> cache = new HashMap<>();
+
+        Partitions<T> partitions1 = SeqUtils.partitions(specification1, buffer, cache);
+        Partitions<T> partitions2 = SeqUtils.partitions(specification2, buffer, cache);
+        Partitions<T> partitions3 = SeqUtils.partitions(specification3, buffer, cache);
+        Partitions<T> partitions4 = SeqUtils.partitions(specification4, buffer, cache);
+        Partitions<T> partitions5 = SeqUtils.partitions(specification5, buffer, cache);
+        Partitions<T> partitions6 = SeqUtils.partitions(specification6, buffer, cache);
+        Partitions<T> partitions7 = SeqUtils.partitions(specification7, buffer, cache);
+
+        return Seq.range(0, buffer.size())
+              .map(i -> tuple(
+                   partitions1.window(i, specification1),
+                   partitions2.window(i, specification2),
+                   partitions3.window(i, specification3),
+                   partitions4.window(i, specification4),
+                   partitions5.window(i, specification5),
+                   partitions6.window(i, specification6),
+                   partitions7.window(i, specification7)
               ))
               .onClose(this::close);
     }
@@ -3784,27 +5214,28 @@ public interface Seq<T> extends Stream<T>, Iterable<T>, Collectable<T> {
         WindowSpecification<T> specification7,
         WindowSpecification<T> specification8
     ) {
-        List<Tuple2<T, Long>> buffer = zipWithIndex().toList();
-
-        Map<?, Partition<T>> partitions1 = SeqUtils.partitions(specification1, buffer);
-        Map<?, Partition<T>> partitions2 = SeqUtils.partitions(specification2, buffer);
-        Map<?, Partition<T>> partitions3 = SeqUtils.partitions(specification3, buffer);
-        Map<?, Partition<T>> partitions4 = SeqUtils.partitions(specification4, buffer);
-        Map<?, Partition<T>> partitions5 = SeqUtils.partitions(specification5, buffer);
-        Map<?, Partition<T>> partitions6 = SeqUtils.partitions(specification6, buffer);
-        Map<?, Partition<T>> partitions7 = SeqUtils.partitions(specification7, buffer);
-        Map<?, Partition<T>> partitions8 = SeqUtils.partitions(specification8, buffer);
-
-        return seq(buffer)
-              .map(t -> tuple(
-                   (Window<T>) new WindowImpl<>(t, partitions1.get(specification1.partition().apply(t.v1)), specification1),
-                   (Window<T>) new WindowImpl<>(t, partitions2.get(specification2.partition().apply(t.v1)), specification2),
-                   (Window<T>) new WindowImpl<>(t, partitions3.get(specification3.partition().apply(t.v1)), specification3),
-                   (Window<T>) new WindowImpl<>(t, partitions4.get(specification4.partition().apply(t.v1)), specification4),
-                   (Window<T>) new WindowImpl<>(t, partitions5.get(specification5.partition().apply(t.v1)), specification5),
-                   (Window<T>) new WindowImpl<>(t, partitions6.get(specification6.partition().apply(t.v1)), specification6),
-                   (Window<T>) new WindowImpl<>(t, partitions7.get(specification7.partition().apply(t.v1)), specification7),
-                   (Window<T>) new WindowImpl<>(t, partitions8.get(specification8.partition().apply(t.v1)), specification8)
+        List<T> buffer = toList();
+        Map<Object, Partitions<T>> cache = new HashMap<>();
+
+        Partitions<T> partitions1 = SeqUtils.partitions(specification1, buffer, cache);
+        Partitions<T> partitions2 = SeqUtils.partitions(specification2, buffer, cache);
+        Partitions<T> partitions3 = SeqUtils.partitions(specification3, buffer, cache);
+        Partitions<T> partitions4 = SeqUtils.partitions(specification4, buffer, cache);
+        Partitions<T> partitions5 = SeqUtils.partitions(specification5, buffer, cache);
+        Partitions<T> partitions6 = SeqUtils.partitions(specification6, buffer, cache);
+        Partitions<T> partitions7 = SeqUtils.partitions(specification7, buffer, cache);
+        Partitions<T> partitions8 = SeqUtils.partitions(specification8, buffer, cache);
+
+        return Seq.range(0, buffer.size())
+              .map(i -> tuple(
+                   partitions1.window(i, specification1),
+                   partitions2.window(i, specification2),
+                   partitions3.window(i, specification3),
+                   partitions4.window(i, specification4),
+                   partitions5.window(i, specification5),
+                   partitions6.window(i, specification6),
+                   partitions7.window(i, specification7),
+                   partitions8.window(i, specification8)
               ))
               .onClose(this::close);
     }
@@ -3824,29 +5255,30 @@ public interface Seq<T> extends Stream<T>, Iterable<T>, Collectable<T> {
         WindowSpecification<T> specification8,
         WindowSpecification<T> specification9
     ) {
-        List<Tuple2<T, Long>> buffer = zipWithIndex().toList();
-
-        Map<?, Partition<T>> partitions1 = SeqUtils.partitions(specification1, buffer);
-        Map<?, Partition<T>> partitions2 = SeqUtils.partitions(specification2, buffer);
-        Map<?, Partition<T>> partitions3 = SeqUtils.partitions(specification3, buffer);
-        Map<?, Partition<T>> partitions4 = SeqUtils.partitions(specification4, buffer);
-        Map<?, Partition<T>> partitions5 = SeqUtils.partitions(specification5, buffer);
-        Map<?, Partition<T>> partitions6 = SeqUtils.partitions(specification6, buffer);
-        Map<?, Partition<T>> partitions7 = SeqUtils.partitions(specification7, buffer);
-        Map<?, Partition<T>> partitions8 = SeqUtils.partitions(specification8, buffer);
-        Map<?, Partition<T>> partitions9 = SeqUtils.partitions(specification9, buffer);
-
-        return seq(buffer)
-              .map(t -> tuple(
-                   (Window<T>) new WindowImpl<>(t, partitions1.get(specification1.partition().apply(t.v1)), specification1),
-                   (Window<T>) new WindowImpl<>(t, partitions2.get(specification2.partition().apply(t.v1)), specification2),
-                   (Window<T>) new WindowImpl<>(t, partitions3.get(specification3.partition().apply(t.v1)), specification3),
-                   (Window<T>) new WindowImpl<>(t, partitions4.get(specification4.partition().apply(t.v1)), specification4),
-                   (Window<T>) new WindowImpl<>(t, partitions5.get(specification5.partition().apply(t.v1)), specification5),
-                   (Window<T>) new WindowImpl<>(t, partitions6.get(specification6.partition().apply(t.v1)), specification6),
-                   (Window<T>) new WindowImpl<>(t, partitions7.get(specification7.partition().apply(t.v1)), specification7),
-                   (Window<T>) new WindowImpl<>(t, partitions8.get(specification8.partition().apply(t.v1)), specification8),
-                   (Window<T>) new WindowImpl<>(t, partitions9.get(specification9.partition().apply(t.v1)), specification9)
+        List<T> buffer = toList();
+        Map<Object, Partitions<T>> cache = new HashMap<>();
+
+        Partitions<T> partitions1 = SeqUtils.partitions(specification1, buffer, cache);
+        Partitions<T> partitions2 = SeqUtils.partitions(specification2, buffer, cache);
+        Partitions<T> partitions3 = SeqUtils.partitions(specification3, buffer, cache);
+        Partitions<T> partitions4 = SeqUtils.partitions(specification4, buffer, cache);
+        Partitions<T> partitions5 = SeqUtils.partitions(specification5, buffer, cache);
+        Partitions<T> partitions6 = SeqUtils.partitions(specification6, buffer, cache);
+        Partitions<T> partitions7 = SeqUtils.partitions(specification7, buffer, cache);
+        Partitions<T> partitions8 = SeqUtils.partitions(specification8, buffer, cache);
+        Partitions<T> partitions9 = SeqUtils.partitions(specification9, buffer, cache);
+
+        return Seq.range(0, buffer.size())
+              .map(i -> tuple(
+                   partitions1.window(i, specification1),
+                   partitions2.window(i, specification2),
+                   partitions3.window(i, specification3),
+                   partitions4.window(i, specification4),
+                   partitions5.window(i, specification5),
+                   partitions6.window(i, specification6),
+                   partitions7.window(i, specification7),
+                   partitions8.window(i, specification8),
+                   partitions9.window(i, specification9)
               ))
               .onClose(this::close);
     }
@@ -3867,31 +5299,32 @@ public interface Seq<T> extends Stream<T>, Iterable<T>, Collectable<T> {
         WindowSpecification<T> specification9,
         WindowSpecification<T> specification10
     ) {
-        List<Tuple2<T, Long>> buffer = zipWithIndex().toList();
-
-        Map<?, Partition<T>> partitions1 = SeqUtils.partitions(specification1, buffer);
-        Map<?, Partition<T>> partitions2 = SeqUtils.partitions(specification2, buffer);
-        Map<?, Partition<T>> partitions3 = SeqUtils.partitions(specification3, buffer);
-        Map<?, Partition<T>> partitions4 = SeqUtils.partitions(specification4, buffer);
-        Map<?, Partition<T>> partitions5 = SeqUtils.partitions(specification5, buffer);
-        Map<?, Partition<T>> partitions6 = SeqUtils.partitions(specification6, buffer);
-        Map<?, Partition<T>> partitions7 = SeqUtils.partitions(specification7, buffer);
-        Map<?, Partition<T>> partitions8 = SeqUtils.partitions(specification8, buffer);
-        Map<?, Partition<T>> partitions9 = SeqUtils.partitions(specification9, buffer);
-        Map<?, Partition<T>> partitions10 = SeqUtils.partitions(specification10, buffer);
-
-        return seq(buffer)
-              .map(t -> tuple(
-                   (Window<T>) new WindowImpl<>(t, partitions1.get(specification1.partition().apply(t.v1)), specification1),
-                   (Window<T>) new WindowImpl<>(t, partitions2.get(specification2.partition().apply(t.v1)), specification2),
-                   (Window<T>) new WindowImpl<>(t, partitions3.get(specification3.partition().apply(t.v1)), specification3),
-                   (Window<T>) new WindowImpl<>(t, partitions4.get(specification4.partition().apply(t.v1)), specification4),
-                   (Window<T>) new WindowImpl<>(t, partitions5.get(specification5.partition().apply(t.v1)), specification5),
-                   (Window<T>) new WindowImpl<>(t, partitions6.get(specification6.partition().apply(t.v1)), specification6),
-                   (Window<T>) new WindowImpl<>(t, partitions7.get(specification7.partition().apply(t.v1)), specification7),
-                   (Window<T>) new WindowImpl<>(t, partitions8.get(specification8.partition().apply(t.v1)), specification8),
-                   (Window<T>) new WindowImpl<>(t, partitions9.get(specification9.partition().apply(t.v1)), specification9),
-                   (Window<T>) new WindowImpl<>(t, partitions10.get(specification10.partition().apply(t.v1)), specification10)
+        List<T> buffer = toList();
+        Map<Object, Partitions<T>> cache = new HashMap<>();
+
+        Partitions<T> partitions1 = SeqUtils.partitions(specification1, buffer, cache);
+        Partitions<T> partitions2 = SeqUtils.partitions(specification2, buffer, cache);
+        Partitions<T> partitions3 = SeqUtils.partitions(specification3, buffer, cache);
+        Partitions<T> partitions4 = SeqUtils.partitions(specification4, buffer, cache);
+        Partitions<T> partitions5 = SeqUtils.partitions(specification5, buffer, cache);
+        Partitions<T> partitions6 = SeqUtils.partitions(specification6, buffer, cache);
+        Partitions<T> partitions7 = SeqUtils.partitions(specification7, buffer, cache);
+        Partitions<T> partitions8 = SeqUtils.partitions(specification8, buffer, cache);
+        Partitions<T> partitions9 = SeqUtils.partitions(specification9, buffer, cache);
+        Partitions<T> partitions10 = SeqUtils.partitions(specification10, buffer, cache);
+
+        return Seq.range(0, buffer.size())
+              .map(i -> tuple(
+                   partitions1.window(i, specification1),
+                   partitions2.window(i, specification2),
+                   partitions3.window(i, specification3),
+                   partitions4.window(i, specification4),
+                   partitions5.window(i, specification5),
+                   partitions6.window(i, specification6),
+                   partitions7.window(i, specification7),
+                   partitions8.window(i, specification8),
+                   partitions9.window(i, specification9),
+                   partitions10.window(i, specification10)
               ))
               .onClose(this::close);
     }
@@ -3913,33 +5346,34 @@ public interface Seq<T> extends Stream<T>, Iterable<T>, Collectable<T> {
         WindowSpecification<T> specification10,
         WindowSpecification<T> specification11
     ) {
-        List<Tuple2<T, Long>> buffer = zipWithIndex().toList();
-
-        Map<?, Partition<T>> partitions1 = SeqUtils.partitions(specification1, buffer);
-        Map<?, Partition<T>> partitions2 = SeqUtils.partitions(specification2, buffer);
-        Map<?, Partition<T>> partitions3 = SeqUtils.partitions(specification3, buffer);
-        Map<?, Partition<T>> partitions4 = SeqUtils.partitions(specification4, buffer);
-        Map<?, Partition<T>> partitions5 = SeqUtils.partitions(specification5, buffer);
-        Map<?, Partition<T>> partitions6 = SeqUtils.partitions(specification6, buffer);
-        Map<?, Partition<T>> partitions7 = SeqUtils.partitions(specification7, buffer);
-        Map<?, Partition<T>> partitions8 = SeqUtils.partitions(specification8, buffer);
-        Map<?, Partition<T>> partitions9 = SeqUtils.partitions(specification9, buffer);
-        Map<?, Partition<T>> partitions10 = SeqUtils.partitions(specification10, buffer);
-        Map<?, Partition<T>> partitions11 = SeqUtils.partitions(specification11, buffer);
-
-        return seq(buffer)
-              .map(t -> tuple(
-                   (Window<T>) new WindowImpl<>(t, partitions1.get(specification1.partition().apply(t.v1)), specification1),
-                   (Window<T>) new WindowImpl<>(t, partitions2.get(specification2.partition().apply(t.v1)), specification2),
-                   (Window<T>) new WindowImpl<>(t, partitions3.get(specification3.partition().apply(t.v1)), specification3),
-                   (Window<T>) new WindowImpl<>(t, partitions4.get(specification4.partition().apply(t.v1)), specification4),
-                   (Window<T>) new WindowImpl<>(t, partitions5.get(specification5.partition().apply(t.v1)), specification5),
-                   (Window<T>) new WindowImpl<>(t, partitions6.get(specification6.partition().apply(t.v1)), specification6),
-                   (Window<T>) new WindowImpl<>(t, partitions7.get(specification7.partition().apply(t.v1)), specification7),
-                   (Window<T>) new WindowImpl<>(t, partitions8.get(specification8.partition().apply(t.v1)), specification8),
-                   (Window<T>) new WindowImpl<>(t, partitions9.get(specification9.partition().apply(t.v1)), specification9),
-                   (Window<T>) new WindowImpl<>(t, partitions10.get(specification10.partition().apply(t.v1)), specification10),
-                   (Window<T>) new WindowImpl<>(t, partitions11.get(specification11.partition().apply(t.v1)), specification11)
+        List<T> buffer = toList();
+        Map<Object, Partitions<T>> cache = new HashMap<>();
+
+        Partitions<T> partitions1 = SeqUtils.partitions(specification1, buffer, cache);
+        Partitions<T> partitions2 = SeqUtils.partitions(specification2, buffer, cache);
+        Partitions<T> partitions3 = SeqUtils.partitions(specification3, buffer, cache);
+        Partitions<T> partitions4 = SeqUtils.partitions(specification4, buffer, cache);
+        Partitions<T> partitions5 = SeqUtils.partitions(specification5, buffer, cache);
+        Partitions<T> partitions6 = SeqUtils.partitions(specification6, buffer, cache);
+        Partitions<T> partitions7 = SeqUtils.partitions(specification7, buffer, cache);
+        Partitions<T> partitions8 = SeqUtils.partitions(specification8, buffer, cache);
+        Partitions<T> partitions9 = SeqUtils.partitions(specification9, buffer, cache);
+        Partitions<T> partitions10 = SeqUtils.partitions(specification10, buffer, cache);
+        Partitions<T> partitions11 = SeqUtils.partitions(specification11, buffer, cache);
+
+        return Seq.range(0, buffer.size())
+              .map(i -> tuple(
+                   partitions1.window(i, specification1),
+                   partitions2.window(i, specification2),
+                   partitions3.window(i, specification3),
+                   partitions4.window(i, specification4),
+                   partitions5.window(i, specification5),
+                   partitions6.window(i, specification6),
+                   partitions7.window(i, specification7),
+                   partitions8.window(i, specification8),
+                   partitions9.window(i, specification9),
+                   partitions10.window(i, specification10),
+                   partitions11.window(i, specification11)
               ))
               .onClose(this::close);
     }
@@ -3962,35 +5396,36 @@ public interface Seq<T> extends Stream<T>, Iterable<T>, Collectable<T> {
         WindowSpecification<T> specification11,
         WindowSpecification<T> specification12
     ) {
-        List<Tuple2<T, Long>> buffer = zipWithIndex().toList();
-
-        Map<?, Partition<T>> partitions1 = SeqUtils.partitions(specification1, buffer);
-        Map<?, Partition<T>> partitions2 = SeqUtils.partitions(specification2, buffer);
-        Map<?, Partition<T>> partitions3 = SeqUtils.partitions(specification3, buffer);
-        Map<?, Partition<T>> partitions4 = SeqUtils.partitions(specification4, buffer);
-        Map<?, Partition<T>> partitions5 = SeqUtils.partitions(specification5, buffer);
-        Map<?, Partition<T>> partitions6 = SeqUtils.partitions(specification6, buffer);
-        Map<?, Partition<T>> partitions7 = SeqUtils.partitions(specification7, buffer);
-        Map<?, Partition<T>> partitions8 = SeqUtils.partitions(specification8, buffer);
-        Map<?, Partition<T>> partitions9 = SeqUtils.partitions(specification9, buffer);
-        Map<?, Partition<T>> partitions10 = SeqUtils.partitions(specification10, buffer);
-        Map<?, Partition<T>> partitions11 = SeqUtils.partitions(specification11, buffer);
-        Map<?, Partition<T>> partitions12 = SeqUtils.partitions(specification12, buffer);
-
-        return seq(buffer)
-              .map(t -> tuple(
-                   (Window<T>) new WindowImpl<>(t, partitions1.get(specification1.partition().apply(t.v1)), specification1),
-                   (Window<T>) new WindowImpl<>(t, partitions2.get(specification2.partition().apply(t.v1)), specification2),
-                   (Window<T>) new WindowImpl<>(t, partitions3.get(specification3.partition().apply(t.v1)), specification3),
-                   (Window<T>) new WindowImpl<>(t, partitions4.get(specification4.partition().apply(t.v1)), specification4),
-                   (Window<T>) new WindowImpl<>(t, partitions5.get(specification5.partition().apply(t.v1)), specification5),
-                   (Window<T>) new WindowImpl<>(t, partitions6.get(specification6.partition().apply(t.v1)), specification6),
-                   (Window<T>) new WindowImpl<>(t, partitions7.get(specification7.partition().apply(t.v1)), specification7),
-                   (Window<T>) new WindowImpl<>(t, partitions8.get(specification8.partition().apply(t.v1)), specification8),
-                   (Window<T>) new WindowImpl<>(t, partitions9.get(specification9.partition().apply(t.v1)), specification9),
-                   (Window<T>) new WindowImpl<>(t, partitions10.get(specification10.partition().apply(t.v1)), specification10),
-                   (Window<T>) new WindowImpl<>(t, partitions11.get(specification11.partition().apply(t.v1)), specification11),
-                   (Window<T>) new WindowImpl<>(t, partitions12.get(specification12.partition().apply(t.v1)), specification12)
+        List<T> buffer = toList();
+        Map<Object, Partitions<T>> cache = new HashMap<>();
+
+        Partitions<T> partitions1 = SeqUtils.partitions(specification1, buffer, cache);
+        Partitions<T> partitions2 = SeqUtils.partitions(specification2, buffer, cache);
+        Partitions<T> partitions3 = SeqUtils.partitions(specification3, buffer, cache);
+        Partitions<T> partitions4 = SeqUtils.partitions(specification4, buffer, cache);
+        Partitions<T> partitions5 = SeqUtils.partitions(specification5, buffer, cache);
+        Partitions<T> partitions6 = SeqUtils.partitions(specification6, buffer, cache);
+        Partitions<T> partitions7 = SeqUtils.partitions(specification7, buffer, cache);
+        Partitions<T> partitions8 = SeqUtils.partitions(specification8, buffer, cache);
+        Partitions<T> partitions9 = SeqUtils.partitions(specification9, buffer, cache);
+        Partitions<T> partitions10 = SeqUtils.partitions(specification10, buffer, cache);
+        Partitions<T> partitions11 = SeqUtils.partitions(specification11, buffer, cache);
+        Partitions<T> partitions12 = SeqUtils.partitions(specification12, buffer, cache);
+
+        return Seq.range(0, buffer.size())
+              .map(i -> tuple(
+                   partitions1.window(i, specification1),
+                   partitions2.window(i, specification2),
+                   partitions3.window(i, specification3),
+                   partitions4.window(i, specification4),
+                   partitions5.window(i, specification5),
+                   partitions6.window(i, specification6),
+                   partitions7.window(i, specification7),
+                   partitions8.window(i, specification8),
+                   partitions9.window(i, specification9),
+                   partitions10.window(i, specification10),
+                   partitions11.window(i, specification11),
+                   partitions12.window(i, specification12)
               ))
               .onClose(this::close);
     }
@@ -4014,37 +5449,38 @@ public interface Seq<T> extends Stream<T>, Iterable<T>, Collectable<T> {
         WindowSpecification<T> specification12,
         WindowSpecification<T> specification13
     ) {
-        List<Tuple2<T, Long>> buffer = zipWithIndex().toList();
-
-        Map<?, Partition<T>> partitions1 = SeqUtils.partitions(specification1, buffer);
-        Map<?, Partition<T>> partitions2 = SeqUtils.partitions(specification2, buffer);
-        Map<?, Partition<T>> partitions3 = SeqUtils.partitions(specification3, buffer);
-        Map<?, Partition<T>> partitions4 = SeqUtils.partitions(specification4, buffer);
-        Map<?, Partition<T>> partitions5 = SeqUtils.partitions(specification5, buffer);
-        Map<?, Partition<T>> partitions6 = SeqUtils.partitions(specification6, buffer);
-        Map<?, Partition<T>> partitions7 = SeqUtils.partitions(specification7, buffer);
-        Map<?, Partition<T>> partitions8 = SeqUtils.partitions(specification8, buffer);
-        Map<?, Partition<T>> partitions9 = SeqUtils.partitions(specification9, buffer);
-        Map<?, Partition<T>> partitions10 = SeqUtils.partitions(specification10, buffer);
-        Map<?, Partition<T>> partitions11 = SeqUtils.partitions(specification11, buffer);
-        Map<?, Partition<T>> partitions12 = SeqUtils.partitions(specification12, buffer);
-        Map<?, Partition<T>> partitions13 = SeqUtils.partitions(specification13, buffer);
-
-        return seq(buffer)
-              .map(t -> tuple(
-                   (Window<T>) new WindowImpl<>(t, partitions1.get(specification1.partition().apply(t.v1)), specification1),
-                   (Window<T>) new WindowImpl<>(t, partitions2.get(specification2.partition().apply(t.v1)), specification2),
-                   (Window<T>) new WindowImpl<>(t, partitions3.get(specification3.partition().apply(t.v1)), specification3),
-                   (Window<T>) new WindowImpl<>(t, partitions4.get(specification4.partition().apply(t.v1)), specification4),
-                   (Window<T>) new WindowImpl<>(t, partitions5.get(specification5.partition().apply(t.v1)), specification5),
-                   (Window<T>) new WindowImpl<>(t, partitions6.get(specification6.partition().apply(t.v1)), specification6),
-                   (Window<T>) new WindowImpl<>(t, partitions7.get(specification7.partition().apply(t.v1)), specification7),
-                   (Window<T>) new WindowImpl<>(t, partitions8.get(specification8.partition().apply(t.v1)), specification8),
-                   (Window<T>) new WindowImpl<>(t, partitions9.get(specification9.partition().apply(t.v1)), specification9),
-                   (Window<T>) new WindowImpl<>(t, partitions10.get(specification10.partition().apply(t.v1)), specification10),
-                   (Window<T>) new WindowImpl<>(t, partitions11.get(specification11.partition().apply(t.v1)), specification11),
-                   (Window<T>) new WindowImpl<>(t, partitions12.get(specification12.partition().apply(t.v1)), specification12),
-                   (Window<T>) new WindowImpl<>(t, partitions13.get(specification13.partition().apply(t.v1)), specification13)
+        List<T> buffer = toList();
+        Map<Object, Partitions<T>> cache = new HashMap<>();
+
+        Partitions<T> partitions1 = SeqUtils.partitions(specification1, buffer, cache);
+        Partitions<T> partitions2 = SeqUtils.partitions(specification2, buffer, cache);
+        Partitions<T> partitions3 = SeqUtils.partitions(specification3, buffer, cache);
+        Partitions<T> partitions4 = SeqUtils.partitions(specification4, buffer, cache);
+        Partitions<T> partitions5 = SeqUtils.partitions(specification5, buffer, cache);
+        Partitions<T> partitions6 = SeqUtils.partitions(specification6, buffer, cache);
+        Partitions<T> partitions7 = SeqUtils.partitions(specification7, buffer, cache);
+        Partitions<T> partitions8 = SeqUtils.partitions(specification8, buffer, cache);
+        Partitions<T> partitions9 = SeqUtils.partitions(specification9, buffer, cache);
+        Partitions<T> partitions10 = SeqUtils.partitions(specification10, buffer, cache);
+        Partitions<T> partitions11 = SeqUtils.partitions(specification11, buffer, cache);
+        Partitions<T> partitions12 = SeqUtils.partitions(specification12, buffer, cache);
+        Partitions<T> partitions13 = SeqUtils.partitions(specification13, buffer, cache);
+
+        return Seq.range(0, buffer.size())
+              .map(i -> tuple(
+                   partitions1.window(i, specification1),
+                   partitions2.window(i, specification2),
+                   partitions3.window(i, specification3),
+                   partitions4.window(i, specification4),
+                   partitions5.window(i, specification5),
+                   partitions6.window(i, specification6),
+                   partitions7.window(i, specification7),
+                   partitions8.window(i, specification8),
+                   partitions9.window(i, specification9),
+                   partitions10.window(i, specification10),
+                   partitions11.window(i, specification11),
+                   partitions12.window(i, specification12),
+                   partitions13.window(i, specification13)
               ))
               .onClose(this::close);
     }
@@ -4069,39 +5505,40 @@ public interface Seq<T> extends Stream<T>, Iterable<T>, Collectable<T> {
         WindowSpecification<T> specification13,
         WindowSpecification<T> specification14
     ) {
-        List<Tuple2<T, Long>> buffer = zipWithIndex().toList();
-
-        Map<?, Partition<T>> partitions1 = SeqUtils.partitions(specification1, buffer);
-        Map<?, Partition<T>> partitions2 = SeqUtils.partitions(specification2, buffer);
-        Map<?, Partition<T>> partitions3 = SeqUtils.partitions(specification3, buffer);
-        Map<?, Partition<T>> partitions4 = SeqUtils.partitions(specification4, buffer);
-        Map<?, Partition<T>> partitions5 = SeqUtils.partitions(specification5, buffer);
-        Map<?, Partition<T>> partitions6 = SeqUtils.partitions(specification6, buffer);
-        Map<?, Partition<T>> partitions7 = SeqUtils.partitions(specification7, buffer);
-        Map<?, Partition<T>> partitions8 = SeqUtils.partitions(specification8, buffer);
-        Map<?, Partition<T>> partitions9 = SeqUtils.partitions(specification9, buffer);
-        Map<?, Partition<T>> partitions10 = SeqUtils.partitions(specification10, buffer);
-        Map<?, Partition<T>> partitions11 = SeqUtils.partitions(specification11, buffer);
-        Map<?, Partition<T>> partitions12 = SeqUtils.partitions(specification12, buffer);
-        Map<?, Partition<T>> partitions13 = SeqUtils.partitions(specification13, buffer);
-        Map<?, Partition<T>> partitions14 = SeqUtils.partitions(specification14, buffer);
-
-        return seq(buffer)
-              .map(t -> tuple(
-                   (Window<T>) new WindowImpl<>(t, partitions1.get(specification1.partition().apply(t.v1)), specification1),
-                   (Window<T>) new WindowImpl<>(t, partitions2.get(specification2.partition().apply(t.v1)), specification2),
-                   (Window<T>) new WindowImpl<>(t, partitions3.get(specification3.partition().apply(t.v1)), specification3),
-                   (Window<T>) new WindowImpl<>(t, partitions4.get(specification4.partition().apply(t.v1)), specification4),
-                   (Window<T>) new WindowImpl<>(t, partitions5.get(specification5.partition().apply(t.v1)), specification5),
-                   (Window<T>) new WindowImpl<>(t, partitions6.get(specification6.partition().apply(t.v1)), specification6),
-                   (Window<T>) new WindowImpl<>(t, partitions7.get(specification7.partition().apply(t.v1)), specification7),
-                   (Window<T>) new WindowImpl<>(t, partitions8.get(specification8.partition().apply(t.v1)), specification8),
-                   (Window<T>) new WindowImpl<>(t, partitions9.get(specification9.partition().apply(t.v1)), specification9),
-                   (Window<T>) new WindowImpl<>(t, partitions10.get(specification10.partition().apply(t.v1)), specification10),
-                   (Window<T>) new WindowImpl<>(t, partitions11.get(specification11.partition().apply(t.v1)), specification11),
-                   (Window<T>) new WindowImpl<>(t, partitions12.get(specification12.partition().apply(t.v1)), specification12),
-                   (Window<T>) new WindowImpl<>(t, partitions13.get(specification13.partition().apply(t.v1)), specification13),
-                   (Window<T>) new WindowImpl<>(t, partitions14.get(specification14.partition().apply(t.v1)), specification14)
+        List<T> buffer = toList();
+        Map<Object, Partitions<T>> cache = new HashMap<>();
+
+        Partitions<T> partitions1 = SeqUtils.partitions(specification1, buffer, cache);
+        Partitions<T> partitions2 = SeqUtils.partitions(specification2, buffer, cache);
+        Partitions<T> partitions3 = SeqUtils.partitions(specification3, buffer, cache);
+        Partitions<T> partitions4 = SeqUtils.partitions(specification4, buffer, cache);
+        Partitions<T> partitions5 = SeqUtils.partitions(specification5, buffer, cache);
+        Partitions<T> partitions6 = SeqUtils.partitions(specification6, buffer, cache);
+        Partitions<T> partitions7 = SeqUtils.partitions(specification7, buffer, cache);
+        Partitions<T> partitions8 = SeqUtils.partitions(specification8, buffer, cache);
+        Partitions<T> partitions9 = SeqUtils.partitions(specification9, buffer, cache);
+        Partitions<T> partitions10 = SeqUtils.partitions(specification10, buffer, cache);
+        Partitions<T> partitions11 = SeqUtils.partitions(specification11, buffer, cache);
+        Partitions<T> partitions12 = SeqUtils.partitions(specification12, buffer, cache);
+        Partitions<T> partitions13 = SeqUtils.partitions(specification13, buffer, cache);
+        Partitions<T> partitions14 = SeqUtils.partitions(specification14, buffer, cache);
+
+        return Seq.range(0, buffer.size())
+              .map(i -> tuple(
+                   partitions1.window(i, specification1),
+                   partitions2.window(i, specification2),
+                   partitions3.window(i, specification3),
+                   partitions4.window(i, specification4),
+                   partitions5.window(i, specification5),
+                   partitions6.window(i, specification6),
+                   partitions7.window(i, specification7),
+                   partitions8.window(i, specification8),
+                   partitions9.window(i, specification9),
+                   partitions10.window(i, specification10),
+                   partitions11.window(i, specification11),
+                   partitions12.window(i, specification12),
+                   partitions13.window(i, specification13),
+                   partitions14.window(i, specification14)
               ))
               .onClose(this::close);
     }
@@ -4127,41 +5564,42 @@ public interface Seq<T> extends Stream<T>, Iterable<T>, Collectable<T> {
         WindowSpecification<T> specification14,
         WindowSpecification<T> specification15
     ) {
-        List<Tuple2<T, Long>> buffer = zipWithIndex().toList();
-
-        Map<?, Partition<T>> partitions1 = SeqUtils.partitions(specification1, buffer);
-        Map<?, Partition<T>> partitions2 = SeqUtils.partitions(specification2, buffer);
-        Map<?, Partition<T>> partitions3 = SeqUtils.partitions(specification3, buffer);
-        Map<?, Partition<T>> partitions4 = SeqUtils.partitions(specification4, buffer);
-        Map<?, Partition<T>> partitions5 = SeqUtils.partitions(specification5, buffer);
-        Map<?, Partition<T>> partitions6 = SeqUtils.partitions(specification6, buffer);
-        Map<?, Partition<T>> partitions7 = SeqUtils.partitions(specification7, buffer);
-        Map<?, Partition<T>> partitions8 = SeqUtils.partitions(specification8, buffer);
-        Map<?, Partition<T>> partitions9 = SeqUtils.partitions(specification9, buffer);
-        Map<?, Partition<T>> partitions10 = SeqUtils.partitions(specification10, buffer);
-        Map<?, Partition<T>> partitions11 = SeqUtils.partitions(specification11, buffer);
-        Map<?, Partition<T>> partitions12 = SeqUtils.partitions(specification12, buffer);
-        Map<?, Partition<T>> partitions13 = SeqUtils.partitions(specification13, buffer);
-        Map<?, Partition<T>> partitions14 = SeqUtils.partitions(specification14, buffer);
-        Map<?, Partition<T>> partitions15 = SeqUtils.partitions(specification15, buffer);
-
-        return seq(buffer)
-              .map(t -> tuple(
-                   (Window<T>) new WindowImpl<>(t, partitions1.get(specification1.partition().apply(t.v1)), specification1),
-                   (Window<T>) new WindowImpl<>(t, partitions2.get(specification2.partition().apply(t.v1)), specification2),
-                   (Window<T>) new WindowImpl<>(t, partitions3.get(specification3.partition().apply(t.v1)), specification3),
-                   (Window<T>) new WindowImpl<>(t, partitions4.get(specification4.partition().apply(t.v1)), specification4),
-                   (Window<T>) new WindowImpl<>(t, partitions5.get(specification5.partition().apply(t.v1)), specification5),
-                   (Window<T>) new WindowImpl<>(t, partitions6.get(specification6.partition().apply(t.v1)), specification6),
-                   (Window<T>) new WindowImpl<>(t, partitions7.get(specification7.partition().apply(t.v1)), specification7),
-                   (Window<T>) new WindowImpl<>(t, partitions8.get(specification8.partition().apply(t.v1)), specification8),
-                   (Window<T>) new WindowImpl<>(t, partitions9.get(specification9.partition().apply(t.v1)), specification9),
-                   (Window<T>) new WindowImpl<>(t, partitions10.get(specification10.partition().apply(t.v1)), specification10),
-                   (Window<T>) new WindowImpl<>(t, partitions11.get(specification11.partition().apply(t.v1)), specification11),
-                   (Window<T>) new WindowImpl<>(t, partitions12.get(specification12.partition().apply(t.v1)), specification12),
-                   (Window<T>) new WindowImpl<>(t, partitions13.get(specification13.partition().apply(t.v1)), specification13),
-                   (Window<T>) new WindowImpl<>(t, partitions14.get(specification14.partition().apply(t.v1)), specification14),
-                   (Window<T>) new WindowImpl<>(t, partitions15.get(specification15.partition().apply(t.v1)), specification15)
+        List<T> buffer = toList();
+        Map<Object, Partitions<T>> cache = new HashMap<>();
+
+        Partitions<T> partitions1 = SeqUtils.partitions(specification1, buffer, cache);
+        Partitions<T> partitions2 = SeqUtils.partitions(specification2, buffer, cache);
+        Partitions<T> partitions3 = SeqUtils.partitions(specification3, buffer, cache);
+        Partitions<T> partitions4 = SeqUtils.partitions(specification4, buffer, cache);
+        Partitions<T> partitions5 = SeqUtils.partitions(specification5, buffer, cache);
+        Partitions<T> partitions6 = SeqUtils.partitions(specification6, buffer, cache);
+        Partitions<T> partitions7 = SeqUtils.partitions(specification7, buffer, cache);
+        Partitions<T> partitions8 = SeqUtils.partitions(specification8, buffer, cache);
+        Partitions<T> partitions9 = SeqUtils.partitions(specification9, buffer, cache);
+        Partitions<T> partitions10 = SeqUtils.partitions(specification10, buffer, cache);
+        Partitions<T> partitions11 = SeqUtils.partitions(specification11, buffer, cache);
+        Partitions<T> partitions12 = SeqUtils.partitions(specification12, buffer, cache);
+        Partitions<T> partitions13 = SeqUtils.partitions(specification13, buffer, cache);
+        Partitions<T> partitions14 = SeqUtils.partitions(specification14, buffer, cache);
+        Partitions<T> partitions15 = SeqUtils.partitions(specification15, buffer, cache);
+
+        return Seq.range(0, buffer.size())
+              .map(i -> tuple(
+                   partitions1.window(i, specification1),
+                   partitions2.window(i, specification2),
+                   partitions3.window(i, specification3),
+                   partitions4.window(i, specification4),
+                   partitions5.window(i, specification5),
+                   partitions6.window(i, specification6),
+                   partitions7.window(i, specification7),
+                   partitions8.window(i, specification8),
+                   partitions9.window(i, specification9),
+                   partitions10.window(i, specification10),
+                   partitions11.window(i, specification11),
+                   partitions12.window(i, specification12),
+                   partitions13.window(i, specification13),
+                   partitions14.window(i, specification14),
+                   partitions15.window(i, specification15)
               ))
               .onClose(this::close);
     }
@@ -4188,43 +5626,44 @@ public interface Seq<T> extends Stream<T>, Iterable<T>, Collectable<T> {
         WindowSpecification<T> specification15,
         WindowSpecification<T> specification16
     ) {
-        List<Tuple2<T, Long>> buffer = zipWithIndex().toList();
-
-        Map<?, Partition<T>> partitions1 = SeqUtils.partitions(specification1, buffer);
-        Map<?, Partition<T>> partitions2 = SeqUtils.partitions(specification2, buffer);
-        Map<?, Partition<T>> partitions3 = SeqUtils.partitions(specification3, buffer);
-        Map<?, Partition<T>> partitions4 = SeqUtils.partitions(specification4, buffer);
-        Map<?, Partition<T>> partitions5 = SeqUtils.partitions(specification5, buffer);
-        Map<?, Partition<T>> partitions6 = SeqUtils.partitions(specification6, buffer);
-        Map<?, Partition<T>> partitions7 = SeqUtils.partitions(specification7, buffer);
-        Map<?, Partition<T>> partitions8 = SeqUtils.partitions(specification8, buffer);
-        Map<?, Partition<T>> partitions9 = SeqUtils.partitions(specification9, buffer);
-        Map<?, Partition<T>> partitions10 = SeqUtils.partitions(specification10, buffer);
-        Map<?, Partition<T>> partitions11 = SeqUtils.partitions(specification11, buffer);
-        Map<?, Partition<T>> partitions12 = SeqUtils.partitions(specification12, buffer);
-        Map<?, Partition<T>> partitions13 = SeqUtils.partitions(specification13, buffer);
-        Map<?, Partition<T>> partitions14 = SeqUtils.partitions(specification14, buffer);
-        Map<?, Partition<T>> partitions15 = SeqUtils.partitions(specification15, buffer);
-        Map<?, Partition<T>> partitions16 = SeqUtils.partitions(specification16, buffer);
-
-        return seq(buffer)
-              .map(t -> tuple(
-                   (Window<T>) new WindowImpl<>(t, partitions1.get(specification1.partition().apply(t.v1)), specification1),
-                   (Window<T>) new WindowImpl<>(t, partitions2.get(specification2.partition().apply(t.v1)), specification2),
-                   (Window<T>) new WindowImpl<>(t, partitions3.get(specification3.partition().apply(t.v1)), specification3),
-                   (Window<T>) new WindowImpl<>(t, partitions4.get(specification4.partition().apply(t.v1)), specification4),
-                   (Window<T>) new WindowImpl<>(t, partitions5.get(specification5.partition().apply(t.v1)), specification5),
-                   (Window<T>) new WindowImpl<>(t, partitions6.get(specification6.partition().apply(t.v1)), specification6),
-                   (Window<T>) new WindowImpl<>(t, partitions7.get(specification7.partition().apply(t.v1)), specification7),
-                   (Window<T>) new WindowImpl<>(t, partitions8.get(specification8.partition().apply(t.v1)), specification8),
-                   (Window<T>) new WindowImpl<>(t, partitions9.get(specification9.partition().apply(t.v1)), specification9),
-                   (Window<T>) new WindowImpl<>(t, partitions10.get(specification10.partition().apply(t.v1)), specification10),
-                   (Window<T>) new WindowImpl<>(t, partitions11.get(specification11.partition().apply(t.v1)), specification11),
-                   (Window<T>) new WindowImpl<>(t, partitions12.get(specification12.partition().apply(t.v1)), specification12),
-                   (Window<T>) new WindowImpl<>(t, partitions13.get(specification13.partition().apply(t.v1)), specification13),
-                   (Window<T>) new WindowImpl<>(t, partitions14.get(specification14.partition().apply(t.v1)), specification14),
-                   (Window<T>) new WindowImpl<>(t, partitions15.get(specification15.partition().apply(t.v1)), specification15),
-                   (Window<T>) new WindowImpl<>(t, partitions16.get(specification16.partition().apply(t.v1)), specification16)
+        List<T> buffer = toList();
+        Map<Object, Partitions<T>> cache = new HashMap<>();
+
+        Partitions<T> partitions1 = SeqUtils.partitions(specification1, buffer, cache);
+        Partitions<T> partitions2 = SeqUtils.partitions(specification2, buffer, cache);
+        Partitions<T> partitions3 = SeqUtils.partitions(specification3, buffer, cache);
+        Partitions<T> partitions4 = SeqUtils.partitions(specification4, buffer, cache);
+        Partitions<T> partitions5 = SeqUtils.partitions(specification5, buffer, cache);
+        Partitions<T> partitions6 = SeqUtils.partitions(specification6, buffer, cache);
+        Partitions<T> partitions7 = SeqUtils.partitions(specification7, buffer, cache);
+        Partitions<T> partitions8 = SeqUtils.partitions(specification8, buffer, cache);
+        Partitions<T> partitions9 = SeqUtils.partitions(specification9, buffer, cache);
+        Partitions<T> partitions10 = SeqUtils.partitions(specification10, buffer, cache);
+        Partitions<T> partitions11 = SeqUtils.partitions(specification11, buffer, cache);
+        Partitions<T> partitions12 = SeqUtils.partitions(specification12, buffer, cache);
+        Partitions<T> partitions13 = SeqUtils.partitions(specification13, buffer, cache);
+        Partitions<T> partitions14 = SeqUtils.partitions(specification14, buffer, cache);
+        Partitions<T> partitions15 = SeqUtils.partitions(specification15, buffer, cache);
+        Partitions<T> partitions16 = SeqUtils.partitions(specification16, buffer, cache);
+
+        return Seq.range(0, buffer.size())
+              .map(i -> tuple(
+                   partitions1.window(i, specification1),
+                   partitions2.window(i, specification2),
+                   partitions3.window(i, specification3),
+                   partitions4.window(i, specification4),
+                   partitions5.window(i, specification5),
+                   partitions6.window(i, specification6),
+                   partitions7.window(i, specification7),
+                   partitions8.window(i, specification8),
+                   partitions9.window(i, specification9),
+                   partitions10.window(i, specification10),
+                   partitions11.window(i, specification11),
+                   partitions12.window(i, specification12),
+                   partitions13.window(i, specification13),
+                   partitions14.window(i, specification14),
+                   partitions15.window(i, specification15),
+                   partitions16.window(i, specification16)
               ))
               .onClose(this::close);
     }
@@ -4250,6 +5689,22 @@ public interface Seq<T> extends Stream<T>, Iterable<T>, Collectable<T> {
         return collect(Collectors.groupingBy(classifier, downstream));
     }
 
+    /**
+     * Classify this stream's elements according to a given classifier function
+     * and collect each class's elements using a collector, holding at most
+     * <code>maxKeysInMemory</code> collectors' intermediate results in memory.
+     * <p>
+     * The result is collected from {@link #grouped(Function, Collector, int)},
+     * which spills the elements of all other classes to temporary files.
+     *
+     * @throws IllegalArgumentException If <code>maxKeysInMemory</code> is less than 1.
+     */
+    default <K, A, D> Map<K, D> groupBy(Function<? super T, ? extends K> classifier, Collector<? super T, A, D> downstream, int maxKeysInMemory) {
+        try (Seq<Tuple2<K, D>> grouped = grouped(classifier, downstream, maxKeysInMemory)) {
+            return grouped.collect(LinkedHashMap::new, (m, t) -> m.put(t.v1, t.v2), Map::putAll);
+        }
+    }
+
     /**
      * Shortcut for calling {@link Stream#collect(Collector)} with a
      * {@link Collectors#groupingBy(Function, Supplier, Collector)} collector.
@@ -4331,10 +5786,11 @@ public interface Seq<T> extends Stream<T>, Iterable<T>, Collectable<T> {
      *
      * @param fromInclusive The lower bound
      * @param toExclusive The upper bound
-     * @param step The increase between two values
+     * @param step The increase between two values, which must be positive
+     *            for non-empty ranges
      */
     static Seq<Byte> range(byte fromInclusive, byte toExclusive, int step) {
-        return toExclusive <= fromInclusive ? empty() : iterate(fromInclusive, t -> Byte.valueOf((byte) (t + step))).limitWhile(t -> t < toExclusive);
+        return RangeSpliterator.seq(fromInclusive, toExclusive, step, false, v -> Byte.valueOf((byte) v));
     }
 
     /**
@@ -4352,10 +5808,11 @@ public interface Seq<T> extends Stream<T>, Iterable<T>, Collectable<T> {
      *
      * @param fromInclusive The lower bound
      * @param toExclusive The upper bound
-     * @param step The increase between two values
+     * @param step The increase between two values, which must be positive
+     *            for non-empty ranges
      */
     static Seq<Short> range(short fromInclusive, short toExclusive, int step) {
-        return toExclusive <= fromInclusive ? empty() : iterate(fromInclusive, t -> Short.valueOf((short) (t + step))).limitWhile(t -> t < toExclusive);
+        return RangeSpliterator.seq(fromInclusive, toExclusive, step, false, v -> Short.valueOf((short) v));
     }
 
     /**
@@ -4373,10 +5830,11 @@ public interface Seq<T> extends Stream<T>, Iterable<T>, Collectable<T> {
      *
      * @param fromInclusive The lower bound
      * @param toExclusive The upper bound
-     * @param step The increase between two values
+     * @param step The increase between two values, which must be positive
+     *            for non-empty ranges
      */
     static Seq<Character> range(char fromInclusive, char toExclusive, int step) {
-        return toExclusive <= fromInclusive ? empty() : iterate(fromInclusive, t -> Character.valueOf((char) (t + step))).limitWhile(t -> t < toExclusive);
+        return RangeSpliterator.seq(fromInclusive, toExclusive, step, false, v -> Character.valueOf((char) v));
     }
 
     /**
@@ -4394,10 +5852,11 @@ public interface Seq<T> extends Stream<T>, Iterable<T>, Collectable<T> {
      *
      * @param fromInclusive The lower bound
      * @param toExclusive The upper bound
-     * @param step The increase between two values
+     * @param step The increase between two values, which must be positive
+     *            for non-empty ranges
      */
     static Seq<Integer> range(int fromInclusive, int toExclusive, int step) {
-        return toExclusive <= fromInclusive ? empty() : iterate(fromInclusive, t -> Integer.valueOf(t + step)).limitWhile(t -> t < toExclusive);
+        return RangeSpliterator.seq(fromInclusive, toExclusive, step, false, v -> Integer.valueOf((int) v));
     }
 
     /**
@@ -4415,10 +5874,11 @@ public interface Seq<T> extends Stream<T>, Iterable<T>, Collectable<T> {
      *
      * @param fromInclusive The lower bound
      * @param toExclusive The upper bound
-     * @param step The increase between two values
+     * @param step The increase between two values, which must be positive
+     *            for non-empty ranges
      */
     static Seq<Long> range(long fromInclusive, long toExclusive, long step) {
-        return toExclusive <= fromInclusive ? empty() : iterate(fromInclusive, t -> Long.valueOf(t + step)).limitWhile(t -> t < toExclusive);
+        return RangeSpliterator.seq(fromInclusive, toExclusive, step, false, Long::valueOf);
     }
 
     /**
@@ -4436,10 +5896,11 @@ public interface Seq<T> extends Stream<T>, Iterable<T>, Collectable<T> {
      *
      * @param fromInclusive The lower bound
      * @param toExclusive The upper bound
-     * @param step The increase between two values
+     * @param step The increase between two values, which must be positive
+     *            for non-empty ranges
      */
     static Seq<Instant> range(Instant fromInclusive, Instant toExclusive, Duration step) {
-        return toExclusive.compareTo(fromInclusive) <= 0 ? empty() : iterate(fromInclusive, t -> t.plus(step)).limitWhile(t -> t.compareTo(toExclusive) < 0);
+        return RangeSpliterator.seq(fromInclusive, toExclusive, step, false);
     }
 
     /**
@@ -4457,10 +5918,11 @@ public interface Seq<T> extends Stream<T>, Iterable<T>, Collectable<T> {
      *
      * @param fromInclusive The lower bound
      * @param toInclusive The upper bound
-     * @param step The increase between two values
+     * @param step The increase between two values, which must be positive
+     *            for non-empty ranges
      */
     static Seq<Byte> rangeClosed(byte fromInclusive, byte toInclusive, int step) {
-        return toInclusive < fromInclusive ? empty() : iterate(fromInclusive, t -> Byte.valueOf((byte) (t + step))).limitWhile(t -> t <= toInclusive);
+        return RangeSpliterator.seq(fromInclusive, toInclusive, step, true, v -> Byte.valueOf((byte) v));
     }
 
     /**
@@ -4478,10 +5940,11 @@ public interface Seq<T> extends Stream<T>, Iterable<T>, Collectable<T> {
      *
      * @param fromInclusive The lower bound
      * @param toInclusive The upper bound
-     * @param step The increase between two values
+     * @param step The increase between two values, which must be positive
+     *            for non-empty ranges
      */
     static Seq<Short> rangeClosed(short fromInclusive, short toInclusive, int step) {
-        return toInclusive < fromInclusive ? empty() : iterate(fromInclusive, t -> Short.valueOf((short) (t + step))).limitWhile(t -> t <= toInclusive);
+        return RangeSpliterator.seq(fromInclusive, toInclusive, step, true, v -> Short.valueOf((short) v));
     }
 
     /**
@@ -4499,10 +5962,11 @@ public interface Seq<T> extends Stream<T>, Iterable<T>, Collectable<T> {
      *
      * @param fromInclusive The lower bound
      * @param toInclusive The upper bound
-     * @param step The increase between two values
+     * @param step The increase between two values, which must be positive
+     *            for non-empty ranges
      */
     static Seq<Character> rangeClosed(char fromInclusive, char toInclusive, int step) {
-        return toInclusive < fromInclusive ? empty() : iterate(fromInclusive, t -> Character.valueOf((char) (t + step))).limitWhile(t -> t <= toInclusive);
+        return RangeSpliterator.seq(fromInclusive, toInclusive, step, true, v -> Character.valueOf((char) v));
     }
 
     /**
@@ -4520,10 +5984,11 @@ public interface Seq<T> extends Stream<T>, Iterable<T>, Collectable<T> {
      *
      * @param fromInclusive The lower bound
      * @param toInclusive The upper bound
-     * @param step The increase between two values
+     * @param step The increase between two values, which must be positive
+     *            for non-empty ranges
      */
     static Seq<Integer> rangeClosed(int fromInclusive, int toInclusive, int step) {
-        return toInclusive < fromInclusive ? empty() : iterate(fromInclusive, t -> Integer.valueOf(t + step)).limitWhile(t -> t <= toInclusive);
+        return RangeSpliterator.seq(fromInclusive, toInclusive, step, true, v -> Integer.valueOf((int) v));
     }
 
     /**
@@ -4541,10 +6006,11 @@ public interface Seq<T> extends Stream<T>, Iterable<T>, Collectable<T> {
      *
      * @param fromInclusive The lower bound
      * @param toInclusive The upper bound
-     * @param step The increase between two values
+     * @param step The increase between two values, which must be positive
+     *            for non-empty ranges
      */
     static Seq<Long> rangeClosed(long fromInclusive, long toInclusive, long step) {
-        return toInclusive < fromInclusive ? empty() : iterate(fromInclusive, t -> Long.valueOf(t + step)).limitWhile(t -> t <= toInclusive);
+        return RangeSpliterator.seq(fromInclusive, toInclusive, step, true, Long::valueOf);
     }
 
     /**
@@ -4562,10 +6028,99 @@ public interface Seq<T> extends Stream<T>, Iterable<T>, Collectable<T> {
      *
      * @param fromInclusive The lower bound
      * @param toInclusive The upper bound
-     * @param step The increase between two values
+     * @param step The increase between two values, which must be positive
+     *            for non-empty ranges
      */
     static Seq<Instant> rangeClosed(Instant fromInclusive, Instant toInclusive, Duration step) {
-        return toInclusive.compareTo(fromInclusive) < 0 ? empty() : iterate(fromInclusive, t -> t.plus(step)).limitWhile(t -> t.compareTo(toInclusive) <= 0);
+        return RangeSpliterator.seq(fromInclusive, toInclusive, step, true);
+    }
+
+    /**
+     * The range between two values, as a primitive {@link IntSeq}.
+     *
+     * @param fromInclusive The lower bound
+     * @param toExclusive The upper bound
+     */
+    static IntSeq intRange(int fromInclusive, int toExclusive) {
+        return intRange(fromInclusive, toExclusive, 1);
+    }
+
+    /**
+     * The range between two values, as a primitive {@link IntSeq}.
+     *
+     * @param fromInclusive The lower bound
+     * @param toExclusive The upper bound
+     * @param step The increase between two values, which must be positive
+     *            for non-empty ranges
+     */
+    static IntSeq intRange(int fromInclusive, int toExclusive, int step) {
+        return IntSeq.range(fromInclusive, toExclusive, step);
+    }
+
+    /**
+     * The range between two values, as a primitive {@link IntSeq}.
+     *
+     * @param fromInclusive The lower bound
+     * @param toInclusive The upper bound
+     */
+    static IntSeq intRangeClosed(int fromInclusive, int toInclusive) {
+        return intRangeClosed(fromInclusive, toInclusive, 1);
+    }
+
+    /**
+     * The range between two values, as a primitive {@link IntSeq}.
+     *
+     * @param fromInclusive The lower bound
+     * @param toInclusive The upper bound
+     * @param step The increase between two values, which must be positive
+     *            for non-empty ranges
+     */
+    static IntSeq intRangeClosed(int fromInclusive, int toInclusive, int step) {
+        return IntSeq.rangeClosed(fromInclusive, toInclusive, step);
+    }
+
+    /**
+     * The range between two values, as a primitive {@link LongSeq}.
+     *
+     * @param fromInclusive The lower bound
+     * @param toExclusive The upper bound
+     */
+    static LongSeq longRange(long fromInclusive, long toExclusive) {
+        return longRange(fromInclusive, toExclusive, 1L);
+    }
+
+    /**
+     * The range between two values, as a primitive {@link LongSeq}.
+     *
+     * @param fromInclusive The lower bound
+     * @param toExclusive The upper bound
+     * @param step The increase between two values, which must be positive
+     *            for non-empty ranges
+     */
+    static LongSeq longRange(long fromInclusive, long toExclusive, long step) {
+        return LongSeq.range(fromInclusive, toExclusive, step);
+    }
+
+    /**
+     * The range between two values, as a primitive {@link LongSeq}.
+     *
+     * @param fromInclusive The lower bound
+     * @param toInclusive The upper bound
+     */
+    static LongSeq longRangeClosed(long fromInclusive, long toInclusive) {
+        return longRangeClosed(fromInclusive, toInclusive, 1L);
+    }
+
+    /**
+     * The range between two values, as a primitive {@link LongSeq}.
+     *
+     * @param fromInclusive The lower bound
+     * @param toInclusive The upper bound
+     * @param step The increase between two values, which must be positive
+     *            for non-empty ranges
+     */
+    static LongSeq longRangeClosed(long fromInclusive, long toInclusive, long step) {
+        return LongSeq.rangeClosed(fromInclusive, toInclusive, step);
     }
 
     /**
@@ -4765,71 +6320,171 @@ public interface Seq<T> extends Stream<T>, Iterable<T>, Collectable<T> {
     static <T> Seq<T> seq(Optional<? extends T>... optionals) {
         if (optionals == null)
             return Seq.empty();
-        
-        return of(optionals).filter(Optional::isPresent).map(Optional::get);
+        
+        return of(optionals).filter(Optional::isPresent).map(Optional::get);
+    }
+
+    /**
+     * Get a stream from a single element from a <code>Supplier</code>.
+     */
+    static <T> Seq<T> seq(Supplier<? extends T> s) {
+        return Seq.<T>generate(s).limit(1);
+    }
+
+    /**
+     * Wrap an <code>InputStream</code> into a <code>Seq</code>.
+     * <p>
+     * Client code must close the <code>InputStream</code>. All
+     * {@link IOException}'s thrown be the <code>InputStream</code> are wrapped
+     * by {@link UncheckedIOException}'s.
+     * <p>
+     * The <code>InputStream</code> is read in blocks, so more bytes may be
+     * read from it than are consumed from the resulting stream. Use
+     * {@link IntSeq#seq(InputStream)} to avoid boxing the bytes.
+     */
+    static Seq<Byte> seq(InputStream is) {
+        if (is == null)
+            return Seq.empty();
+
+        return IntSeq.seq(is).mapToObj(b -> (byte) b);
     }
 
     /**
-     * Get a stream from a single element from a <code>Supplier</code>.
+     * Wrap a <code>Reader</code> into a <code>Seq</code>.
+     * <p>
+     * Client code must close the <code>Reader</code>. All
+     * {@link IOException}'s thrown be the <code>Reader</code> are wrapped
+     * by {@link UncheckedIOException}'s.
+     * <p>
+     * The <code>Reader</code> is read in blocks, so more characters may be
+     * read from it than are consumed from the resulting stream. Use
+     * {@link IntSeq#seq(Reader)} to avoid boxing the characters.
      */
-    static <T> Seq<T> seq(Supplier<? extends T> s) {
-        return Seq.<T>generate(s).limit(1);
+    static Seq<Character> seq(Reader reader) {
+        if (reader == null)
+            return Seq.empty();
+
+        return IntSeq.seq(reader).mapToObj(c -> (char) c);
     }
 
     /**
-     * Wrap an <code>InputStream</code> into a <code>Seq</code>.
+     * Read an <code>InputStream</code> in chunks of <code>chunkSize</code>
+     * bytes.
+     * <p>
+     * Each chunk is a new {@link ByteBuffer} that can be retained by client
+     * code. All chunks contain exactly <code>chunkSize</code> bytes, except
+     * the last one, which may be shorter.
      * <p>
      * Client code must close the <code>InputStream</code>. All
      * {@link IOException}'s thrown be the <code>InputStream</code> are wrapped
      * by {@link UncheckedIOException}'s.
+     * <p>
+     * <code><pre>
+     * // ([1, 2], [3])
+     * Seq.chunks(new ByteArrayInputStream(new byte[] { 1, 2, 3 }), 2)
+     * </pre></code>
      */
-    static Seq<Byte> seq(InputStream is) {
+    static Seq<ByteBuffer> chunks(InputStream is, int chunkSize) {
+        if (chunkSize <= 0)
+            throw new IllegalArgumentException("Chunk size must be >= 1");
+
         if (is == null)
             return Seq.empty();
-        
-        FunctionalSpliterator<Byte> spliterator = consumer -> {
-            try {
-                int value = is.read();
 
-                if (value != -1)
-                    consumer.accept((byte) value);
+        return seq(IOSpliterators.chunks(is, chunkSize)).onClose(Unchecked.runnable(is::close));
+    }
 
-                return value != -1;
-            }
-            catch (IOException e) {
-                throw new UncheckedIOException(e);
-            }
-        };
+    /**
+     * Read the lines of a <code>Reader</code>, as defined by
+     * {@link BufferedReader#readLine()}.
+     * <p>
+     * Client code must close the <code>Reader</code>. All
+     * {@link IOException}'s thrown be the <code>Reader</code> are wrapped
+     * by {@link UncheckedIOException}'s.
+     * <p>
+     * <code><pre>
+     * // ("a", "b")
+     * Seq.lines(new StringReader("a\nb\n"))
+     * </pre></code>
+     */
+    static Seq<String> lines(Reader reader) {
+        if (reader == null)
+            return Seq.empty();
 
-        return seq(spliterator).onClose(Unchecked.runnable(is::close));
+        BufferedReader buffered = reader instanceof BufferedReader
+            ? (BufferedReader) reader
+            : new BufferedReader(reader, IOSpliterators.BUFFER_SIZE);
+
+        return seq(buffered.lines()).onClose(Unchecked.runnable(reader::close));
     }
 
     /**
-     * Wrap a <code>Reader</code> into a <code>Seq</code>.
+     * Split the contents of a <code>Reader</code> into records separated by
+     * a delimiter.
+     * <p>
+     * A trailing delimiter does not produce an empty trailing record, just
+     * like a trailing line break in {@link #lines(Reader)}.
      * <p>
      * Client code must close the <code>Reader</code>. All
      * {@link IOException}'s thrown be the <code>Reader</code> are wrapped
      * by {@link UncheckedIOException}'s.
+     * <p>
+     * <code><pre>
+     * // ("a", "", "b")
+     * Seq.split(new StringReader("a;;;;b;;"), ";;")
+     * </pre></code>
      */
-    static Seq<Character> seq(Reader reader) {
+    static Seq<String> split(Reader reader, String delimiter) {
+        if (delimiter.isEmpty())
+            throw new IllegalArgumentException("Delimiter must not be empty");
+
         if (reader == null)
             return Seq.empty();
-        
-        FunctionalSpliterator<Character> spliterator = consumer -> {
-            try {
-                int value = reader.read();
 
-                if (value != -1)
-                    consumer.accept((char) value);
+        return seq(IOSpliterators.records(reader, delimiter)).onClose(Unchecked.runnable(reader::close));
+    }
 
-                return value != -1;
-            }
-            catch (IOException e) {
-                throw new UncheckedIOException(e);
-            }
-        };
+    /**
+     * Map a file into memory and read its lines as zero-copy
+     * {@link CharSequence} views of the mapped bytes.
+     * <p>
+     * Lines are separated by <code>"\n"</code> or <code>"\r\n"</code>, which
+     * are not contained in the lines. Bytes are interpreted as ISO-8859-1
+     * characters, which is correct for ASCII content. Use
+     * {@link #mappedLineBuffers(Path)} to decode other character sets.
+     * <p>
+     * The resulting stream splits at line breaks, e.g. when it is consumed
+     * through {@link #parallel(ForkJoinPool)}. The views must not be used
+     * after the stream has been closed. All {@link IOException}'s are wrapped
+     * by {@link UncheckedIOException}'s.
+     * <p>
+     * <code><pre>
+     * // A parallel line count
+     * try (Seq&lt;CharSequence&gt; lines = Seq.mappedLines(path)) {
+     *     long count = lines.parallel(pool).count();
+     * }
+     * </pre></code>
+     */
+    static Seq<CharSequence> mappedLines(Path path) {
+        MappedLines lines = MappedLines.map(path, MappedLines.MAX_SEGMENT_SIZE);
+        return seq(lines.chars()).onClose(lines::close);
+    }
 
-        return seq(spliterator).onClose(Unchecked.runnable(reader::close));
+    /**
+     * Map a file into memory and read its lines as zero-copy, read-only
+     * {@link ByteBuffer} views of the mapped bytes.
+     * <p>
+     * Lines are separated by <code>"\n"</code> or <code>"\r\n"</code>, which
+     * are not contained in the lines.
+     * <p>
+     * The resulting stream splits at line breaks, e.g. when it is consumed
+     * through {@link #parallel(ForkJoinPool)}. The views must not be used
+     * after the stream has been closed. All {@link IOException}'s are wrapped
+     * by {@link UncheckedIOException}'s.
+     */
+    static Seq<ByteBuffer> mappedLineBuffers(Path path) {
+        MappedLines lines = MappedLines.map(path, MappedLines.MAX_SEGMENT_SIZE);
+        return seq(lines.buffers()).onClose(lines::close);
     }
 
     /**
@@ -5120,6 +6775,37 @@ public interface Seq<T> extends Stream<T>, Iterable<T>, Collectable<T> {
               .map2(s -> s.map(u -> u.v2));
     }
 
+    /**
+     * Unzip one Stream into two, failing with a {@link LagExceededException}
+     * if one of them gets more than <code>maxLag</code> elements ahead of the
+     * other one.
+     * <p>
+     * <code><pre>
+     * // tuple((1, 2, 3), (a, b, c))
+     * Seq.unzip(Seq.of(tuple(1, "a"), tuple(2, "b"), tuple(3, "c")), 1);
+     * </pre></code>
+     *
+     * @see #duplicate(Stream, long)
+     */
+    static <T1, T2> Tuple2<Seq<T1>, Seq<T2>> unzip(Stream<Tuple2<T1, T2>> stream, long maxLag) {
+        return duplicate(stream, maxLag)
+              .map1(s -> s.map(t -> t.v1))
+              .map2(s -> s.map(t -> t.v2));
+    }
+
+    /**
+     * Unzip one Stream into two, blocking the leading stream for at most
+     * <code>timeout</code> if it gets more than <code>maxLag</code> elements
+     * ahead of the other one.
+     *
+     * @see #duplicate(Stream, long, Duration)
+     */
+    static <T1, T2> Tuple2<Seq<T1>, Seq<T2>> unzip(Stream<Tuple2<T1, T2>> stream, long maxLag, Duration timeout) {
+        return duplicate(stream, maxLag, timeout)
+              .map1(s -> s.map(t -> t.v1))
+              .map2(s -> s.map(t -> t.v2));
+    }
+
 
 
     /**
@@ -6121,23 +7807,9 @@ public interface Seq<T> extends Stream<T>, Iterable<T>, Collectable<T> {
      * </pre></code>
      */
     /// @Generated("This method was generated using jOOQ-tools")
+    @SuppressWarnings("unchecked")
     static <T1, T2, R> Seq<R> zip(Seq<? extends T1> s1, Seq<? extends T2> s2, BiFunction<? super T1, ? super T2, ? extends R> zipper) {
-        final Iterator<? extends T1> it1 = s1.iterator();
-        final Iterator<? extends T2> it2 = s2.iterator();
-
-        class Zip implements Iterator<R> {
-            @Override
-            public boolean hasNext() {
-                return it1.hasNext() && it2.hasNext();
-            }
-
-            @Override
-            public R next() {
-                return zipper.apply(it1.next(), it2.next());
-            }
-        }
-
-        return seq(new Zip());
+        return SeqUtils.zip(values -> zipper.apply((T1) values[0], (T2) values[1]), s1, s2);
     }
 
     /**
@@ -6149,24 +7821,9 @@ public interface Seq<T> extends Stream<T>, Iterable<T>, Collectable<T> {
      * </pre></code>
      */
     /// @Generated("This method was generated using jOOQ-tools")
+    @SuppressWarnings("unchecked")
     static <T1, T2, T3, R> Seq<R> zip(Seq<? extends T1> s1, Seq<? extends T2> s2, Seq<? extends T3> s3, Function3<? super T1, ? super T2, ? super T3, ? extends R> zipper) {
-        final Iterator<? extends T1> it1 = s1.iterator();
-        final Iterator<? extends T2> it2 = s2.iterator();
-        final Iterator<? extends T3> it3 = s3.iterator();
-
-        class Zip implements Iterator<R> {
-            @Override
-            public boolean hasNext() {
-                return it1.hasNext() && it2.hasNext() && it3.hasNext();
-            }
-
-            @Override
-            public R next() {
-                return zipper.apply(it1.next(), it2.next(), it3.next());
-            }
-        }
-
-        return seq(new Zip());
+        return SeqUtils.zip(values -> zipper.apply((T1) values[0], (T2) values[1], (T3) values[2]), s1, s2, s3);
     }
 
     /**
@@ -6178,25 +7835,9 @@ public interface Seq<T> extends Stream<T>, Iterable<T>, Collectable<T> {
      * </pre></code>
      */
     /// @Generated("This method was generated using jOOQ-tools")
+    @SuppressWarnings("unchecked")
     static <T1, T2, T3, T4, R> Seq<R> zip(Seq<? extends T1> s1, Seq<? extends T2> s2, Seq<? extends T3> s3, Seq<? extends T4> s4, Function4<? super T1, ? super T2, ? super T3, ? super T4, ? extends R> zipper) {
-        final Iterator<? extends T1> it1 = s1.iterator();
-        final Iterator<? extends T2> it2 = s2.iterator();
-        final Iterator<? extends T3> it3 = s3.iterator();
-        final Iterator<? extends T4> it4 = s4.iterator();
-
-        class Zip implements Iterator<R> {
-            @Override
-            public boolean hasNext() {
-                return it1.hasNext() && it2.hasNext() && it3.hasNext() && it4.hasNext();
-            }
-
-            @Override
-            public R next() {
-                return zipper.apply(it1.next(), it2.next(), it3.next(), it4.next());
-            }
-        }
-
-        return seq(new Zip());
+        return SeqUtils.zip(values -> zipper.apply((T1) values[0], (T2) values[1], (T3) values[2], (T4) values[3]), s1, s2, s3, s4);
     }
 
     /**
@@ -6208,26 +7849,9 @@ public interface Seq<T> extends Stream<T>, Iterable<T>, Collectable<T> {
      * </pre></code>
      */
     /// @Generated("This method was generated using jOOQ-tools")
+    @SuppressWarnings("unchecked")
     static <T1, T2, T3, T4, T5, R> Seq<R> zip(Seq<? extends T1> s1, Seq<? extends T2> s2, Seq<? extends T3> s3, Seq<? extends T4> s4, Seq<? extends T5> s5, Function5<? super T1, ? super T2, ? super T3, ? super T4, ? super T5, ? extends R> zipper) {
-        final Iterator<? extends T1> it1 = s1.iterator();
-        final Iterator<? extends T2> it2 = s2.iterator();
-        final Iterator<? extends T3> it3 = s3.iterator();
-        final Iterator<? extends T4> it4 = s4.iterator();
-        final Iterator<? extends T5> it5 = s5.iterator();
-
-        class Zip implements Iterator<R> {
-            @Override
-            public boolean hasNext() {
-                return it1.hasNext() && it2.hasNext() && it3.hasNext() && it4.hasNext() && it5.hasNext();
-            }
-
-            @Override
-            public R next() {
-                return zipper.apply(it1.next(), it2.next(), it3.next(), it4.next(), it5.next());
-            }
-        }
-
-        return seq(new Zip());
+        return SeqUtils.zip(values -> zipper.apply((T1) values[0], (T2) values[1], (T3) values[2], (T4) values[3], (T5) values[4]), s1, s2, s3, s4, s5);
     }
 
     /**
@@ -6239,27 +7863,9 @@ public interface Seq<T> extends Stream<T>, Iterable<T>, Collectable<T> {
      * </pre></code>
      */
     /// @Generated("This method was generated using jOOQ-tools")
+    @SuppressWarnings("unchecked")
     static <T1, T2, T3, T4, T5, T6, R> Seq<R> zip(Seq<? extends T1> s1, Seq<? extends T2> s2, Seq<? extends T3> s3, Seq<? extends T4> s4, Seq<? extends T5> s5, Seq<? extends T6> s6, Function6<? super T1, ? super T2, ? super T3, ? super T4, ? super T5, ? super T6, ? extends R> zipper) {
-        final Iterator<? extends T1> it1 = s1.iterator();
-        final Iterator<? extends T2> it2 = s2.iterator();
-        final Iterator<? extends T3> it3 = s3.iterator();
-        final Iterator<? extends T4> it4 = s4.iterator();
-        final Iterator<? extends T5> it5 = s5.iterator();
-        final Iterator<? extends T6> it6 = s6.iterator();
-
-        class Zip implements Iterator<R> {
-            @Override
-            public boolean hasNext() {
-                return it1.hasNext() && it2.hasNext() && it3.hasNext() && it4.hasNext() && it5.hasNext() && it6.hasNext();
-            }
-
-            @Override
-            public R next() {
-                return zipper.apply(it1.next(), it2.next(), it3.next(), it4.next(), it5.next(), it6.next());
-            }
-        }
-
-        return seq(new Zip());
+        return SeqUtils.zip(values -> zipper.apply((T1) values[0], (T2) values[1], (T3) values[2], (T4) values[3], (T5) values[4], (T6) values[5]), s1, s2, s3, s4, s5, s6);
     }
 
     /**
@@ -6271,28 +7877,9 @@ public interface Seq<T> extends Stream<T>, Iterable<T>, Collectable<T> {
      * </pre></code>
      */
     /// @Generated("This method was generated using jOOQ-tools")
+    @SuppressWarnings("unchecked")
     static <T1, T2, T3, T4, T5, T6, T7, R> Seq<R> zip(Seq<? extends T1> s1, Seq<? extends T2> s2, Seq<? extends T3> s3, Seq<? extends T4> s4, Seq<? extends T5> s5, Seq<? extends T6> s6, Seq<? extends T7> s7, Function7<? super T1, ? super T2, ? super T3, ? super T4, ? super T5, ? super T6, ? super T7, ? extends R> zipper) {
-        final Iterator<? extends T1> it1 = s1.iterator();
-        final Iterator<? extends T2> it2 = s2.iterator();
-        final Iterator<? extends T3> it3 = s3.iterator();
-        final Iterator<? extends T4> it4 = s4.iterator();
-        final Iterator<? extends T5> it5 = s5.iterator();
-        final Iterator<? extends T6> it6 = s6.iterator();
-        final Iterator<? extends T7> it7 = s7.iterator();
-
-        class Zip implements Iterator<R> {
-            @Override
-            public boolean hasNext() {
-                return it1.hasNext() && it2.hasNext() && it3.hasNext() && it4.hasNext() && it5.hasNext() && it6.hasNext() && it7.hasNext();
-            }
-
-            @Override
-            public R next() {
-                return zipper.apply(it1.next(), it2.next(), it3.next(), it4.next(), it5.next(), it6.next(), it7.next());
-            }
-        }
-
-        return seq(new Zip());
+        return SeqUtils.zip(values -> zipper.apply((T1) values[0], (T2) values[1], (T3) values[2], (T4) values[3], (T5) values[4], (T6) values[5], (T7) values[6]), s1, s2, s3, s4, s5, s6, s7);
     }
 
     /**
@@ -6304,29 +7891,9 @@ public interface Seq<T> extends Stream<T>, Iterable<T>, Collectable<T> {
      * </pre></code>
      */
     /// @Generated("This method was generated using jOOQ-tools")
+    @SuppressWarnings("unchecked")
     static <T1, T2, T3, T4, T5, T6, T7, T8, R> Seq<R> zip(Seq<? extends T1> s1, Seq<? extends T2> s2, Seq<? extends T3> s3, Seq<? extends T4> s4, Seq<? extends T5> s5, Seq<? extends T6> s6, Seq<? extends T7> s7, Seq<? extends T8> s8, Function8<? super T1, ? super T2, ? super T3, ? super T4, ? super T5, ? super T6, ? super T7, ? super T8, ? extends R> zipper) {
-        final Iterator<? extends T1> it1 = s1.iterator();
-        final Iterator<? extends T2> it2 = s2.iterator();
-        final Iterator<? extends T3> it3 = s3.iterator();
-        final Iterator<? extends T4> it4 = s4.iterator();
-        final Iterator<? extends T5> it5 = s5.iterator();
-        final Iterator<? extends T6> it6 = s6.iterator();
-        final Iterator<? extends T7> it7 = s7.iterator();
-        final Iterator<? extends T8> it8 = s8.iterator();
-
-        class Zip implements Iterator<R> {
-            @Override
-            public boolean hasNext() {
-                return it1.hasNext() && it2.hasNext() && it3.hasNext() && it4.hasNext() && it5.hasNext() && it6.hasNext() && it7.hasNext() && it8.hasNext();
-            }
-
-            @Override
-            public R next() {
-                return zipper.apply(it1.next(), it2.next(), it3.next(), it4.next(), it5.next(), it6.next(), it7.next(), it8.next());
-            }
-        }
-
-        return seq(new Zip());
+        return SeqUtils.zip(values -> zipper.apply((T1) values[0], (T2) values[1], (T3) values[2], (T4) values[3], (T5) values[4], (T6) values[5], (T7) values[6], (T8) values[7]), s1, s2, s3, s4, s5, s6, s7, s8);
     }
 
     /**
@@ -6338,30 +7905,9 @@ public interface Seq<T> extends Stream<T>, Iterable<T>, Collectable<T> {
      * </pre></code>
      */
     /// @Generated("This method was generated using jOOQ-tools")
+    @SuppressWarnings("unchecked")
     static <T1, T2, T3, T4, T5, T6, T7, T8, T9, R> Seq<R> zip(Seq<? extends T1> s1, Seq<? extends T2> s2, Seq<? extends T3> s3, Seq<? extends T4> s4, Seq<? extends T5> s5, Seq<? extends T6> s6, Seq<? extends T7> s7, Seq<? extends T8> s8, Seq<? extends T9> s9, Function9<? super T1, ? super T2, ? super T3, ? super T4, ? super T5, ? super T6, ? super T7, ? super T8, ? super T9, ? extends R> zipper) {
-        final Iterator<? extends T1> it1 = s1.iterator();
-        final Iterator<? extends T2> it2 = s2.iterator();
-        final Iterator<? extends T3> it3 = s3.iterator();
-        final Iterator<? extends T4> it4 = s4.iterator();
-        final Iterator<? extends T5> it5 = s5.iterator();
-        final Iterator<? extends T6> it6 = s6.iterator();
-        final Iterator<? extends T7> it7 = s7.iterator();
-        final Iterator<? extends T8> it8 = s8.iterator();
-        final Iterator<? extends T9> it9 = s9.iterator();
-
-        class Zip implements Iterator<R> {
-            @Override
-            public boolean hasNext() {
-                return it1.hasNext() && it2.hasNext() && it3.hasNext() && it4.hasNext() && it5.hasNext() && it6.hasNext() && it7.hasNext() && it8.hasNext() && it9.hasNext();
-            }
-
-            @Override
-            public R next() {
-                return zipper.apply(it1.next(), it2.next(), it3.next(), it4.next(), it5.next(), it6.next(), it7.next(), it8.next(), it9.next());
-            }
-        }
-
-        return seq(new Zip());
+        return SeqUtils.zip(values -> zipper.apply((T1) values[0], (T2) values[1], (T3) values[2], (T4) values[3], (T5) values[4], (T6) values[5], (T7) values[6], (T8) values[7], (T9) values[8]), s1, s2, s3, s4, s5, s6, s7, s8, s9);
     }
 
     /**
@@ -6373,31 +7919,9 @@ public interface Seq<T> extends Stream<T>, Iterable<T>, Collectable<T> {
      * </pre></code>
      */
     /// @Generated("This method was generated using jOOQ-tools")
+    @SuppressWarnings("unchecked")
     static <T1, T2, T3, T4, T5, T6, T7, T8, T9, T10, R> Seq<R> zip(Seq<? extends T1> s1, Seq<? extends T2> s2, Seq<? extends T3> s3, Seq<? extends T4> s4, Seq<? extends T5> s5, Seq<? extends T6> s6, Seq<? extends T7> s7, Seq<? extends T8> s8, Seq<? extends T9> s9, Seq<? extends T10> s10, Function10<? super T1, ? super T2, ? super T3, ? super T4, ? super T5, ? super T6, ? super T7, ? super T8, ? super T9, ? super T10, ? extends R> zipper) {
-        final Iterator<? extends T1> it1 = s1.iterator();
-        final Iterator<? extends T2> it2 = s2.iterator();
-        final Iterator<? extends T3> it3 = s3.iterator();
-        final Iterator<? extends T4> it4 = s4.iterator();
-        final Iterator<? extends T5> it5 = s5.iterator();
-        final Iterator<? extends T6> it6 = s6.iterator();
-        final Iterator<? extends T7> it7 = s7.iterator();
-        final Iterator<? extends T8> it8 = s8.iterator();
-        final Iterator<? extends T9> it9 = s9.iterator();
-        final Iterator<? extends T10> it10 = s10.iterator();
-
-        class Zip implements Iterator<R> {
-            @Override
-            public boolean hasNext() {
-                return it1.hasNext() && it2.hasNext() && it3.hasNext() && it4.hasNext() && it5.hasNext() && it6.hasNext() && it7.hasNext() && it8.hasNext() && it9.hasNext() && it10.hasNext();
-            }
-
-            @Override
-            public R next() {
-                return zipper.apply(it1.next(), it2.next(), it3.next(), it4.next(), it5.next(), it6.next(), it7.next(), it8.next(), it9.next(), it10.next());
-            }
-        }
-
-        return seq(new Zip());
+        return SeqUtils.zip(values -> zipper.apply((T1) values[0], (T2) values[1], (T3) values[2], (T4) values[3], (T5) values[4], (T6) values[5], (T7) values[6], (T8) values[7], (T9) values[8], (T10) values[9]), s1, s2, s3, s4, s5, s6, s7, s8, s9, s10);
     }
 
     /**
@@ -6408,33 +7932,10 @@ public interface Seq<T> extends Stream<T>, Iterable<T>, Collectable<T> {
      * Seq.of(1, 2, 3).zip(Seq.of("a", "b", "c"), (i, s) -> i + ":" + s)
      * </pre></code>
      */
-    /// @Generated("This method was generated using jOOQ-tools")
-    static <T1, T2, T3, T4, T5, T6, T7, T8, T9, T10, T11, R> Seq<R> zip(Seq<? extends T1> s1, Seq<? extends T2> s2, Seq<? extends T3> s3, Seq<? extends T4> s4, Seq<? extends T5> s5, Seq<? extends T6> s6, Seq<? extends T7> s7, Seq<? extends T8> s8, Seq<? extends T9> s9, Seq<? extends T10> s10, Seq<? extends T11> s11, Function11<? super T1, ? super T2, ? super T3, ? super T4, ? super T5, ? super T6, ? super T7, ? super T8, ? super T9, ? super T10, ? super T11, ? extends R> zipper) {
-        final Iterator<? extends T1> it1 = s1.iterator();
-        final Iterator<? extends T2> it2 = s2.iterator();
-        final Iterator<? extends T3> it3 = s3.iterator();
-        final Iterator<? extends T4> it4 = s4.iterator();
-        final Iterator<? extends T5> it5 = s5.iterator();
-        final Iterator<? extends T6> it6 = s6.iterator();
-        final Iterator<? extends T7> it7 = s7.iterator();
-        final Iterator<? extends T8> it8 = s8.iterator();
-        final Iterator<? extends T9> it9 = s9.iterator();
-        final Iterator<? extends T10> it10 = s10.iterator();
-        final Iterator<? extends T11> it11 = s11.iterator();
-
-        class Zip implements Iterator<R> {
-            @Override
-            public boolean hasNext() {
-                return it1.hasNext() && it2.hasNext() && it3.hasNext() && it4.hasNext() && it5.hasNext() && it6.hasNext() && it7.hasNext() && it8.hasNext() && it9.hasNext() && it10.hasNext() && it11.hasNext();
-            }
-
-            @Override
-            public R next() {
-                return zipper.apply(it1.next(), it2.next(), it3.next(), it4.next(), it5.next(), it6.next(), it7.next(), it8.next(), it9.next(), it10.next(), it11.next());
-            }
-        }
-
-        return seq(new Zip());
+    /// @Generated("This method was generated using jOOQ-tools")
+    @SuppressWarnings("unchecked")
+    static <T1, T2, T3, T4, T5, T6, T7, T8, T9, T10, T11, R> Seq<R> zip(Seq<? extends T1> s1, Seq<? extends T2> s2, Seq<? extends T3> s3, Seq<? extends T4> s4, Seq<? extends T5> s5, Seq<? extends T6> s6, Seq<? extends T7> s7, Seq<? extends T8> s8, Seq<? extends T9> s9, Seq<? extends T10> s10, Seq<? extends T11> s11, Function11<? super T1, ? super T2, ? super T3, ? super T4, ? super T5, ? super T6, ? super T7, ? super T8, ? super T9, ? super T10, ? super T11, ? extends R> zipper) {
+        return SeqUtils.zip(values -> zipper.apply((T1) values[0], (T2) values[1], (T3) values[2], (T4) values[3], (T5) values[4], (T6) values[5], (T7) values[6], (T8) values[7], (T9) values[8], (T10) values[9], (T11) values[10]), s1, s2, s3, s4, s5, s6, s7, s8, s9, s10, s11);
     }
 
     /**
@@ -6446,33 +7947,9 @@ public interface Seq<T> extends Stream<T>, Iterable<T>, Collectable<T> {
      * </pre></code>
      */
     /// @Generated("This method was generated using jOOQ-tools")
+    @SuppressWarnings("unchecked")
     static <T1, T2, T3, T4, T5, T6, T7, T8, T9, T10, T11, T12, R> Seq<R> zip(Seq<? extends T1> s1, Seq<? extends T2> s2, Seq<? extends T3> s3, Seq<? extends T4> s4, Seq<? extends T5> s5, Seq<? extends T6> s6, Seq<? extends T7> s7, Seq<? extends T8> s8, Seq<? extends T9> s9, Seq<? extends T10> s10, Seq<? extends T11> s11, Seq<? extends T12> s12, Function12<? super T1, ? super T2, ? super T3, ? super T4, ? super T5, ? super T6, ? super T7, ? super T8, ? super T9, ? super T10, ? super T11, ? super T12, ? extends R> zipper) {
-        final Iterator<? extends T1> it1 = s1.iterator();
-        final Iterator<? extends T2> it2 = s2.iterator();
-        final Iterator<? extends T3> it3 = s3.iterator();
-        final Iterator<? extends T4> it4 = s4.iterator();
-        final Iterator<? extends T5> it5 = s5.iterator();
-        final Iterator<? extends T6> it6 = s6.iterator();
-        final Iterator<? extends T7> it7 = s7.iterator();
-        final Iterator<? extends T8> it8 = s8.iterator();
-        final Iterator<? extends T9> it9 = s9.iterator();
-        final Iterator<? extends T10> it10 = s10.iterator();
-        final Iterator<? extends T11> it11 = s11.iterator();
-        final Iterator<? extends T12> it12 = s12.iterator();
-
-        class Zip implements Iterator<R> {
-            @Override
-            public boolean hasNext() {
-                return it1.hasNext() && it2.hasNext() && it3.hasNext() && it4.hasNext() && it5.hasNext() && it6.hasNext() && it7.hasNext() && it8.hasNext() && it9.hasNext() && it10.hasNext() && it11.hasNext() && it12.hasNext();
-            }
-
-            @Override
-            public R next() {
-                return zipper.apply(it1.next(), it2.next(), it3.next(), it4.next(), it5.next(), it6.next(), it7.next(), it8.next(), it9.next(), it10.next(), it11.next(), it12.next());
-            }
-        }
-
-        return seq(new Zip());
+        return SeqUtils.zip(values -> zipper.apply((T1) values[0], (T2) values[1], (T3) values[2], (T4) values[3], (T5) values[4], (T6) values[5], (T7) values[6], (T8) values[7], (T9) values[8], (T10) values[9], (T11) values[10], (T12) values[11]), s1, s2, s3, s4, s5, s6, s7, s8, s9, s10, s11, s12);
     }
 
     /**
@@ -6484,34 +7961,9 @@ public interface Seq<T> extends Stream<T>, Iterable<T>, Collectable<T> {
      * </pre></code>
      */
     /// @Generated("This method was generated using jOOQ-tools")
+    @SuppressWarnings("unchecked")
     static <T1, T2, T3, T4, T5, T6, T7, T8, T9, T10, T11, T12, T13, R> Seq<R> zip(Seq<? extends T1> s1, Seq<? extends T2> s2, Seq<? extends T3> s3, Seq<? extends T4> s4, Seq<? extends T5> s5, Seq<? extends T6> s6, Seq<? extends T7> s7, Seq<? extends T8> s8, Seq<? extends T9> s9, Seq<? extends T10> s10, Seq<? extends T11> s11, Seq<? extends T12> s12, Seq<? extends T13> s13, Function13<? super T1, ? super T2, ? super T3, ? super T4, ? super T5, ? super T6, ? super T7, ? super T8, ? super T9, ? super T10, ? super T11, ? super T12, ? super T13, ? extends R> zipper) {
-        final Iterator<? extends T1> it1 = s1.iterator();
-        final Iterator<? extends T2> it2 = s2.iterator();
-        final Iterator<? extends T3> it3 = s3.iterator();
-        final Iterator<? extends T4> it4 = s4.iterator();
-        final Iterator<? extends T5> it5 = s5.iterator();
-        final Iterator<? extends T6> it6 = s6.iterator();
-        final Iterator<? extends T7> it7 = s7.iterator();
-        final Iterator<? extends T8> it8 = s8.iterator();
-        final Iterator<? extends T9> it9 = s9.iterator();
-        final Iterator<? extends T10> it10 = s10.iterator();
-        final Iterator<? extends T11> it11 = s11.iterator();
-        final Iterator<? extends T12> it12 = s12.iterator();
-        final Iterator<? extends T13> it13 = s13.iterator();
-
-        class Zip implements Iterator<R> {
-            @Override
-            public boolean hasNext() {
-                return it1.hasNext() && it2.hasNext() && it3.hasNext() && it4.hasNext() && it5.hasNext() && it6.hasNext() && it7.hasNext() && it8.hasNext() && it9.hasNext() && it10.hasNext() && it11.hasNext() && it12.hasNext() && it13.hasNext();
-            }
-
-            @Override
-            public R next() {
-                return zipper.apply(it1.next(), it2.next(), it3.next(), it4.next(), it5.next(), it6.next(), it7.next(), it8.next(), it9.next(), it10.next(), it11.next(), it12.next(), it13.next());
-            }
-        }
-
-        return seq(new Zip());
+        return SeqUtils.zip(values -> zipper.apply((T1) values[0], (T2) values[1], (T3) values[2], (T4) values[3], (T5) values[4], (T6) values[5], (T7) values[6], (T8) values[7], (T9) values[8], (T10) values[9], (T11) values[10], (T12) values[11], (T13) values[12]), s1, s2, s3, s4, s5, s6, s7, s8, s9, s10, s11, s12, s13);
     }
 
     /**
@@ -6523,35 +7975,9 @@ public interface Seq<T> extends Stream<T>, Iterable<T>, Collectable<T> {
      * </pre></code>
      */
     /// @Generated("This method was generated using jOOQ-tools")
+    @SuppressWarnings("unchecked")
     static <T1, T2, T3, T4, T5, T6, T7, T8, T9, T10, T11, T12, T13, T14, R> Seq<R> zip(Seq<? extends T1> s1, Seq<? extends T2> s2, Seq<? extends T3> s3, Seq<? extends T4> s4, Seq<? extends T5> s5, Seq<? extends T6> s6, Seq<? extends T7> s7, Seq<? extends T8> s8, Seq<? extends T9> s9, Seq<? extends T10> s10, Seq<? extends T11> s11, Seq<? extends T12> s12, Seq<? extends T13> s13, Seq<? extends T14> s14, Function14<? super T1, ? super T2, ? super T3, ? super T4, ? super T5, ? super T6, ? super T7, ? super T8, ? super T9, ? super T10, ? super T11, ? super T12, ? super T13, ? super T14, ? extends R> zipper) {
-        final Iterator<? extends T1> it1 = s1.iterator();
-        final Iterator<? extends T2> it2 = s2.iterator();
-        final Iterator<? extends T3> it3 = s3.iterator();
-        final Iterator<? extends T4> it4 = s4.iterator();
-        final Iterator<? extends T5> it5 = s5.iterator();
-        final Iterator<? extends T6> it6 = s6.iterator();
-        final Iterator<? extends T7> it7 = s7.iterator();
-        final Iterator<? extends T8> it8 = s8.iterator();
-        final Iterator<? extends T9> it9 = s9.iterator();
-        final Iterator<? extends T10> it10 = s10.iterator();
-        final Iterator<? extends T11> it11 = s11.iterator();
-        final Iterator<? extends T12> it12 = s12.iterator();
-        final Iterator<? extends T13> it13 = s13.iterator();
-        final Iterator<? extends T14> it14 = s14.iterator();
-
-        class Zip implements Iterator<R> {
-            @Override
-            public boolean hasNext() {
-                return it1.hasNext() && it2.hasNext() && it3.hasNext() && it4.hasNext() && it5.hasNext() && it6.hasNext() && it7.hasNext() && it8.hasNext() && it9.hasNext() && it10.hasNext() && it11.hasNext() && it12.hasNext() && it13.hasNext() && it14.hasNext();
-            }
-
-            @Override
-            public R next() {
-                return zipper.apply(it1.next(), it2.next(), it3.next(), it4.next(), it5.next(), it6.next(), it7.next(), it8.next(), it9.next(), it10.next(), it11.next(), it12.next(), it13.next(), it14.next());
-            }
-        }
-
-        return seq(new Zip());
+        return SeqUtils.zip(values -> zipper.apply((T1) values[0], (T2) values[1], (T3) values[2], (T4) values[3], (T5) values[4], (T6) values[5], (T7) values[6], (T8) values[7], (T9) values[8], (T10) values[9], (T11) values[10], (T12) values[11], (T13) values[12], (T14) values[13]), s1, s2, s3, s4, s5, s6, s7, s8, s9, s10, s11, s12, s13, s14);
     }
 
     /**
@@ -6563,36 +7989,9 @@ public interface Seq<T> extends Stream<T>, Iterable<T>, Collectable<T> {
      * </pre></code>
      */
     /// @Generated("This method was generated using jOOQ-tools")
+    @SuppressWarnings("unchecked")
     static <T1, T2, T3, T4, T5, T6, T7, T8, T9, T10, T11, T12, T13, T14, T15, R> Seq<R> zip(Seq<? extends T1> s1, Seq<? extends T2> s2, Seq<? extends T3> s3, Seq<? extends T4> s4, Seq<? extends T5> s5, Seq<? extends T6> s6, Seq<? extends T7> s7, Seq<? extends T8> s8, Seq<? extends T9> s9, Seq<? extends T10> s10, Seq<? extends T11> s11, Seq<? extends T12> s12, Seq<? extends T13> s13, Seq<? extends T14> s14, Seq<? extends T15> s15, Function15<? super T1, ? super T2, ? super T3, ? super T4, ? super T5, ? super T6, ? super T7, ? super T8, ? super T9, ? super T10, ? super T11, ? super T12, ? super T13, ? super T14, ? super T15, ? extends R> zipper) {
-        final Iterator<? extends T1> it1 = s1.iterator();
-        final Iterator<? extends T2> it2 = s2.iterator();
-        final Iterator<? extends T3> it3 = s3.iterator();
-        final Iterator<? extends T4> it4 = s4.iterator();
-        final Iterator<? extends T5> it5 = s5.iterator();
-        final Iterator<? extends T6> it6 = s6.iterator();
-        final Iterator<? extends T7> it7 = s7.iterator();
-        final Iterator<? extends T8> it8 = s8.iterator();
-        final Iterator<? extends T9> it9 = s9.iterator();
-        final Iterator<? extends T10> it10 = s10.iterator();
-        final Iterator<? extends T11> it11 = s11.iterator();
-        final Iterator<? extends T12> it12 = s12.iterator();
-        final Iterator<? extends T13> it13 = s13.iterator();
-        final Iterator<? extends T14> it14 = s14.iterator();
-        final Iterator<? extends T15> it15 = s15.iterator();
-
-        class Zip implements Iterator<R> {
-            @Override
-            public boolean hasNext() {
-                return it1.hasNext() && it2.hasNext() && it3.hasNext() && it4.hasNext() && it5.hasNext() && it6.hasNext() && it7.hasNext() && it8.hasNext() && it9.hasNext() && it10.hasNext() && it11.hasNext() && it12.hasNext() && it13.hasNext() && it14.hasNext() && it15.hasNext();
-            }
-
-            @Override
-            public R next() {
-                return zipper.apply(it1.next(), it2.next(), it3.next(), it4.next(), it5.next(), it6.next(), it7.next(), it8.next(), it9.next(), it10.next(), it11.next(), it12.next(), it13.next(), it14.next(), it15.next());
-            }
-        }
-
-        return seq(new Zip());
+        return SeqUtils.zip(values -> zipper.apply((T1) values[0], (T2) values[1], (T3) values[2], (T4) values[3], (T5) values[4], (T6) values[5], (T7) values[6], (T8) values[7], (T9) values[8], (T10) values[9], (T11) values[10], (T12) values[11], (T13) values[12], (T14) values[13], (T15) values[14]), s1, s2, s3, s4, s5, s6, s7, s8, s9, s10, s11, s12, s13, s14, s15);
     }
 
     /**
@@ -6604,37 +8003,9 @@ public interface Seq<T> extends Stream<T>, Iterable<T>, Collectable<T> {
      * </pre></code>
      */
     /// @Generated("This method was generated using jOOQ-tools")
+    @SuppressWarnings("unchecked")
     static <T1, T2, T3, T4, T5, T6, T7, T8, T9, T10, T11, T12, T13, T14, T15, T16, R> Seq<R> zip(Seq<? extends T1> s1, Seq<? extends T2> s2, Seq<? extends T3> s3, Seq<? extends T4> s4, Seq<? extends T5> s5, Seq<? extends T6> s6, Seq<? extends T7> s7, Seq<? extends T8> s8, Seq<? extends T9> s9, Seq<? extends T10> s10, Seq<? extends T11> s11, Seq<? extends T12> s12, Seq<? extends T13> s13, Seq<? extends T14> s14, Seq<? extends T15> s15, Seq<? extends T16> s16, Function16<? super T1, ? super T2, ? super T3, ? super T4, ? super T5, ? super T6, ? super T7, ? super T8, ? super T9, ? super T10, ? super T11, ? super T12, ? super T13, ? super T14, ? super T15, ? super T16, ? extends R> zipper) {
-        final Iterator<? extends T1> it1 = s1.iterator();
-        final Iterator<? extends T2> it2 = s2.iterator();
-        final Iterator<? extends T3> it3 = s3.iterator();
-        final Iterator<? extends T4> it4 = s4.iterator();
-        final Iterator<? extends T5> it5 = s5.iterator();
-        final Iterator<? extends T6> it6 = s6.iterator();
-        final Iterator<? extends T7> it7 = s7.iterator();
-        final Iterator<? extends T8> it8 = s8.iterator();
-        final Iterator<? extends T9> it9 = s9.iterator();
-        final Iterator<? extends T10> it10 = s10.iterator();
-        final Iterator<? extends T11> it11 = s11.iterator();
-        final Iterator<? extends T12> it12 = s12.iterator();
-        final Iterator<? extends T13> it13 = s13.iterator();
-        final Iterator<? extends T14> it14 = s14.iterator();
-        final Iterator<? extends T15> it15 = s15.iterator();
-        final Iterator<? extends T16> it16 = s16.iterator();
-
-        class Zip implements Iterator<R> {
-            @Override
-            public boolean hasNext() {
-                return it1.hasNext() && it2.hasNext() && it3.hasNext() && it4.hasNext() && it5.hasNext() && it6.hasNext() && it7.hasNext() && it8.hasNext() && it9.hasNext() && it10.hasNext() && it11.hasNext() && it12.hasNext() && it13.hasNext() && it14.hasNext() && it15.hasNext() && it16.hasNext();
-            }
-
-            @Override
-            public R next() {
-                return zipper.apply(it1.next(), it2.next(), it3.next(), it4.next(), it5.next(), it6.next(), it7.next(), it8.next(), it9.next(), it10.next(), it11.next(), it12.next(), it13.next(), it14.next(), it15.next(), it16.next());
-            }
-        }
-
-        return seq(new Zip());
+        return SeqUtils.zip(values -> zipper.apply((T1) values[0], (T2) values[1], (T3) values[2], (T4) values[3], (T5) values[4], (T6) values[5], (T7) values[6], (T8) values[7], (T9) values[8], (T10) values[9], (T11) values[10], (T12) values[11], (T13) values[12], (T14) values[13], (T15) values[14], (T16) values[15]), s1, s2, s3, s4, s5, s6, s7, s8, s9, s10, s11, s12, s13, s14, s15, s16);
     }
 
 
@@ -6672,13 +8043,7 @@ public interface Seq<T> extends Stream<T>, Iterable<T>, Collectable<T> {
      * </pre></code>
      */
     static <T> Seq<Tuple2<T, Long>> zipWithIndex(Seq<? extends T> stream) {
-        long[] index = { -1L };
-
-        return SeqUtils.transform(stream, (delegate, action) ->
-            delegate.tryAdvance(t ->
-                action.accept(tuple(t, ++index[0]))
-            )
-        );
+        return zipWithIndex(stream, (t, i) -> tuple(t, i));
     }
 
     /**
@@ -6714,13 +8079,7 @@ public interface Seq<T> extends Stream<T>, Iterable<T>, Collectable<T> {
      * </pre></code>
      */
     static <T, R> Seq<R> zipWithIndex(Seq<? extends T> stream, BiFunction<? super T, ? super Long, ? extends R> zipper) {
-        long[] index = { -1L };
-
-        return SeqUtils.transform(stream, (delegate, action) ->
-            delegate.tryAdvance(t ->
-                action.accept(zipper.apply(t, ++index[0]))
-            )
-        );
+        return seq(new ZipWithIndexSpliterator<T, R>(stream.spliterator(), 0L, zipper)).onClose(stream::close);
     }
 
     /**
@@ -9169,7 +10528,31 @@ public interface Seq<T> extends Stream<T>, Iterable<T>, Collectable<T> {
      * </pre></code>
      */
     static <T> Tuple2<Seq<T>, Seq<T>> duplicate(Stream<? extends T> stream) {
-        SeqBuffer<T> buffer = SeqBuffer.of(stream);
+        return duplicate(stream, Long.MAX_VALUE);
+    }
+
+    /**
+     * Duplicate a Streams into two equivalent Streams, failing with a
+     * {@link LagExceededException} if one of them gets more than
+     * <code>maxLag</code> elements ahead of the other one.
+     * <p>
+     * <code><pre>
+     * // ((1, 1), (2, 2), (3, 3))
+     * Seq.duplicate(Seq.of(1, 2, 3), 1).map((s1, s2) -> s1.zip(s2))
+     * </pre></code>
+     */
+    static <T> Tuple2<Seq<T>, Seq<T>> duplicate(Stream<? extends T> stream, long maxLag) {
+        SeqBuffer<T> buffer = SeqBuffer.evicting(stream, maxLag, null);
+        return tuple(buffer.seq(), buffer.seq());
+    }
+
+    /**
+     * Duplicate a Streams into two equivalent Streams, blocking the leading
+     * stream for at most <code>timeout</code> if it gets more than
+     * <code>maxLag</code> elements ahead of the other one.
+     */
+    static <T> Tuple2<Seq<T>, Seq<T>> duplicate(Stream<? extends T> stream, long maxLag, Duration timeout) {
+        SeqBuffer<T> buffer = SeqBuffer.evicting(stream, maxLag, Objects.requireNonNull(timeout));
         return tuple(buffer.seq(), buffer.seq());
     }
 
@@ -9288,7 +10671,7 @@ public interface Seq<T> extends Stream<T>, Iterable<T>, Collectable<T> {
         // [1]: true = there is at least one value that was considered for skipping
         boolean[] test = { false, false };
 
-        return SeqUtils.transform(stream, (delegate, action) -> {
+        return SeqUtils.transformBounded(stream, () -> test[0], (delegate, action) -> {
             if (test[0]) {
                 return delegate.tryAdvance(action);
             }
@@ -9320,7 +10703,7 @@ public interface Seq<T> extends Stream<T>, Iterable<T>, Collectable<T> {
         // [1]: true = there is at least one value that was considered for skipping
         boolean[] test = { false, false };
 
-        return SeqUtils.transform(stream, (delegate, action) -> {
+        return SeqUtils.transformBounded(stream, () -> test[0], (delegate, action) -> {
             if (!test[0]) {
                 do {
                     test[1] = delegate.tryAdvance(t -> test[0] = predicate.test(t));
@@ -9399,7 +10782,7 @@ public interface Seq<T> extends Stream<T>, Iterable<T>, Collectable<T> {
     static <T> Seq<T> limitUntil(Stream<? extends T> stream, Predicate<? super T> predicate) {
         boolean[] test = { false };
 
-        return SeqUtils.transform(stream, (delegate, action) ->
+        return SeqUtils.transformBounded(stream, null, (delegate, action) ->
             !test[0] && delegate.tryAdvance(t -> {
                 if (!(test[0] = predicate.test(t)))
                     action.accept(t);
@@ -9420,7 +10803,7 @@ public interface Seq<T> extends Stream<T>, Iterable<T>, Collectable<T> {
     static <T> Seq<T> limitUntilClosed(Stream<? extends T> stream, Predicate<? super T> predicate) {
         boolean[] test = { false };
 
-        return SeqUtils.transform(stream, (delegate, action) ->
+        return SeqUtils.transformBounded(stream, null, (delegate, action) ->
             !test[0] && delegate.tryAdvance(t -> {
                 test[0] = predicate.test(t);
                 action.accept(t);
@@ -9437,7 +10820,7 @@ public interface Seq<T> extends Stream<T>, Iterable<T>, Collectable<T> {
      * </pre></code>
      */
     static <T> Seq<T> intersperse(Stream<? extends T> stream, T value) {
-        return seq(stream.flatMap(t -> Stream.of(value, t)).skip(1));
+        return seq(new IntersperseSpliterator<T>(stream.spliterator(), value, false)).onClose(stream::close);
     }
 
     /**
@@ -9620,6 +11003,175 @@ public interface Seq<T> extends Stream<T>, Iterable<T>, Collectable<T> {
         return grouped(seq, classifier).map(t -> tuple(t.v1, t.v2.collect(downstream)));
     }
 
+    /**
+     * Classify this stream's adjacent elements according to a given classifier function.
+     * <p>
+     * A new group is started whenever the classifier produces a key that is
+     * not equal to the previous element's key. Unlike {@link #grouped(Function)},
+     * only the current group is buffered, and each group is produced as soon
+     * as the key changes, which is useful for input that is already
+     * clustered by key, e.g. sorted input.
+     * <p>
+     * <code><pre>
+     * // Seq(tuple(1, Seq(1, 3)), tuple(0, Seq(2, 4)), tuple(1, Seq(5)))
+     * Seq.of(1, 3, 2, 4, 5).groupedAdjacent(i -> i % 2)
+     * </pre></code>
+     *
+     * @see #grouped(Function)
+     */
+    public static <K, T> Seq<Tuple2<K, Seq<T>>> groupedAdjacent(Stream<? extends T> stream, Function<? super T, ? extends K> classifier) {
+        return groupedAdjacent(seq(stream), classifier);
+    }
+
+    /**
+     * Classify this stream's adjacent elements according to a given classifier function.
+     * <p>
+     * A new group is started whenever the classifier produces a key that is
+     * not equal to the previous element's key. Unlike {@link #grouped(Function)},
+     * only the current group is buffered, and each group is produced as soon
+     * as the key changes, which is useful for input that is already
+     * clustered by key, e.g. sorted input.
+     * <p>
+     * <code><pre>
+     * // Seq(tuple(1, Seq(1, 3)), tuple(0, Seq(2, 4)), tuple(1, Seq(5)))
+     * Seq.of(1, 3, 2, 4, 5).groupedAdjacent(i -> i % 2)
+     * </pre></code>
+     *
+     * @see #grouped(Function)
+     */
+    public static <K, T> Seq<Tuple2<K, Seq<T>>> groupedAdjacent(Iterable<? extends T> iterable, Function<? super T, ? extends K> classifier) {
+        return groupedAdjacent(seq(iterable), classifier);
+    }
+
+    /**
+     * Classify this stream's adjacent elements according to a given classifier function.
+     * <p>
+     * A new group is started whenever the classifier produces a key that is
+     * not equal to the previous element's key. Unlike {@link #grouped(Function)},
+     * only the current group is buffered, and each group is produced as soon
+     * as the key changes, which is useful for input that is already
+     * clustered by key, e.g. sorted input.
+     * <p>
+     * <code><pre>
+     * // Seq(tuple(1, Seq(1, 3)), tuple(0, Seq(2, 4)), tuple(1, Seq(5)))
+     * Seq.of(1, 3, 2, 4, 5).groupedAdjacent(i -> i % 2)
+     * </pre></code>
+     *
+     * @see #grouped(Function)
+     */
+    public static <K, T> Seq<Tuple2<K, Seq<T>>> groupedAdjacent(Seq<? extends T> seq, Function<? super T, ? extends K> classifier) {
+        return groupedAdjacent(seq, classifier, Collectors.<T>toList()).map(t -> tuple(t.v1, seq(t.v2)));
+    }
+
+    /**
+     * Classify this stream's adjacent elements according to a given classifier
+     * function and collect each group's elements using a collector.
+     * <p>
+     * A new group is started whenever the classifier produces a key that is
+     * not equal to the previous element's key. Elements are accumulated
+     * without being buffered, and each group is produced as soon as the key
+     * changes.
+     * <p>
+     * <code><pre>
+     * // Seq(tuple(1, 4), tuple(0, 6), tuple(1, 5))
+     * Seq.of(1, 3, 2, 4, 5).groupedAdjacent(i -> i % 2, Collectors.summingInt(i -> i))
+     * </pre></code>
+     *
+     * @see #grouped(Function, Collector)
+     */
+    public static <K, T, A, D> Seq<Tuple2<K, D>> groupedAdjacent(Stream<? extends T> stream, Function<? super T, ? extends K> classifier, Collector<? super T, A, D> downstream) {
+        return groupedAdjacent(seq(stream), classifier, downstream);
+    }
+
+    /**
+     * Classify this stream's adjacent elements according to a given classifier
+     * function and collect each group's elements using a collector.
+     * <p>
+     * A new group is started whenever the classifier produces a key that is
+     * not equal to the previous element's key. Elements are accumulated
+     * without being buffered, and each group is produced as soon as the key
+     * changes.
+     * <p>
+     * <code><pre>
+     * // Seq(tuple(1, 4), tuple(0, 6), tuple(1, 5))
+     * Seq.of(1, 3, 2, 4, 5).groupedAdjacent(i -> i % 2, Collectors.summingInt(i -> i))
+     * </pre></code>
+     *
+     * @see #grouped(Function, Collector)
+     */
+    public static <K, T, A, D> Seq<Tuple2<K, D>> groupedAdjacent(Iterable<? extends T> iterable, Function<? super T, ? extends K> classifier, Collector<? super T, A, D> downstream) {
+        return groupedAdjacent(seq(iterable), classifier, downstream);
+    }
+
+    /**
+     * Classify this stream's adjacent elements according to a given classifier
+     * function and collect each group's elements using a collector.
+     * <p>
+     * A new group is started whenever the classifier produces a key that is
+     * not equal to the previous element's key. Elements are accumulated
+     * without being buffered, and each group is produced as soon as the key
+     * changes.
+     * <p>
+     * <code><pre>
+     * // Seq(tuple(1, 4), tuple(0, 6), tuple(1, 5))
+     * Seq.of(1, 3, 2, 4, 5).groupedAdjacent(i -> i % 2, Collectors.summingInt(i -> i))
+     * </pre></code>
+     *
+     * @see #grouped(Function, Collector)
+     */
+    public static <K, T, A, D> Seq<Tuple2<K, D>> groupedAdjacent(Seq<? extends T> seq, Function<? super T, ? extends K> classifier, Collector<? super T, A, D> downstream) {
+        Supplier<A> supplier = downstream.supplier();
+        BiConsumer<A, ? super T> accumulator = downstream.accumulator();
+        Function<A, D> finisher = downstream.finisher();
+
+        class Group {
+            K key;
+            A container;
+            Tuple2<K, D> complete;
+
+            void accept(T t) {
+                K k = classifier.apply(t);
+
+                if (container != null && !Objects.equals(key, k))
+                    complete();
+
+                if (container == null) {
+                    key = k;
+                    container = supplier.get();
+                }
+
+                accumulator.accept(container, t);
+            }
+
+            void complete() {
+                complete = tuple(key, finisher.apply(container));
+                key = null;
+                container = null;
+            }
+        }
+
+        Group group = new Group();
+
+        // [#323] Some explicit type variable bindings required because of compiler regressions in JDK 9
+        return SeqUtils.<T, Tuple2<K, D>>transform(seq, (delegate, action) -> {
+            for (;;) {
+                boolean advanced = delegate.tryAdvance(group::accept);
+
+                if (!advanced && group.container != null)
+                    group.complete();
+
+                if (group.complete != null) {
+                    Tuple2<K, D> complete = group.complete;
+                    group.complete = null;
+                    action.accept(complete);
+                    return true;
+                }
+                else if (!advanced)
+                    return false;
+            }
+        });
+    }
+
     /**
      * Partition a stream into two given a predicate.
      * <p>
@@ -9629,6 +11181,23 @@ public interface Seq<T> extends Stream<T>, Iterable<T>, Collectable<T> {
      * </pre></code>
      */
     static <T> Tuple2<Seq<T>, Seq<T>> partition(Stream<? extends T> stream, Predicate<? super T> predicate) {
+        return partition(stream, predicate, Long.MAX_VALUE);
+    }
+
+    /**
+     * Partition a stream into two given a predicate, failing with a
+     * {@link LagExceededException} if more than <code>maxLag</code> elements
+     * need to be buffered for the stream that is consumed later.
+     * <p>
+     * <code><pre>
+     * // ((1, 2), (3, 4), (5, 6))
+     * Seq.partition(Seq.of(1, 2, 3, 4, 5, 6), i -> i % 2 != 0, 1).map((s1, s2) -> s1.zip(s2))
+     * </pre></code>
+     */
+    static <T> Tuple2<Seq<T>, Seq<T>> partition(Stream<? extends T> stream, Predicate<? super T> predicate, long maxLag) {
+        if (maxLag <= 0)
+            throw new IllegalArgumentException("Max lag must be >= 1");
+
         final Iterator<? extends T> it = stream.iterator();
         final LinkedList<T> buffer1 = new LinkedList<>();
         final LinkedList<T> buffer2 = new LinkedList<>();
@@ -9644,7 +11213,12 @@ public interface Seq<T> extends Stream<T>, Iterable<T>, Collectable<T> {
             void fetch() {
                 while (buffer(b).isEmpty() && it.hasNext()) {
                     T next = it.next();
-                    buffer(predicate.test(next)).offer(next);
+                    LinkedList<T> buffer = buffer(predicate.test(next));
+
+                    if (buffer.size() >= maxLag)
+                        throw new LagExceededException("Partition exceeds max lag " + maxLag + " of buffered elements");
+
+                    buffer.offer(next);
                 }
             }
 
@@ -9676,8 +11250,36 @@ public interface Seq<T> extends Stream<T>, Iterable<T>, Collectable<T> {
      * </pre></code>
      */
     static <T> Tuple2<Seq<T>, Seq<T>> splitAt(Stream<? extends T> stream, long position) {
-        SeqBuffer<T> buffer = SeqBuffer.of(stream);
-        return tuple(buffer.seq().limit(position), buffer.seq().skip(position));
+        if (position < 0)
+            throw new IllegalArgumentException(Long.toString(position));
+
+        return splitAt(stream, position, Long.MAX_VALUE);
+    }
+
+    /**
+     * Split a stream at a given position, failing with a
+     * {@link LagExceededException} if more than <code>maxLag</code> elements
+     * need to be buffered for the stream that is consumed later.
+     */
+    static <T> Tuple2<Seq<T>, Seq<T>> splitAt(Stream<? extends T> stream, long position, long maxLag) {
+        if (position < 0)
+            throw new IllegalArgumentException(Long.toString(position));
+
+        SeqBuffer<T> buffer = SeqBuffer.evicting(stream, maxLag, null);
+        return tuple(buffer.seq(0L, position), buffer.seq(position, Long.MAX_VALUE));
+    }
+
+    /**
+     * Split a stream at a given position, blocking the leading stream for at
+     * most <code>timeout</code> if more than <code>maxLag</code> elements
+     * need to be buffered for the other one.
+     */
+    static <T> Tuple2<Seq<T>, Seq<T>> splitAt(Stream<? extends T> stream, long position, long maxLag, Duration timeout) {
+        if (position < 0)
+            throw new IllegalArgumentException(Long.toString(position));
+
+        SeqBuffer<T> buffer = SeqBuffer.evicting(stream, maxLag, Objects.requireNonNull(timeout));
+        return tuple(buffer.seq(0L, position), buffer.seq(position, Long.MAX_VALUE));
     }
 
     /**
@@ -9804,25 +11406,25 @@ public interface Seq<T> extends Stream<T>, Iterable<T>, Collectable<T> {
     <R> Seq<R> map(Function<? super T, ? extends R> mapper);
 
     @Override
-    IntStream mapToInt(ToIntFunction<? super T> mapper);
+    IntSeq mapToInt(ToIntFunction<? super T> mapper);
 
     @Override
-    LongStream mapToLong(ToLongFunction<? super T> mapper);
+    LongSeq mapToLong(ToLongFunction<? super T> mapper);
 
     @Override
-    DoubleStream mapToDouble(ToDoubleFunction<? super T> mapper);
+    DoubleSeq mapToDouble(ToDoubleFunction<? super T> mapper);
 
     @Override
     <R> Seq<R> flatMap(Function<? super T, ? extends Stream<? extends R>> mapper);
 
     @Override
-    IntStream flatMapToInt(Function<? super T, ? extends IntStream> mapper);
+    IntSeq flatMapToInt(Function<? super T, ? extends IntStream> mapper);
 
     @Override
-    LongStream flatMapToLong(Function<? super T, ? extends LongStream> mapper);
+    LongSeq flatMapToLong(Function<? super T, ? extends LongStream> mapper);
 
     @Override
-    DoubleStream flatMapToDouble(Function<? super T, ? extends DoubleStream> mapper);
+    DoubleSeq flatMapToDouble(Function<? super T, ? extends DoubleStream> mapper);
 
     @Override
     Seq<T> distinct();
@@ -9851,11 +11453,15 @@ public interface Seq<T> extends Stream<T>, Iterable<T>, Collectable<T> {
     @Override
     long count();
 
-    // These methods have no effect
-    // ----------------------------
+    // These methods have no effect, unless parallel mode is requested
+    // explicitly
+    // --------------------------------------------------------------
 
     /**
-     * Returns this stream. All Seq streams are sequential, hence the name.
+     * Returns this stream. Seq streams are sequential, hence the name, unless
+     * they have been put in parallel mode using
+     * {@link #parallel(ForkJoinPool)}, in case of which a sequential copy of
+     * this stream is returned.
      *
      * @return this stream unmodified
      */
@@ -9865,8 +11471,9 @@ public interface Seq<T> extends Stream<T>, Iterable<T>, Collectable<T> {
     }
 
     /**
-     * Seq streams are always sequential and, as such, doesn't support
-     * parallelization.
+     * Seq streams are sequential by default and, as such, calling this method
+     * has no effect. Use {@link #parallel(ForkJoinPool)} to explicitly opt in
+     * to parallel execution.
      *
      * @return this sequential stream unmodified
      * @see <a href="https://github.com/jOOQ/jOOL/issues/130">jOOL Issue #130</a>
@@ -9876,6 +11483,33 @@ public interface Seq<T> extends Stream<T>, Iterable<T>, Collectable<T> {
         return this;
     }
 
+    /**
+     * Opt in to parallel execution of this stream in the argument
+     * {@link ForkJoinPool}.
+     * <p>
+     * Order-insensitive operations inherited from {@link Stream}, such as
+     * {@link #map(Function)}, {@link #filter(Predicate)} and any terminal
+     * operation including {@link #collect(Collector)} (and thus all
+     * {@link Collectable} aggregations, {@link #groupBy(Function)}, etc.)
+     * are executed in the argument <code>pool</code>, retaining the encounter
+     * order of this stream wherever the corresponding JDK operation does so.
+     * <p>
+     * Order-sensitive operations that are specific to jOOλ, such as
+     * {@link #zipWithIndex()}, {@link #window()}, {@link #scanLeft(Object, BiFunction)},
+     * {@link #limitWhile(Predicate)}, etc. consume their (possibly parallel)
+     * upstream sequentially and in order, and return a sequential
+     * <code>Seq</code>. Call this method again on their result to resume
+     * parallel execution.
+     * <p>
+     * <code><pre>
+     * // (2, 4, 6), computed in pool
+     * Seq.of(1, 2, 3).parallel(pool).map(i -> i * 2).toList();
+     * </pre></code>
+     *
+     * @see <a href="https://github.com/jOOQ/jOOL/issues/130">jOOL Issue #130</a>
+     */
+    Seq<T> parallel(ForkJoinPool pool);
+
     /**
      * Returns this stream. All Seq streams are ordered so this method has
      * no effect.
@@ -1,23 +1,40 @@
 package org.jooq.lambda;
 
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
 import java.util.Spliterator;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 import java.util.stream.Stream;
 
+import org.jooq.lambda.exception.LagExceededException;
+
 /**
  * Lazily consumes given <code>Spliterator</code> through <code>Seq</code>s provided by method <code>seq()</code>.
  * This method may be called multiple times, and the returned <code>Seq</code>s may be consumed interchangeably.
  *
  * Instances of this class ARE thread-safe.
  *
+ * Buffered elements are stored in an append-only list of fixed size chunks. Only advancing the <code>source</code>
+ * is serialized. Elements that have been published through <code>size</code> are read without locking.
+ *
+ * An evicting <code>SeqBuffer</code> serves a fixed set of consumers registered through <code>seq(long, long)</code>
+ * before consumption starts. It tracks each consumer's cursor and releases chunks that all consumers have passed.
+ * It can also limit how far the leading consumer may get ahead of the slowest one.
+ *
  * @author Tomasz Linkowski
  */
 final class SeqBuffer<T> {
 
+    static final int CHUNK_SHIFT = 10;
+    static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+    static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
     @SuppressWarnings("unchecked")
     static <T> SeqBuffer<T> of(Stream<? extends T> stream) {
         return of((Spliterator<T>) stream.spliterator());
@@ -25,25 +42,83 @@ final class SeqBuffer<T> {
 
     static <T> SeqBuffer<T> of(Spliterator<T> spliterator) {
         if (spliterator instanceof SeqBuffer.BufferSpliterator) {
-            return ((SeqBuffer<T>.BufferSpliterator) spliterator).parentSeqBuffer(); // reuse existing SeqBuffer
+            SeqBuffer<T> parent = ((SeqBuffer<T>.BufferSpliterator) spliterator).parentSeqBuffer();
+
+            if (!parent.evicting)
+                return parent; // reuse existing SeqBuffer
         }
-        return new SeqBuffer<>(spliterator);
+        return new SeqBuffer<>(spliterator, false, Long.MAX_VALUE, null);
+    }
+
+    /**
+     * Returns an evicting <code>SeqBuffer</code> over given <code>stream</code>.
+     *
+     * @param maxLag The maximum number of elements the leading consumer may be ahead of the slowest one.
+     * @param timeout How long the leading consumer waits for the slowest one, when it would exceed
+     *            <code>maxLag</code>, or <code>null</code> to fail immediately with a {@link LagExceededException}.
+     */
+    @SuppressWarnings("unchecked")
+    static <T> SeqBuffer<T> evicting(Stream<? extends T> stream, long maxLag, Duration timeout) {
+        if (maxLag <= 0)
+            throw new IllegalArgumentException("Max lag must be >= 1");
+
+        return new SeqBuffer<>((Spliterator<T>) stream.spliterator(), true, maxLag, timeout);
     }
 
     private final Spliterator<T> source;
-    private final List<T> buffer = new ArrayList<>();
+    private final boolean evicting;
+    private final long maxLag;
+    private final Duration timeout;
 
     /**
-     * <code>True</code> while <code>source</code> hasn't reported that it's exhausted.
+     * Guards the <code>source</code> and all writes to <code>chunks</code>, <code>produced</code>, <code>size</code>,
+     * <code>buffering</code> and <code>consumers</code>.
+     */
+    private final Object lock = new Object();
+
+    /**
+     * The chunks containing the buffered elements. Chunks are never moved or reallocated once created, only this
+     * directory of chunks is copied as it grows, or as evicted chunks are removed from its head.
+     */
+    private volatile Chunks chunks = new Chunks(new Object[4][], 0L);
+
+    /**
+     * The number of elements that have been buffered, including those not yet published through <code>size</code>.
+     *
+     * Guarded by: <code>lock</code>
+     */
+    private long produced;
+
+    /**
+     * The number of published elements in <code>chunks</code>.
      *
-     * This volatile field acts as a memory barrier for the contents of <code>source</code> and <code>buffer</code>:
+     * This volatile field acts as a memory barrier for the contents of <code>chunks</code>: all elements below
+     * <code>size</code> are visible to any thread that has read <code>size</code>.
      *
      * @link http://www.cs.umd.edu/~pugh/java/memoryModel/jsr-133-faq.html#volatile
      */
+    private volatile long size;
+
+    /**
+     * <code>True</code> while <code>source</code> hasn't reported that it's exhausted.
+     */
     private volatile boolean buffering = true;
 
-    private SeqBuffer(Spliterator<T> source) {
+    /**
+     * The consumers of an evicting <code>SeqBuffer</code>.
+     */
+    private volatile List<BufferSpliterator> consumers = Collections.emptyList();
+
+    /**
+     * <code>True</code> while a consumer is waiting for the slowest consumer to catch up.
+     */
+    private volatile boolean waiting;
+
+    private SeqBuffer(Spliterator<T> source, boolean evicting, long maxLag, Duration timeout) {
         this.source = Objects.requireNonNull(source);
+        this.evicting = evicting;
+        this.maxLag = maxLag;
+        this.timeout = timeout;
     }
 
     /**
@@ -54,7 +129,172 @@ final class SeqBuffer<T> {
      * used on a different thread.
      */
     Seq<T> seq() {
-        return Seq.seq(new BufferSpliterator());
+        return seq(0L, Long.MAX_VALUE);
+    }
+
+    /**
+     * Returns a <code>Seq</code> over the elements of given <code>source</code> between <code>fromInclusive</code>
+     * and <code>toExclusive</code>.
+     *
+     * For an evicting <code>SeqBuffer</code>, this registers a new consumer, which must happen before any elements
+     * are released. Closing the returned <code>Seq</code> unregisters the consumer.
+     */
+    Seq<T> seq(long fromInclusive, long toExclusive) {
+        BufferSpliterator spliterator = new BufferSpliterator(fromInclusive, toExclusive);
+
+        if (!evicting)
+            return Seq.seq(spliterator);
+
+        synchronized (lock) {
+            if (fromInclusive >>> CHUNK_SHIFT < chunks.first)
+                throw new IllegalStateException("Elements have already been released");
+
+            List<BufferSpliterator> c = new ArrayList<>(consumers);
+            c.add(spliterator);
+            consumers = c;
+        }
+
+        return Seq.seq(spliterator).onClose(spliterator::release);
+    }
+
+    /**
+     * Buffers (i.e. advances the <code>source</code>) until the element at <code>index</code> is buffered, or until
+     * the <code>source</code> is exhausted. If the <code>source</code> needs to be advanced, up to
+     * <code>batch</code> elements are buffered, starting from <code>index</code>.
+     *
+     * @return Whether the element at <code>index</code> is available.
+     */
+    private boolean buffer(long index, int batch) {
+        synchronized (lock) {
+            if (index < produced)
+                return true;
+            if (!buffering) // check again after having synchronized
+                return false;
+
+            long target = index + batch;
+            if (evicting)
+                target = Math.min(target, awaitLag(index));
+
+            boolean canAdvanceSource = true;
+
+            try {
+                while (canAdvanceSource && produced < target)
+                    canAdvanceSource = source.tryAdvance(this::append);
+            }
+            finally {
+
+                // volatile-writes (cause appended elements to be visible to all threads upon next volatile-read)
+                size = produced;
+                buffering = canAdvanceSource;
+            }
+
+            if (evicting)
+                evict();
+
+            return index < produced;
+        }
+    }
+
+    /**
+     * Waits until the element at <code>index</code> is within <code>maxLag</code> of the slowest consumer.
+     *
+     * Guarded by: <code>lock</code>
+     *
+     * @return The (exclusive) upper bound of elements that may be buffered.
+     */
+    private long awaitLag(long index) {
+        long deadline = timeout == null ? 0L : System.nanoTime() + timeout.toNanos();
+
+        for (;;) {
+            long min = minCursor();
+            long limit = min + maxLag < 0 ? Long.MAX_VALUE : min + maxLag;
+
+            if (index < limit)
+                return limit;
+
+            long remaining = deadline - System.nanoTime();
+            if (timeout == null || remaining <= 0)
+                throw new LagExceededException("Consumer at position " + index + " exceeds max lag " + maxLag + " behind slowest consumer at position " + min);
+
+            try {
+                waiting = true;
+                TimeUnit.NANOSECONDS.timedWait(lock, remaining);
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new LagExceededException("Interrupted while waiting for slowest consumer at position " + min, e);
+            }
+        }
+    }
+
+    /**
+     * The position of the slowest consumer that hasn't finished yet.
+     */
+    private long minCursor() {
+        long min = Long.MAX_VALUE;
+
+        for (BufferSpliterator consumer : consumers)
+            min = Math.min(min, consumer.cursor);
+
+        return min;
+    }
+
+    /**
+     * Removes all chunks that all consumers have passed.
+     *
+     * Guarded by: <code>lock</code>
+     */
+    private void evict() {
+        Chunks c = chunks;
+        long evictable = (Math.min(minCursor(), produced) >>> CHUNK_SHIFT) - c.first;
+
+        if (evictable > 0) {
+            int k = (int) Math.min(evictable, c.directory.length);
+            Object[][] directory = new Object[c.directory.length][];
+            System.arraycopy(c.directory, k, directory, 0, c.directory.length - k);
+            chunks = new Chunks(directory, c.first + k);
+        }
+    }
+
+    /**
+     * Guarded by: <code>lock</code>
+     */
+    private void append(T element) {
+        Chunks c = chunks;
+        int chunk = (int) ((produced >>> CHUNK_SHIFT) - c.first);
+
+        if (chunk == c.directory.length)
+            chunks = c = new Chunks(Arrays.copyOf(c.directory, c.directory.length * 2), c.first);
+        if (c.directory[chunk] == null)
+            c.directory[chunk] = new Object[CHUNK_SIZE];
+
+        c.directory[chunk][(int) produced++ & CHUNK_MASK] = element;
+    }
+
+    /**
+     * Must be called only after a volatile-read of <code>size</code> has shown <code>index</code> to be published.
+     */
+    @SuppressWarnings("unchecked")
+    private T get(Chunks c, long index) {
+        return (T) c.directory[(int) ((index >>> CHUNK_SHIFT) - c.first)][(int) index & CHUNK_MASK];
+    }
+
+    /**
+     * An immutable snapshot of the chunk directory.
+     */
+    private static final class Chunks {
+
+        final Object[][] directory;
+
+        /**
+         * The number of chunks that have been released before <code>directory[0]</code>.
+         */
+        final long first;
+
+        Chunks(Object[][] directory, long first) {
+            this.directory = directory;
+            this.first = first;
+        }
     }
 
     /**
@@ -68,81 +308,110 @@ final class SeqBuffer<T> {
         /**
          * Index of the element that will be returned upon next call to <code>tryAdvance</code> if such element exists.
          */
-        private int nextIndex = 0;
+        private long nextIndex;
+
+        /**
+         * Index of the first element that will not be returned by this <code>Spliterator</code>.
+         */
+        private final long endIndex;
+
+        /**
+         * The published <code>nextIndex</code> of a consumer of an evicting <code>SeqBuffer</code>, or
+         * <code>Long.MAX_VALUE</code> once it has finished.
+         */
+        private volatile long cursor;
+
+        BufferSpliterator(long fromInclusive, long toExclusive) {
+            this.nextIndex = fromInclusive;
+            this.endIndex = toExclusive;
+            this.cursor = fromInclusive < toExclusive ? fromInclusive : Long.MAX_VALUE;
+        }
 
         //
         // TRY ADVANCE
         //
         @Override
         public boolean tryAdvance(Consumer<? super T> action) {
-            return buffering // volatile-read (ensures buffer is up-to-date)
-                  ? tryAdvanceThisWithBuffering(action) // slow (synchronized)
-                  : tryAdvanceThisAtOnce(action); // fast (not synchronized)
+            if (nextIndex >= endIndex
+                    || nextIndex >= size // volatile-read (ensures chunks are up-to-date)
+                    && !buffer(nextIndex, 1)) { // slow (synchronized), buffers only what is needed
+                release();
+                return false;
+            }
+
+            T next = get(chunks, nextIndex++);
+            if (evicting)
+                advanced();
+
+            action.accept(next); // call "action" outside of synchronized block
+            return true;
         }
 
         /**
-         * Tries to advance this <code>Spliterator</code> to element at <code>nextIndex</code>,
-         * buffering <code>source</code> elements into <code>buffer</code> if necessary.
-         *
-         * Synchronized on <code>buffer</code> in order to:
-         * - obtain accurate <code>buffer.size()</code>
-         * - safely copy from <code>source</code> to <code>buffer</code> (if needed)
-         * - safely call <code>buffer.get()</code>
+         * Consumes all published elements without locking, and then buffers the <code>source</code> a chunk at a
+         * time, rather than one element at a time.
          */
-        private boolean tryAdvanceThisWithBuffering(Consumer<? super T> action) {
-            final T next;
-            synchronized (buffer) {
-                if (!canAdvanceThisWithBuffering())
-                    return false;
+        @Override
+        public void forEachRemaining(Consumer<? super T> action) {
+            do {
+                // volatile-read (ensures chunks are up-to-date)
+                long published = Math.min(size, endIndex);
+                Chunks c = chunks;
 
-                next = advanceThis();
-            }
+                // An evicting consumer publishes its progress at least once per chunk
+                if (evicting)
+                    published = Math.min(published, (nextIndex | CHUNK_MASK) + 1);
 
-            action.accept(next); // call "action" outside of synchronized block
-            return true;
-        }
+                while (nextIndex < published) {
+                    T next = get(c, nextIndex++);
+                    if (evicting)
+                        advanced();
 
-        private boolean canAdvanceThisWithBuffering() {
-            return canAdvanceThisAtOnce() || tryAdvanceSource() && canAdvanceThisAtOnce();
-        }
+                    action.accept(next);
+                }
+            }
+            while (nextIndex < endIndex && buffer(nextIndex, CHUNK_SIZE - ((int) nextIndex & CHUNK_MASK)));
 
-        private boolean canAdvanceThisAtOnce() {
-            return nextIndex < buffer.size();
+            release();
         }
 
         /**
-         * Buffers (i.e. advances the <code>source</code>) until an item at <code>nextIndex</code>
-         * is added to the <code>buffer</code>, or until the <code>source</code> is exhausted.
-         *
-         * Guarded by: <code>buffer</code>
+         * Publishes the progress of a consumer of an evicting <code>SeqBuffer</code>.
          */
-        private boolean tryAdvanceSource() {
-            boolean canAdvanceSource = buffering; // volatile-read (stored in local variable to limit R/W operations)
-            if (!canAdvanceSource) // check again after having synchronized
-                return false;
+        private void advanced() {
+            if (nextIndex >= endIndex) {
+                release();
+                return;
+            }
 
-            do {
-                canAdvanceSource = source.tryAdvance(buffer::add);
-            } while (canAdvanceSource && !canAdvanceThisAtOnce());
+            cursor = nextIndex;
 
-            // volatile-write (causes grown buffer and shrunk source to be visible to all threads upon next volatile-read)
-            buffering = canAdvanceSource;
-            return true;
-        }
+            // Release passed chunks, even if this consumer doesn't need to buffer
+            if ((nextIndex & CHUNK_MASK) == 0 || waiting) {
+                synchronized (lock) {
+                    evict();
 
-        private T advanceThis() {
-            return buffer.get(nextIndex++);
+                    if (waiting) {
+                        waiting = false;
+                        lock.notifyAll();
+                    }
+                }
+            }
         }
 
         /**
-         * Called only when buffering has been completed.
+         * Unregisters a consumer of an evicting <code>SeqBuffer</code>, once it has finished or has been closed.
          */
-        private boolean tryAdvanceThisAtOnce(Consumer<? super T> action) {
-            if (!canAdvanceThisAtOnce())
-                return false;
+        void release() {
+            if (!evicting || cursor == Long.MAX_VALUE)
+                return;
 
-            action.accept(advanceThis());
-            return true;
+            synchronized (lock) {
+                cursor = Long.MAX_VALUE;
+                evict();
+                waiting = false;
+                lock.notifyAll();
+            }
         }
 
         //
@@ -150,7 +419,7 @@ final class SeqBuffer<T> {
         //
         @Override
         public long estimateSize() {
-            return buffering // volatile-read (ensures buffer is up-to-date)
+            return buffering // volatile-read (ensures size is up-to-date)
                   ? estimateSizeDuringBuffering() // slow (synchronized)
                   : numberOfElementsLeftInBuffer(); // fast (not synchronized)
         }
@@ -158,22 +427,22 @@ final class SeqBuffer<T> {
         /**
          * Returns the estimate size of this Spliterator.
          *
-         * Synchronized to get an accurate sum of <code>buffer.size()</code> and <code>source.estimateSize()</code>.
+         * Synchronized to get an accurate sum of <code>size</code> and <code>source.estimateSize()</code>.
          */
         private long estimateSizeDuringBuffering() {
-            synchronized (buffer) {
-                int leftInBuffer = numberOfElementsLeftInBuffer();
+            synchronized (lock) {
+                long leftInBuffer = numberOfElementsLeftInBuffer();
                 if (!buffering) // check again after having synchronized
                     return leftInBuffer;
 
-                long estimateSize = leftInBuffer + source.estimateSize();
+                long estimateSize = Math.max(0L, size - nextIndex) + source.estimateSize();
                 // will overflow to negative number if source.estimateSize() reports Long.MAX_VALUE
-                return estimateSize >= 0 ? estimateSize : Long.MAX_VALUE;
+                return Math.min(estimateSize >= 0 ? estimateSize : Long.MAX_VALUE, Math.max(0L, endIndex - nextIndex));
             }
         }
 
-        private int numberOfElementsLeftInBuffer() {
-            return buffer.size() - nextIndex;
+        private long numberOfElementsLeftInBuffer() {
+            return Math.max(0L, Math.min(size, endIndex) - nextIndex);
         }
 
         //
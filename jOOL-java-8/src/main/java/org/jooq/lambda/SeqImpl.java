@@ -28,6 +28,7 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
 import java.util.function.BinaryOperator;
@@ -55,11 +56,53 @@ class SeqImpl<T> implements Seq<T> {
 
     static final Object               NULL = new Object();
 
-    private final Stream<? extends T> stream;
+    /**
+     * The partition function of window specifications without a partition,
+     * which is shared such that their partitions can be shared, too.
+     */
+    static final Function<Object, Object> NO_PARTITION = t -> NULL;
+
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private static final Comparator   NATURAL = naturalOrder();
+
+    private Stream<? extends T>       stream;
+    private final ForkJoinPool        pool;
     private Object[]                  buffered;
 
+    /**
+     * A pending sort of {@link #stream}, which is applied lazily, such that
+     * it can be fused with a subsequent {@link #limit(long)}.
+     */
+    private Comparator<? super T>     order;
+
     SeqImpl(Stream<? extends T> stream) {
-        this.stream = stream.sequential();
+        this(stream, null);
+    }
+
+    SeqImpl(Stream<? extends T> stream, ForkJoinPool pool) {
+        this(stream, pool, null);
+    }
+
+    private SeqImpl(Stream<? extends T> stream, ForkJoinPool pool, Comparator<? super T> order) {
+        this.stream = pool == null ? stream.sequential() : stream.parallel();
+        this.pool = pool;
+        this.order = order;
+    }
+
+    /**
+     * Wrap the result of an intermediate operation, retaining the parallel
+     * execution mode of this stream.
+     */
+    private <R> Seq<R> wrap(Stream<? extends R> result) {
+        return pool == null ? Seq.seq(result) : new SeqImpl<>(result, pool);
+    }
+
+    /**
+     * Run a terminal operation, in the {@link ForkJoinPool} of this stream,
+     * if it is parallel.
+     */
+    private <R> R evaluate(Supplier<R> operation) {
+        return SeqUtils.evaluate(pool, operation);
     }
 
     @SuppressWarnings("unchecked")
@@ -67,132 +110,157 @@ class SeqImpl<T> implements Seq<T> {
     public Stream<T> stream() {
         // This cast is safe as <T> in Stream<T> is effectively declaration-site
         // covariant.
-        return (Stream<T>) (buffered == null ? stream : Stream.of(buffered));
+        return (Stream<T>) (buffered == null ? sort() : Stream.of(buffered));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Stream<? extends T> sort() {
+        if (order != null) {
+            stream = order == NATURAL ? stream.sorted() : stream.sorted(order);
+            order = null;
+        }
+
+        return stream;
     }
 
     @Override
     public Seq<T> filter(Predicate<? super T> predicate) {
-        return Seq.seq(stream().filter(predicate));
+        return wrap(stream().filter(predicate));
     }
 
     @Override
     public <R> Seq<R> map(Function<? super T, ? extends R> mapper) {
-        return Seq.seq(stream().map(mapper));
+        return wrap(stream().map(mapper));
     }
 
     @Override
-    public IntStream mapToInt(ToIntFunction<? super T> mapper) {
-        return stream().mapToInt(mapper);
+    public IntSeq mapToInt(ToIntFunction<? super T> mapper) {
+        return new IntSeqImpl(stream().mapToInt(mapper), pool);
     }
 
     @Override
-    public LongStream mapToLong(ToLongFunction<? super T> mapper) {
-        return stream().mapToLong(mapper);
+    public LongSeq mapToLong(ToLongFunction<? super T> mapper) {
+        return new LongSeqImpl(stream().mapToLong(mapper), pool);
     }
 
     @Override
-    public DoubleStream mapToDouble(ToDoubleFunction<? super T> mapper) {
-        return stream().mapToDouble(mapper);
+    public DoubleSeq mapToDouble(ToDoubleFunction<? super T> mapper) {
+        return new DoubleSeqImpl(stream().mapToDouble(mapper), pool);
     }
 
     @Override
     public <R> Seq<R> flatMap(Function<? super T, ? extends Stream<? extends R>> mapper) {
-        return Seq.seq(stream().flatMap(mapper));
+        return wrap(stream().flatMap(mapper));
     }
 
     @Override
-    public IntStream flatMapToInt(Function<? super T, ? extends IntStream> mapper) {
-        return stream().flatMapToInt(mapper);
+    public IntSeq flatMapToInt(Function<? super T, ? extends IntStream> mapper) {
+        return new IntSeqImpl(stream().flatMapToInt(mapper), pool);
     }
 
     @Override
-    public LongStream flatMapToLong(Function<? super T, ? extends LongStream> mapper) {
-        return stream().flatMapToLong(mapper);
+    public LongSeq flatMapToLong(Function<? super T, ? extends LongStream> mapper) {
+        return new LongSeqImpl(stream().flatMapToLong(mapper), pool);
     }
 
     @Override
-    public DoubleStream flatMapToDouble(Function<? super T, ? extends DoubleStream> mapper) {
-        return stream().flatMapToDouble(mapper);
+    public DoubleSeq flatMapToDouble(Function<? super T, ? extends DoubleStream> mapper) {
+        return new DoubleSeqImpl(stream().flatMapToDouble(mapper), pool);
     }
 
     @Override
     public Seq<T> distinct() {
-        return Seq.seq(stream().distinct());
+        return wrap(stream().distinct());
     }
 
     @Override
+    @SuppressWarnings("unchecked")
     public Seq<T> sorted() {
-        return Seq.seq(stream().sorted());
+        return new SeqImpl<T>(stream(), pool, NATURAL);
     }
 
     @Override
     public Seq<T> sorted(Comparator<? super T> comparator) {
-        return Seq.seq(stream().sorted(comparator));
+        return new SeqImpl<T>(stream(), pool, Objects.requireNonNull(comparator));
     }
 
     @Override
     public Seq<T> peek(Consumer<? super T> action) {
-        return Seq.seq(stream().peek(action));
+        return wrap(stream().peek(action));
     }
 
     @Override
     public Seq<T> limit(long maxSize) {
-        return Seq.seq(stream().limit(maxSize));
+
+        // A sort followed by a limit only needs to keep maxSize elements
+        if (order != null) {
+            Comparator<? super T> comparator = order;
+            order = null;
+            return wrap(TopK.bottomK(new SeqImpl<T>(stream, pool), maxSize, comparator));
+        }
+
+        return wrap(stream().limit(maxSize));
     }
 
     @Override
     public Seq<T> skip(long n) {
-        return Seq.seq(stream().skip(n));
+        return wrap(stream().skip(n));
     }
 
     @Override
     public void forEach(Consumer<? super T> action) {
-        stream().forEach(action);
+        evaluate(() -> {
+            stream().forEach(action);
+            return null;
+        });
     }
 
     @Override
     public void forEachOrdered(Consumer<? super T> action) {
-        stream().forEachOrdered(action);
+        evaluate(() -> {
+            stream().forEachOrdered(action);
+            return null;
+        });
     }
 
     @Override
     public Object[] toArray() {
-        return stream().toArray();
+        return evaluate(() -> stream().toArray());
     }
 
     @Override
     public <A> A[] toArray(IntFunction<A[]> generator) {
-        return stream().toArray(generator);
+        return evaluate(() -> stream().toArray(generator));
     }
 
     @Override
     public T reduce(T identity, BinaryOperator<T> accumulator) {
-        return stream().reduce(identity, accumulator);
+        return evaluate(() -> stream().reduce(identity, accumulator));
     }
 
     @Override
     public Optional<T> reduce(BinaryOperator<T> accumulator) {
-        return stream().reduce(accumulator);
+        return evaluate(() -> stream().reduce(accumulator));
     }
 
     @Override
     public <U> U reduce(U identity, BiFunction<U, ? super T, U> accumulator, BinaryOperator<U> combiner) {
-        return stream().reduce(identity, accumulator, combiner);
+        return evaluate(() -> stream().reduce(identity, accumulator, combiner));
     }
 
     @Override
     public <R> R collect(Supplier<R> supplier, BiConsumer<R, ? super T> accumulator, BiConsumer<R, R> combiner) {
-        return stream().collect(supplier, accumulator, combiner);
+        return evaluate(() -> stream().collect(supplier, accumulator, combiner));
     }
 
     @Override
     public <R, A> R collect(Collector<? super T, A, R> collector) {
-        return stream().collect(collector);
+        return evaluate(() -> stream().collect(collector));
     }
 
     @Override
     public long count() {
-        return stream().count();
+        return evaluate(() -> stream().count());
     }
 
     @Override
@@ -278,7 +346,7 @@ class SeqImpl<T> implements Seq<T> {
 
     @Override
     public Optional<T> min(Comparator<? super T> comparator) {
-        return stream().min(comparator);
+        return evaluate(() -> stream().min(comparator));
     }
 
     @Override
@@ -340,7 +408,7 @@ class SeqImpl<T> implements Seq<T> {
 
     @Override
     public Optional<T> max(Comparator<? super T> comparator) {
-        return stream().max(comparator);
+        return evaluate(() -> stream().max(comparator));
     }
 
     @Override
@@ -458,17 +526,17 @@ class SeqImpl<T> implements Seq<T> {
 
     @Override
     public boolean anyMatch(Predicate<? super T> predicate) {
-        return stream().anyMatch(predicate);
+        return evaluate(() -> stream().anyMatch(predicate));
     }
 
     @Override
     public boolean allMatch(Predicate<? super T> predicate) {
-        return stream().allMatch(predicate);
+        return evaluate(() -> stream().allMatch(predicate));
     }
 
     @Override
     public boolean noneMatch(Predicate<? super T> predicate) {
-        return stream().noneMatch(predicate);
+        return evaluate(() -> stream().noneMatch(predicate));
     }
 
     @Override
@@ -513,12 +581,12 @@ class SeqImpl<T> implements Seq<T> {
 
     @Override
     public Optional<T> findFirst() {
-        return stream().findFirst();
+        return evaluate(() -> stream().findFirst());
     }
 
     @Override
     public Optional<T> findAny() {
-        return stream().findAny();
+        return evaluate(() -> stream().findAny());
     }
 
     @Override
@@ -532,20 +600,29 @@ class SeqImpl<T> implements Seq<T> {
     }
 
     /**
-     * Always returns false. Seq streams are always sequential and, as such,
-     * doesn't support parallelization.
+     * Returns false unless this stream has been put in parallel mode using
+     * {@link #parallel(ForkJoinPool)}.
      *
-     * @return false
      * @see <a href="https://github.com/jOOQ/jOOL/issues/130">jOOL Issue #130</a>
      */
     @Override
     public boolean isParallel() {
-        return false;
+        return pool != null;
+    }
+
+    @Override
+    public Seq<T> sequential() {
+        return pool == null ? this : new SeqImpl<>(stream, null, order);
+    }
+
+    @Override
+    public Seq<T> parallel(ForkJoinPool pool) {
+        return new SeqImpl<>(stream, Objects.requireNonNull(pool), order);
     }
 
     @Override
     public Seq<T> onClose(Runnable closeHandler) {
-        return Seq.seq(stream.onClose(closeHandler));
+        return new SeqImpl<>(stream.onClose(closeHandler), pool, order);
     }
 
     @Override
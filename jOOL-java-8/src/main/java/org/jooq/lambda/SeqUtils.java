@@ -15,16 +15,19 @@
  */
 package org.jooq.lambda;
 
-import static java.util.Comparator.comparing;
-import static org.jooq.lambda.Seq.seq;
+import static org.jooq.lambda.tuple.Tuple.tuple;
 
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.BooleanSupplier;
 import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntBinaryOperator;
 import java.util.function.Predicate;
-import java.util.stream.Collector;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 
-import org.jooq.lambda.tuple.Tuple2;
 
 /**
  * @author Lukas Eder
@@ -50,6 +53,25 @@ class SeqUtils {
     }
 
     static <T, U> Seq<U> transform(Stream<? extends T> stream, DelegatingSpliterator<T, U> delegating) {
+        return transform(stream, delegating, false, null);
+    }
+
+    /**
+     * Transform a stream that never produces more elements than its delegate,
+     * whose size estimate is thus reported. Once <code>passThrough</code>
+     * yields <code>true</code>, the transformation must produce exactly the
+     * delegate's remaining elements, which can then be split.
+     */
+    static <T> Seq<T> transformBounded(Stream<? extends T> stream, BooleanSupplier passThrough, DelegatingSpliterator<T, T> delegating) {
+        return transform(stream, delegating, true, passThrough);
+    }
+
+    private static <T, U> Seq<U> transform(
+        Stream<? extends T> stream,
+        DelegatingSpliterator<T, U> delegating,
+        boolean bounded,
+        BooleanSupplier passThrough
+    ) {
         Spliterator<? extends T> delegate = stream.spliterator();
 
         return Seq.seq(new Spliterator<U>() {
@@ -59,13 +81,16 @@ class SeqUtils {
             }
 
             @Override
+            @SuppressWarnings("unchecked")
             public Spliterator<U> trySplit() {
-                return null;
+                return passThrough != null && passThrough.getAsBoolean()
+                     ? (Spliterator<U>) delegate.trySplit()
+                     : null;
             }
 
             @Override
             public long estimateSize() {
-                return Long.MAX_VALUE;
+                return bounded ? delegate.estimateSize() : Long.MAX_VALUE;
             }
 
             @Override
@@ -86,23 +111,205 @@ class SeqUtils {
             }
         }).onClose(() -> stream.close());
     }
+
+    /**
+     * Filter a stream sequentially, using a predicate that may depend on the
+     * elements that it has previously tested.
+     */
+    static <T> Seq<T> filter(Stream<? extends T> stream, Predicate<? super T> predicate) {
+        boolean[] test = { false };
+
+        return transformBounded(stream, null, (delegate, action) -> {
+            boolean advanced;
+
+            do {
+                advanced = delegate.tryAdvance(t -> {
+                    if (test[0] = predicate.test(t))
+                        action.accept(t);
+                });
+            }
+            while (advanced && !test[0]);
+
+            return advanced;
+        });
+    }
+
+    /**
+     * Zip several streams using a zipper that accepts an array of values,
+     * whose contents are valid only for the duration of the call.
+     */
+    static <R> Seq<R> zip(Function<Object[], ? extends R> zipper, Seq<?>... seqs) {
+        Spliterator<?>[] delegates = new Spliterator<?>[seqs.length];
+
+        for (int i = 0; i < seqs.length; i++)
+            delegates[i] = seqs[i].spliterator();
+
+        return Seq.seq(new ZipSpliterator<R>(delegates, zipper));
+    }
     
-    static <T> Map<?, Partition<T>> partitions(WindowSpecification<T> window, List<Tuple2<T, Long>> input) {
-        return seq(input).groupBy(
-            window.partition().compose(t -> t.v1), 
-            Collector.<
-                Tuple2<T, Long>,
-                Collection<Tuple2<T, Long>>,
-                Partition<T>
-            >of(
-                () -> window.order().isPresent()
-                    ? new TreeSet<>(comparing((Tuple2<T, Long> t) -> t.v1, window.order().get()).thenComparing(t -> t.v2))
-                    : new ArrayList<>(),
-                (s, t) -> s.add(t),
-                (s1, s2) -> { s1.addAll(s2); return s1; },
-                Partition::new
-            )
-        );
+    /**
+     * Partition the input of a window specification, and sort each partition
+     * by the specification's order.
+     */
+    static <T> Partitions<T> partitions(WindowSpecification<T> window, List<T> input) {
+        class Builder {
+            final List<T> list = new ArrayList<>();
+            Partition<T>  partition;
+            int[]         positions;
+        }
+
+        int size = input.size();
+        Map<Object, Builder> builders = new HashMap<>();
+        List<Builder> rows = new ArrayList<>(size);
+        int[] positions = new int[size];
+
+        for (int row = 0; row < size; row++) {
+            T t = input.get(row);
+            Builder builder = builders.computeIfAbsent(window.partition().apply(t), k -> new Builder());
+
+            rows.add(builder);
+            positions[row] = builder.list.size();
+            builder.list.add(t);
+        }
+
+        for (Builder builder : builders.values()) {
+            List<T> list = builder.list;
+
+            if (window.order().isPresent()) {
+                Comparator<? super T> order = window.order().get();
+                int[] sorted = new int[list.size()];
+                List<T> result = new ArrayList<>(list.size());
+
+                for (int i = 0; i < sorted.length; i++)
+                    sorted[i] = i;
+
+                // The input is ordered by row, which a stable sort retains among peers
+                sort(sorted, (i, j) -> order.compare(list.get(i), list.get(j)));
+                builder.positions = new int[sorted.length];
+
+                for (int i = 0; i < sorted.length; i++) {
+                    result.add(list.get(sorted[i]));
+                    builder.positions[sorted[i]] = i;
+                }
+
+                builder.partition = new Partition<>(result);
+            }
+            else
+                builder.partition = new Partition<>(list);
+        }
+
+        List<Partition<T>> partitions = new ArrayList<>(size);
+        for (int row = 0; row < size; row++) {
+            Builder builder = rows.get(row);
+
+            partitions.add(builder.partition);
+            if (builder.positions != null)
+                positions[row] = builder.positions[positions[row]];
+        }
+
+        return new Partitions<>(partitions, positions);
+    }
+
+    /**
+     * Get the partitions of a window specification, sharing the partitions of
+     * previous window specifications with the same partition function and
+     * order.
+     * <p>
+     * The order of {@link WindowSpecification.FrameUnits#RANGE} windows is
+     * created from their order key, so they are matched by their order key.
+     */
+    static <T> Partitions<T> partitions(WindowSpecification<T> window, List<T> input, Map<Object, Partitions<T>> cache) {
+        Object order = window.orderKey().<Object> map(key -> tuple("orderKey", key)).orElse(window.order().orElse(null));
+        return cache.computeIfAbsent(tuple(window.partition(), order), k -> partitions(window, input));
+    }
+
+    /**
+     * Stably sort an array of indexes, given a comparison of indexes.
+     */
+    static void sort(int[] indexes, IntBinaryOperator comparator) {
+        sort(indexes.clone(), indexes, 0, indexes.length, comparator);
+    }
+
+    /**
+     * A merge sort of the range <code>from .. to - 1</code> of
+     * <code>source</code> into <code>target</code>, whose ranges initially
+     * contain the same indexes.
+     */
+    private static void sort(int[] source, int[] target, int from, int to, IntBinaryOperator comparator) {
+        if (to - from < 8) {
+            for (int i = from + 1; i < to; i++)
+                for (int j = i; j > from && comparator.applyAsInt(target[j - 1], target[j]) > 0; j--) {
+                    int swap = target[j];
+                    target[j] = target[j - 1];
+                    target[j - 1] = swap;
+                }
+
+            return;
+        }
+
+        int mid = (from + to) >>> 1;
+        sort(target, source, from, mid, comparator);
+        sort(target, source, mid, to, comparator);
+
+        for (int i = from, p = from, q = mid; i < to; i++)
+            target[i] = q >= to || p < mid && comparator.applyAsInt(source[p], source[q]) <= 0 ? source[p++] : source[q++];
+    }
+
+    /**
+     * Run a terminal operation, in the argument {@link ForkJoinPool}, if any.
+     */
+    static <R> R evaluate(ForkJoinPool pool, Supplier<R> operation) {
+        if (pool == null || ForkJoinTask.getPool() == pool)
+            return operation.get();
+        else
+            return pool.invoke(ForkJoinTask.adapt(operation::get));
+    }
+
+    /**
+     * A 64 bit hash whose bits are all affected by the argument value, using
+     * SplitMix64.
+     */
+    static long hash64(long value) {
+        long z = value + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * A 64 bit hash of a value, which is based on all of the value's bits for
+     * {@link Long}, {@link Double}, {@link UUID}, {@link CharSequence}, and
+     * <code>byte[]</code> values, and on its {@link Object#hashCode()}
+     * otherwise.
+     */
+    static long hash64(Object value) {
+        if (value instanceof Long)
+            return hash64(((Long) value).longValue());
+        else if (value instanceof Double)
+            return hash64(Double.doubleToLongBits((Double) value));
+        else if (value instanceof UUID)
+            return hash64(hash64(((UUID) value).getMostSignificantBits()) ^ ((UUID) value).getLeastSignificantBits());
+        else if (value instanceof CharSequence) {
+            CharSequence s = (CharSequence) value;
+
+            // FNV-1a over the characters, mixed with SplitMix64
+            long h = 0xCBF29CE484222325L;
+            for (int i = 0; i < s.length(); i++)
+                h = (h ^ s.charAt(i)) * 0x100000001B3L;
+
+            return hash64(h ^ s.length());
+        }
+        else if (value instanceof byte[]) {
+            byte[] b = (byte[]) value;
+
+            long h = 0xCBF29CE484222325L;
+            for (int i = 0; i < b.length; i++)
+                h = (h ^ (b[i] & 0xFF)) * 0x100000001B3L;
+
+            return hash64(h ^ b.length);
+        }
+        else
+            return hash64(Objects.hashCode(value));
     }
 
     static <T> OptionalLong indexOf(Iterator<T> iterator, Predicate<? super T> predicate) {
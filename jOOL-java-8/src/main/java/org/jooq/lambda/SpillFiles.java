@@ -0,0 +1,244 @@
+/**
+ * Copyright (c), Data Geekery GmbH, contact@datageekery.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jooq.lambda;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import org.jooq.lambda.fi.util.function.CheckedBiConsumer;
+import org.jooq.lambda.fi.util.function.CheckedFunction;
+
+/**
+ * Temporary files that elements are spilled to, and read back from, using
+ * Java serialisation, or an encoder and a decoder.
+ * <p>
+ * Each file is written once, and then read once. Files are deleted once they
+ * have been read, or when the {@link SpillFiles} are closed.
+ *
+ * @author Lukas Eder
+ */
+final class SpillFiles<T> implements AutoCloseable {
+
+    /**
+     * The number of elements after which a serialised file resets its
+     * {@link ObjectOutputStream}, to release back references.
+     */
+    private static final int                RESET_INTERVAL = 1024;
+
+    private final Path                      directory;
+    private final String                    prefix;
+    private final BiConsumer<T, DataOutput> encoder;
+    private final Function<DataInput, T>    decoder;
+    private final boolean                   serialise;
+    private final List<SpillFile>           files;
+
+    private SpillFiles(Path directory, String prefix, BiConsumer<T, DataOutput> encoder, Function<DataInput, T> decoder, boolean serialise) {
+        this.directory = directory;
+        this.prefix = prefix;
+        this.encoder = encoder;
+        this.decoder = decoder;
+        this.serialise = serialise;
+        this.files = new ArrayList<>();
+    }
+
+    /**
+     * Spill files using Java serialisation.
+     */
+    static <T> SpillFiles<T> serialising(String prefix) {
+        return serialising(null, prefix);
+    }
+
+    /**
+     * Spill files to a directory, or to the default temporary-file directory
+     * if <code>directory</code> is <code>null</code>, using Java
+     * serialisation.
+     */
+    @SuppressWarnings("unchecked")
+    static <T> SpillFiles<T> serialising(Path directory, String prefix) {
+        return new SpillFiles<>(
+            directory,
+            prefix,
+            Unchecked.biConsumer((t, out) -> ((ObjectOutputStream) out).writeObject(t)),
+            Unchecked.function(in -> (T) ((ObjectInputStream) in).readObject()),
+            true
+        );
+    }
+
+    /**
+     * Spill files using an encoder and a decoder.
+     */
+    static <T> SpillFiles<T> encoding(
+        String prefix,
+        CheckedBiConsumer<? super T, ? super DataOutput> encoder,
+        CheckedFunction<? super DataInput, ? extends T> decoder
+    ) {
+        return new SpillFiles<>(
+            null,
+            prefix,
+            Unchecked.<T, DataOutput>biConsumer(encoder::accept),
+            Unchecked.<DataInput, T>function(decoder::apply),
+            false
+        );
+    }
+
+    /**
+     * Create a new, empty spill file.
+     */
+    SpillFile create() {
+        try {
+            SpillFile file = new SpillFile(directory == null
+                ? Files.createTempFile(prefix, ".tmp")
+                : Files.createTempFile(directory, prefix, ".tmp"));
+            files.add(file);
+            return file;
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        Throwable t = null;
+
+        for (SpillFile file : new ArrayList<>(files)) {
+            try {
+                file.delete();
+            }
+            catch (Throwable t1) {
+                if (t == null)
+                    t = t1;
+                else
+                    t.addSuppressed(t1);
+            }
+        }
+
+        if (t != null)
+            SeqUtils.sneakyThrow(t);
+    }
+
+    /**
+     * A temporary file, which is written, and then read.
+     */
+    final class SpillFile {
+        final Path   path;
+        OutputStream out;
+        InputStream  in;
+        long         size;
+        long         read;
+
+        SpillFile(Path path) {
+            this.path = path;
+        }
+
+        void write(T value) {
+            try {
+                if (out == null) {
+                    OutputStream stream = new BufferedOutputStream(Files.newOutputStream(path));
+                    out = serialise ? new ObjectOutputStream(stream) : new DataOutputStream(stream);
+                }
+
+                encoder.accept(value, (DataOutput) out);
+
+                if (++size % RESET_INTERVAL == 0 && serialise)
+                    ((ObjectOutputStream) out).reset();
+            }
+            catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        /**
+         * Stop writing, and start reading.
+         */
+        void flush() {
+            try {
+                if (out != null)
+                    out.close();
+
+                out = null;
+            }
+            catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        boolean hasNext() {
+            return read < size;
+        }
+
+        T next() {
+            try {
+                if (in == null) {
+                    InputStream stream = new BufferedInputStream(Files.newInputStream(path));
+                    in = serialise ? new ObjectInputStream(stream) : new DataInputStream(stream);
+                }
+
+                read++;
+                return decoder.apply((DataInput) in);
+            }
+            catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        /**
+         * Close and delete this file.
+         */
+        void delete() {
+            files.remove(this);
+            size = read = 0;
+
+            try {
+                try {
+                    if (out != null)
+                        out.close();
+                }
+                finally {
+                    out = null;
+
+                    try {
+                        if (in != null)
+                            in.close();
+                    }
+                    finally {
+                        in = null;
+                        Files.deleteIfExists(path);
+                    }
+                }
+            }
+            catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,272 @@
+/**
+ * Copyright (c), Data Geekery GmbH, contact@datageekery.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jooq.lambda;
+
+import java.util.Arrays;
+
+/**
+ * A t-digest sketch, which approximates quantiles of the values that have
+ * been added to it, using a bounded amount of memory.
+ * <p>
+ * Values are summarised in centroids, whose size is limited by the
+ * <code>compression</code> parameter, such that centroids near the extreme
+ * quantiles are small. This makes tail quantiles like <code>p99</code>
+ * particularly accurate. A sketch keeps at most about
+ * <code>compression</code> centroids, in addition to a buffer of
+ * <code>5 * compression</code> values that haven't been summarised yet.
+ * Typical values for <code>compression</code> are <code>100</code> to
+ * <code>1000</code>.
+ * <p>
+ * Sketches can be merged, e.g. to combine partial results of a parallel
+ * collection, and several quantiles can be read from the same sketch.
+ * <p>
+ * <code><pre>
+ * // 50.5, 99.5
+ * TDigest digest = Seq.rangeClosed(1, 100).collect(Agg.tDigest(100, i -&gt; i));
+ * digest.quantile(0.5);
+ * digest.quantile(0.99);
+ * </pre></code>
+ *
+ * @author Lukas Eder
+ * @see Agg#approxPercentile(double, double)
+ */
+public final class TDigest {
+
+    private final double    compression;
+
+    // The summarised centroids, ordered by mean
+    private double[]        means;
+    private double[]        weights;
+    private int             centroids;
+    private double          total;
+
+    // The values that haven't been summarised yet
+    private final double[]  buffer;
+    private int             buffered;
+
+    private double          min = Double.POSITIVE_INFINITY;
+    private double          max = Double.NEGATIVE_INFINITY;
+
+    /**
+     * Create an empty sketch.
+     *
+     * @throws IllegalArgumentException If <code>compression</code> is less
+     *             than <code>10</code>.
+     */
+    public TDigest(double compression) {
+        this.compression = checkCompression(compression);
+
+        int capacity = (int) Math.ceil(compression) + 10;
+        this.means = new double[capacity];
+        this.weights = new double[capacity];
+        this.buffer = new double[5 * capacity];
+    }
+
+    static double checkCompression(double compression) {
+        if (!(compression >= 10.0))
+            throw new IllegalArgumentException("Compression must be >= 10.0");
+
+        return compression;
+    }
+
+    /**
+     * The compression of this sketch.
+     */
+    public double compression() {
+        return compression;
+    }
+
+    /**
+     * The number of values that have been added to this sketch.
+     */
+    public long count() {
+        return (long) (total + buffered);
+    }
+
+    /**
+     * Add a value to this sketch.
+     *
+     * @throws IllegalArgumentException If <code>value</code> is
+     *             {@link Double#NaN}.
+     */
+    public TDigest add(double value) {
+        if (Double.isNaN(value))
+            throw new IllegalArgumentException("Value must not be NaN");
+
+        if (buffered == buffer.length)
+            compress();
+
+        buffer[buffered++] = value;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+        return this;
+    }
+
+    /**
+     * Merge another sketch into this one.
+     */
+    public TDigest merge(TDigest other) {
+        other.compress();
+
+        if (other.centroids > 0) {
+            compress(other.means, other.weights, other.centroids);
+            min = Math.min(min, other.min);
+            max = Math.max(max, other.max);
+        }
+
+        return this;
+    }
+
+    /**
+     * Approximate the argument quantile of the values that have been added to
+     * this sketch, or {@link Double#NaN} if no values have been added.
+     *
+     * @throws IllegalArgumentException If <code>quantile</code> isn't between
+     *             <code>0.0</code> and <code>1.0</code>.
+     */
+    public double quantile(double quantile) {
+        if (!(quantile >= 0.0 && quantile <= 1.0))
+            throw new IllegalArgumentException("Quantile must be between 0.0 and 1.0");
+
+        compress();
+
+        if (centroids == 0)
+            return Double.NaN;
+        else if (quantile == 0.0 || centroids == 1 && weights[0] == 1.0)
+            return min;
+        else if (quantile == 1.0)
+            return max;
+
+        // Each centroid's weight is assumed to be spread around its mean, with
+        // the extreme values at the extreme ranks
+        double rank = quantile * total;
+        double left = weights[0] / 2.0;
+
+        if (rank < left)
+            return interpolate(rank, 0.0, min, left, means[0]);
+
+        for (int i = 0; i < centroids - 1; i++) {
+            double right = left + (weights[i] + weights[i + 1]) / 2.0;
+
+            if (rank < right)
+                return interpolate(rank, left, means[i], right, means[i + 1]);
+
+            left = right;
+        }
+
+        return interpolate(rank, left, means[centroids - 1], total, max);
+    }
+
+    private static double interpolate(double x, double x0, double y0, double x1, double y1) {
+        return x1 == x0 ? y0 : y0 + (y1 - y0) * (x - x0) / (x1 - x0);
+    }
+
+    private void compress() {
+        if (buffered > 0) {
+            Arrays.sort(buffer, 0, buffered);
+
+            double[] ones = new double[buffered];
+            Arrays.fill(ones, 1.0);
+
+            int size = buffered;
+            buffered = 0;
+            compress(Arrays.copyOf(buffer, size), ones, size);
+        }
+    }
+
+    /**
+     * Merge the argument centroids, ordered by mean, with this sketch's
+     * centroids, such that each resulting centroid spans at most one unit of
+     * the <code>k<sub>2</sub></code> scale function.
+     */
+    private void compress(double[] otherMeans, double[] otherWeights, int otherCentroids) {
+        double newTotal = total + sum(otherWeights, otherCentroids);
+        double[] newMeans = new double[Math.max(means.length, 16)];
+        double[] newWeights = new double[newMeans.length];
+        int newCentroids = 0;
+
+        double normalizer = compression / (4.0 * Math.log(Math.max(newTotal / compression, 1.0)) + 24.0);
+        double before = 0.0;
+        double limit = 0.0;
+
+        for (int i = 0, j = 0; i < centroids || j < otherCentroids;) {
+            double mean;
+            double weight;
+
+            if (j == otherCentroids || i < centroids && means[i] <= otherMeans[j]) {
+                mean = means[i];
+                weight = weights[i++];
+            }
+            else {
+                mean = otherMeans[j];
+                weight = otherWeights[j++];
+            }
+
+            if (newCentroids > 0 && before + newWeights[newCentroids - 1] + weight <= limit) {
+                int c = newCentroids - 1;
+                newWeights[c] += weight;
+                newMeans[c] += (mean - newMeans[c]) * weight / newWeights[c];
+            }
+            else {
+                if (newCentroids > 0)
+                    before += newWeights[newCentroids - 1];
+
+                if (newCentroids == newMeans.length) {
+                    newMeans = Arrays.copyOf(newMeans, newCentroids * 2);
+                    newWeights = Arrays.copyOf(newWeights, newCentroids * 2);
+                }
+
+                newMeans[newCentroids] = mean;
+                newWeights[newCentroids++] = weight;
+                limit = newTotal * q(k(before / newTotal, normalizer) + 1.0, normalizer);
+            }
+        }
+
+        means = newMeans;
+        weights = newWeights;
+        centroids = newCentroids;
+        total = newTotal;
+    }
+
+    private static double sum(double[] values, int length) {
+        double result = 0.0;
+
+        for (int i = 0; i < length; i++)
+            result += values[i];
+
+        return result;
+    }
+
+    /**
+     * The <code>k<sub>2</sub></code> scale function, whose centroids get
+     * smaller towards both extreme quantiles.
+     */
+    private static double k(double q, double normalizer) {
+        return normalizer * Math.log(q / (1.0 - q));
+    }
+
+    /**
+     * The inverse of the <code>k<sub>2</sub></code> scale function.
+     */
+    private static double q(double k, double normalizer) {
+        return 1.0 / (1.0 + Math.exp(-k / normalizer));
+    }
+
+    @Override
+    public String toString() {
+        return "TDigest [compression=" + compression + ", count=" + count() + ", centroids=" + centroids + "]";
+    }
+}
@@ -0,0 +1,177 @@
+/**
+ * Copyright (c), Data Geekery GmbH, contact@datageekery.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jooq.lambda;
+
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * A {@link Spliterator} that zips several delegate spliterators.
+ * <p>
+ * The zipped spliterator is {@link Spliterator#SIZED} if all delegates are,
+ * in case of which its size is the size of the shortest delegate. If all
+ * delegates are also {@link Spliterator#SUBSIZED}, splitting happens at the
+ * split point of the first delegate, splitting (or, if split points don't
+ * match, buffering) the other delegates accordingly. Otherwise, splitting
+ * happens in batches, like for spliterators of unknown size.
+ *
+ * @author Lukas Eder
+ */
+class ZipSpliterator<R> implements Spliterator<R> {
+
+    static final int                              BATCH_UNIT = 1 << 10;
+    static final int                              MAX_BATCH  = 1 << 25;
+
+    private final Spliterator<?>[]                delegates;
+    private final Function<Object[], ? extends R> zipper;
+    private final Object[]                        values;
+    private int                                   batch;
+
+    ZipSpliterator(Spliterator<?>[] delegates, Function<Object[], ? extends R> zipper) {
+        this.delegates = delegates;
+        this.zipper = zipper;
+        this.values = new Object[delegates.length];
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super R> action) {
+        for (int i = 0; i < delegates.length; i++) {
+            final int j = i;
+
+            if (!delegates[i].tryAdvance(v -> values[j] = v))
+                return false;
+        }
+
+        // The zipper consumes the values immediately, so the array can be reused
+        action.accept(zipper.apply(values));
+        return true;
+    }
+
+    @Override
+    public Spliterator<R> trySplit() {
+        long size = estimateSize();
+
+        if (size <= 1)
+            return null;
+        else if (hasCharacteristics(SUBSIZED))
+            return splitPrefix();
+        else
+            return splitBatch(size);
+    }
+
+    private Spliterator<R> splitPrefix() {
+        Spliterator<?> first = delegates[0].trySplit();
+        if (first == null)
+            return null;
+
+        long p = first.getExactSizeIfKnown();
+        Spliterator<?>[] prefixes = new Spliterator<?>[delegates.length];
+        prefixes[0] = first;
+
+        for (int i = 1; i < delegates.length; i++) {
+            Spliterator<?> prefix = delegates[i].trySplit();
+
+            if (prefix == null || prefix.getExactSizeIfKnown() != p) {
+                Spliterator<?> remainder = prefix == null ? delegates[i] : new Concat<>(prefix, delegates[i]);
+                Object[] buffer = new Object[(int) Math.min(p, remainder.getExactSizeIfKnown())];
+
+                for (int j = 0; j < buffer.length; j++) {
+                    final int k = j;
+                    remainder.tryAdvance(v -> buffer[k] = v);
+                }
+
+                delegates[i] = remainder;
+                prefix = Spliterators.spliterator(buffer, ORDERED);
+            }
+
+            prefixes[i] = prefix;
+        }
+
+        return new ZipSpliterator<>(prefixes, zipper);
+    }
+
+    private Spliterator<R> splitBatch(long size) {
+        int n = (int) Math.min(Math.min(batch + BATCH_UNIT, MAX_BATCH), size);
+        Object[] buffer = new Object[n];
+        int[] j = { 0 };
+
+        while (j[0] < n && tryAdvance(r -> buffer[j[0]++] = r));
+
+        if (j[0] == 0)
+            return null;
+
+        batch = j[0];
+        return Spliterators.spliterator(buffer, 0, j[0], ORDERED);
+    }
+
+    @Override
+    public long estimateSize() {
+        long size = Long.MAX_VALUE;
+
+        for (Spliterator<?> delegate : delegates)
+            size = Math.min(size, delegate.estimateSize());
+
+        return size;
+    }
+
+    @Override
+    public int characteristics() {
+        int characteristics = ORDERED | SIZED | SUBSIZED;
+
+        for (Spliterator<?> delegate : delegates)
+            characteristics &= delegate.characteristics();
+
+        return characteristics;
+    }
+
+    /**
+     * The concatenation of two sized spliterators, used to undo a mismatching
+     * split of a delegate.
+     */
+    static final class Concat<T> implements Spliterator<T> {
+
+        private final Spliterator<? extends T> first;
+        private final Spliterator<? extends T> second;
+
+        Concat(Spliterator<? extends T> first, Spliterator<? extends T> second) {
+            this.first = first;
+            this.second = second;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            return first.tryAdvance(action) || second.tryAdvance(action);
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            return null;
+        }
+
+        @Override
+        public long estimateSize() {
+            long size = first.estimateSize() + second.estimateSize();
+            return size < 0 ? Long.MAX_VALUE : size;
+        }
+
+        @Override
+        public int characteristics() {
+            return first.characteristics() & second.characteristics() & (ORDERED | SIZED);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+/**
+ * Copyright (c), Data Geekery GmbH, contact@datageekery.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jooq.lambda;
+
+import java.util.Spliterator;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+
+/**
+ * A {@link Spliterator} that zips the elements of a delegate spliterator with
+ * their index.
+ * <p>
+ * Sizes and prefix splits of {@link Spliterator#SUBSIZED} delegates are
+ * retained, with the suffix resuming at the index after the prefix.
+ *
+ * @author Lukas Eder
+ */
+class ZipWithIndexSpliterator<T, R> implements Spliterator<R> {
+
+    private final Spliterator<? extends T>                         delegate;
+    private final BiFunction<? super T, ? super Long, ? extends R> zipper;
+    private long                                                   index;
+
+    ZipWithIndexSpliterator(Spliterator<? extends T> delegate, long index, BiFunction<? super T, ? super Long, ? extends R> zipper) {
+        this.delegate = delegate;
+        this.index = index;
+        this.zipper = zipper;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super R> action) {
+        return delegate.tryAdvance(t -> action.accept(zipper.apply(t, index++)));
+    }
+
+    @Override
+    public Spliterator<R> trySplit() {
+        if (!delegate.hasCharacteristics(SUBSIZED))
+            return null;
+
+        Spliterator<? extends T> prefix = delegate.trySplit();
+        if (prefix == null)
+            return null;
+
+        Spliterator<R> result = new ZipWithIndexSpliterator<>(prefix, index, zipper);
+        index += prefix.getExactSizeIfKnown();
+        return result;
+    }
+
+    @Override
+    public long estimateSize() {
+        return delegate.estimateSize();
+    }
+
+    @Override
+    public int characteristics() {
+        return delegate.characteristics() & (ORDERED | SIZED | SUBSIZED);
+    }
+}
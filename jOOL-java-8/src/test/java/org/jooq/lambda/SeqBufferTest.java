@@ -1,14 +1,22 @@
 package org.jooq.lambda;
 
+import org.jooq.lambda.exception.LagExceededException;
 import org.jooq.lambda.tuple.Tuple2;
 import org.junit.Test;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
 import java.util.Spliterator;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
 
 import static java.util.Arrays.asList;
+import static org.jooq.lambda.tuple.Tuple.tuple;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
@@ -114,6 +122,131 @@ public class SeqBufferTest {
         }
     }
 
+    @Test
+    public void testBufferingAcrossChunks() {
+        int numElements = SeqBuffer.CHUNK_SIZE * 3 + 7;
+        List<Integer> expected = Seq.range(0, numElements).map(i -> i % 5 == 0 ? null : i).toList();
+        AtomicInteger advanced = new AtomicInteger();
+        SeqBuffer<Integer> buffer = SeqBuffer.of(Seq.seq(expected).peek(i -> advanced.incrementAndGet()));
+
+        // tryAdvance() only buffers what is needed
+        Spliterator<Integer> x = buffer.seq().spliterator();
+        for (int i = 0; i < SeqBuffer.CHUNK_SIZE + 1; i++)
+            assertTrue(x.tryAdvance(v -> {}));
+        assertEquals(SeqBuffer.CHUNK_SIZE + 1, advanced.get());
+
+        // forEachRemaining() consumes published elements first, then buffers by chunk
+        List<Integer> actual = new ArrayList<>();
+        buffer.seq().spliterator().forEachRemaining(actual::add);
+        assertEquals(expected, actual);
+        assertEquals(numElements, advanced.get());
+
+        List<Integer> rest = new ArrayList<>();
+        x.forEachRemaining(rest::add);
+        assertEquals(expected.subList(SeqBuffer.CHUNK_SIZE + 1, numElements), rest);
+    }
+
+    @Test
+    public void testDuplicateWithMaxLag() {
+        int numElements = SeqBuffer.CHUNK_SIZE * 3 + 7;
+        List<Integer> expected = Seq.range(0, numElements).toList();
+
+        Tuple2<Seq<Integer>, Seq<Integer>> zipped = Seq.seq(expected).duplicate(1);
+        assertEquals(Seq.zip(expected, expected).toList(), Seq.zip(zipped.v1, zipped.v2).toList());
+
+        Tuple2<Seq<Integer>, Seq<Integer>> leading = Seq.seq(expected).duplicate(10);
+        Utils.assertThrows(LagExceededException.class, () -> leading.v1.toList());
+
+        // Closed consumers don't hold back the others
+        Tuple2<Seq<Integer>, Seq<Integer>> closed = Seq.seq(expected).duplicate(1);
+        closed.v2.close();
+        assertEquals(expected, closed.v1.toList());
+
+        // Finished consumers don't hold back the others
+        Tuple2<Seq<Integer>, Seq<Integer>> split = Seq.seq(expected).splitAt(5);
+        assertEquals(asList(0, 1, 2, 3, 4), split.v1.toList());
+        assertEquals(expected.subList(5, numElements), split.v2.toList());
+
+        Utils.assertThrows(IllegalArgumentException.class, () -> Seq.of(1).duplicate(0));
+        Utils.assertThrows(IllegalArgumentException.class, () -> Seq.of(1).splitAt(-1));
+    }
+
+    @Test
+    public void testDuplicateWithMaxLagAndTimeout() throws Exception {
+        int numElements = SeqBuffer.CHUNK_SIZE * 10;
+        List<Integer> expected = Seq.range(0, numElements).toList();
+
+        Tuple2<Seq<Integer>, Seq<Integer>> blocked = Seq.seq(expected).duplicate(10, Duration.ofMillis(10));
+        Utils.assertThrows(LagExceededException.class, () -> blocked.v1.toList());
+
+        Tuple2<Seq<Integer>, Seq<Integer>> threaded = Seq.seq(expected).duplicate(10, Duration.ofSeconds(10));
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        try {
+            Future<List<Integer>> f1 = executor.submit(() -> threaded.v1.toList());
+            Future<List<Integer>> f2 = executor.submit(() -> threaded.v2.toList());
+            assertEquals(expected, f1.get());
+            assertEquals(expected, f2.get());
+        }
+        finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testSplitAtWithMaxLag() {
+        int numElements = SeqBuffer.CHUNK_SIZE * 3 + 7;
+        List<Integer> expected = Seq.range(0, numElements).toList();
+
+        // Consuming the first stream first doesn't buffer anything
+        Tuple2<Seq<Integer>, Seq<Integer>> split = Seq.seq(expected).splitAt(SeqBuffer.CHUNK_SIZE, 1);
+        assertEquals(expected.subList(0, SeqBuffer.CHUNK_SIZE), split.v1.toList());
+        assertEquals(expected.subList(SeqBuffer.CHUNK_SIZE, numElements), split.v2.toList());
+
+        Tuple2<Seq<Integer>, Seq<Integer>> leading = Seq.seq(expected).splitAt(10, 10);
+        Utils.assertThrows(LagExceededException.class, () -> leading.v2.toList());
+
+        Tuple2<Seq<Integer>, Seq<Integer>> within = Seq.range(0, 20).splitAt(10, 21);
+        assertEquals(Seq.range(10, 20).toList(), within.v2.toList());
+        assertEquals(Seq.range(0, 10).toList(), within.v1.toList());
+
+        Tuple2<Seq<Integer>, Seq<Integer>> blocked = Seq.seq(expected).splitAt(10, 10, Duration.ofMillis(10));
+        Utils.assertThrows(LagExceededException.class, () -> blocked.v2.toList());
+
+        Utils.assertThrows(IllegalArgumentException.class, () -> Seq.of(1).splitAt(1, 0));
+        Utils.assertThrows(IllegalArgumentException.class, () -> Seq.of(1).splitAt(-1, 1));
+    }
+
+    @Test
+    public void testUnzipWithMaxLag() {
+        int numElements = SeqBuffer.CHUNK_SIZE * 3 + 7;
+        List<Tuple2<Integer, Integer>> expected = Seq.range(0, numElements).map(i -> tuple(i, -i)).toList();
+
+        Tuple2<Seq<Integer>, Seq<Integer>> zipped = Seq.unzip(Seq.seq(expected), 1);
+        assertEquals(expected, Seq.zip(zipped.v1, zipped.v2).toList());
+
+        Tuple2<Seq<Integer>, Seq<Integer>> leading = Seq.unzip(Seq.seq(expected), 10);
+        Utils.assertThrows(LagExceededException.class, () -> leading.v1.toList());
+
+        Tuple2<Seq<Integer>, Seq<Integer>> blocked = Seq.unzip(Seq.seq(expected), 10, Duration.ofMillis(10));
+        Utils.assertThrows(LagExceededException.class, () -> blocked.v2.toList());
+    }
+
+    @Test
+    public void testPartitionWithMaxLag() {
+        Tuple2<Seq<Integer>, Seq<Integer>> zipped = Seq.range(0, 100).partition(i -> i % 2 == 0, 1);
+        assertEquals(Seq.range(0, 50).map(i -> tuple(2 * i, 2 * i + 1)).toList(), Seq.zip(zipped.v1, zipped.v2).toList());
+
+        Tuple2<Seq<Integer>, Seq<Integer>> leading = Seq.range(0, 100).partition(i -> i % 2 == 0, 10);
+        Utils.assertThrows(LagExceededException.class, () -> leading.v1.toList());
+
+        Tuple2<Seq<Integer>, Seq<Integer>> within = Seq.range(0, 100).partition(i -> i < 10, 10);
+        assertEquals(Seq.range(10, 100).toList(), within.v2.toList());
+        assertEquals(Seq.range(0, 10).toList(), within.v1.toList());
+
+        Utils.assertThrows(IllegalArgumentException.class, () -> Seq.of(1).partition(i -> true, 0));
+    }
+
     private void verifyInt(int expected, int actual) {
         assertEquals("Unexpected value", expected, actual);
     }
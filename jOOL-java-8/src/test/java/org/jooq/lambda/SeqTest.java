@@ -31,33 +31,50 @@ import static org.jooq.lambda.Agg.min;
 import static org.jooq.lambda.Seq.seq;
 import static org.jooq.lambda.Utils.assertThrows;
 import static org.jooq.lambda.tuple.Tuple.collectors;
+import static org.jooq.lambda.tuple.Tuple.range;
 import static org.jooq.lambda.tuple.Tuple.tuple;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
 
 import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.Serializable;
 import java.io.StringReader;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiFunction;
 import java.util.function.BiPredicate;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 import org.jooq.lambda.exception.TooManyElementsException;
 import org.jooq.lambda.function.Function4;
 
+import org.jooq.lambda.tuple.Range;
 import org.jooq.lambda.tuple.Tuple;
 import org.jooq.lambda.tuple.Tuple2;
 import org.jooq.lambda.tuple.Tuple3;
@@ -254,6 +271,69 @@ public class SeqTest {
         ), l2);
     }
 
+    @Test
+    public void testGroupedSpilling() throws IOException {
+        assertEquals(asList(tuple(1, 9), tuple(0, 12)),
+            Seq.of(1, 2, 3, 4, 5, 6).grouped(i -> i % 2, Collectors.summingInt(i -> i), 2).toList());
+        assertEquals(asList(tuple(1, asList(1, 3, 5)), tuple(0, asList(2, 4, 6))),
+            Seq.of(1, 2, 3, 4, 5, 6).grouped(i -> i % 2, Collectors.toList(), 2, (t, out) -> out.writeInt(t), in -> in.readInt()).toList());
+        assertEquals(asList(),
+            Seq.<Integer>of().grouped(i -> i % 2, Collectors.toList(), 1).toList());
+
+        Map<Integer, List<Integer>> expected = new HashMap<>();
+        expected.put(null, asList(1, 3));
+        expected.put(0, asList(2));
+        assertEquals(expected, Seq.of(1, 2, 3).groupBy(i -> i % 2 == 0 ? 0 : null, Collectors.toList(), 1));
+
+        // Keys with equal hash codes are eventually aggregated in memory
+        assertEquals(
+            Seq.of("Aa", "BB", "AaAa", "BBBB", "AaBB", "Aa").groupBy(s -> s, Collectors.counting()),
+            Seq.of("Aa", "BB", "AaAa", "BBBB", "AaBB", "Aa").groupBy(s -> s, Collectors.counting(), 1));
+
+        // Each class's elements are collected in encounter order
+        Random random = new Random(1);
+        List<Integer> list = Seq.generate(() -> random.nextInt(1000)).limit(10000).toList();
+        assertEquals(seq(list).groupBy(i -> i % 500), seq(list).groupBy(i -> i % 500, Collectors.toList(), 10));
+        assertEquals(seq(list).groupBy(i -> i % 500), seq(list).grouped(i -> i % 500, Collectors.toList(), 10, (t, out) -> out.writeInt(t), in -> in.readInt()).toMap(t -> t.v1, t -> t.v2));
+        assertEquals(500, seq(list).grouped(i -> i % 500, Collectors.counting(), 10).count());
+
+        // Temporary files are deleted once aggregated, when the aggregation fails, or when the stream is closed
+        Path directory = Files.createTempDirectory("jool-test-");
+        Supplier<Long> files = () -> {
+            try (Stream<Path> s = Files.list(directory)) {
+                return s.count();
+            }
+            catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+
+        try {
+            ExternalGroupBy.grouped(seq(list), i -> i, Collectors.counting(), 10, SpillFiles.serialising(directory, "jool-group-")).toList();
+            assertEquals(0L, (long) files.get());
+
+            try (Seq<Tuple2<Integer, Long>> s = ExternalGroupBy.grouped(seq(list), i -> i, Collectors.counting(), 10, SpillFiles.serialising(directory, "jool-group-"))) {
+                assertTrue(s.findFirst().isPresent());
+                assertTrue(files.get() > 0L);
+            }
+            assertEquals(0L, (long) files.get());
+
+            try (Seq<Tuple2<Object, List<Object>>> s = ExternalGroupBy.grouped(Seq.of(new Object(), new Object()), o -> o, Collectors.toList(), 1, SpillFiles.serialising(directory, "jool-group-"))) {
+                assertThrows(UncheckedIOException.class, () -> s.toList());
+                assertEquals(0L, (long) files.get());
+            }
+        }
+        finally {
+            Files.delete(directory);
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> Seq.of(1).grouped(i -> i, Collectors.toList(), 0));
+
+        try (Seq<Tuple2<Object, List<Object>>> s = Seq.of(new Object(), new Object()).grouped(o -> o, Collectors.toList(), 1)) {
+            assertThrows(UncheckedIOException.class, () -> s.toList());
+        }
+    }
+
     @Test
     public void testGroupedSameBehaviorAsGroupBy() throws Exception {
         Random r = new Random(System.nanoTime());
@@ -291,6 +371,34 @@ public class SeqTest {
                 seq.grouped(xs -> xs.charAt(2)).map(t -> t.map2(s -> s.toList())).toList());
     }
 
+    @Test
+    public void testGroupedAdjacent() {
+        assertEquals(asList(tuple(1, asList(1, 3)), tuple(0, asList(2, 4)), tuple(1, asList(5))),
+            Seq.of(1, 3, 2, 4, 5).groupedAdjacent(i -> i % 2).map(t -> t.map2(s -> s.toList())).toList());
+        assertEquals(asList(tuple(1, 4), tuple(0, 6), tuple(1, 5)),
+            Seq.of(1, 3, 2, 4, 5).groupedAdjacent(i -> i % 2, Collectors.summingInt(i -> i)).toList());
+        assertEquals(asList(tuple(null, asList(null, null)), tuple(1, asList(1)), tuple(null, asList((Integer) null))),
+            Seq.of(null, null, 1, null).groupedAdjacent(i -> i).map(t -> t.map2(s -> s.toList())).toList());
+        assertEquals(asList(),
+            Seq.<Integer>of().groupedAdjacent(i -> i).toList());
+        assertEquals(asList(tuple(3, asList("seq", "seq"))),
+            Seq.of("seq", "seq").groupedAdjacent(String::length).map(t -> t.map2(s -> s.toList())).toList());
+
+        // Groups are produced as soon as the key changes
+        AtomicInteger consumed = new AtomicInteger();
+        Iterator<Tuple2<Integer, Long>> it = Seq.iterate(0, i -> i + 1).peek(i -> consumed.incrementAndGet()).groupedAdjacent(i -> i / 3, Collectors.counting()).iterator();
+        assertEquals(tuple(0, 3L), it.next());
+        assertEquals(4, consumed.get());
+        assertEquals(tuple(1, 3L), it.next());
+        assertEquals(7, consumed.get());
+
+        Random random = new Random(1);
+        List<Integer> sorted = Seq.generate(() -> random.nextInt(20)).limit(500).sorted().toList();
+        assertEquals(
+            seq(sorted).grouped(i -> i, Collectors.toList()).toList(),
+            seq(sorted).groupedAdjacent(i -> i, Collectors.toList()).toList());
+    }
+
     @Test
     public void testZipEqualLength() {
         List<Tuple2<Integer, String>> list = Seq.of(1, 2, 3).zip(Seq.of("a", "b", "c")).toList();
@@ -980,6 +1088,132 @@ public class SeqTest {
         verifyIteratorValidity(3, Seq.of(1, 2, 3), seq -> seq.rightOuterJoin(Seq.of("A", "B"), TRUE));
     }
 
+    @Test
+    public void testHashJoin() {
+        assertEquals(asList(tuple(1, 1), tuple(2, 2), tuple(2, 2)),
+            Seq.of(1, 2, 3).innerJoin(Seq.of(1, 2, 2), t -> t, u -> u).toList());
+        assertEquals(asList(tuple(1, 1), tuple(2, 2), tuple(2, 2), tuple(3, null)),
+            Seq.of(1, 2, 3).leftOuterJoin(Seq.of(1, 2, 2), t -> t, u -> u).toList());
+        assertEquals(asList(tuple(1, 1), tuple(2, 2), tuple(null, 3)),
+            Seq.of(1, 2).rightOuterJoin(Seq.of(1, 2, 3), t -> t, u -> u).toList());
+        assertEquals(asList(tuple(1, 1), tuple(2, 2), tuple(4, null), tuple(null, 3)),
+            Seq.of(1, 2, 4).fullOuterJoin(Seq.of(1, 2, 3), t -> t, u -> u).toList());
+        assertEquals(asList(tuple(null, "a")),
+            Seq.<Integer>of().fullOuterJoin(Seq.of("a"), t -> t, u -> u.length()).toList());
+
+        // null keys are equal, like in the predicate based joins with Objects::equals
+        assertEquals(asList(tuple(null, null)),
+            Seq.of((Integer) null).innerJoin(Seq.of((Integer) null), t -> t, u -> u).toList());
+
+        // Compound keys without key objects
+        assertEquals(asList(tuple(tuple(1, 1), null), tuple(tuple(1, 2), tuple(1, 2)), tuple(null, tuple(2, 2))),
+            Seq.of(tuple(1, 1), tuple(1, 2)).fullOuterJoin(Seq.of(tuple(1, 2), tuple(2, 2)),
+                t -> 31 * t.v1 + t.v2, u -> 31 * u.v1 + u.v2, (t, u) -> t.v1.equals(u.v1) && t.v2.equals(u.v2)).toList());
+
+        // Equal hash codes, but different keys
+        assertEquals(asList(tuple("Aa", "Aa"), tuple("BB", "BB")),
+            Seq.of("Aa", "BB").innerJoin(Seq.of("BB", "Aa"), String::hashCode, String::hashCode, String::equals)
+               .sorted(t -> t.v1).toList());
+
+        Random random = new Random(1);
+        List<Integer> left = Seq.generate(() -> random.nextInt(50)).limit(200).toList();
+        List<Integer> right = Seq.generate(() -> random.nextInt(50)).limit(300).toList();
+
+        assertEquals(seq(left).innerJoin(right, Objects::equals).toList(), seq(left).innerJoin(right, t -> t, u -> u).toList());
+        assertEquals(seq(left).leftOuterJoin(right, Objects::equals).toList(), seq(left).leftOuterJoin(right, t -> t, u -> u).toList());
+        assertEquals(seq(left).rightOuterJoin(right, Objects::equals).toList(), seq(left).rightOuterJoin(right, t -> t, u -> u).toList());
+        assertEquals(seq(left).rightOuterJoin(right, Objects::equals).toList(), seq(left).rightOuterJoin(right, t -> t, u -> u, Objects::equals).toList());
+
+        AtomicBoolean closed = new AtomicBoolean();
+        Seq.of(1).innerJoin(Seq.of(1).onClose(() -> closed.set(true)), t -> t, u -> u).close();
+        assertTrue(closed.get());
+
+        verifyIteratorValidity(3, Seq.of(1, 2, 3), seq -> seq.fullOuterJoin(Seq.of("A", "B"), t -> t, u -> u.length()));
+    }
+
+    @Test
+    public void testMergeJoin() {
+        assertEquals(asList(tuple(1, 1), tuple(2, 2), tuple(2, 2)),
+            Seq.of(1, 2, 3).mergeJoin(Seq.of(1, 2, 2, 4), t -> t, u -> u).toList());
+        assertEquals(asList(tuple(1, 1), tuple(2, 2), tuple(2, 2), tuple(3, null)),
+            Seq.of(1, 2, 3).leftOuterMergeJoin(Seq.of(1, 2, 2, 4), t -> t, u -> u).toList());
+        assertEquals(asList(tuple(1, "a"), tuple(1, "b"), tuple(2, "cc"), tuple(2, "dd"), tuple(2, "cc"), tuple(2, "dd")),
+            Seq.of(1, 2, 2).mergeJoin(Seq.of("a", "b", "cc", "dd"), t -> t, String::length).toList());
+        assertEquals(asList(tuple(3, 3), tuple(1, 1)),
+            Seq.of(3, 1).mergeJoin(Seq.of(3, 2, 1), t -> t, u -> u, Comparator.reverseOrder()).toList());
+        assertEquals(asList(),
+            Seq.<Integer>of().leftOuterMergeJoin(Seq.of(1), t -> t, u -> u).toList());
+        assertEquals(asList(tuple(1, null)),
+            Seq.of(1).leftOuterMergeJoin(Seq.<Integer>of(), t -> t, u -> u).toList());
+
+        assertThrows(IllegalStateException.class, () -> Seq.of(2, 1).mergeJoin(Seq.of(1, 2), t -> t, u -> u).toList());
+        assertThrows(IllegalStateException.class, () -> Seq.of(1, 2).mergeJoin(Seq.of(2, 1), t -> t, u -> u).toList());
+
+        Random random = new Random(1);
+        List<Integer> left = Seq.generate(() -> random.nextInt(50)).limit(200).sorted().toList();
+        List<Integer> right = Seq.generate(() -> random.nextInt(50)).limit(300).sorted().toList();
+
+        assertEquals(seq(left).innerJoin(right, t -> t, u -> u).toList(), seq(left).mergeJoin(right, t -> t, u -> u).toList());
+        assertEquals(seq(left).leftOuterJoin(right, t -> t, u -> u).toList(), seq(left).leftOuterMergeJoin(right, t -> t, u -> u).toList());
+
+        verifyIteratorValidity(3, Seq.of(1, 2, 3), seq -> seq.leftOuterMergeJoin(Seq.of(1, 2), t -> t, u -> u));
+    }
+
+    @Test
+    public void testIntervalJoin() {
+        assertEquals(asList(tuple(1, 1), tuple(4, 3), tuple(4, 5)),
+            Seq.of(1, 4, 7).intervalJoin(Seq.of(1, 3, 5), t -> range(t, t + 1), u -> range(u, u + 1)).toList());
+        assertEquals(asList(tuple(1, 1), tuple(4, 3), tuple(4, 5), tuple(7, null)),
+            Seq.of(1, 4, 7).leftOuterIntervalJoin(Seq.of(1, 3, 5), t -> range(t, t + 1), u -> range(u, u + 1)).toList());
+        assertEquals(asList(tuple(1, null), tuple(1, 0)),
+            Seq.of(1).intervalJoin(Seq.of(null, 2, 0), t -> range(t, t), u -> range(u, null)).toList());
+        assertEquals(asList(tuple(2, 0), tuple(2, 1)),
+            Seq.of(2).intervalJoin(Seq.of(1, 0, 5), t -> range((Integer) null, t), u -> range(u, u + 1)).toList());
+        assertEquals(asList(),
+            Seq.<Integer>of().intervalJoin(Seq.of(1), t -> range(t, t), u -> range(u, u)).toList());
+        assertEquals(asList(tuple(1, null)),
+            Seq.of(1).leftOuterIntervalJoin(Seq.<Integer>of(), t -> range(t, t), u -> range(u, u)).toList());
+
+        Random random = new Random(1);
+        List<Range<Integer>> left = Seq.generate(() -> random.nextInt(100)).limit(200).map(i -> range(i, i + random.nextInt(10))).toList();
+        List<Range<Integer>> right = Seq.generate(() -> random.nextInt(100)).limit(300).map(i -> range(i, i + random.nextInt(10))).toList();
+
+        Comparator<Tuple2<Range<Integer>, Range<Integer>>> c = comparing((Tuple2<Range<Integer>, Range<Integer>> x) -> x.v1.v1)
+            .thenComparing(x -> x.v1.v2)
+            .thenComparing(x -> x.v2.v1)
+            .thenComparing(x -> x.v2.v2);
+
+        assertEquals(
+            seq(left).innerJoin(right, (t, u) -> t.overlaps(u)).sorted(c).toList(),
+            seq(left).intervalJoin(right, t -> t, u -> u).sorted(c).toList());
+
+        verifyIteratorValidity(3, Seq.of(1, 2, 3), seq -> seq.leftOuterIntervalJoin(Seq.of(1, 2), t -> range(t, t), u -> range(u, u)));
+    }
+
+    @Test
+    public void testBandJoin() {
+        assertEquals(asList(tuple(1, 0), tuple(1, 2), tuple(2, 2)),
+            Seq.of(1, 2, 5).bandJoin(Seq.of(0, 2), t -> t, u -> u - 1, u -> u + 1).toList());
+        assertEquals(asList(tuple(1, 0), tuple(1, 2), tuple(2, 2), tuple(5, null)),
+            Seq.of(1, 2, 5).leftOuterBandJoin(Seq.of(0, 2), t -> t, u -> u - 1, u -> u + 1).toList());
+        assertEquals(asList(tuple(5, 2), tuple(1, 2), tuple(1, 0)),
+            Seq.of(5, 1).bandJoin(Seq.of(0, 2), t -> t, u -> u + 3, u -> u - 5, Comparator.reverseOrder()).toList());
+        assertEquals(asList(tuple(null, null), tuple(3, 3)),
+            Seq.of(null, 3).leftOuterBandJoin(Seq.of(3, 4), t -> t, u -> u, u -> u).toList());
+        assertEquals(asList(tuple(1, null), tuple(5, null)),
+            Seq.of(1, 5).bandJoin(Seq.of((Integer) null), t -> t, u -> u, u -> u).toList());
+        assertEquals(asList(),
+            Seq.of(3).bandJoin(Seq.of(1), t -> t, u -> u + 3, u -> u).toList());
+
+        Random random = new Random(1);
+        List<Integer> left = Seq.generate(() -> random.nextInt(100)).limit(200).toList();
+        List<Integer> right = Seq.generate(() -> random.nextInt(100)).limit(300).toList();
+
+        assertEquals(
+            seq(left).innerJoin(right, (t, u) -> u - 3 <= t && t <= u + 3).sorted(comparing((Tuple2<Integer, Integer> x) -> x.v2)).toList(),
+            seq(left).bandJoin(right, t -> t, u -> u - 3, u -> u + 3).sorted(comparing((Tuple2<Integer, Integer> x) -> x.v2)).toList());
+    }
+
     @Test
     public void testRightOuterSelfJoin() {
         BiPredicate<Object, Object> TRUE = (t, u) -> true;
@@ -1579,6 +1813,57 @@ public class SeqTest {
         assertEquals(asList(1, 2, 3), Seq.of(1, 1, 2, -2, 3).distinct(Math::abs).toList());
     }
 
+    @Test
+    public void testDistinctAdjacent() {
+        assertEquals(asList(1, 2, 1), Seq.of(1, 1, 2, 2, 1).distinctAdjacent().toList());
+        assertEquals(asList(1, 2, -1), Seq.of(1, -1, 2, -2, -1).distinctAdjacent(Math::abs).toList());
+        assertEquals(asList(null, 1, null), Seq.of(null, null, 1, null).distinctAdjacent().toList());
+        assertEquals(asList(), Seq.of().distinctAdjacent().toList());
+        assertEquals(asList(1, 2, 3), Seq.of(1, 1, 2, 3, 3, 3).distinctAdjacent().toList());
+        assertEquals(asList(1, 2, 3), Seq.of(1, 1, 2, 3, 3, 3).distinctAdjacent().parallel(ForkJoinPool.commonPool()).toList());
+
+        verifyIteratorValidity(4, Seq.of(1, 1, 2, 3), Seq::distinctAdjacent);
+    }
+
+    @Test
+    public void testDistinctWithin() {
+        assertEquals(asList(1, 2, 3, 1), Seq.of(1, 2, 1, 3, 1).distinctWithin(2, t -> t).toList());
+        assertEquals(asList(1, 2, 1, 3, 1), Seq.of(1, 2, 1, 3, 1).distinctWithin(1, t -> t).toList());
+        assertEquals(asList(1, 2, 3), Seq.of(1, 2, 1, 3, 1).distinctWithin(Long.MAX_VALUE, t -> t).toList());
+        assertEquals(asList(1, 1), Seq.of(1, 1, 1, 1, 1).distinctWithin(3, t -> t).toList());
+        assertEquals(asList(1, -2), Seq.of(1, -1, -2, 2).distinctWithin(2, Math::abs).toList());
+        assertThrows(IllegalArgumentException.class, () -> Seq.of(1).distinctWithin(0, t -> t));
+
+        assertEquals(asList(tuple("a", 0), tuple("b", 1), tuple("a", 5)),
+            Seq.of(tuple("a", 0), tuple("b", 1), tuple("a", 2), tuple("a", 5))
+               .distinctWithin(Duration.ofSeconds(5), t -> t.v1, t -> Instant.ofEpochSecond(t.v2)).toList());
+        assertEquals(asList(tuple("a", 0), tuple("a", 5), tuple("a", 10)),
+            Seq.of(tuple("a", 0), tuple("a", 4), tuple("a", 5), tuple("a", 9), tuple("a", 10))
+               .distinctWithin(Duration.ofSeconds(5), t -> t.v1, t -> Instant.ofEpochSecond(t.v2)).toList());
+
+        Random random = new Random(1);
+        List<Integer> list = Seq.generate(() -> random.nextInt(10)).limit(1000).toList();
+        assertEquals(seq(list).distinct().toList(), seq(list).distinctWithin(1000, t -> t).toList());
+    }
+
+    @Test
+    public void testApproxDistinct() {
+        assertEquals(asList(1, 2, 3), Seq.of(1, 1, 2, -2, 3).approxDistinct(Math::abs, 1000, 0.01).toList());
+        assertEquals(asList(null, 1), Seq.of(null, 1, null).approxDistinct(t -> t, 10, 0.01).toList());
+        assertEquals(asList("Aa", "BB"), Seq.of("Aa", "BB", "Aa").approxDistinct(t -> t, 10, 0.01).toList());
+        assertThrows(IllegalArgumentException.class, () -> Seq.of(1).approxDistinct(t -> t, 0, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> Seq.of(1).approxDistinct(t -> t, 10, 0.0));
+        assertThrows(IllegalArgumentException.class, () -> Seq.of(1).approxDistinct(t -> t, 10, 1.0));
+        assertThrows(IllegalArgumentException.class, () -> Seq.of(1).approxDistinct(t -> t, 10, Double.NaN));
+
+        // Duplicates are always removed, and few distinct keys are removed
+        Random random = new Random(1);
+        List<Integer> list = Seq.generate(() -> random.nextInt()).limit(10000).toList();
+        List<Integer> distinct = seq(list).concat(list).approxDistinct(t -> t, 10000, 0.01).toList();
+        assertEquals(seq(distinct).distinct().count(), distinct.size());
+        assertTrue(distinct.size() > 9800);
+    }
+
     @Test
     public void testIterable() {
         List<Integer> list = Seq.of(1, 2, 3).toCollection(LinkedList::new);
@@ -1751,6 +2036,115 @@ public class SeqTest {
         assertEquals("abc", Seq.seq(reader2).toString());
     }
 
+    @Test
+    public void testInputStreamLargerThanBuffer() {
+        byte[] bytes = new byte[20000];
+        for (int i = 0; i < bytes.length; i++)
+            bytes[i] = (byte) i;
+
+        AtomicBoolean closed = new AtomicBoolean();
+        InputStream is = new ByteArrayInputStream(bytes) {
+            @Override
+            public void close() {
+                closed.set(true);
+            }
+        };
+
+        try (Seq<Byte> s = Seq.seq(is)) {
+            assertEquals(Seq.range(0, 20000).map(i -> (byte) (int) i).toList(), s.toList());
+        }
+
+        assertTrue(closed.get());
+    }
+
+    @Test
+    public void testChunks() {
+        byte[] bytes = { 1, 2, 3, 4, 5 };
+
+        List<ByteBuffer> chunks = Seq.chunks(new ByteArrayInputStream(bytes), 2).toList();
+        assertEquals(asList(ByteBuffer.wrap(new byte[] { 1, 2 }), ByteBuffer.wrap(new byte[] { 3, 4 }), ByteBuffer.wrap(new byte[] { 5 })), chunks);
+        assertEquals(asList(ByteBuffer.wrap(bytes)), Seq.chunks(new ByteArrayInputStream(bytes), 5).toList());
+        assertEquals(asList(), Seq.chunks(new ByteArrayInputStream(new byte[0]), 5).toList());
+        assertThrows(IllegalArgumentException.class, () -> Seq.chunks(new ByteArrayInputStream(bytes), 0));
+    }
+
+    @Test
+    public void testLines() {
+        assertEquals(asList("a", "b", "", "c"), Seq.lines(new StringReader("a\nb\r\n\nc\n")).toList());
+        assertEquals(asList(), Seq.lines(new StringReader("")).toList());
+    }
+
+    @Test
+    public void testSplit() {
+        assertEquals(asList("a", "", "b"), Seq.split(new StringReader("a;;;;b;;"), ";;").toList());
+        assertEquals(asList("a", "b;c"), Seq.split(new StringReader("a;;b;c"), ";;").toList());
+        assertEquals(asList("a", "b"), Seq.split(new StringReader("a,b"), ",").toList());
+        assertEquals(asList(""), Seq.split(new StringReader(","), ",").toList());
+        assertEquals(asList(), Seq.split(new StringReader(""), ",").toList());
+
+        String large = Seq.range(0, 5000).toString(",");
+        assertEquals(Seq.range(0, 5000).map(String::valueOf).toList(), Seq.split(new StringReader(large), ",").toList());
+        assertThrows(IllegalArgumentException.class, () -> Seq.split(new StringReader("a"), ""));
+    }
+
+    @Test
+    public void testMappedLines() throws Exception {
+        Path path = Files.createTempFile("jool", ".txt");
+
+        try {
+            Files.write(path, "a\r\nbb\n\nccc\nd".getBytes(StandardCharsets.ISO_8859_1));
+
+            try (Seq<CharSequence> lines = Seq.mappedLines(path)) {
+                assertEquals(asList("a", "bb", "", "ccc", "d"), lines.map(Object::toString).toList());
+            }
+
+            try (Seq<ByteBuffer> lines = Seq.mappedLineBuffers(path)) {
+                assertEquals(asList(1, 2, 0, 3, 1), lines.map(ByteBuffer::remaining).toList());
+            }
+
+            Seq<CharSequence> closed = Seq.mappedLines(path);
+            closed.close();
+            assertThrows(IllegalStateException.class, () -> closed.toList());
+
+            Files.write(path, new byte[0]);
+            assertEquals(asList(), Seq.mappedLines(path).toList());
+        }
+        finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    public void testMappedLinesSplitAtLineBreaks() throws Exception {
+        Path path = Files.createTempFile("jool", ".txt");
+
+        try {
+            List<String> expected = Seq.range(0, 10000).map(i -> "line " + i).toList();
+            Files.write(path, expected, StandardCharsets.ISO_8859_1);
+
+            // Small segments to cover lines in several mapped segments
+            for (int segmentSize : asList(16, 1000, MappedLines.MAX_SEGMENT_SIZE)) {
+                MappedLines lines = MappedLines.map(path, segmentSize);
+                assertEquals(expected, Seq.seq(lines.chars()).map(Object::toString).toList());
+                assertEquals(expected, StreamSupport.stream(lines.chars(), true).map(Object::toString).collect(toList()));
+                lines.close();
+            }
+
+            ForkJoinPool pool = new ForkJoinPool(4);
+            try (Seq<CharSequence> lines = Seq.mappedLines(path)) {
+                assertEquals(expected, lines.parallel(pool).map(Object::toString).toList());
+            }
+            finally {
+                pool.shutdown();
+            }
+
+            assertThrows(UncheckedIOException.class, () -> MappedLines.map(path, 4));
+        }
+        finally {
+            Files.delete(path);
+        }
+    }
+
     @Test
     public void testIsEmpty() {
         assertTrue(Seq.empty().isEmpty());
@@ -1779,6 +2173,126 @@ public class SeqTest {
         assertEquals(tuple(1, "one"), s3.get(0));
         assertEquals(tuple(2, "two"), s3.get(1));
     }
+
+    @Test
+    public void testTopK() {
+        assertEquals(asList(4, 3), Seq.of(1, 4, 2, 3).topK(2, Comparator.naturalOrder()).toList());
+        assertEquals(asList(1, 2), Seq.of(1, 4, 2, 3).bottomK(2, Comparator.naturalOrder()).toList());
+        assertEquals(asList("ccc", "bb"), Seq.of("a", "ccc", "bb").topK(2, String::length).toList());
+        assertEquals(asList("a", "bb"), Seq.of("a", "ccc", "bb").bottomK(2, String::length).toList());
+        assertEquals(asList(3, 2, 1), Seq.of(1, 3, 2).topK(5, Comparator.naturalOrder()).toList());
+        assertEquals(asList(), Seq.of(1, 3, 2).topK(0, Comparator.naturalOrder()).toList());
+        assertEquals(asList(), Seq.<Integer>of().bottomK(2, Comparator.naturalOrder()).toList());
+
+        // Among equal elements, earlier ones are kept and produced first
+        assertEquals(asList("b", "c", "d"), Seq.of("a", "b", "c", "d", "a").topK(3, s -> s.equals("a") ? 0 : 1).toList());
+        assertEquals(asList("a", "c", "a"), Seq.of("a", "b", "c", "d", "a").bottomK(3, s -> s.equals("b") || s.equals("d")).toList());
+
+        assertThrows(IllegalArgumentException.class, () -> Seq.of(1).topK(-1, Comparator.naturalOrder()));
+
+        Random random = new Random(1);
+        List<Tuple2<Integer, Integer>> list = Seq.generate(() -> random.nextInt(100)).limit(1000).zipWithIndex().map(t -> tuple(t.v1, t.v2.intValue())).toList();
+        Comparator<Tuple2<Integer, Integer>> c = comparing(t -> t.v1);
+
+        for (int k : asList(0, 1, 10, 999, 1000, 1001)) {
+            assertEquals(seq(list).sorted(c).toList().subList(0, Math.min(k, 1000)), seq(list).bottomK(k, c).toList());
+            assertEquals(seq(list).sorted(c.reversed()).toList().subList(0, Math.min(k, 1000)), seq(list).topK(k, c).toList());
+            assertEquals(seq(list).sorted(c).toList().subList(0, Math.min(k, 1000)), seq(list).parallel(ForkJoinPool.commonPool()).bottomK(k, c).toList());
+        }
+    }
+
+    @Test
+    public void testSortedLimit() {
+        assertEquals(asList(1, 2), Seq.of(3, 1, 4, 2).sorted().limit(2).toList());
+        assertEquals(asList(4, 3), Seq.of(3, 1, 4, 2).sorted(Comparator.reverseOrder()).limit(2).toList());
+        assertEquals(asList(1, 2, 3, 4), Seq.of(3, 1, 4, 2).sorted().limit(5).toList());
+        assertEquals(asList(1, 2), Seq.of(3, 1, 4, 2).sorted().limit(2).sorted().toList());
+        assertEquals(asList(1, 2), Seq.of(3, 1, 4, 2).sorted().sequential().limit(2).toList());
+        assertEquals(asList(1, 2), Seq.of(3, 1, 4, 2).sorted().parallel(ForkJoinPool.commonPool()).limit(2).toList());
+        assertEquals(asList(2, 3), Seq.of(3, 1, 4, 2).sorted().skip(1).limit(2).toList());
+        assertEquals(asList(), Seq.of(3, 1, 4, 2).sorted().limit(0).toList());
+        assertThrows(IllegalArgumentException.class, () -> Seq.of(1).sorted().limit(-1));
+
+        AtomicBoolean closed = new AtomicBoolean();
+        try (Seq<Integer> s = Seq.of(3, 1, 4, 2).onClose(() -> closed.set(true)).sorted().limit(2)) {
+            assertEquals(asList(1, 2), s.toList());
+        }
+        assertTrue(closed.get());
+
+        // The sort is stable
+        assertEquals(asList(tuple(1, "b"), tuple(1, "d")),
+            Seq.of(tuple(2, "a"), tuple(1, "b"), tuple(2, "c"), tuple(1, "d")).sorted(t -> t.v1).limit(2).toList());
+    }
+
+    @Test
+    public void testSortedSpilling() throws IOException {
+        assertEquals(asList(1, 2, 3, 4), Seq.of(4, 1, 3, 2).sorted(Comparator.naturalOrder(), 2).toList());
+        assertEquals(asList(1, 2, 3, 4), Seq.of(4, 1, 3, 2).sorted(Comparator.naturalOrder(), 4).toList());
+        assertEquals(asList(4, 3, 2, 1), Seq.of(4, 1, 3, 2).sorted(Comparator.reverseOrder(), 1).toList());
+        assertEquals(asList(), Seq.<Integer>of().sorted(Comparator.naturalOrder(), 1).toList());
+        assertEquals(asList(1, 2, 3, 4), Seq.of(4, 1, 3, 2).sorted(Comparator.naturalOrder(), 3, (t, out) -> out.writeInt(t), in -> in.readInt()).toList());
+
+        // The sort is stable across runs
+        assertEquals(
+            asList(tuple(1, "b"), tuple(1, "d"), tuple(1, "f"), tuple(2, "a"), tuple(2, "c"), tuple(2, "e")),
+            Seq.of(tuple(2, "a"), tuple(1, "b"), tuple(2, "c"), tuple(1, "d"), tuple(2, "e"), tuple(1, "f"))
+               .sorted(comparing((Tuple2<Integer, String> t) -> t.v1), 2).toList());
+
+        Random random = new Random(1);
+        List<Integer> list = Seq.generate(() -> random.nextInt(1000)).limit(5000).toList();
+        assertEquals(seq(list).sorted().toList(), seq(list).sorted(Comparator.naturalOrder(), 100).toList());
+        assertEquals(seq(list).sorted().toList(), seq(list).sorted(Comparator.naturalOrder(), 100, (t, out) -> out.writeInt(t), in -> in.readInt()).toList());
+
+        // Many runs are merged in several passes
+        assertEquals(seq(list).sorted().toList(), seq(list).sorted(Comparator.naturalOrder(), 1).toList());
+        assertEquals(seq(list).sorted().toList(), seq(list).sorted(Comparator.naturalOrder(), 10, (t, out) -> out.writeInt(t), in -> in.readInt()).toList());
+
+        // Temporary files are deleted once merged, when the sort fails, or when the stream is closed
+        Path directory = Files.createTempDirectory("jool-test-");
+        Supplier<Long> files = () -> {
+            try (Stream<Path> s = Files.list(directory)) {
+                return s.count();
+            }
+            catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+
+        try {
+            ExternalSort.sort(seq(list), Comparator.naturalOrder(), 1000, SpillFiles.serialising(directory, "jool-sort-")).toList();
+            assertEquals(0L, (long) files.get());
+
+            try (Seq<Integer> s = ExternalSort.sort(seq(list), Comparator.naturalOrder(), 1000, SpillFiles.serialising(directory, "jool-sort-"))) {
+                assertEquals(Optional.of(Collections.min(list)), s.findFirst());
+                assertEquals(4L, (long) files.get());
+            }
+            assertEquals(0L, (long) files.get());
+
+            try (Seq<Integer> s = ExternalSort.sort(seq(list), Comparator.naturalOrder(), 10, SpillFiles.serialising(directory, "jool-sort-"))) {
+                assertEquals(Optional.of(Collections.min(list)), s.findFirst());
+                assertTrue(files.get() <= ExternalSort.MAX_FAN_IN);
+            }
+            assertEquals(0L, (long) files.get());
+
+            try (Seq<Object> s = ExternalSort.sort(Seq.of(new Object(), new Object()), comparing(Object::hashCode), 1, SpillFiles.serialising(directory, "jool-sort-"))) {
+                assertThrows(UncheckedIOException.class, () -> s.toList());
+                assertEquals(0L, (long) files.get());
+            }
+        }
+        finally {
+            Files.delete(directory);
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> Seq.of(1).sorted(Comparator.naturalOrder(), 0));
+
+        try (Seq<Object> s = Seq.of(new Object(), new Object()).sorted(comparing(Object::hashCode), 1)) {
+            assertThrows(UncheckedIOException.class, () -> s.toList());
+        }
+
+        try (Seq<Integer> s = Seq.of(2, 1).sorted(Comparator.naturalOrder(), 1, (t, out) -> out.writeInt(t), in -> { throw new Exception(); })) {
+            assertThrows(UncheckedException.class, () -> s.toList());
+        }
+    }
     
     @Test
     public void testSortedComplexPipeline() {
@@ -1976,6 +2490,46 @@ public class SeqTest {
             Seq.rangeClosed(Instant.ofEpochSecond(0L), Instant.ofEpochSecond(5L), Duration.ofSeconds(2)).toList());
     }
 
+    @Test
+    public void testRangeSizedAndSplittable() {
+        assertEquals(3L, Seq.range(0, 5, 2).spliterator().getExactSizeIfKnown());
+        assertEquals(3L, Seq.rangeClosed(0, 4, 2).spliterator().getExactSizeIfKnown());
+        assertEquals(0L, Seq.range(5, 0, 2).spliterator().getExactSizeIfKnown());
+        assertEquals(4L, Seq.range(Instant.ofEpochSecond(0L), Instant.ofEpochSecond(7L), Duration.ofSeconds(2)).spliterator().getExactSizeIfKnown());
+        assertEquals(4L, Seq.rangeClosed(Instant.ofEpochSecond(0L), Instant.ofEpochSecond(6L), Duration.ofSeconds(2)).spliterator().getExactSizeIfKnown());
+
+        Spliterator<Long> s = Seq.range(0L, 1000L).spliterator();
+        Spliterator<Long> prefix = s.trySplit();
+        assertEquals(500L, prefix.getExactSizeIfKnown());
+        assertEquals(500L, s.getExactSizeIfKnown());
+        assertEquals(Seq.range(0L, 500L).toList(), Seq.seq(prefix).toList());
+        assertEquals(Seq.range(500L, 1000L).toList(), Seq.seq(s).toList());
+
+        // Values close to the type's bounds don't overflow
+        assertEquals(asList((byte) 0, (byte) 100), Seq.range((byte) 0, (byte) 127, 100).toList());
+        assertEquals(asList(Integer.MAX_VALUE - 1, Integer.MAX_VALUE), Seq.rangeClosed(Integer.MAX_VALUE - 1, Integer.MAX_VALUE).toList());
+        assertEquals(asList(Long.MAX_VALUE - 1, Long.MAX_VALUE), Seq.rangeClosed(Long.MAX_VALUE - 1, Long.MAX_VALUE).toList());
+        assertEquals(asList(Long.MIN_VALUE, -1L, Long.MAX_VALUE - 1), Seq.range(Long.MIN_VALUE, Long.MAX_VALUE, Long.MAX_VALUE).toList());
+        assertEquals(asList(Long.MIN_VALUE, Long.MIN_VALUE + 1), Seq.rangeClosed(Long.MIN_VALUE, Long.MAX_VALUE).limit(2).toList());
+        assertEquals(asList(Long.MIN_VALUE, Long.MIN_VALUE + 1), Seq.longRangeClosed(Long.MIN_VALUE, Long.MAX_VALUE).limit(2).boxed().collect(toList()));
+
+        assertThrows(IllegalArgumentException.class, () -> Seq.range(0, 5, 0));
+        assertThrows(IllegalArgumentException.class, () -> Seq.range(0L, 5L, -1L));
+        assertThrows(IllegalArgumentException.class, () -> Seq.range(Instant.ofEpochSecond(0L), Instant.ofEpochSecond(1L), Duration.ZERO));
+        assertEquals(asList(), Seq.range(5, 0, 0).toList());
+    }
+
+    @Test
+    public void testRangePrimitiveViews() {
+        assertEquals(asList(0, 2, 4), Seq.intRange(0, 5, 2).boxed().collect(toList()));
+        assertEquals(asList(0, 2, 4), Seq.intRangeClosed(0, 4, 2).boxed().collect(toList()));
+        assertEquals(asList(0L, 1L, 2L), Seq.longRange(0L, 3L).boxed().collect(toList()));
+        assertEquals(asList(0L, 1L, 2L, 3L), Seq.longRangeClosed(0L, 3L).boxed().collect(toList()));
+        assertEquals(50L, Seq.intRange(0, 100, 2).count());
+        assertEquals(IntStream.range(0, 100_000).sum(), Seq.intRange(0, 100_000).parallel().sum());
+        assertEquals(IntStream.range(0, 100_000).filter(i -> i % 3 == 0).sum(), Seq.intRange(0, 100_000, 3).parallel().sum());
+    }
+
     @Test
     public void testGet() {
         assertEquals(Optional.empty(), Seq.of(1, 2, 3).get(-1));
@@ -2315,6 +2869,117 @@ public class SeqTest {
         assertEquals(asList(0.0, 0.0, 1.0, 0.0, 1.0), Seq.of(1, 2, 4, 2, 3).window(i -> i % 2, naturalOrder()).map(Window::percentRank).toList());
     }
     
+    @Test
+    public void testSlidingWindow() {
+        assertEquals(asList(2, 4, 4, 4, 3), Seq.of(1, 2, 4, 2, 3).slidingWindow(-1, 1).map(Frame::max).map(Optional::get).toList());
+        assertEquals(asList(), Seq.<Integer> of().slidingWindow(-1, 1).toList());
+
+        // Sliding windows agree with windows of the buffered stream, also once later frames have been produced
+        List<Integer> list = Seq.range(0, 100).map(i -> (i * 37) % 23).toList();
+        for (Tuple2<Long, Long> frame : asList(tuple(-3L, 0L), tuple(0L, 2L), tuple(-2L, 5L), tuple(2L, 4L), tuple(-4L, -2L), tuple(0L, 0L), tuple(-20L, 30L))) {
+            List<Window<Integer>> expected = Seq.seq(list).window(frame.v1, frame.v2).toList();
+            List<Frame<Integer>> actual = Seq.seq(list).slidingWindow(frame.v1, frame.v2).toList();
+
+            assertEquals(expected.size(), actual.size());
+            for (int i = 0; i < expected.size(); i++) {
+                assertEquals(expected.get(i).value(), actual.get(i).value());
+                assertEquals(expected.get(i).rowNumber(), actual.get(i).rowNumber());
+                assertEquals(expected.get(i).toList(), actual.get(i).toList());
+                assertEquals(expected.get(i).sumInt(x -> x), actual.get(i).sumInt(x -> x));
+                assertEquals(expected.get(i).firstValue(), actual.get(i).firstValue());
+                assertEquals(expected.get(i).lastValue(), actual.get(i).lastValue());
+                assertEquals(expected.get(i).nthValue(1), actual.get(i).nthValue(1));
+                assertEquals(expected.get(i).count(), actual.get(i).count());
+                assertEquals(expected.get(i).max(), actual.get(i).max());
+                assertEquals(expected.get(i).sumLong(x -> x * 3L), actual.get(i).sumLong(x -> x * 3L));
+                assertEquals(expected.get(i).avgDouble(x -> x / 7.0), actual.get(i).avgDouble(x -> x / 7.0), 0.000001);
+                assertEquals(expected.get(i).count(x -> x % 2 == 0), actual.get(i).count(x -> x % 2 == 0));
+                assertEquals(expected.get(i).minBy(x -> x % 5), actual.get(i).minBy(x -> x % 5));
+                assertEquals(expected.get(i).maxBy(x -> x % 5), actual.get(i).maxBy(x -> x % 5));
+            }
+        }
+
+        // Only the frame is buffered, so infinite streams can be windowed
+        assertEquals(asList(0, 1, 3, 6, 9), Seq.iterate(0, i -> i + 1).slidingWindow(-2, 0).map(w -> w.sumInt(i -> i)).limit(5).toList());
+        assertEquals(asList(Optional.of(0), Optional.of(0), Optional.of(1)), Seq.iterate(0, i -> i + 1).slidingWindow(-1, 0).map(Frame::firstValue).limit(3).toList());
+        assertEquals(asList(asList(1, 2, 3), asList(2, 3, 4)), Seq.iterate(1, i -> i + 1).sliding(3).map(s -> s.toList()).limit(2).toList());
+
+        assertEquals(asList(asList(1, 2, 3), asList(2, 3, 4), asList(3, 4, 5)), Seq.of(1, 2, 3, 4, 5).sliding(3).toList().stream().map(s -> s.toList()).collect(toList()));
+        assertEquals(asList(3L, 4L, 5L), Seq.iterate(1L, i -> i + 1).slidingWindow(-2, 0).map(Frame::rowNumber).skip(3).limit(3).toList());
+        assertThrows(IllegalArgumentException.class, () -> Seq.of(1).slidingWindow(Long.MIN_VALUE, 0));
+        assertThrows(IllegalArgumentException.class, () -> Seq.of(1).slidingWindow(0, Long.MAX_VALUE));
+    }
+
+    @Test
+    public void testWindowSharedPartitions() {
+        Function<Integer, Integer> partitionBy = i -> i % 2;
+
+        // Specifications with the same partition function and order share their partitions
+        for (Tuple4<Window<Integer>, Window<Integer>, Window<Integer>, Window<Integer>> t : Seq.of(1, 2, 4, 2, 3).window(
+            Window.of(partitionBy, naturalOrder(), -1, 1),
+            Window.of(partitionBy, naturalOrder()),
+            Window.of(partitionBy, reverseOrder()),
+            Window.of(-1, 1)
+        ).toList()) {
+            assertSame(((WindowImpl<Integer>) t.v1).partition, ((WindowImpl<Integer>) t.v2).partition);
+            assertNotSame(((WindowImpl<Integer>) t.v1).partition, ((WindowImpl<Integer>) t.v3).partition);
+        }
+
+        Tuple2<Window<Integer>, Window<Integer>> t = Seq.of(1, 2, 3).window(Window.of(-1, 1), Window.of(naturalOrder())).findFirst().get();
+        assertNotSame(((WindowImpl<Integer>) t.v1).partition, ((WindowImpl<Integer>) t.v2).partition);
+
+        t = Seq.of(1, 2, 3).window(Window.of(-1, 1), Window.of()).findFirst().get();
+        assertSame(((WindowImpl<Integer>) t.v1).partition, ((WindowImpl<Integer>) t.v2).partition);
+        assertEquals(asList(tuple(3L, 6L), tuple(6L, 6L), tuple(5L, 6L)),
+            Seq.of(1, 2, 3).window(Window.of(-1, 1), Window.of()).map(u -> tuple(u.v1.sumLong(i -> i), u.v2.sumLong(i -> i))).toList());
+
+        // RANGE specifications with the same order key share their partitions
+        ToLongFunction<Integer> orderBy = i -> i;
+        for (Tuple3<Window<Integer>, Window<Integer>, Window<Integer>> u : Seq.of(1, 6, 3, 3).window(
+            Window.ofRange(orderBy, -2, 0),
+            Window.ofRange(orderBy, 0, 2),
+            Window.ofRange(i -> -i, 0, 2)
+        ).toList()) {
+            assertSame(((WindowImpl<Integer>) u.v1).partition, ((WindowImpl<Integer>) u.v2).partition);
+            assertNotSame(((WindowImpl<Integer>) u.v1).partition, ((WindowImpl<Integer>) u.v3).partition);
+        }
+
+        assertEquals(asList(tuple(1L, 3L), tuple(1L, 1L), tuple(3L, 2L), tuple(3L, 2L)),
+            Seq.of(1, 6, 3, 3).window(Window.ofRange(orderBy, -2, 0), Window.ofRange(orderBy, 0, 2)).map(u -> tuple(u.v1.count(), u.v2.count())).toList());
+    }
+
+    @Test
+    public void testWindowFunctionCumeDist() {
+        assertEquals(asList(0.2, 0.6, 1.0, 0.6, 0.8), Seq.of(1, 2, 4, 2, 3).window().map(Window::cumeDist).toList());
+        assertEquals(asList(0.2, 0.6, 1.0, 0.6, 0.8), Seq.of(1, 2, 4, 2, 3).window(naturalOrder()).map(Window::cumeDist).toList());
+        assertEquals(asList(0.5, 2.0 / 3.0, 1.0, 2.0 / 3.0, 1.0), Seq.of(1, 2, 4, 2, 3).window(i -> i % 2, naturalOrder()).map(Window::cumeDist).toList());
+    }
+
+    @Test
+    public void testWindowFunctionRanksOfLargePartitions() {
+        Random random = new Random(0);
+        List<Integer> list = Seq.range(0, 3000).map(i -> random.nextInt(100)).toList();
+
+        // Ranks are computed once per partition, but agree with those computed per row
+        for (Window<Integer> w : Seq.seq(list).window(i -> i % 3, reverseOrder()).toList()) {
+            List<Integer> partition = Seq.seq(list).filter(i -> i % 3 == w.value() % 3).toList();
+            assertEquals((long) Seq.seq(partition).collect(Agg.rank(w.value(), reverseOrder())).get(), w.rank());
+            assertEquals((long) Seq.seq(partition).collect(Agg.denseRank(w.value(), reverseOrder())).get(), w.denseRank());
+            assertEquals(Seq.seq(partition).count(i -> i >= w.value()) / (double) partition.size(), w.cumeDist(), 0.0);
+        }
+
+        for (Window<Integer> w : Seq.seq(list).window(i -> i % 3).toList()) {
+            Seq<Integer> partition = Seq.seq(list).filter(i -> i % 3 == w.value() % 3);
+            assertEquals((long) partition.collect(Agg.rank(w.value())).get(), w.rank());
+        }
+
+        // Peers are ordered by their position in the stream
+        assertEquals(
+            Seq.range(0, 1000).map(i -> (i % 10) * 100L + i / 10).toList(),
+            Seq.range(0, 1000).window(comparing(i -> i % 10)).map(Window::rowNumber).toList()
+        );
+    }
+
     @Test
     public void testWindowFunctionNtile() {
         assertEquals(asList(0L, 0L, 0L, 0L, 0L), Seq.of(1, 2, 4, 2, 3).window().map(w -> w.ntile(1)).toList());
@@ -2546,6 +3211,124 @@ public class SeqTest {
         assertEquals(optional(null, null, 2, 2, 1), Seq.of(1, 2, 4, 2, 3).window(i -> i % 2, naturalOrder(), -3, -1).map(Window::min).toList());
     }
     
+    @Test
+    public void testWindowFunctionLargeFrames() {
+        Random random = new Random(0);
+        List<Tuple2<Integer, Integer>> list = Seq.range(0, 2000).map(i -> tuple(random.nextInt(50), i)).toList();
+
+        // Incrementally evaluated frame aggregates agree with aggregates of the frame's values
+        for (Tuple2<Long, Long> frame : asList(tuple(-100L, 0L), tuple(-50L, 50L), tuple(5L, 10L), tuple(-3L, -1L))) {
+            Seq.seq(list).window(t -> t.v2 % 3, frame.v1, frame.v2).forEach(w -> {
+                assertEquals(w.window().count(t -> t.v1 < 10), w.count(t -> t.v1 < 10));
+                assertEquals(w.window().sumInt(t -> t.v1), w.sumInt(t -> t.v1));
+                assertEquals(w.window().sumLong(t -> t.v1), w.sumLong(t -> t.v1));
+                assertEquals(w.window().sumDouble(t -> t.v1), w.sumDouble(t -> t.v1), 0.0);
+                assertEquals(w.window().avgInt(t -> t.v1), w.avgInt(t -> t.v1), 0.0);
+                assertEquals(w.window().avgLong(t -> t.v1), w.avgLong(t -> t.v1), 0.0);
+                assertEquals(w.window().avgDouble(t -> t.v1), w.avgDouble(t -> t.v1), 1e-9);
+                assertEquals(w.window().min(), w.min());
+                assertEquals(w.window().max(), w.max());
+                assertEquals(w.window().min(t -> t.v1), w.min(t -> t.v1));
+                assertEquals(w.window().max(t -> t.v1), w.max(t -> t.v1));
+                assertEquals(w.window().minBy(t -> t.v1), w.minBy(t -> t.v1));
+                assertEquals(w.window().maxBy(t -> t.v1), w.maxBy(t -> t.v1));
+                assertEquals(w.window().minBy(t -> t.v1 / 10, reverseOrder()), w.minBy(t -> t.v1 / 10, reverseOrder()));
+                assertEquals(w.window().max(comparing(t -> t.v1 / 10)), w.max(comparing(t -> t.v1 / 10)));
+            });
+        }
+
+        // Frames entirely outside of the partition are empty
+        assertEquals(asList(0, 0, 0), Seq.of(1, 2, 3).window(-10L, -5L).map(w -> w.sumInt(i -> i)).toList());
+        assertEquals(asList(0.0, 0.0, 0.0), Seq.of(1, 2, 3).window(5L, 10L).map(w -> w.avgDouble(i -> i)).toList());
+        assertEquals(optional(null, null, null), Seq.of(1, 2, 3).window(-10L, -5L).map(Window::min).toList());
+        assertEquals(asList(0L, 0L, 0L), Seq.of(1, 2, 3).window(5L, 10L).map(Window::count).toList());
+        assertEquals(asList(0L, 0L, 0L), Seq.of(1, 2, 3).window(-10L, -5L).map(Window::count).toList());
+        assertEquals(asList(1L, 0L, 0L), Seq.of(1, 2, 3).window(2L, 10L).map(Window::count).toList());
+
+        // Aggregates with the same function and comparator on the same window don't share cached values
+        Function<Integer, Integer> f = i -> i;
+        Comparator<Integer> c = naturalOrder();
+        assertEquals(optional(1, 1, 1), Seq.of(3, 1, 2).window(-1, 1).map(w -> w.min(f, c)).toList());
+        assertEquals(optional(3, 3, 2), Seq.of(3, 1, 2).window(-1, 1).map(w -> w.max(f, c)).toList());
+        assertEquals(optional(1, 1, 1), Seq.of(3, 1, 2).window().map(w -> w.min(f, c)).toList());
+        assertEquals(optional(3, 3, 3), Seq.of(3, 1, 2).window().map(w -> w.max(f, c)).toList());
+
+        Seq.of(3, 1, 2).window(-1, 1).forEach(w -> {
+            assertEquals(w.window().minBy(f, c), w.minBy(f, c));
+            assertEquals(w.window().min(f, c), w.min(f, c));
+            assertEquals(w.window().maxBy(f, c), w.maxBy(f, c));
+            assertEquals(w.window().max(f, c), w.max(f, c));
+        });
+        Seq.of(3, 1, 2).window().forEach(w -> {
+            assertEquals(Optional.of(1), w.minBy(f, c));
+            assertEquals(Optional.of(1), w.min(f, c));
+            assertEquals(Optional.of(3), w.maxBy(f, c));
+            assertEquals(Optional.of(3), w.max(f, c));
+        });
+    }
+
+    @Test
+    public void testWindowFunctionRangeFrames() {
+        Random random = new Random(0);
+        List<Tuple2<Integer, Integer>> list = Seq.range(0, 1000).map(i -> tuple(random.nextInt(200), i)).toList();
+
+        // RANGE frames contain the rows whose keys lie within the offsets from the current row's key
+        for (Tuple2<Long, Long> frame : asList(tuple(-10L, 0L), tuple(-5L, 5L), tuple(3L, 20L), tuple(-7L, -1L), tuple(Long.MIN_VALUE, 0L), tuple(0L, Long.MAX_VALUE), tuple(5L, -5L))) {
+            Seq.seq(list).window(Window.ofRange(t -> t.v2 % 3, t -> t.v1, frame.v1, frame.v2)).forEach(t -> {
+                Window<Tuple2<Integer, Integer>> w = t.v1;
+                List<Tuple2<Integer, Integer>> expected = Seq.seq(list)
+                    .filter(u -> u.v2 % 3 == w.value().v2 % 3)
+                    .filter(u -> frame.v1 == Long.MIN_VALUE || u.v1 >= w.value().v1 + frame.v1)
+                    .filter(u -> frame.v2 == Long.MAX_VALUE || u.v1 <= w.value().v1 + frame.v2)
+                    .sorted(comparing(u -> u.v1))
+                    .toList();
+
+                assertEquals(expected, w.window().toList());
+                assertEquals(expected.size(), w.count());
+                assertEquals(Seq.seq(expected).sumInt(u -> u.v1), w.sumInt(u -> u.v1));
+                assertEquals(Seq.seq(expected).minBy(u -> u.v1), w.minBy(u -> u.v1));
+                assertEquals(Seq.seq(expected).maxBy(u -> u.v1), w.maxBy(u -> u.v1));
+                assertEquals(Seq.seq(expected).findFirst(), w.firstValue());
+                assertEquals(Seq.seq(expected).findLast(), w.lastValue());
+                assertEquals(Seq.seq(expected).skip(2).findFirst(), w.nthValue(2));
+            });
+        }
+
+        assertEquals(asList(1L, 1L, 3L, 3L), Seq.of(1, 6, 3, 3).window(Window.ofRange(i -> i, -2, 0)).map(t -> t.v1.count()).toList());
+        assertEquals(asList(1L, 1L, 1L), Seq.of(Long.MIN_VALUE, 0L, Long.MAX_VALUE).window(Window.ofRange(l -> l, -1, 1)).map(t -> t.v1.count()).toList());
+    }
+
+    @Test
+    public void testWindowFunctionGroupsFrames() {
+        Random random = new Random(0);
+        List<Tuple2<Integer, Integer>> list = Seq.range(0, 1000).map(i -> tuple(random.nextInt(200), i)).toList();
+        Comparator<Tuple2<Integer, Integer>> order = comparing(t -> t.v1 / 10);
+
+        // GROUPS frames contain the peer groups within the offsets from the current row's peer group
+        for (Tuple2<Long, Long> frame : asList(tuple(-1L, 0L), tuple(-2L, 2L), tuple(1L, 3L), tuple(-3L, -1L), tuple(Long.MIN_VALUE, 0L), tuple(0L, Long.MAX_VALUE), tuple(1L, -1L))) {
+            Seq.seq(list).window(Window.ofGroups(t -> t.v2 % 3, order, frame.v1, frame.v2)).forEach(t -> {
+                Window<Tuple2<Integer, Integer>> w = t.v1;
+                List<Integer> groups = Seq.seq(list).filter(u -> u.v2 % 3 == w.value().v2 % 3).map(u -> u.v1 / 10).distinct().sorted().toList();
+                long group = groups.indexOf(w.value().v1 / 10);
+                List<Tuple2<Integer, Integer>> expected = Seq.seq(list)
+                    .filter(u -> u.v2 % 3 == w.value().v2 % 3)
+                    .filter(u -> frame.v1 == Long.MIN_VALUE || groups.indexOf(u.v1 / 10) >= group + frame.v1)
+                    .filter(u -> frame.v2 == Long.MAX_VALUE || groups.indexOf(u.v1 / 10) <= group + frame.v2)
+                    .sorted(order)
+                    .toList();
+
+                assertEquals(expected, w.window().toList());
+                assertEquals(expected.size(), w.count());
+                assertEquals(Seq.seq(expected).sumInt(u -> u.v1), w.sumInt(u -> u.v1));
+                assertEquals(Seq.seq(expected).minBy(u -> u.v1), w.minBy(u -> u.v1));
+                assertEquals(Seq.seq(expected).findFirst(), w.firstValue());
+                assertEquals(Seq.seq(expected).findLast(), w.lastValue());
+            });
+        }
+
+        assertEquals(asList(1L, 3L, 3L, 3L), Seq.of(1, 6, 3, 3).window(Window.ofGroups(naturalOrder(), -1, 0)).map(t -> t.v1.count()).toList());
+    }
+
     @Test
     public void testWindowFunctionAll() {
         assertEquals(asList(false, false, false, false, false), Seq.of(1, 2, 4, 2, 3).window().map(w -> w.allMatch(i -> i < 4)).toList());
@@ -2756,6 +3539,73 @@ public class SeqTest {
         );
     }
     
+    @Test
+    public void testParallel() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+
+        try {
+            Set<ForkJoinPool> pools = ConcurrentHashMap.newKeySet();
+            Seq<Integer> s = Seq.range(0, 1000).parallel(pool);
+            assertTrue(s.isParallel());
+
+            Seq<Integer> mapped = s.peek(i -> pools.add(ForkJoinTask.getPool())).map(i -> i * 2).filter(i -> i % 3 == 0);
+            assertTrue(mapped.isParallel());
+            assertEquals(Seq.range(0, 1000).map(i -> i * 2).filter(i -> i % 3 == 0).toList(), mapped.toList());
+            assertEquals(asList(pool), new ArrayList<>(pools));
+
+            assertEquals(499500L, (long) Seq.range(0, 1000).parallel(pool).sumLong(i -> i));
+            assertEquals(Optional.of(999), Seq.range(0, 1000).parallel(pool).max());
+            assertEquals(
+                Seq.range(0, 1000).groupBy(i -> i % 10),
+                Seq.range(0, 1000).parallel(pool).groupBy(i -> i % 10));
+
+            // Order-sensitive operations fall back to sequential execution
+            Seq<Tuple2<Integer, Long>> indexed = Seq.range(0, 1000).parallel(pool).map(i -> i + 1).zipWithIndex();
+            assertFalse(indexed.isParallel());
+            assertEquals(Seq.range(1, 1001).zipWithIndex().toList(), indexed.toList());
+            assertEquals(asList(1, 3, 6, 10), Seq.of(1, 2, 3, 4).parallel(pool).scanLeft(0, (a, b) -> a + b).skip(1).toList());
+
+            assertFalse(Seq.of(1, 2, 3).parallel(pool).sequential().isParallel());
+            assertFalse(Seq.of(1, 2, 3).parallel().isParallel());
+        }
+        finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testSplittableAndSizedTransformations() {
+        assertEquals(3L, Seq.of("a", "b", "c").zipWithIndex().spliterator().getExactSizeIfKnown());
+        assertEquals(7L, Seq.of(1, 2, 3, 4).intersperse(0).spliterator().getExactSizeIfKnown());
+        assertEquals(0L, Seq.<Integer>of().intersperse(0).spliterator().getExactSizeIfKnown());
+        assertEquals(2L, Seq.of(1, 2, 3).zip(Seq.of("a", "b")).spliterator().getExactSizeIfKnown());
+        assertEquals(-1L, Seq.of(1, 2, 3).limitWhile(i -> i < 2).spliterator().getExactSizeIfKnown());
+        assertEquals(3L, Seq.of(1, 2, 3).limitWhile(i -> i < 2).spliterator().estimateSize());
+        assertEquals(3L, Seq.of(1, 2, 3).skipWhile(i -> i < 2).spliterator().estimateSize());
+
+        List<Integer> list = Seq.range(0, 5000).toList();
+        List<Integer> linked = Seq.range(0, 4000).toList(LinkedList::new);
+        assertTrue(Seq.seq(list.stream()).zipWithIndex().spliterator().trySplit() != null);
+        assertTrue(Seq.seq(list.stream()).intersperse(-1).spliterator().trySplit() != null);
+        assertTrue(Seq.seq(list.stream()).zip(list.stream()).spliterator().trySplit() != null);
+        assertTrue(Seq.seq(list.stream()).zip(list).spliterator().trySplit() != null);
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+
+        try {
+            assertEquals(Seq.seq(list).zipWithIndex().toList(), Seq.seq(list.stream()).zipWithIndex().parallel(pool).toList());
+            assertEquals(Seq.seq(list).intersperse(-1).toList(), Seq.seq(list.stream()).intersperse(-1).parallel(pool).toList());
+            assertEquals(Seq.seq(list).zip(list).toList(), Seq.seq(list.stream()).zip(list.stream()).parallel(pool).toList());
+            assertEquals(Seq.seq(list).zip(linked).toList(), Seq.seq(list.stream()).zip(linked.stream()).parallel(pool).toList());
+            assertEquals(Seq.seq(linked).zip(list).toList(), Seq.seq(linked.stream()).zip(list.stream()).parallel(pool).toList());
+            assertEquals(4000, Seq.seq(linked.stream()).zip(list.stream()).parallel(pool).count());
+            assertEquals(Seq.range(0, 5000).zip(list).toList(), Seq.range(0, 5000).zip(list).parallel(pool).toList());
+        }
+        finally {
+            pool.shutdown();
+        }
+    }
+
     @Test
     public void testCloseStreamConcat() {
         AtomicBoolean closed1 = new AtomicBoolean();
@@ -17,7 +17,6 @@ package org.jooq.lambda;
 
 import static java.util.Comparator.naturalOrder;
 import static java.util.stream.Collectors.collectingAndThen;
-import static org.jooq.lambda.tuple.Tuple.tuple;
 
 import java.util.ArrayList;
 import java.util.Comparator;
@@ -30,6 +29,7 @@ import java.util.Optional;
 import java.util.TreeSet;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
 import java.util.function.ToIntFunction;
 import java.util.function.ToLongFunction;
 import java.util.stream.Collector;
@@ -167,6 +167,60 @@ public class Agg {
         );
     }
 
+    /**
+     * Get a {@link Collector} that approximates the
+     * <code>COUNT (DISTINCT *)</code> function using a {@link HyperLogLog}
+     * sketch of the argument precision.
+     * <p>
+     * Unlike {@link #countDistinct()}, this collector uses a fixed amount of
+     * memory, regardless of the number of distinct values.
+     */
+    public static <T> Collector<T, ?, Long> approxCountDistinct(int precision) {
+        return approxCountDistinctBy(precision, t -> t);
+    }
+
+    /**
+     * Get a {@link Collector} that approximates the
+     * <code>COUNT (DISTINCT expr)</code> function using a {@link HyperLogLog}
+     * sketch of the argument precision.
+     * <p>
+     * Unlike {@link #countDistinctBy(Function)}, this collector uses a fixed
+     * amount of memory, regardless of the number of distinct values.
+     */
+    public static <T, U> Collector<T, ?, Long> approxCountDistinctBy(int precision, Function<? super T, ? extends U> function) {
+        return Collectors.collectingAndThen(hyperLogLogBy(precision, function), HyperLogLog::estimate);
+    }
+
+    /**
+     * Get a {@link Collector} that collects values into a {@link HyperLogLog}
+     * sketch of the argument precision.
+     * <p>
+     * The resulting sketch can be merged with other sketches, e.g. to
+     * approximate <code>COUNT (DISTINCT *)</code> across several runs.
+     */
+    public static <T> Collector<T, ?, HyperLogLog> hyperLogLog(int precision) {
+        return hyperLogLogBy(precision, t -> t);
+    }
+
+    /**
+     * Get a {@link Collector} that collects values into a {@link HyperLogLog}
+     * sketch of the argument precision.
+     * <p>
+     * The resulting sketch can be merged with other sketches, e.g. to
+     * approximate <code>COUNT (DISTINCT expr)</code> across several runs.
+     */
+    public static <T, U> Collector<T, ?, HyperLogLog> hyperLogLogBy(int precision, Function<? super T, ? extends U> function) {
+        HyperLogLog.checkPrecision(precision);
+
+        return Collector.of(
+            () -> new HyperLogLog(precision),
+            (h, v) -> h.add(function.apply(v)),
+            HyperLogLog::merge,
+            Collector.Characteristics.UNORDERED,
+            Collector.Characteristics.IDENTITY_FINISH
+        );
+    }
+
     /**
      * Get a {@link Collector} that calculates the <code>SUM()</code> for any
      * type of {@link Number}.
@@ -461,6 +515,70 @@ public class Agg {
         );
     }
 
+    /**
+     * Get a {@link Collector} that keeps the <code>k</code> highest values, in descending order.
+     */
+    public static <T extends Comparable<? super T>> Collector<T, ?, Seq<T>> topK(long k) {
+        return topKBy(k, t -> t, naturalOrder());
+    }
+
+    /**
+     * Get a {@link Collector} that keeps the <code>k</code> highest values, in descending order.
+     */
+    public static <T> Collector<T, ?, Seq<T>> topK(long k, Comparator<? super T> comparator) {
+        return topKBy(k, t -> t, comparator);
+    }
+
+    /**
+     * Get a {@link Collector} that keeps the <code>k</code> values with the highest function results, in descending order.
+     */
+    public static <T, U extends Comparable<? super U>> Collector<T, ?, Seq<T>> topKBy(long k, Function<? super T, ? extends U> function) {
+        return topKBy(k, function, naturalOrder());
+    }
+
+    /**
+     * Get a {@link Collector} that keeps the <code>k</code> values with the highest function results, in descending order.
+     * <p>
+     * Values are kept in a bounded heap, in <code>O(n log k)</code> time and
+     * <code>O(k)</code> memory. Among equal function results, earlier values
+     * are kept and produced first.
+     */
+    public static <T, U> Collector<T, ?, Seq<T>> topKBy(long k, Function<? super T, ? extends U> function, Comparator<? super U> comparator) {
+        return collectingAndThen(TopK.collector(k, Comparator.<T, U>comparing(function, comparator).reversed()), Seq::seq);
+    }
+
+    /**
+     * Get a {@link Collector} that keeps the <code>k</code> lowest values, in ascending order.
+     */
+    public static <T extends Comparable<? super T>> Collector<T, ?, Seq<T>> bottomK(long k) {
+        return bottomKBy(k, t -> t, naturalOrder());
+    }
+
+    /**
+     * Get a {@link Collector} that keeps the <code>k</code> lowest values, in ascending order.
+     */
+    public static <T> Collector<T, ?, Seq<T>> bottomK(long k, Comparator<? super T> comparator) {
+        return bottomKBy(k, t -> t, comparator);
+    }
+
+    /**
+     * Get a {@link Collector} that keeps the <code>k</code> values with the lowest function results, in ascending order.
+     */
+    public static <T, U extends Comparable<? super U>> Collector<T, ?, Seq<T>> bottomKBy(long k, Function<? super T, ? extends U> function) {
+        return bottomKBy(k, function, naturalOrder());
+    }
+
+    /**
+     * Get a {@link Collector} that keeps the <code>k</code> values with the lowest function results, in ascending order.
+     * <p>
+     * Values are kept in a bounded heap, in <code>O(n log k)</code> time and
+     * <code>O(k)</code> memory. Among equal function results, earlier values
+     * are kept and produced first.
+     */
+    public static <T, U> Collector<T, ?, Seq<T>> bottomKBy(long k, Function<? super T, ? extends U> function, Comparator<? super U> comparator) {
+        return collectingAndThen(TopK.collector(k, Comparator.<T, U>comparing(function, comparator)), Seq::seq);
+    }
+
     /**
      * Get a {@link Collector} that calculates the <code>ALL()</code> function.
      */
@@ -908,35 +1026,132 @@ public class Agg {
      * Get a {@link Collector} that calculates the derived <code>PERCENTILE_DISC(percentile)</code> function given a specific ordering.
      */
     public static <T, U> Collector<T, ?, Optional<T>> percentileBy(double percentile, Function<? super T, ? extends U> function, Comparator<? super U> comparator) {
+        return collectingAndThen(
+            Selection.collector(new double[] { percentile }, function, comparator),
+            o -> o.map(l -> l.get(0))
+        );
+    }
+
+    /**
+     * Get a {@link Collector} that calculates the
+     * <code>PERCENTILE_DISC(percentile)</code> function for several
+     * percentiles given natural ordering.
+     * <p>
+     * The resulting list contains a value for each argument percentile, in
+     * argument order, or is empty if there are no values. All percentiles are
+     * selected from a single buffer, without sorting it.
+     * <p>
+     * <code><pre>
+     * // Optional[[2, 4, 1]]
+     * Seq.of(4, 1, 3, 2).collect(Agg.percentiles(0.5, 1.0, 0.0));
+     * </pre></code>
+     */
+    public static <T extends Comparable<? super T>> Collector<T, ?, Optional<List<T>>> percentiles(double... percentiles) {
+        return percentilesBy(t -> t, naturalOrder(), percentiles);
+    }
+
+    /**
+     * Get a {@link Collector} that calculates the
+     * <code>PERCENTILE_DISC(percentile)</code> function for several
+     * percentiles given a specific ordering.
+     */
+    public static <T> Collector<T, ?, Optional<List<T>>> percentiles(Comparator<? super T> comparator, double... percentiles) {
+        return percentilesBy(t -> t, comparator, percentiles);
+    }
+
+    /**
+     * Get a {@link Collector} that calculates the derived
+     * <code>PERCENTILE_DISC(percentile)</code> function for several
+     * percentiles given natural ordering.
+     */
+    public static <T, U extends Comparable<? super U>> Collector<T, ?, Optional<List<T>>> percentilesBy(Function<? super T, ? extends U> function, double... percentiles) {
+        return percentilesBy(function, naturalOrder(), percentiles);
+    }
+
+    /**
+     * Get a {@link Collector} that calculates the derived
+     * <code>PERCENTILE_DISC(percentile)</code> function for several
+     * percentiles given a specific ordering.
+     */
+    public static <T, U> Collector<T, ?, Optional<List<T>>> percentilesBy(Function<? super T, ? extends U> function, Comparator<? super U> comparator, double... percentiles) {
+        return Selection.collector(percentiles, function, comparator);
+    }
+
+    /**
+     * Get a {@link Collector} that approximates the <code>MEDIAN()</code>
+     * function using a {@link TDigest} sketch of the argument compression.
+     */
+    public static <T extends Number> Collector<T, ?, Optional<Double>> approxMedian(double compression) {
+        return approxPercentile(0.5, compression);
+    }
+
+    /**
+     * Get a {@link Collector} that approximates the <code>MEDIAN()</code>
+     * function using a {@link TDigest} sketch of the argument compression.
+     */
+    public static <T> Collector<T, ?, Optional<Double>> approxMedian(double compression, ToDoubleFunction<? super T> function) {
+        return approxPercentile(0.5, compression, function);
+    }
+
+    /**
+     * Get a {@link Collector} that approximates the
+     * <code>PERCENTILE_CONT(percentile)</code> function using a
+     * {@link TDigest} sketch of the argument compression.
+     * <p>
+     * Unlike {@link #percentile(double)}, this collector uses a bounded amount
+     * of memory, regardless of the number of values.
+     */
+    public static <T extends Number> Collector<T, ?, Optional<Double>> approxPercentile(double percentile, double compression) {
+        return approxPercentile(percentile, compression, Number::doubleValue);
+    }
+
+    /**
+     * Get a {@link Collector} that approximates the
+     * <code>PERCENTILE_CONT(percentile)</code> function using a
+     * {@link TDigest} sketch of the argument compression.
+     * <p>
+     * Unlike {@link #percentile(double, Function)}, this collector uses a
+     * bounded amount of memory, regardless of the number of values.
+     */
+    public static <T> Collector<T, ?, Optional<Double>> approxPercentile(double percentile, double compression, ToDoubleFunction<? super T> function) {
         if (percentile < 0.0 || percentile > 1.0)
             throw new IllegalArgumentException("Percentile must be between 0.0 and 1.0");
 
-        // At a later stage, we'll optimise this implementation in case that function is the identity function
-        return Collector.of(
-            () -> new ArrayList<Tuple2<T, U>>(),
-            (l, v) -> l.add(tuple(v, function.apply(v))),
-            (l1, l2) -> {
-                l1.addAll(l2);
-                return l1;
-            },
-            l -> {
-                int size = l.size();
-
-                if (size == 0)
-                    return Optional.empty();
-                else if (size == 1)
-                    return Optional.of(l.get(0).v1);
+        return collectingAndThen(
+            tDigest(compression, function),
+            d -> d.count() == 0 ? Optional.empty() : Optional.of(d.quantile(percentile))
+        );
+    }
 
-                l.sort(Comparator.comparing(t -> t.v2, comparator));
+    /**
+     * Get a {@link Collector} that collects values into a {@link TDigest}
+     * sketch of the argument compression.
+     * <p>
+     * The resulting sketch can approximate several percentiles, e.g.
+     * <code>p50</code>, <code>p95</code> and <code>p99</code>, from a single
+     * pass over the values.
+     */
+    public static <T extends Number> Collector<T, ?, TDigest> tDigest(double compression) {
+        return tDigest(compression, Number::doubleValue);
+    }
 
-                if (percentile == 0.0)
-                    return Optional.of(l.get(0).v1);
-                else if (percentile == 1.0)
-                    return Optional.of(l.get(size - 1).v1);
+    /**
+     * Get a {@link Collector} that collects values into a {@link TDigest}
+     * sketch of the argument compression.
+     * <p>
+     * The resulting sketch can approximate several percentiles, e.g.
+     * <code>p50</code>, <code>p95</code> and <code>p99</code>, from a single
+     * pass over the values.
+     */
+    public static <T> Collector<T, ?, TDigest> tDigest(double compression, ToDoubleFunction<? super T> function) {
+        TDigest.checkCompression(compression);
 
-                // x.5 should be rounded down
-                return Optional.of(l.get((int) -Math.round(-(size * percentile + 0.5)) - 1).v1);
-            }
+        return Collector.of(
+            () -> new TDigest(compression),
+            (d, v) -> d.add(function.applyAsDouble(v)),
+            TDigest::merge,
+            Collector.Characteristics.UNORDERED,
+            Collector.Characteristics.IDENTITY_FINISH
         );
     }
 
@@ -0,0 +1,258 @@
+/**
+ * Copyright (c), Data Geekery GmbH, contact@datageekery.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jooq.lambda;
+
+import java.util.DoubleSummaryStatistics;
+import java.util.Objects;
+import java.util.OptionalDouble;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BiConsumer;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleConsumer;
+import java.util.function.DoubleFunction;
+import java.util.function.DoublePredicate;
+import java.util.function.DoubleToIntFunction;
+import java.util.function.DoubleToLongFunction;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.ObjDoubleConsumer;
+import java.util.function.Supplier;
+import java.util.stream.DoubleStream;
+
+/**
+ * @author Lukas Eder
+ */
+class DoubleSeqImpl implements DoubleSeq {
+
+    private final DoubleStream stream;
+    private final ForkJoinPool pool;
+    private double[]           buffered;
+
+    DoubleSeqImpl(DoubleStream stream) {
+        this(stream, null);
+    }
+
+    DoubleSeqImpl(DoubleStream stream, ForkJoinPool pool) {
+        this.stream = pool == null ? stream.sequential() : stream.parallel();
+        this.pool = pool;
+    }
+
+    private DoubleSeq wrap(DoubleStream result) {
+        return new DoubleSeqImpl(result, pool);
+    }
+
+    private <R> R evaluate(Supplier<R> operation) {
+        return SeqUtils.evaluate(pool, operation);
+    }
+
+    @Override
+    public DoubleStream stream() {
+        return buffered == null ? stream : DoubleStream.of(buffered);
+    }
+
+    @Override
+    public DoubleSeq filter(DoublePredicate predicate) {
+        return wrap(stream().filter(predicate));
+    }
+
+    @Override
+    public DoubleSeq map(DoubleUnaryOperator mapper) {
+        return wrap(stream().map(mapper));
+    }
+
+    @Override
+    public <U> Seq<U> mapToObj(DoubleFunction<? extends U> mapper) {
+        return new SeqImpl<>(stream().mapToObj(mapper), pool);
+    }
+
+    @Override
+    public IntSeq mapToInt(DoubleToIntFunction mapper) {
+        return new IntSeqImpl(stream().mapToInt(mapper), pool);
+    }
+
+    @Override
+    public LongSeq mapToLong(DoubleToLongFunction mapper) {
+        return new LongSeqImpl(stream().mapToLong(mapper), pool);
+    }
+
+    @Override
+    public DoubleSeq flatMap(DoubleFunction<? extends DoubleStream> mapper) {
+        return wrap(stream().flatMap(mapper));
+    }
+
+    @Override
+    public DoubleSeq distinct() {
+        return wrap(stream().distinct());
+    }
+
+    @Override
+    public DoubleSeq sorted() {
+        return wrap(stream().sorted());
+    }
+
+    @Override
+    public DoubleSeq peek(DoubleConsumer action) {
+        return wrap(stream().peek(action));
+    }
+
+    @Override
+    public DoubleSeq limit(long maxSize) {
+        return wrap(stream().limit(maxSize));
+    }
+
+    @Override
+    public DoubleSeq skip(long n) {
+        return wrap(stream().skip(n));
+    }
+
+    @Override
+    public Seq<Double> boxed() {
+        return new SeqImpl<>(stream().boxed(), pool);
+    }
+
+    @Override
+    public void forEach(DoubleConsumer action) {
+        evaluate(() -> {
+            stream().forEach(action);
+            return null;
+        });
+    }
+
+    @Override
+    public void forEachOrdered(DoubleConsumer action) {
+        evaluate(() -> {
+            stream().forEachOrdered(action);
+            return null;
+        });
+    }
+
+    @Override
+    public double[] toArray() {
+        return evaluate(() -> stream().toArray());
+    }
+
+    @Override
+    public double reduce(double identity, DoubleBinaryOperator op) {
+        return evaluate(() -> stream().reduce(identity, op));
+    }
+
+    @Override
+    public OptionalDouble reduce(DoubleBinaryOperator op) {
+        return evaluate(() -> stream().reduce(op));
+    }
+
+    @Override
+    public <R> R collect(Supplier<R> supplier, ObjDoubleConsumer<R> accumulator, BiConsumer<R, R> combiner) {
+        return evaluate(() -> stream().collect(supplier, accumulator, combiner));
+    }
+
+    @Override
+    public double sum() {
+        return evaluate(() -> stream().sum());
+    }
+
+    @Override
+    public OptionalDouble min() {
+        return evaluate(() -> stream().min());
+    }
+
+    @Override
+    public OptionalDouble max() {
+        return evaluate(() -> stream().max());
+    }
+
+    @Override
+    public long count() {
+        return evaluate(() -> stream().count());
+    }
+
+    @Override
+    public OptionalDouble average() {
+        return evaluate(() -> stream().average());
+    }
+
+    @Override
+    public DoubleSummaryStatistics summaryStatistics() {
+        return evaluate(() -> stream().summaryStatistics());
+    }
+
+    @Override
+    public boolean anyMatch(DoublePredicate predicate) {
+        return evaluate(() -> stream().anyMatch(predicate));
+    }
+
+    @Override
+    public boolean allMatch(DoublePredicate predicate) {
+        return evaluate(() -> stream().allMatch(predicate));
+    }
+
+    @Override
+    public boolean noneMatch(DoublePredicate predicate) {
+        return evaluate(() -> stream().noneMatch(predicate));
+    }
+
+    @Override
+    public OptionalDouble findFirst() {
+        return evaluate(() -> stream().findFirst());
+    }
+
+    @Override
+    public OptionalDouble findAny() {
+        return evaluate(() -> stream().findAny());
+    }
+
+    @Override
+    public PrimitiveIterator.OfDouble iterator() {
+        return stream().iterator();
+    }
+
+    @Override
+    public Spliterator.OfDouble spliterator() {
+        return stream().spliterator();
+    }
+
+    @Override
+    public boolean isParallel() {
+        return pool != null;
+    }
+
+    @Override
+    public DoubleSeq sequential() {
+        return pool == null ? this : new DoubleSeqImpl(stream);
+    }
+
+    @Override
+    public DoubleSeq parallel(ForkJoinPool p) {
+        return new DoubleSeqImpl(stream, Objects.requireNonNull(p));
+    }
+
+    @Override
+    public DoubleSeq onClose(Runnable closeHandler) {
+        return wrap(stream.onClose(closeHandler));
+    }
+
+    @Override
+    public void close() {
+        stream.close();
+    }
+
+    @Override
+    public String toString() {
+        buffered = toArray();
+        return toString(", ");
+    }
+}
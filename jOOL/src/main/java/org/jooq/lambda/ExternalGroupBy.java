@@ -0,0 +1,243 @@
+/**
+ * Copyright (c), Data Geekery GmbH, contact@datageekery.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jooq.lambda;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collector;
+
+import org.jooq.lambda.fi.util.function.CheckedBiConsumer;
+import org.jooq.lambda.fi.util.function.CheckedFunction;
+import org.jooq.lambda.tuple.Tuple;
+import org.jooq.lambda.tuple.Tuple2;
+
+/**
+ * A hybrid hash aggregation, which spills to disk.
+ * <p>
+ * The input is consumed when the resulting stream is first consumed. Up to
+ * <code>maxKeysInMemory</code> keys are aggregated in memory. Elements of all
+ * other keys are hash partitioned into temporary files, which are then
+ * aggregated one at a time, in the same way, using the next bits of the
+ * keys' hash codes. Each key is thus aggregated in a single pass, with its
+ * elements in encounter order.
+ * <p>
+ * Groups are produced in the order in which they are aggregated: the groups
+ * aggregated in memory first, in encounter order, followed by those of each
+ * partition.
+ *
+ * @author Lukas Eder
+ */
+final class ExternalGroupBy {
+
+    /**
+     * The number of hash code bits that are used for each level of partitioning.
+     */
+    private static final int BITS       = 4;
+    private static final int PARTITIONS = 1 << BITS;
+
+    /**
+     * The level of partitioning after which all hash code bits are used up,
+     * and all keys are aggregated in memory.
+     */
+    private static final int MAX_DEPTH  = Integer.SIZE / BITS;
+
+    /**
+     * Group a stream, spilling elements using Java serialisation.
+     */
+    static <T, K, A, D> Seq<Tuple2<K, D>> grouped(
+        Seq<? extends T> seq,
+        Function<? super T, ? extends K> classifier,
+        Collector<? super T, A, D> downstream,
+        int maxKeysInMemory
+    ) {
+        return grouped(seq, classifier, downstream, maxKeysInMemory, SpillFiles.serialising("jool-group-"));
+    }
+
+    /**
+     * Group a stream, spilling elements using an encoder and a decoder.
+     */
+    static <T, K, A, D> Seq<Tuple2<K, D>> grouped(
+        Seq<? extends T> seq,
+        Function<? super T, ? extends K> classifier,
+        Collector<? super T, A, D> downstream,
+        int maxKeysInMemory,
+        CheckedBiConsumer<? super T, ? super DataOutput> encoder,
+        CheckedFunction<? super DataInput, ? extends T> decoder
+    ) {
+        return grouped(seq, classifier, downstream, maxKeysInMemory, SpillFiles.encoding("jool-group-", encoder, decoder));
+    }
+
+    /**
+     * Group a stream, spilling elements to given files.
+     */
+    static <T, K, A, D> Seq<Tuple2<K, D>> grouped(
+        Seq<? extends T> seq,
+        Function<? super T, ? extends K> classifier,
+        Collector<? super T, A, D> downstream,
+        int maxKeysInMemory,
+        SpillFiles<T> files
+    ) {
+        if (maxKeysInMemory < 1)
+            throw new IllegalArgumentException("Max keys in memory must be >= 1");
+
+        Spliterator<? extends T> delegate = seq.spliterator();
+        Supplier<A> supplier = downstream.supplier();
+        BiConsumer<A, ? super T> accumulator = downstream.accumulator();
+        Function<A, D> finisher = downstream.finisher();
+
+        return Seq.seq(new Spliterators.AbstractSpliterator<Tuple2<K, D>>(Long.MAX_VALUE, Spliterator.ORDERED) {
+
+            // The partitions that remain to be aggregated, and their depths
+            final Deque<Tuple2<SpillFiles<T>.SpillFile, Integer>> partitions = new ArrayDeque<>();
+            boolean started;
+
+            // The groups of the current partition
+            Iterator<Entry<K, A>> groups;
+
+            @Override
+            public boolean tryAdvance(Consumer<? super Tuple2<K, D>> action) {
+                Entry<K, A> group;
+
+                try {
+                    group = next();
+                }
+
+                // Don't leave any files behind, even if the stream isn't closed
+                catch (Throwable e) {
+                    try {
+                        files.close();
+                    }
+                    catch (Throwable e1) {
+                        e.addSuppressed(e1);
+                    }
+
+                    throw e;
+                }
+
+                if (group == null)
+                    return false;
+
+                action.accept(Tuple.tuple(group.getKey(), finisher.apply(group.getValue())));
+                return true;
+            }
+
+            private Entry<K, A> next() {
+                for (;;) {
+                    if (groups != null && groups.hasNext()) {
+                        Entry<K, A> group = groups.next();
+                        groups.remove();
+                        return group;
+                    }
+
+                    groups = null;
+
+                    if (!started) {
+                        started = true;
+                        aggregate(null, 0);
+                    }
+                    else if (!partitions.isEmpty()) {
+                        Tuple2<SpillFiles<T>.SpillFile, Integer> partition = partitions.poll();
+                        aggregate(partition.v1, partition.v2);
+                    }
+                    else {
+                        return null;
+                    }
+                }
+            }
+
+            /**
+             * Aggregate the input, if <code>file</code> is <code>null</code>,
+             * or a spilled partition.
+             */
+            private void aggregate(SpillFiles<T>.SpillFile file, int depth) {
+                Map<K, A> map = new LinkedHashMap<>();
+                List<SpillFiles<T>.SpillFile> spills = new ArrayList<>(Collections.nCopies(PARTITIONS, null));
+
+                Consumer<T> consumer = t -> {
+                    K key = classifier.apply(t);
+                    A container = map.get(key);
+
+                    if (container == null) {
+                        if (map.size() < maxKeysInMemory || depth == MAX_DEPTH) {
+                            container = supplier.get();
+                            map.put(key, container);
+                        }
+                        else {
+                            int p = (hash(key) >>> (depth * BITS)) & (PARTITIONS - 1);
+
+                            if (spills.get(p) == null)
+                                spills.set(p, files.create());
+
+                            spills.get(p).write(t);
+                            return;
+                        }
+                    }
+
+                    accumulator.accept(container, t);
+                };
+
+                if (file == null) {
+                    delegate.forEachRemaining(consumer);
+                }
+                else {
+                    while (file.hasNext())
+                        consumer.accept(file.next());
+
+                    file.delete();
+                }
+
+                for (SpillFiles<T>.SpillFile spill : spills) {
+                    if (spill != null) {
+                        spill.flush();
+                        partitions.add(Tuple.tuple(spill, depth + 1));
+                    }
+                }
+
+                groups = map.entrySet().iterator();
+            }
+        }).onClose(SeqUtils.closeAll(seq, files));
+    }
+
+    /**
+     * A hash code whose bits are all affected by the key's hash code, such
+     * that each level of partitioning uses different bits.
+     */
+    private static int hash(Object key) {
+        int h = Objects.hashCode(key);
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        return h;
+    }
+
+    private ExternalGroupBy() {}
+}
@@ -0,0 +1,271 @@
+/**
+ * Copyright (c), Data Geekery GmbH, contact@datageekery.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jooq.lambda;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+
+import org.jooq.lambda.fi.util.function.CheckedBiConsumer;
+import org.jooq.lambda.fi.util.function.CheckedFunction;
+
+/**
+ * An external merge sort.
+ * <p>
+ * The input is consumed when the resulting stream is first consumed. It is
+ * cut into runs of at most <code>maxElementsInMemory</code> elements, which
+ * are sorted in memory, and all but the last of which are spilled to
+ * temporary files. As long as there are more than {@link #MAX_FAN_IN}
+ * spilled runs, consecutive runs are merged into intermediate runs. The
+ * remaining runs are then merged lazily, keeping only one element per
+ * spilled run in memory. This bounds the number of files that are open at
+ * once, along with their buffers. Temporary files are deleted once they have
+ * been merged, when the sort fails, or when the resulting stream is closed.
+ * <p>
+ * The sort is stable.
+ *
+ * @author Lukas Eder
+ */
+final class ExternalSort {
+
+    /**
+     * The maximum number of spilled runs that are merged at once.
+     */
+    static final int MAX_FAN_IN = 64;
+
+    /**
+     * Sort a stream, spilling elements using Java serialisation.
+     */
+    static <T> Seq<T> sort(Seq<? extends T> seq, Comparator<? super T> comparator, int maxElementsInMemory) {
+        return sort(seq, comparator, maxElementsInMemory, SpillFiles.serialising("jool-sort-"));
+    }
+
+    /**
+     * Sort a stream, spilling elements using an encoder and a decoder.
+     */
+    static <T> Seq<T> sort(
+        Seq<? extends T> seq,
+        Comparator<? super T> comparator,
+        int maxElementsInMemory,
+        CheckedBiConsumer<? super T, ? super DataOutput> encoder,
+        CheckedFunction<? super DataInput, ? extends T> decoder
+    ) {
+        return sort(seq, comparator, maxElementsInMemory, SpillFiles.encoding("jool-sort-", encoder, decoder));
+    }
+
+    /**
+     * Sort a stream, spilling elements to given files.
+     */
+    static <T> Seq<T> sort(Seq<? extends T> seq, Comparator<? super T> comparator, int maxElementsInMemory, SpillFiles<T> files) {
+        if (maxElementsInMemory < 1)
+            throw new IllegalArgumentException("Max elements in memory must be >= 1");
+
+        return Seq.seq(new Sorter<T>(seq.spliterator(), comparator, maxElementsInMemory, files)).onClose(SeqUtils.closeAll(seq, files));
+    }
+
+    private static final class Sorter<T> extends Spliterators.AbstractSpliterator<T> {
+
+        final Spliterator<? extends T> delegate;
+        final Comparator<? super T>    comparator;
+        final int                      maxElementsInMemory;
+        final SpillFiles<T>            files;
+
+        // The current run, while the input is being consumed
+        Object[]                       buffer;
+        int                            size;
+
+        // The spilled runs, and the runs that are being merged
+        final List<Run<T>>             runs;
+        PriorityQueue<Run<T>>          queue;
+
+        Sorter(Spliterator<? extends T> delegate, Comparator<? super T> comparator, int maxElementsInMemory, SpillFiles<T> files) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED);
+
+            this.delegate = delegate;
+            this.comparator = comparator;
+            this.maxElementsInMemory = maxElementsInMemory;
+            this.files = files;
+            this.buffer = new Object[Math.min(maxElementsInMemory, 16)];
+            this.runs = new ArrayList<>();
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            T value;
+
+            try {
+                if (queue == null)
+                    merge();
+
+                Run<T> run = queue.poll();
+                if (run == null)
+                    return false;
+
+                value = run.value;
+                advance(run, queue);
+            }
+
+            // Don't leave any files behind, even if the stream isn't closed
+            catch (Throwable e) {
+                try {
+                    files.close();
+                }
+                catch (Throwable e1) {
+                    e.addSuppressed(e1);
+                }
+
+                throw e;
+            }
+
+            action.accept(value);
+            return true;
+        }
+
+        private void merge() {
+            delegate.forEachRemaining(t -> {
+                if (size == maxElementsInMemory)
+                    spill();
+                else if (size == buffer.length)
+                    buffer = Arrays.copyOf(buffer, (int) Math.min(maxElementsInMemory, size * 2L));
+
+                buffer[size++] = t;
+            });
+
+            while (runs.size() > MAX_FAN_IN) {
+                List<Run<T>> merged = new ArrayList<>();
+
+                for (int i = 0; i < runs.size(); i += MAX_FAN_IN)
+                    merged.add(merge(runs.subList(i, Math.min(i + MAX_FAN_IN, runs.size())), merged.size()));
+
+                runs.clear();
+                runs.addAll(merged);
+            }
+
+            sort();
+            runs.add(new Run<>(runs.size(), null, buffer, size));
+            buffer = null;
+            queue = queue(runs);
+        }
+
+        /**
+         * Merge consecutive spilled runs into an intermediate spilled run.
+         */
+        private Run<T> merge(List<Run<T>> group, int index) {
+            SpillFiles<T>.SpillFile file = group.size() == 1 ? group.get(0).file : files.create();
+
+            if (group.size() > 1) {
+                PriorityQueue<Run<T>> q = queue(group);
+
+                for (Run<T> run; (run = q.poll()) != null; ) {
+                    file.write(run.value);
+                    advance(run, q);
+                }
+
+                file.flush();
+            }
+
+            return new Run<>(index, file, null, 0);
+        }
+
+        private PriorityQueue<Run<T>> queue(List<Run<T>> list) {
+
+            // Ties between runs are broken by their position in the input, to keep the sort stable
+            PriorityQueue<Run<T>> result = new PriorityQueue<>(list.size(), (r1, r2) -> {
+                int c = comparator.compare(r1.value, r2.value);
+                return c != 0 ? c : Integer.compare(r1.index, r2.index);
+            });
+
+            for (Run<T> run : list)
+                advance(run, result);
+
+            return result;
+        }
+
+        private void advance(Run<T> run, PriorityQueue<Run<T>> queue) {
+            if (run.file != null) {
+                if (run.file.hasNext()) {
+                    run.value = run.file.next();
+                    queue.add(run);
+                }
+                else {
+                    run.value = null;
+                    run.file.delete();
+                }
+            }
+            else if (run.position < run.size) {
+                run.value = element(run.values, run.position);
+                run.values[run.position++] = null;
+                queue.add(run);
+            }
+            else {
+                run.value = null;
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private void sort() {
+            Arrays.sort((T[]) buffer, 0, size, comparator);
+        }
+
+        private void spill() {
+            sort();
+
+            SpillFiles<T>.SpillFile file = files.create();
+            runs.add(new Run<>(runs.size(), file, null, size));
+
+            for (int i = 0; i < size; i++) {
+                file.write(element(buffer, i));
+                buffer[i] = null;
+            }
+
+            file.flush();
+            size = 0;
+        }
+
+        @SuppressWarnings("unchecked")
+        private T element(Object[] values, int i) {
+            return (T) values[i];
+        }
+    }
+
+    /**
+     * A sorted run, which is either held in memory, or spilled to a file.
+     */
+    private static final class Run<T> {
+        final int                     index;
+        final SpillFiles<T>.SpillFile file;
+        final Object[]                values;
+        final int                     size;
+        int                           position;
+        T                             value;
+
+        Run(int index, SpillFiles<T>.SpillFile file, Object[] values, int size) {
+            this.index = index;
+            this.file = file;
+            this.values = values;
+            this.size = size;
+        }
+    }
+
+    private ExternalSort() {}
+}
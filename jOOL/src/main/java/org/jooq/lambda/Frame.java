@@ -0,0 +1,114 @@
+/**
+ * Copyright (c), Data Geekery GmbH, contact@datageekery.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jooq.lambda;
+
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * The frame of a row of a sliding window, as produced by
+ * {@link Seq#slidingWindow(long, long)}, to perform calculations upon.
+ * <p>
+ * Unlike a {@link Window}, a frame only knows the rows between its
+ * <code>lower</code> and <code>upper</code> bounds relative to the current
+ * row, which is why it only offers functions that depend on these rows:
+ * access to the current row, to the frame's values, and all aggregate
+ * functions from {@link Collectable}.
+ *
+ * @author Lukas Eder
+ */
+public interface Frame<T> extends Collectable<T> {
+
+    /**
+     * The value of the current row.
+     */
+    T value();
+
+    /**
+     * Stream all elements in the frame.
+     */
+    Seq<T> window();
+
+    /**
+     * The row number of the current row within the stream.
+     * <p>
+     * <pre><code>
+     * // (0, 1, 2, 3, 4)
+     * Seq.of(1, 2, 4, 2, 3).slidingWindow(-1, 1).map(w -> w.rowNumber());
+     * </code></pre>
+     */
+    long rowNumber();
+
+    /**
+     * The first value in the frame.
+     * <p>
+     * <pre><code>
+     * // (1, 1, 2, 4, 2)
+     * Seq.of(1, 2, 4, 2, 3).slidingWindow(-1, 1).map(w -> w.firstValue());
+     * </code></pre>
+     */
+    Optional<T> firstValue();
+
+    /**
+     * The first value in the frame.
+     * <p>
+     * <pre><code>
+     * // (-1, -1, -2, -4, -2)
+     * Seq.of(1, 2, 4, 2, 3).slidingWindow(-1, 1).map(w -> w.firstValue(i -> -i));
+     * </code></pre>
+     */
+    <U> Optional<U> firstValue(Function<? super T, ? extends U> function);
+
+    /**
+     * The last value in the frame.
+     * <p>
+     * <pre><code>
+     * // (2, 4, 2, 3, 3)
+     * Seq.of(1, 2, 4, 2, 3).slidingWindow(-1, 1).map(w -> w.lastValue());
+     * </code></pre>
+     */
+    Optional<T> lastValue();
+
+    /**
+     * The last value in the frame.
+     * <p>
+     * <pre><code>
+     * // (-2, -4, -2, -3, -3)
+     * Seq.of(1, 2, 4, 2, 3).slidingWindow(-1, 1).map(w -> w.lastValue(i -> -i));
+     * </code></pre>
+     */
+    <U> Optional<U> lastValue(Function<? super T, ? extends U> function);
+
+    /**
+     * The nth value in the frame.
+     * <p>
+     * <pre><code>
+     * // (empty, 4, 2, 3, empty)
+     * Seq.of(1, 2, 4, 2, 3).slidingWindow(-1, 1).map(w -> w.nthValue(2));
+     * </code></pre>
+     */
+    Optional<T> nthValue(long n);
+
+    /**
+     * The nth value in the frame.
+     * <p>
+     * <pre><code>
+     * // (empty, -4, -2, -3, empty)
+     * Seq.of(1, 2, 4, 2, 3).slidingWindow(-1, 1).map(w -> w.nthValue(2, i -> -i));
+     * </code></pre>
+     */
+    <U> Optional<U> nthValue(long n, Function<? super T, ? extends U> function);
+}
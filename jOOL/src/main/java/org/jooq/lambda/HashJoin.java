@@ -0,0 +1,233 @@
+/**
+ * Copyright (c), Data Geekery GmbH, contact@datageekery.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jooq.lambda;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.BiPredicate;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+import org.jooq.lambda.tuple.Tuple;
+import org.jooq.lambda.tuple.Tuple2;
+
+/**
+ * Hash join implementations.
+ * <p>
+ * The hash table is built on the right side when the resulting stream is
+ * first consumed, and then probed with the left side, in order. The result
+ * is produced in left side order, with matches in right side order. In a full
+ * outer join, unmatched right side rows are produced last, in right side
+ * order.
+ * <p>
+ * Rows are matched on probe values derived from each side, which are
+ * compared only if their hash codes are equal.
+ *
+ * @author Lukas Eder
+ */
+final class HashJoin {
+
+    /**
+     * Join two streams on keys, compared with {@link Objects#equals(Object, Object)}.
+     */
+    static <T, U, K> Seq<Tuple2<T, U>> join(
+        Seq<? extends T> left,
+        Seq<? extends U> right,
+        Function<? super T, ? extends K> leftKey,
+        Function<? super U, ? extends K> rightKey,
+        boolean leftOuter,
+        boolean rightOuter
+    ) {
+        return join(left, right, leftKey, Objects::hashCode, rightKey, Objects::hashCode, Objects::equals, leftOuter, rightOuter);
+    }
+
+    /**
+     * Join two streams on a predicate, which is evaluated only for rows whose
+     * hash codes are equal.
+     */
+    static <T, U> Seq<Tuple2<T, U>> join(
+        Seq<? extends T> left,
+        Seq<? extends U> right,
+        ToIntFunction<? super T> leftHash,
+        ToIntFunction<? super U> rightHash,
+        BiPredicate<? super T, ? super U> predicate,
+        boolean leftOuter,
+        boolean rightOuter
+    ) {
+        return join(left, right, t -> t, leftHash, u -> u, rightHash, predicate, leftOuter, rightOuter);
+    }
+
+    private static <T, U, L, R> Seq<Tuple2<T, U>> join(
+        Seq<? extends T> left,
+        Seq<? extends U> right,
+        Function<? super T, ? extends L> leftProbe,
+        ToIntFunction<? super L> leftHash,
+        Function<? super U, ? extends R> rightProbe,
+        ToIntFunction<? super R> rightHash,
+        BiPredicate<? super L, ? super R> matcher,
+        boolean leftOuter,
+        boolean rightOuter
+    ) {
+        Spliterator<? extends T> delegate = left.spliterator();
+
+        return Seq.seq(new Spliterators.AbstractSpliterator<Tuple2<T, U>>(Long.MAX_VALUE, Spliterator.ORDERED) {
+            Table<U, R> table;
+
+            // The current left row, its probe value and hash, and the next candidate in its chain
+            T t;
+            L probe;
+            int hash;
+            int candidate = -1;
+            boolean probing;
+            boolean matched;
+
+            // The next right row to check for being unmatched, in a full outer join
+            int unmatched = -1;
+
+            @Override
+            public boolean tryAdvance(Consumer<? super Tuple2<T, U>> action) {
+                if (table == null)
+                    table = new Table<U, R>(right, rightProbe, rightHash, rightOuter);
+
+                for (;;) {
+                    if (probing) {
+                        while (candidate != -1) {
+                            int i = candidate;
+                            candidate = table.next[i];
+
+                            if (table.hashes[i] == hash && matcher.test(probe, table.probe(i))) {
+                                matched = true;
+
+                                if (rightOuter)
+                                    table.matched[i] = true;
+
+                                action.accept(Tuple.tuple(t, table.row(i)));
+                                return true;
+                            }
+                        }
+
+                        probing = false;
+
+                        if (!matched && leftOuter) {
+                            action.accept(Tuple.tuple(t, null));
+                            return true;
+                        }
+                    }
+
+                    if (unmatched == -1) {
+                        if (delegate.tryAdvance(this::probe))
+                            continue;
+
+                        unmatched = 0;
+                        t = null;
+                        probe = null;
+                    }
+
+                    if (!rightOuter)
+                        return false;
+
+                    while (unmatched < table.size)
+                        if (!table.matched[unmatched++]) {
+                            action.accept(Tuple.tuple(null, table.row(unmatched - 1)));
+                            return true;
+                        }
+
+                    return false;
+                }
+            }
+
+            private void probe(T value) {
+                t = value;
+                probe = leftProbe.apply(value);
+                hash = leftHash.applyAsInt(probe);
+                candidate = table.first(hash);
+                probing = true;
+                matched = false;
+            }
+        }).onClose(SeqUtils.closeAll(left, right));
+    }
+
+    /**
+     * A hash table of rows, with their probe values and hashes, chained in
+     * insertion order.
+     */
+    private static final class Table<U, R> {
+
+        Object[]  rows;
+        Object[]  probes;
+        int[]     hashes;
+        int[]     heads;
+        int[]     next;
+        boolean[] matched;
+        int       size;
+
+        Table(Seq<? extends U> right, Function<? super U, ? extends R> rightProbe, ToIntFunction<? super R> rightHash, boolean trackMatches) {
+            rows = new Object[16];
+            probes = new Object[16];
+            hashes = new int[16];
+
+            right.forEach(u -> {
+                if (size == rows.length) {
+                    rows = Arrays.copyOf(rows, size * 2);
+                    probes = Arrays.copyOf(probes, size * 2);
+                    hashes = Arrays.copyOf(hashes, size * 2);
+                }
+
+                R probe = rightProbe.apply(u);
+                rows[size] = u;
+                probes[size] = probe;
+                hashes[size++] = rightHash.applyAsInt(probe);
+            });
+
+            int buckets = Integer.highestOneBit(Math.max(size, 1) * 2 - 1) << 1;
+            heads = new int[buckets];
+            next = new int[size];
+            Arrays.fill(heads, -1);
+
+            // Link chains backwards, such that they're traversed in insertion order
+            for (int i = size - 1; i >= 0; i--) {
+                int bucket = bucket(hashes[i]);
+                next[i] = heads[bucket];
+                heads[bucket] = i;
+            }
+
+            matched = trackMatches ? new boolean[size] : null;
+        }
+
+        int first(int hash) {
+            return heads[bucket(hash)];
+        }
+
+        private int bucket(int hash) {
+            return (hash ^ (hash >>> 16)) & (heads.length - 1);
+        }
+
+        @SuppressWarnings("unchecked")
+        U row(int i) {
+            return (U) rows[i];
+        }
+
+        @SuppressWarnings("unchecked")
+        R probe(int i) {
+            return (R) probes[i];
+        }
+    }
+
+    private HashJoin() {}
+}
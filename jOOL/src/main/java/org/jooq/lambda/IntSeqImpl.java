@@ -0,0 +1,269 @@
+/**
+ * Copyright (c), Data Geekery GmbH, contact@datageekery.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jooq.lambda;
+
+import java.util.IntSummaryStatistics;
+import java.util.Objects;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BiConsumer;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
+import java.util.function.IntToDoubleFunction;
+import java.util.function.IntToLongFunction;
+import java.util.function.IntUnaryOperator;
+import java.util.function.ObjIntConsumer;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+/**
+ * @author Lukas Eder
+ */
+class IntSeqImpl implements IntSeq {
+
+    private final IntStream    stream;
+    private final ForkJoinPool pool;
+    private int[]              buffered;
+
+    IntSeqImpl(IntStream stream) {
+        this(stream, null);
+    }
+
+    IntSeqImpl(IntStream stream, ForkJoinPool pool) {
+        this.stream = pool == null ? stream.sequential() : stream.parallel();
+        this.pool = pool;
+    }
+
+    private IntSeq wrap(IntStream result) {
+        return new IntSeqImpl(result, pool);
+    }
+
+    private <R> R evaluate(Supplier<R> operation) {
+        return SeqUtils.evaluate(pool, operation);
+    }
+
+    @Override
+    public IntStream stream() {
+        return buffered == null ? stream : IntStream.of(buffered);
+    }
+
+    @Override
+    public IntSeq filter(IntPredicate predicate) {
+        return wrap(stream().filter(predicate));
+    }
+
+    @Override
+    public IntSeq map(IntUnaryOperator mapper) {
+        return wrap(stream().map(mapper));
+    }
+
+    @Override
+    public <U> Seq<U> mapToObj(IntFunction<? extends U> mapper) {
+        return new SeqImpl<>(stream().mapToObj(mapper), pool);
+    }
+
+    @Override
+    public LongSeq mapToLong(IntToLongFunction mapper) {
+        return new LongSeqImpl(stream().mapToLong(mapper), pool);
+    }
+
+    @Override
+    public DoubleSeq mapToDouble(IntToDoubleFunction mapper) {
+        return new DoubleSeqImpl(stream().mapToDouble(mapper), pool);
+    }
+
+    @Override
+    public LongSeq asLongStream() {
+        return new LongSeqImpl(stream().asLongStream(), pool);
+    }
+
+    @Override
+    public DoubleSeq asDoubleStream() {
+        return new DoubleSeqImpl(stream().asDoubleStream(), pool);
+    }
+
+    @Override
+    public IntSeq flatMap(IntFunction<? extends IntStream> mapper) {
+        return wrap(stream().flatMap(mapper));
+    }
+
+    @Override
+    public IntSeq distinct() {
+        return wrap(stream().distinct());
+    }
+
+    @Override
+    public IntSeq sorted() {
+        return wrap(stream().sorted());
+    }
+
+    @Override
+    public IntSeq peek(IntConsumer action) {
+        return wrap(stream().peek(action));
+    }
+
+    @Override
+    public IntSeq limit(long maxSize) {
+        return wrap(stream().limit(maxSize));
+    }
+
+    @Override
+    public IntSeq skip(long n) {
+        return wrap(stream().skip(n));
+    }
+
+    @Override
+    public Seq<Integer> boxed() {
+        return new SeqImpl<>(stream().boxed(), pool);
+    }
+
+    @Override
+    public void forEach(IntConsumer action) {
+        evaluate(() -> {
+            stream().forEach(action);
+            return null;
+        });
+    }
+
+    @Override
+    public void forEachOrdered(IntConsumer action) {
+        evaluate(() -> {
+            stream().forEachOrdered(action);
+            return null;
+        });
+    }
+
+    @Override
+    public int[] toArray() {
+        return evaluate(() -> stream().toArray());
+    }
+
+    @Override
+    public int reduce(int identity, IntBinaryOperator op) {
+        return evaluate(() -> stream().reduce(identity, op));
+    }
+
+    @Override
+    public OptionalInt reduce(IntBinaryOperator op) {
+        return evaluate(() -> stream().reduce(op));
+    }
+
+    @Override
+    public <R> R collect(Supplier<R> supplier, ObjIntConsumer<R> accumulator, BiConsumer<R, R> combiner) {
+        return evaluate(() -> stream().collect(supplier, accumulator, combiner));
+    }
+
+    @Override
+    public int sum() {
+        return evaluate(() -> stream().sum());
+    }
+
+    @Override
+    public OptionalInt min() {
+        return evaluate(() -> stream().min());
+    }
+
+    @Override
+    public OptionalInt max() {
+        return evaluate(() -> stream().max());
+    }
+
+    @Override
+    public long count() {
+        return evaluate(() -> stream().count());
+    }
+
+    @Override
+    public OptionalDouble average() {
+        return evaluate(() -> stream().average());
+    }
+
+    @Override
+    public IntSummaryStatistics summaryStatistics() {
+        return evaluate(() -> stream().summaryStatistics());
+    }
+
+    @Override
+    public boolean anyMatch(IntPredicate predicate) {
+        return evaluate(() -> stream().anyMatch(predicate));
+    }
+
+    @Override
+    public boolean allMatch(IntPredicate predicate) {
+        return evaluate(() -> stream().allMatch(predicate));
+    }
+
+    @Override
+    public boolean noneMatch(IntPredicate predicate) {
+        return evaluate(() -> stream().noneMatch(predicate));
+    }
+
+    @Override
+    public OptionalInt findFirst() {
+        return evaluate(() -> stream().findFirst());
+    }
+
+    @Override
+    public OptionalInt findAny() {
+        return evaluate(() -> stream().findAny());
+    }
+
+    @Override
+    public PrimitiveIterator.OfInt iterator() {
+        return stream().iterator();
+    }
+
+    @Override
+    public Spliterator.OfInt spliterator() {
+        return stream().spliterator();
+    }
+
+    @Override
+    public boolean isParallel() {
+        return pool != null;
+    }
+
+    @Override
+    public IntSeq sequential() {
+        return pool == null ? this : new IntSeqImpl(stream);
+    }
+
+    @Override
+    public IntSeq parallel(ForkJoinPool p) {
+        return new IntSeqImpl(stream, Objects.requireNonNull(p));
+    }
+
+    @Override
+    public IntSeq onClose(Runnable closeHandler) {
+        return wrap(stream.onClose(closeHandler));
+    }
+
+    @Override
+    public void close() {
+        stream.close();
+    }
+
+    @Override
+    public String toString() {
+        buffered = toArray();
+        return toString(", ");
+    }
+}
@@ -0,0 +1,284 @@
+/**
+ * Copyright (c), Data Geekery GmbH, contact@datageekery.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jooq.lambda;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.jooq.lambda.tuple.Range;
+import org.jooq.lambda.tuple.Tuple;
+import org.jooq.lambda.tuple.Tuple2;
+
+/**
+ * Interval join implementations.
+ * <p>
+ * The right side intervals are sorted by their lower bounds when the
+ * resulting stream is first consumed, and indexed in a tree that keeps track
+ * of the maximum upper bound of each subtree. Each left side interval is then
+ * looked up in <code>O(log n)</code>, followed by <code>O(log n)</code> per
+ * match, at most. The result is produced in left side order, with matches
+ * ordered by their lower bounds, and then in right side order.
+ * <p>
+ * Bounds are inclusive. <code>null</code> bounds are unbounded, as in
+ * {@link Range}.
+ *
+ * @author Lukas Eder
+ */
+final class IntervalJoin {
+
+    /**
+     * Join two streams on overlapping ranges.
+     */
+    static <T, U, K extends Comparable<K>> Seq<Tuple2<T, U>> join(
+        Seq<? extends T> left,
+        Seq<? extends U> right,
+        Function<? super T, ? extends Range<K>> leftRange,
+        Function<? super U, ? extends Range<K>> rightRange,
+        boolean leftOuter
+    ) {
+        return join(
+            left,
+            right,
+            t -> leftRange.apply(t),
+            u -> rightRange.apply(u),
+            Comparator.<K>naturalOrder(),
+            false,
+            leftOuter
+        );
+    }
+
+    /**
+     * Join two streams on a band predicate of the form
+     * <code>lower(u) &lt;= key(t) &lt;= upper(u)</code>.
+     * <p>
+     * Left side rows whose key is <code>null</code> do not match any right
+     * side rows.
+     */
+    static <T, U, K> Seq<Tuple2<T, U>> join(
+        Seq<? extends T> left,
+        Seq<? extends U> right,
+        Function<? super T, ? extends K> key,
+        Function<? super U, ? extends K> lower,
+        Function<? super U, ? extends K> upper,
+        Comparator<? super K> comparator,
+        boolean leftOuter
+    ) {
+        return join(
+            left,
+            right,
+            t -> { K k = key.apply(t); return Tuple.tuple(k, k); },
+            u -> Tuple.tuple(lower.apply(u), upper.apply(u)),
+            comparator,
+            true,
+            leftOuter
+        );
+    }
+
+    private static <T, U, K> Seq<Tuple2<T, U>> join(
+        Seq<? extends T> left,
+        Seq<? extends U> right,
+        Function<? super T, ? extends Tuple2<? extends K, ? extends K>> leftBounds,
+        Function<? super U, ? extends Tuple2<? extends K, ? extends K>> rightBounds,
+        Comparator<? super K> comparator,
+        boolean points,
+        boolean leftOuter
+    ) {
+        Spliterator<? extends T> delegate = left.spliterator();
+
+        return Seq.seq(new Spliterators.AbstractSpliterator<Tuple2<T, U>>(Long.MAX_VALUE, Spliterator.ORDERED) {
+            Tree<U, K> tree;
+
+            // The current left row, its bounds, and the tree nodes that remain to be visited for it
+            T t;
+            K lower;
+            int end;
+            int[] stack;
+            int top;
+            boolean probing;
+            boolean matched;
+
+            @Override
+            public boolean tryAdvance(Consumer<? super Tuple2<T, U>> action) {
+                if (tree == null) {
+                    tree = new Tree<U, K>(right, rightBounds, comparator);
+                    stack = new int[2 * Integer.numberOfTrailingZeros(tree.leaves) + 2];
+                }
+
+                for (;;) {
+                    if (probing) {
+                        while (top > 0) {
+                            int node = stack[--top];
+                            int max = tree.max[node];
+
+                            if (max == -1 || tree.first(node) >= end || lower != null && !tree.reaches(max, lower))
+                                continue;
+
+                            if (node >= tree.leaves) {
+                                matched = true;
+                                action.accept(Tuple.tuple(t, tree.row(node - tree.leaves)));
+                                return true;
+                            }
+
+                            stack[top++] = 2 * node + 1;
+                            stack[top++] = 2 * node;
+                        }
+
+                        probing = false;
+
+                        if (!matched && leftOuter) {
+                            action.accept(Tuple.tuple(t, null));
+                            return true;
+                        }
+                    }
+
+                    if (!delegate.tryAdvance(this::probe)) {
+                        t = null;
+                        lower = null;
+                        return false;
+                    }
+                }
+            }
+
+            private void probe(T value) {
+                Tuple2<? extends K, ? extends K> bounds = leftBounds.apply(value);
+
+                t = value;
+                lower = bounds.v1;
+                end = points && bounds.v1 == null ? 0 : tree.end(bounds.v2);
+                top = 0;
+                stack[top++] = 1;
+                probing = true;
+                matched = false;
+            }
+        }).onClose(SeqUtils.closeAll(left, right));
+    }
+
+    /**
+     * An implicit, complete binary tree over intervals sorted by their lower
+     * bounds, whose nodes reference the interval with the maximum upper bound
+     * in their subtree.
+     */
+    private static final class Tree<U, K> {
+
+        final Comparator<? super K> comparator;
+        final Object[]              rows;
+        final Object[]              lowers;
+        final Object[]              uppers;
+        final int                   leaves;
+        final int[]                 max;
+
+        Tree(Seq<? extends U> right, Function<? super U, ? extends Tuple2<? extends K, ? extends K>> rightBounds, Comparator<? super K> comparator) {
+            List<Tuple2<U, Tuple2<? extends K, ? extends K>>> list = new ArrayList<>();
+            right.forEach(u -> list.add(Tuple.tuple(u, rightBounds.apply(u))));
+
+            // A stable sort keeps rows with equal lower bounds in right side order
+            Comparator<K> nullsFirst = Comparator.nullsFirst(comparator);
+            list.sort((i1, i2) -> nullsFirst.compare(i1.v2.v1, i2.v2.v1));
+
+            int size = list.size();
+            this.comparator = comparator;
+            this.rows = new Object[size];
+            this.lowers = new Object[size];
+            this.uppers = new Object[size];
+            this.leaves = Integer.highestOneBit(Math.max(size, 1) * 2 - 1);
+            this.max = new int[2 * leaves];
+
+            for (int i = 0; i < size; i++) {
+                Tuple2<U, Tuple2<? extends K, ? extends K>> interval = list.get(i);
+                rows[i] = interval.v1;
+                lowers[i] = interval.v2.v1;
+                uppers[i] = interval.v2.v2;
+            }
+
+            for (int i = 0; i < leaves; i++)
+                max[leaves + i] = i < size ? i : -1;
+
+            for (int node = leaves - 1; node > 0; node--)
+                max[node] = higher(max[2 * node], max[2 * node + 1]);
+        }
+
+        /**
+         * The number of intervals whose lower bound is lower than or equal to
+         * the argument upper bound.
+         */
+        int end(K upper) {
+            if (upper == null)
+                return rows.length;
+
+            int lo = 0;
+            int hi = rows.length;
+
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+
+                if (lowers[mid] == null || comparator.compare(lower(mid), upper) <= 0)
+                    lo = mid + 1;
+                else
+                    hi = mid;
+            }
+
+            return lo;
+        }
+
+        /**
+         * The index of the first interval in a node's subtree.
+         */
+        int first(int node) {
+            return (node << (Integer.numberOfLeadingZeros(node) - Integer.numberOfLeadingZeros(leaves))) - leaves;
+        }
+
+        /**
+         * Whether an interval's upper bound is higher than or equal to the
+         * argument lower bound.
+         */
+        boolean reaches(int i, K lower) {
+            return uppers[i] == null || comparator.compare(upper(i), lower) >= 0;
+        }
+
+        private int higher(int i1, int i2) {
+            if (i1 == -1)
+                return i2;
+            else if (i2 == -1 || uppers[i1] == null)
+                return i1;
+            else if (uppers[i2] == null)
+                return i2;
+            else
+                return comparator.compare(upper(i1), upper(i2)) >= 0 ? i1 : i2;
+        }
+
+        @SuppressWarnings("unchecked")
+        U row(int i) {
+            return (U) rows[i];
+        }
+
+        @SuppressWarnings("unchecked")
+        private K lower(int i) {
+            return (K) lowers[i];
+        }
+
+        @SuppressWarnings("unchecked")
+        private K upper(int i) {
+            return (K) uppers[i];
+        }
+    }
+
+    private IntervalJoin() {}
+}
@@ -0,0 +1,264 @@
+/**
+ * Copyright (c), Data Geekery GmbH, contact@datageekery.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jooq.lambda;
+
+import java.util.LongSummaryStatistics;
+import java.util.Objects;
+import java.util.OptionalDouble;
+import java.util.OptionalLong;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BiConsumer;
+import java.util.function.LongBinaryOperator;
+import java.util.function.LongConsumer;
+import java.util.function.LongFunction;
+import java.util.function.LongPredicate;
+import java.util.function.LongToDoubleFunction;
+import java.util.function.LongToIntFunction;
+import java.util.function.LongUnaryOperator;
+import java.util.function.ObjLongConsumer;
+import java.util.function.Supplier;
+import java.util.stream.LongStream;
+
+/**
+ * @author Lukas Eder
+ */
+class LongSeqImpl implements LongSeq {
+
+    private final LongStream   stream;
+    private final ForkJoinPool pool;
+    private long[]             buffered;
+
+    LongSeqImpl(LongStream stream) {
+        this(stream, null);
+    }
+
+    LongSeqImpl(LongStream stream, ForkJoinPool pool) {
+        this.stream = pool == null ? stream.sequential() : stream.parallel();
+        this.pool = pool;
+    }
+
+    private LongSeq wrap(LongStream result) {
+        return new LongSeqImpl(result, pool);
+    }
+
+    private <R> R evaluate(Supplier<R> operation) {
+        return SeqUtils.evaluate(pool, operation);
+    }
+
+    @Override
+    public LongStream stream() {
+        return buffered == null ? stream : LongStream.of(buffered);
+    }
+
+    @Override
+    public LongSeq filter(LongPredicate predicate) {
+        return wrap(stream().filter(predicate));
+    }
+
+    @Override
+    public LongSeq map(LongUnaryOperator mapper) {
+        return wrap(stream().map(mapper));
+    }
+
+    @Override
+    public <U> Seq<U> mapToObj(LongFunction<? extends U> mapper) {
+        return new SeqImpl<>(stream().mapToObj(mapper), pool);
+    }
+
+    @Override
+    public IntSeq mapToInt(LongToIntFunction mapper) {
+        return new IntSeqImpl(stream().mapToInt(mapper), pool);
+    }
+
+    @Override
+    public DoubleSeq mapToDouble(LongToDoubleFunction mapper) {
+        return new DoubleSeqImpl(stream().mapToDouble(mapper), pool);
+    }
+
+    @Override
+    public DoubleSeq asDoubleStream() {
+        return new DoubleSeqImpl(stream().asDoubleStream(), pool);
+    }
+
+    @Override
+    public LongSeq flatMap(LongFunction<? extends LongStream> mapper) {
+        return wrap(stream().flatMap(mapper));
+    }
+
+    @Override
+    public LongSeq distinct() {
+        return wrap(stream().distinct());
+    }
+
+    @Override
+    public LongSeq sorted() {
+        return wrap(stream().sorted());
+    }
+
+    @Override
+    public LongSeq peek(LongConsumer action) {
+        return wrap(stream().peek(action));
+    }
+
+    @Override
+    public LongSeq limit(long maxSize) {
+        return wrap(stream().limit(maxSize));
+    }
+
+    @Override
+    public LongSeq skip(long n) {
+        return wrap(stream().skip(n));
+    }
+
+    @Override
+    public Seq<Long> boxed() {
+        return new SeqImpl<>(stream().boxed(), pool);
+    }
+
+    @Override
+    public void forEach(LongConsumer action) {
+        evaluate(() -> {
+            stream().forEach(action);
+            return null;
+        });
+    }
+
+    @Override
+    public void forEachOrdered(LongConsumer action) {
+        evaluate(() -> {
+            stream().forEachOrdered(action);
+            return null;
+        });
+    }
+
+    @Override
+    public long[] toArray() {
+        return evaluate(() -> stream().toArray());
+    }
+
+    @Override
+    public long reduce(long identity, LongBinaryOperator op) {
+        return evaluate(() -> stream().reduce(identity, op));
+    }
+
+    @Override
+    public OptionalLong reduce(LongBinaryOperator op) {
+        return evaluate(() -> stream().reduce(op));
+    }
+
+    @Override
+    public <R> R collect(Supplier<R> supplier, ObjLongConsumer<R> accumulator, BiConsumer<R, R> combiner) {
+        return evaluate(() -> stream().collect(supplier, accumulator, combiner));
+    }
+
+    @Override
+    public long sum() {
+        return evaluate(() -> stream().sum());
+    }
+
+    @Override
+    public OptionalLong min() {
+        return evaluate(() -> stream().min());
+    }
+
+    @Override
+    public OptionalLong max() {
+        return evaluate(() -> stream().max());
+    }
+
+    @Override
+    public long count() {
+        return evaluate(() -> stream().count());
+    }
+
+    @Override
+    public OptionalDouble average() {
+        return evaluate(() -> stream().average());
+    }
+
+    @Override
+    public LongSummaryStatistics summaryStatistics() {
+        return evaluate(() -> stream().summaryStatistics());
+    }
+
+    @Override
+    public boolean anyMatch(LongPredicate predicate) {
+        return evaluate(() -> stream().anyMatch(predicate));
+    }
+
+    @Override
+    public boolean allMatch(LongPredicate predicate) {
+        return evaluate(() -> stream().allMatch(predicate));
+    }
+
+    @Override
+    public boolean noneMatch(LongPredicate predicate) {
+        return evaluate(() -> stream().noneMatch(predicate));
+    }
+
+    @Override
+    public OptionalLong findFirst() {
+        return evaluate(() -> stream().findFirst());
+    }
+
+    @Override
+    public OptionalLong findAny() {
+        return evaluate(() -> stream().findAny());
+    }
+
+    @Override
+    public PrimitiveIterator.OfLong iterator() {
+        return stream().iterator();
+    }
+
+    @Override
+    public Spliterator.OfLong spliterator() {
+        return stream().spliterator();
+    }
+
+    @Override
+    public boolean isParallel() {
+        return pool != null;
+    }
+
+    @Override
+    public LongSeq sequential() {
+        return pool == null ? this : new LongSeqImpl(stream);
+    }
+
+    @Override
+    public LongSeq parallel(ForkJoinPool p) {
+        return new LongSeqImpl(stream, Objects.requireNonNull(p));
+    }
+
+    @Override
+    public LongSeq onClose(Runnable closeHandler) {
+        return wrap(stream.onClose(closeHandler));
+    }
+
+    @Override
+    public void close() {
+        stream.close();
+    }
+
+    @Override
+    public String toString() {
+        buffered = toArray();
+        return toString(", ");
+    }
+}
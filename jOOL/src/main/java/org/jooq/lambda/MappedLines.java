@@ -0,0 +1,259 @@
+/**
+ * Copyright (c), Data Geekery GmbH, contact@datageekery.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jooq.lambda;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * The lines of a memory mapped file.
+ * <p>
+ * A file is mapped in segments of at most <code>segmentSize</code> bytes,
+ * each of which ends right after a line break, such that no line spans two
+ * segments. Lines are produced as zero-copy views of the mapped segments.
+ * <p>
+ * There is no portable way to unmap a {@link MappedByteBuffer}. On
+ * {@link #close()}, all references to the mapped segments are released, such
+ * that the mapping can be reclaimed by the garbage collector. The file
+ * channel itself is closed right after mapping.
+ *
+ * @author Lukas Eder
+ */
+final class MappedLines implements AutoCloseable {
+
+    static final int              MAX_SEGMENT_SIZE = Integer.MAX_VALUE;
+
+    private volatile ByteBuffer[] segments;
+    private final long[]          starts;
+    private final long            size;
+
+    private MappedLines(ByteBuffer[] segments, long[] starts, long size) {
+        this.segments = segments;
+        this.starts = starts;
+        this.size = size;
+    }
+
+    /**
+     * Map a file in segments of at most <code>segmentSize</code> bytes.
+     */
+    static MappedLines map(Path path, int segmentSize) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            List<ByteBuffer> segments = new ArrayList<>();
+            List<Long> starts = new ArrayList<>();
+
+            for (long start = 0; start < size;) {
+                long length = Math.min(segmentSize, size - start);
+                MappedByteBuffer buffer = channel.map(MapMode.READ_ONLY, start, length);
+
+                // Cut the segment right after its last line break, unless this is the last segment
+                if (start + length < size) {
+                    int end = (int) length;
+
+                    while (end > 0 && buffer.get(end - 1) != '\n')
+                        end--;
+
+                    if (end == 0)
+                        throw new UncheckedIOException(new IOException("Line at position " + start + " exceeds segment size " + segmentSize));
+
+                    length = end;
+                    buffer.limit(end);
+                }
+
+                segments.add(buffer);
+                starts.add(start);
+                start += length;
+            }
+
+            long[] s = new long[starts.size() + 1];
+            for (int i = 0; i < starts.size(); i++)
+                s[i] = starts.get(i);
+            s[starts.size()] = size;
+
+            return new MappedLines(segments.toArray(new ByteBuffer[0]), s, size);
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * The lines as read-only {@link ByteBuffer} views, excluding line breaks.
+     */
+    Spliterator<ByteBuffer> buffers() {
+        return new LineSpliterator<>(0L, size, Function.identity());
+    }
+
+    /**
+     * The lines as ISO-8859-1 {@link CharSequence} views, excluding line
+     * breaks.
+     */
+    Spliterator<CharSequence> chars() {
+        return new LineSpliterator<>(0L, size, Latin1CharSequence::new);
+    }
+
+    @Override
+    public void close() {
+        segments = null;
+    }
+
+    private ByteBuffer segment(int index) {
+        ByteBuffer[] s = segments;
+
+        if (s == null)
+            throw new IllegalStateException("Mapped file is closed");
+
+        return s[index];
+    }
+
+    private int segmentIndex(long position) {
+        int index = Arrays.binarySearch(starts, position);
+        return index >= 0 ? index : -index - 2;
+    }
+
+    /**
+     * A {@link Spliterator} over the lines within <code>[position, end)</code>,
+     * both of which are positions right after a line break, or the file bounds.
+     */
+    private final class LineSpliterator<T> implements Spliterator<T> {
+
+        private final Function<ByteBuffer, ? extends T> view;
+        private long                                    position;
+        private final long                              end;
+
+        LineSpliterator(long position, long end, Function<ByteBuffer, ? extends T> view) {
+            this.position = position;
+            this.end = end;
+            this.view = view;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if (position >= end)
+                return false;
+
+            int index = segmentIndex(position);
+            ByteBuffer segment = segment(index);
+            int from = (int) (position - starts[index]);
+            int limit = (int) (Math.min(end, starts[index + 1]) - starts[index]);
+            int to = from;
+
+            while (to < limit && segment.get(to) != '\n')
+                to++;
+
+            position = starts[index] + Math.min(to + 1, limit);
+
+            if (to > from && segment.get(to - 1) == '\r' && to < limit)
+                to--;
+
+            ByteBuffer line = segment.duplicate();
+            line.limit(to);
+            line.position(from);
+            action.accept(view.apply(line.slice()));
+            return true;
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            long mid = (position + end) >>> 1;
+
+            if (mid <= position)
+                return null;
+
+            int index = segmentIndex(mid);
+            ByteBuffer segment = segment(index);
+            int limit = (int) (Math.min(end, starts[index + 1]) - starts[index]);
+            int split = (int) (mid - starts[index]);
+
+            while (split > 0 && split < limit && segment.get(split - 1) != '\n')
+                split++;
+
+            long s = starts[index] + split;
+            if (s <= position || s >= end)
+                return null;
+
+            Spliterator<T> prefix = new LineSpliterator<>(position, s, view);
+            position = s;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return end - position;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | NONNULL | IMMUTABLE;
+        }
+    }
+
+    /**
+     * A {@link CharSequence} view of ISO-8859-1 encoded bytes.
+     */
+    static final class Latin1CharSequence implements CharSequence {
+
+        private final ByteBuffer bytes;
+
+        Latin1CharSequence(ByteBuffer bytes) {
+            this.bytes = bytes;
+        }
+
+        @Override
+        public int length() {
+            return bytes.remaining();
+        }
+
+        @Override
+        public char charAt(int index) {
+            if (index < 0 || index >= length())
+                throw new IndexOutOfBoundsException("Index: " + index + ", Length: " + length());
+
+            return (char) (bytes.get(bytes.position() + index) & 0xFF);
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            if (start < 0 || end > length() || start > end)
+                throw new IndexOutOfBoundsException("Start: " + start + ", End: " + end + ", Length: " + length());
+
+            ByteBuffer sub = bytes.duplicate();
+            sub.limit(bytes.position() + end);
+            sub.position(bytes.position() + start);
+            return new Latin1CharSequence(sub.slice());
+        }
+
+        @Override
+        public String toString() {
+            byte[] array = new byte[length()];
+            bytes.duplicate().get(array);
+            return new String(array, StandardCharsets.ISO_8859_1);
+        }
+    }
+}
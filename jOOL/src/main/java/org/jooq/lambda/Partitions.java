@@ -0,0 +1,42 @@
+/**
+ * Copyright (c), Data Geekery GmbH, contact@datageekery.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jooq.lambda;
+
+import java.util.List;
+
+/**
+ * The partitions of a window specification, and the partition and position
+ * of each row of the windowed stream.
+ *
+ * @author Lukas Eder
+ */
+final class Partitions<T> {
+
+    private final List<Partition<T>> partitions;
+    private final int[]              positions;
+
+    Partitions(List<Partition<T>> partitions, int[] positions) {
+        this.partitions = partitions;
+        this.positions = positions;
+    }
+
+    /**
+     * The window of a row of the windowed stream.
+     */
+    Window<T> window(int row, WindowSpecification<T> specification) {
+        return new WindowImpl<>(partitions.get(row), positions[row], specification);
+    }
+}
@@ -0,0 +1,253 @@
+/**
+ * Copyright (c), Data Geekery GmbH, contact@datageekery.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jooq.lambda;
+
+import java.util.Arrays;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.DoubleConsumer;
+import java.util.function.IntConsumer;
+import java.util.function.LongConsumer;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+/**
+ * Utilities shared by {@link IntSeq}, {@link LongSeq} and {@link DoubleSeq}.
+ *
+ * @author Lukas Eder
+ */
+final class PrimitiveSeqUtils {
+
+    static IntSeq transform(IntStream stream, IntDelegatingSpliterator delegating) {
+        Spliterator.OfInt delegate = stream.spliterator();
+
+        return IntSeq.seq(new Spliterators.AbstractIntSpliterator(Long.MAX_VALUE, delegate.characteristics() & Spliterator.ORDERED) {
+            @Override
+            public boolean tryAdvance(IntConsumer action) {
+                return delegating.tryAdvance(delegate, action);
+            }
+        }).onClose(stream::close);
+    }
+
+    static LongSeq transform(LongStream stream, LongDelegatingSpliterator delegating) {
+        Spliterator.OfLong delegate = stream.spliterator();
+
+        return LongSeq.seq(new Spliterators.AbstractLongSpliterator(Long.MAX_VALUE, delegate.characteristics() & Spliterator.ORDERED) {
+            @Override
+            public boolean tryAdvance(LongConsumer action) {
+                return delegating.tryAdvance(delegate, action);
+            }
+        }).onClose(stream::close);
+    }
+
+    static DoubleSeq transform(DoubleStream stream, DoubleDelegatingSpliterator delegating) {
+        Spliterator.OfDouble delegate = stream.spliterator();
+
+        return DoubleSeq.seq(new Spliterators.AbstractDoubleSpliterator(Long.MAX_VALUE, delegate.characteristics() & Spliterator.ORDERED) {
+            @Override
+            public boolean tryAdvance(DoubleConsumer action) {
+                return delegating.tryAdvance(delegate, action);
+            }
+        }).onClose(stream::close);
+    }
+
+    static void checkPercentile(double percentile) {
+        if (percentile < 0.0 || percentile > 1.0)
+            throw new IllegalArgumentException("Percentile must be between 0.0 and 1.0");
+    }
+
+    /**
+     * The index of the <code>PERCENTILE_DISC()</code> value in a sorted array
+     * of <code>size</code> values, as computed by {@link Agg#percentile(double)}.
+     */
+    static int percentileIndex(double percentile, int size) {
+        if (size == 1 || percentile == 0.0)
+            return 0;
+        else if (percentile == 1.0)
+            return size - 1;
+
+        // x.5 should be rounded down
+        return (int) -Math.round(-(size * percentile + 0.5)) - 1;
+    }
+
+    /**
+     * The number of runs of equal values in a sorted array.
+     */
+    static long countRuns(int[] sorted) {
+        long runs = sorted.length == 0 ? 0 : 1;
+
+        for (int i = 1; i < sorted.length; i++)
+            if (sorted[i] != sorted[i - 1])
+                runs++;
+
+        return runs;
+    }
+
+    /**
+     * The first of the most frequent values of a non-empty array in encounter
+     * order, found by counting the runs of the sorted values, and then looking
+     * up each value's run by binary search.
+     */
+    static int mode(int[] values) {
+        int[] sorted = values.clone();
+        Arrays.sort(sorted);
+
+        int[] distinct = new int[sorted.length];
+        int[] counts = new int[sorted.length];
+        int runs = 0;
+        int max = 0;
+
+        for (int i = 0, j; i < sorted.length; i = j, runs++) {
+            j = runEnd(sorted, i);
+            distinct[runs] = sorted[i];
+            counts[runs] = j - i;
+            max = Math.max(max, j - i);
+        }
+
+        for (int value : values)
+            if (counts[Arrays.binarySearch(distinct, 0, runs, value)] == max)
+                return value;
+
+        throw new IllegalStateException();
+    }
+
+    private static int runEnd(int[] sorted, int start) {
+        int end = start + 1;
+
+        while (end < sorted.length && sorted[end] == sorted[start])
+            end++;
+
+        return end;
+    }
+
+    /**
+     * The number of runs of equal values in a sorted array.
+     */
+    static long countRuns(long[] sorted) {
+        long runs = sorted.length == 0 ? 0 : 1;
+
+        for (int i = 1; i < sorted.length; i++)
+            if (sorted[i] != sorted[i - 1])
+                runs++;
+
+        return runs;
+    }
+
+    /**
+     * The first of the most frequent values of a non-empty array in encounter
+     * order, found by counting the runs of the sorted values, and then looking
+     * up each value's run by binary search.
+     */
+    static long mode(long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+
+        long[] distinct = new long[sorted.length];
+        int[] counts = new int[sorted.length];
+        int runs = 0;
+        int max = 0;
+
+        for (int i = 0, j; i < sorted.length; i = j, runs++) {
+            j = runEnd(sorted, i);
+            distinct[runs] = sorted[i];
+            counts[runs] = j - i;
+            max = Math.max(max, j - i);
+        }
+
+        for (long value : values)
+            if (counts[Arrays.binarySearch(distinct, 0, runs, value)] == max)
+                return value;
+
+        throw new IllegalStateException();
+    }
+
+    private static int runEnd(long[] sorted, int start) {
+        int end = start + 1;
+
+        while (end < sorted.length && sorted[end] == sorted[start])
+            end++;
+
+        return end;
+    }
+
+    /**
+     * The number of runs of equal values in a sorted array.
+     */
+    static long countRuns(double[] sorted) {
+        long runs = sorted.length == 0 ? 0 : 1;
+
+        for (int i = 1; i < sorted.length; i++)
+            if (Double.compare(sorted[i], sorted[i - 1]) != 0)
+                runs++;
+
+        return runs;
+    }
+
+    /**
+     * The first of the most frequent values of a non-empty array in encounter
+     * order, found by counting the runs of the sorted values, and then looking
+     * up each value's run by binary search.
+     */
+    static double mode(double[] values) {
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+
+        double[] distinct = new double[sorted.length];
+        int[] counts = new int[sorted.length];
+        int runs = 0;
+        int max = 0;
+
+        for (int i = 0, j; i < sorted.length; i = j, runs++) {
+            j = runEnd(sorted, i);
+            distinct[runs] = sorted[i];
+            counts[runs] = j - i;
+            max = Math.max(max, j - i);
+        }
+
+        for (double value : values)
+            if (counts[Arrays.binarySearch(distinct, 0, runs, value)] == max)
+                return value;
+
+        throw new IllegalStateException();
+    }
+
+    private static int runEnd(double[] sorted, int start) {
+        int end = start + 1;
+
+        while (end < sorted.length && Double.compare(sorted[end], sorted[start]) == 0)
+            end++;
+
+        return end;
+    }
+
+    @FunctionalInterface
+    interface IntDelegatingSpliterator {
+        boolean tryAdvance(Spliterator.OfInt delegate, IntConsumer action);
+    }
+
+    @FunctionalInterface
+    interface LongDelegatingSpliterator {
+        boolean tryAdvance(Spliterator.OfLong delegate, LongConsumer action);
+    }
+
+    @FunctionalInterface
+    interface DoubleDelegatingSpliterator {
+        boolean tryAdvance(Spliterator.OfDouble delegate, DoubleConsumer action);
+    }
+
+    private PrimitiveSeqUtils() {}
+}
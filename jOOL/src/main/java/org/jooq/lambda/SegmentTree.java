@@ -0,0 +1,103 @@
+/**
+ * Copyright (c), Data Geekery GmbH, contact@datageekery.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jooq.lambda;
+
+import java.util.function.IntBinaryOperator;
+
+/**
+ * A segment tree over the indexes <code>0 .. n - 1</code>, which aggregates
+ * any range of indexes in <code>O(log n)</code> using an associative
+ * operator that selects one of two indexes, e.g. that of the minimum value.
+ * <p>
+ * Ranges are aggregated from left to right, such that the result is the same
+ * as that of a sequential reduction.
+ *
+ * @author Lukas Eder
+ */
+final class SegmentTree {
+
+    private final int               n;
+    private final int[]             nodes;
+    private final IntBinaryOperator operator;
+
+    SegmentTree(int n, IntBinaryOperator operator) {
+        this.n = n;
+        this.nodes = new int[2 * n];
+        this.operator = operator;
+
+        for (int i = 0; i < n; i++)
+            nodes[n + i] = i;
+
+        for (int i = n - 1; i > 0; i--)
+            nodes[i] = operator.applyAsInt(nodes[2 * i], nodes[2 * i + 1]);
+    }
+
+    /**
+     * The aggregated index of the range <code>from .. to - 1</code>, or
+     * <code>-1</code> if the range is empty.
+     */
+    int get(int from, int to) {
+        int left = -1;
+        int right = -1;
+
+        for (from += n, to += n; from < to; from >>= 1, to >>= 1) {
+            if ((from & 1) == 1)
+                left = apply(left, nodes[from++]);
+            if ((to & 1) == 1)
+                right = apply(nodes[--to], right);
+        }
+
+        return apply(left, right);
+    }
+
+    private int apply(int i, int j) {
+        return i == -1 ? j : j == -1 ? i : operator.applyAsInt(i, j);
+    }
+
+    /**
+     * A segment tree of <code>double</code> sums.
+     */
+    static final class OfDouble {
+
+        private final int      n;
+        private final double[] nodes;
+
+        OfDouble(double[] values) {
+            this.n = values.length;
+            this.nodes = new double[2 * n];
+
+            System.arraycopy(values, 0, nodes, n, n);
+            for (int i = n - 1; i > 0; i--)
+                nodes[i] = nodes[2 * i] + nodes[2 * i + 1];
+        }
+
+        /**
+         * The sum of the range <code>from .. to - 1</code>.
+         */
+        double sum(int from, int to) {
+            double result = 0.0;
+
+            for (from += n, to += n; from < to; from >>= 1, to >>= 1) {
+                if ((from & 1) == 1)
+                    result += nodes[from++];
+                if ((to & 1) == 1)
+                    result += nodes[--to];
+            }
+
+            return result;
+        }
+    }
+}
@@ -0,0 +1,228 @@
+/**
+ * Copyright (c), Data Geekery GmbH, contact@datageekery.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jooq.lambda;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
+import java.util.stream.Stream;
+
+/**
+ * A {@link Frame} of an unpartitioned, unordered stream, whose partition
+ * only consists of the rows of its frame, and of the current row.
+ * <p>
+ * Frames are produced while consuming the stream through a buffer of the
+ * size of the frame, rather than buffering the complete stream. The buffer
+ * is only ever appended to, and each frame is a view of a range of it. Once
+ * the buffer is full, the rows that are still needed are moved to a new
+ * buffer, which leaves the ranges that previous frames view untouched. Each
+ * row is thus moved an amortised constant number of times.
+ * <p>
+ * Rather than building the structures of a partition for each frame, the
+ * frames of a buffer share prefix sums over the complete buffer, which are
+ * extended as the frames advance. Other aggregates are computed from the
+ * frame's rows.
+ *
+ * @author Lukas Eder
+ */
+class SlidingWindowImpl<T> extends WindowImpl<T> implements Frame<T> {
+
+    private final long      rowNumber;
+    private final Buffer<T> buffer;
+    private final int       offset;
+
+    SlidingWindowImpl(Rows<T> rows, long rowNumber, WindowSpecification<T> specification) {
+        super(new Partition<>(rows.list()), (int) (rowNumber - rows.first), specification);
+
+        this.rowNumber = rowNumber;
+        this.buffer = rows.buffer;
+        this.offset = rows.start;
+    }
+
+    /**
+     * Stream the frames of a sliding window, through a buffer of the frame's
+     * rows.
+     */
+    static <T> Seq<Frame<T>> window(Stream<? extends T> stream, long lower, long upper) {
+        if (lower == Long.MIN_VALUE || upper == Long.MAX_VALUE)
+            throw new IllegalArgumentException("Frame must be bounded");
+
+        WindowSpecification<T> specification = Window.of(lower, upper);
+        Rows<T> rows = new Rows<>();
+        long[] row = { 0L };
+        boolean[] exhausted = { false };
+
+        return SeqUtils.transform(stream, (delegate, action) -> {
+            long i = row[0];
+
+            // The buffer contains the frame and the current row
+            while (!exhausted[0] && rows.read <= i + Math.max(0L, upper))
+                if (!delegate.tryAdvance(rows::add))
+                    exhausted[0] = true;
+
+            rows.evict(i + Math.min(0L, lower));
+
+            if (i >= rows.read)
+                return false;
+
+            action.accept(new SlidingWindowImpl<>(rows, i, specification));
+            row[0]++;
+            return true;
+        });
+    }
+
+    @Override
+    public long rowNumber() {
+        return rowNumber;
+    }
+
+    @Override
+    long sum0(Object function, ToLongFunction<? super T> values) {
+        long[] sums = buffer.prefixSums(function, values, offset + to());
+        return sums[offset + to()] - sums[offset + from()];
+    }
+
+    @Override
+    double sumDouble0(ToDoubleFunction<? super T> function) {
+        return window().mapToDouble(function).sum();
+    }
+
+    @Override
+    <U> Optional<T> minBy0(Function<? super T, ? extends U> function, Comparator<? super U> comparator) {
+        return extremum0(function, comparator);
+    }
+
+    @Override
+    <U> Optional<T> maxBy0(Function<? super T, ? extends U> function, Comparator<? super U> comparator) {
+        return extremum0(function, comparator.reversed());
+    }
+
+    /**
+     * The first minimum of the frame, like the segment trees of a
+     * {@link Partition}.
+     */
+    private <U> Optional<T> extremum0(Function<? super T, ? extends U> function, Comparator<? super U> comparator) {
+        int from = from();
+        int to = to();
+
+        if (from == to)
+            return Optional.empty();
+
+        T result = partition.list.get(from);
+        U key = function.apply(result);
+
+        for (int i = from + 1; i < to; i++) {
+            T t = partition.list.get(i);
+            U u = function.apply(t);
+
+            if (comparator.compare(key, u) > 0) {
+                result = t;
+                key = u;
+            }
+        }
+
+        return Optional.of(result);
+    }
+
+    /**
+     * The rows of a buffer, and the prefix sums that its frames share.
+     */
+    private static final class Buffer<T> {
+        final Object[]                values;
+        final Map<Object, PrefixSums> sums = new HashMap<>();
+
+        Buffer(Object[] values) {
+            this.values = values;
+        }
+
+        /**
+         * Prefix sums of a function of the rows of this buffer, which are
+         * computed at least up to a position.
+         */
+        @SuppressWarnings("unchecked")
+        long[] prefixSums(Object key, ToLongFunction<? super T> function, int to) {
+            PrefixSums p = sums.computeIfAbsent(key, k -> new PrefixSums(values.length));
+
+            // Rows are never modified once they're in the buffer, so the sums remain valid
+            for (; p.size < to; p.size++)
+                p.sums[p.size + 1] = p.sums[p.size] + function.applyAsLong((T) values[p.size]);
+
+            return p.sums;
+        }
+    }
+
+    private static final class PrefixSums {
+        final long[] sums;
+        int          size;
+
+        PrefixSums(int length) {
+            this.sums = new long[length + 1];
+        }
+    }
+
+    /**
+     * An append only buffer of rows.
+     */
+    private static final class Rows<T> {
+        Buffer<T> buffer = new Buffer<>(new Object[16]);
+        int       start;
+        int       end;
+
+        // The row numbers of buffer[start], and of the next row that is read
+        long     first;
+        long     read;
+
+        void add(T value) {
+            Object[] values = buffer.values;
+
+            if (end == values.length) {
+                int size = end - start;
+                Object[] b = new Object[size * 2 > values.length ? values.length * 2 : values.length];
+
+                // Previous frames may still view the current buffer, which mustn't be modified
+                System.arraycopy(values, start, b, 0, size);
+                buffer = new Buffer<>(b);
+                start = 0;
+                end = size;
+                values = b;
+            }
+
+            values[end++] = value;
+            read++;
+        }
+
+        /**
+         * Evict all rows before a row number.
+         */
+        void evict(long row) {
+            while (start < end && first < row) {
+                start++;
+                first++;
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        List<T> list() {
+            return (List<T>) Arrays.asList(buffer.values).subList(start, end);
+        }
+    }
+}
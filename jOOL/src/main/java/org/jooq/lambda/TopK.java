@@ -0,0 +1,193 @@
+/**
+ * Copyright (c), Data Geekery GmbH, contact@datageekery.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jooq.lambda;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.Collector;
+import java.util.stream.StreamSupport;
+
+/**
+ * A bounded heap that keeps the <code>k</code> lowest elements of a stream
+ * in <code>O(n log k)</code> time and <code>O(k)</code> memory.
+ * <p>
+ * Elements are ranked by a comparator, and then by their position in the
+ * stream, such that the result is the same as that of a stable sort followed
+ * by a limit.
+ *
+ * @author Lukas Eder
+ */
+final class TopK<T> {
+
+    /**
+     * The maximum size of the heap arrays, as in {@link ArrayList}.
+     */
+    private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+
+    private final Comparator<? super T> comparator;
+    private final long                  k;
+
+    // A max heap of the kept elements, and their positions in the stream
+    private Object[]                    values;
+    private long[]                      positions;
+    private int                         size;
+    private long                        count;
+
+    TopK(long k, Comparator<? super T> comparator) {
+        int capacity = (int) Math.min(k, 16);
+
+        this.comparator = comparator;
+        this.k = k;
+        this.values = new Object[capacity];
+        this.positions = new long[capacity];
+    }
+
+    /**
+     * Get a {@link Collector} that keeps the <code>k</code> lowest elements,
+     * in ascending order.
+     */
+    static <T> Collector<T, ?, List<T>> collector(long k, Comparator<? super T> comparator) {
+        if (k < 0)
+            throw new IllegalArgumentException("K must be >= 0");
+
+        return Collector.of(
+            () -> new TopK<T>(k, comparator),
+            TopK::add,
+            TopK::merge,
+            TopK::toList
+        );
+    }
+
+    /**
+     * Keep the <code>k</code> lowest elements of a stream, in ascending order.
+     * <p>
+     * The stream is consumed, possibly in parallel, only when the resulting
+     * stream is consumed.
+     */
+    static <T> Seq<T> bottomK(Seq<? extends T> seq, long k, Comparator<? super T> comparator) {
+        Collector<T, ?, List<T>> collector = collector(k, comparator);
+
+        return Seq.<T>seq(StreamSupport.stream(
+            () -> seq.collect(collector).spliterator(),
+            Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED,
+            false
+        )).onClose(seq::close);
+    }
+
+    void add(T value) {
+        offer(value, count++);
+    }
+
+    TopK<T> merge(TopK<T> other) {
+        for (int i = 0; i < other.size; i++)
+            offer(other.value(i), count + other.positions[i]);
+
+        count += other.count;
+        return this;
+    }
+
+    /**
+     * Sort the heap in place, and return its elements in ascending order.
+     */
+    List<T> toList() {
+        for (int end = size - 1; end > 0; end--) {
+            swap(0, end);
+            siftDown(0, end);
+        }
+
+        List<T> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++)
+            result.add(value(i));
+
+        return result;
+    }
+
+    private void offer(T value, long position) {
+        if (size < k) {
+            if (size == values.length) {
+                int capacity = (int) Math.min(Math.min(k, MAX_CAPACITY), size * 2L);
+                values = Arrays.copyOf(values, capacity);
+                positions = Arrays.copyOf(positions, capacity);
+            }
+
+            values[size] = value;
+            positions[size] = position;
+            siftUp(size++);
+        }
+
+        // Ties are broken by position, as merged elements may precede kept ones
+        else if (k > 0 && compare(value, position, 0) < 0) {
+            values[0] = value;
+            positions[0] = position;
+            siftDown(0, size);
+        }
+    }
+
+    private void siftUp(int i) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+
+            if (compare(i, parent) <= 0)
+                return;
+
+            swap(i, parent);
+            i = parent;
+        }
+    }
+
+    private void siftDown(int i, int end) {
+        for (;;) {
+            int child = 2 * i + 1;
+
+            if (child >= end)
+                return;
+            if (child + 1 < end && compare(child + 1, child) > 0)
+                child++;
+            if (compare(i, child) >= 0)
+                return;
+
+            swap(i, child);
+            i = child;
+        }
+    }
+
+    private int compare(int i, int j) {
+        return compare(value(i), positions[i], j);
+    }
+
+    private int compare(T value, long position, int j) {
+        int result = comparator.compare(value, value(j));
+        return result != 0 ? result : Long.compare(position, positions[j]);
+    }
+
+    private void swap(int i, int j) {
+        Object value = values[i];
+        values[i] = values[j];
+        values[j] = value;
+
+        long position = positions[i];
+        positions[i] = positions[j];
+        positions[j] = position;
+    }
+
+    @SuppressWarnings("unchecked")
+    private T value(int i) {
+        return (T) values[i];
+    }
+}
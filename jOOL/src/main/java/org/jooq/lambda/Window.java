@@ -18,6 +18,7 @@ package org.jooq.lambda;
 import java.util.Comparator;
 import java.util.Optional;
 import java.util.function.Function;
+import java.util.function.ToLongFunction;
 
 /**
  * A window containing the data for its partition, to perform calculations upon.
@@ -49,6 +50,10 @@ import java.util.function.Function;
  * {@link #rank()} / {@link #count()}.</td>
  * </tr>
  * <tr>
+ * <td>{@link #cumeDist()}</td><td>Cumulative distribution of a row: the
+ * number of rows preceding or peer with the row / {@link #count()}.</td>
+ * </tr>
+ * <tr>
  * <td>{@link #ntile(long)}</td><td>Divides the partition in equal buckets and
  * assigns values between <code>0</code> and <code>buckets - 1</code>.</td>
  * </tr>
@@ -87,24 +92,42 @@ import java.util.function.Function;
  * {@link #count()} is the same as calling {@link Seq#count()} on
  * {@link #window()}
  *
+ * <h3>Frames</h3>
+ * The frame of a window is the part of its partition that is aggregated by
+ * aggregate functions, or that is accessed by {@link #firstValue()},
+ * {@link #lastValue()}, or {@link #nthValue(long)}. Its bounds are given by
+ * <code>lower</code> and <code>upper</code>, relative to the current row, and
+ * measured in the {@link WindowSpecification.FrameUnits} of the window
+ * specification:
+ * <ul>
+ * <li>{@link #of(Comparator, long, long)} measures bounds in rows, as SQL's
+ * <code>ROWS</code> frames.</li>
+ * <li>{@link #ofRange(ToLongFunction, long, long)} measures bounds in units
+ * of a numeric order key, as SQL's <code>RANGE</code> frames.</li>
+ * <li>{@link #ofGroups(Comparator, long, long)} measures bounds in peer
+ * groups, as SQL's <code>GROUPS</code> frames.</li>
+ * </ul>
+ * Bounds of <code>Long.MIN_VALUE</code> and <code>Long.MAX_VALUE</code> are
+ * unbounded.
+ *
  * @author Lukas Eder
  */
 public interface Window<T> extends Collectable<T> {
 
     static <T> WindowSpecification<T> of() {
-        return new WindowSpecificationImpl<>(t -> SeqImpl.NULL, null, Long.MIN_VALUE, Long.MAX_VALUE);
+        return new WindowSpecificationImpl<>(SeqImpl.NO_PARTITION, null, Long.MIN_VALUE, Long.MAX_VALUE);
     }
         
     static <T> WindowSpecification<T> of(long lower, long upper) {
-        return new WindowSpecificationImpl<>(t -> SeqImpl.NULL, null, lower, upper);
+        return new WindowSpecificationImpl<>(SeqImpl.NO_PARTITION, null, lower, upper);
     }
 
     static <T> WindowSpecification<T> of(Comparator<? super T> orderBy) {
-        return new WindowSpecificationImpl<>(t -> SeqImpl.NULL, orderBy, Long.MIN_VALUE, 0);
+        return new WindowSpecificationImpl<>(SeqImpl.NO_PARTITION, orderBy, Long.MIN_VALUE, 0);
     }
     
     static <T> WindowSpecification<T> of(Comparator<? super T> orderBy, long lower, long upper) {
-        return new WindowSpecificationImpl<>(t -> SeqImpl.NULL, orderBy, lower, upper);
+        return new WindowSpecificationImpl<>(SeqImpl.NO_PARTITION, orderBy, lower, upper);
     }
     
     static <T, U> WindowSpecification<T> of(Function<? super T, ? extends U> partitionBy) {
@@ -122,6 +145,52 @@ public interface Window<T> extends Collectable<T> {
     static <T, U> WindowSpecification<T> of(Function<? super T, ? extends U> partitionBy, Comparator<? super T> orderBy, long lower, long upper) {
         return new WindowSpecificationImpl<>(partitionBy, orderBy, lower, upper);
     }
+
+    /**
+     * A window ordered by a numeric key, whose frame contains the rows whose
+     * key lies between the current row's key plus <code>lower</code>, and the
+     * current row's key plus <code>upper</code>.
+     * <p>
+     * <code><pre>
+     * // (1, 1, 3, 3)
+     * Seq.of(1, 6, 3, 3).window(Window.ofRange(i -> i, -2, 0)).map(t -> t.v1.count())
+     * </pre></code>
+     */
+    static <T> WindowSpecification<T> ofRange(ToLongFunction<? super T> orderBy, long lower, long upper) {
+        return ofRange(SeqImpl.NO_PARTITION, orderBy, lower, upper);
+    }
+
+    /**
+     * A partitioned window ordered by a numeric key, whose frame contains the
+     * rows whose key lies between the current row's key plus
+     * <code>lower</code>, and the current row's key plus <code>upper</code>.
+     */
+    static <T, U> WindowSpecification<T> ofRange(Function<? super T, ? extends U> partitionBy, ToLongFunction<? super T> orderBy, long lower, long upper) {
+        return new WindowSpecificationImpl<>(partitionBy, Comparator.comparingLong(orderBy), lower, upper, WindowSpecification.FrameUnits.RANGE, orderBy);
+    }
+
+    /**
+     * An ordered window, whose frame contains the peer groups between
+     * <code>lower</code> groups before and <code>upper</code> groups after
+     * the current row's peer group.
+     * <p>
+     * <code><pre>
+     * // (1, 3, 3, 3)
+     * Seq.of(1, 6, 3, 3).window(Window.ofGroups(naturalOrder(), -1, 0)).map(t -> t.v1.count())
+     * </pre></code>
+     */
+    static <T> WindowSpecification<T> ofGroups(Comparator<? super T> orderBy, long lower, long upper) {
+        return ofGroups(SeqImpl.NO_PARTITION, orderBy, lower, upper);
+    }
+
+    /**
+     * A partitioned, ordered window, whose frame contains the peer groups
+     * between <code>lower</code> groups before and <code>upper</code> groups
+     * after the current row's peer group.
+     */
+    static <T, U> WindowSpecification<T> ofGroups(Function<? super T, ? extends U> partitionBy, Comparator<? super T> orderBy, long lower, long upper) {
+        return new WindowSpecificationImpl<>(partitionBy, orderBy, lower, upper, WindowSpecification.FrameUnits.GROUPS, null);
+    }
   
     /**
      * The value of the current row in the window.
@@ -173,6 +242,18 @@ public interface Window<T> extends Collectable<T> {
      */
     double percentRank();
     
+    /**
+     * The cumulative distribution of the current row within the partition,
+     * i.e. the relative number of rows that precede the current row or are
+     * its peers.
+     * <p>
+     * <pre><code>
+     * // (0.2, 0.6, 0.6, 0.8, 1.0)
+     * Seq.of(1, 2, 2, 3, 4).window(naturalOrder()).map(w -> w.cumeDist());
+     * </code></pre>
+     */
+    double cumeDist();
+    
     /**
      * The bucket number ("ntile") of the current row within the partition.
      * <p>
@@ -19,9 +19,6 @@ import java.util.Collection;
 import java.util.Collections;
 
 import static java.util.Comparator.naturalOrder;
-import static java.util.Comparator.comparing;
-import static java.util.Collections.binarySearch;
-import static org.jooq.lambda.Seq.seq;
 import static org.jooq.lambda.tuple.Tuple.tuple;
 
 import java.util.Comparator;
@@ -39,36 +36,72 @@ import java.util.function.ToLongFunction;
 import java.util.stream.Collector;
 import java.util.stream.Collectors;
 
-import org.jooq.lambda.tuple.Tuple2;
+import org.jooq.lambda.WindowSpecification.FrameUnits;
 
 /**
  * @author Lukas Eder
  */
 class WindowImpl<T> implements Window<T> {
     
-    final Tuple2<T, Long>       value;
+    final T                     value;
     final int                   index;
     final Partition<T>          partition;
     final Comparator<? super T> order;
     final long                  lower;
     final long                  upper;
+    final FrameUnits            units;
+
+    /**
+     * The frame of {@link FrameUnits#RANGE} and {@link FrameUnits#GROUPS}
+     * windows, as positions <code>frameFrom .. frameTo - 1</code> of the
+     * partition.
+     */
+    final int                   frameFrom;
+    final int                   frameTo;
 
     @SuppressWarnings({ "unchecked" })
     WindowImpl(
-        Tuple2<T, Long> value,
-        Partition<T> partition, 
+        Partition<T> partition,
+        int index,
         WindowSpecification<T> specification
     ) {
-        this.value = value;
+        this.value = partition.list.get(index);
+        this.index = index;
         this.partition = partition;
         this.order = specification.order().orElse((Comparator<? super T>) naturalOrder());
         this.lower = specification.lower();
         this.upper = specification.upper();
-        
-        int i = specification.order().isPresent()
-              ? binarySearch(partition.list, value, comparing((Tuple2<T, Long> t) -> t.v1, specification.order().get()).thenComparing(t -> t.v2))
-              : binarySearch(partition.list, value, comparing(t -> t.v2));
-        this.index = (i >= 0 ? i : -i - 1);
+        this.units = specification.units();
+
+        int size = partition.list.size();
+        switch (units) {
+            case RANGE: {
+                ToLongFunction<? super T> key = specification.orderKey().orElseThrow(
+                    () -> new IllegalArgumentException("RANGE frames require an order key"));
+                long[] keys = partition.keys(key);
+
+                // The partition is sorted by its keys, so the frame bounds can be found by binary search
+                this.frameFrom = lower == Long.MIN_VALUE ? 0 : search(keys, add(keys[index], lower), true);
+                this.frameTo = Math.max(frameFrom, upper == Long.MAX_VALUE ? size : search(keys, add(keys[index], upper), false));
+                break;
+            }
+
+            case GROUPS: {
+                Partition<T>.Ranks ranks = partition.ranks(order);
+                int group = ranks.denseRank[index];
+                int groups = ranks.groups.length - 1;
+
+                this.frameFrom = ranks.groups[offset(group, lower, groups)];
+                this.frameTo = Math.max(frameFrom, ranks.groups[offset(group + 1, upper, groups)]);
+                break;
+            }
+
+            default: {
+                this.frameFrom = -1;
+                this.frameTo = -1;
+                break;
+            }
+        }
     }
 
     // Accessor methods
@@ -76,40 +109,125 @@ class WindowImpl<T> implements Window<T> {
     
     @Override
     public T value() {
-        return value.v1;
+        return value;
     }
     
     @Override
     public Seq<T> window() {
-        return Seq.seq(partition.list.subList(lower(), upper() + 1)).map(t -> t.v1);
+        return Seq.seq(partition.list.subList(from(), to()));
     }
 
     // Utilities
     // -------------------------------------------------------------------------
     
     private int lower() {
+        if (units != FrameUnits.ROWS)
+            return frameFrom;
+
         // TODO: What about under/overflows?
         return lower == Long.MIN_VALUE ? 0 : (int) Math.max(0L, index + lower);
     }
     
     private boolean lowerInPartition() {
+        if (units != FrameUnits.ROWS)
+            return frameFrom < frameTo;
+
         // TODO: What about under/overflows?
         return lower == Long.MIN_VALUE || (index + lower >= 0L && index + lower < partition.list.size());
     }
     
     private int upper() {
+        if (units != FrameUnits.ROWS)
+            return frameTo - 1;
+
         // TODO: What about under/overflows?
         return upper == Long.MAX_VALUE ? partition.list.size() - 1 : (int) Math.min(partition.list.size() - 1, (index + upper));
     }
     
     private boolean upperInPartition() {
+        if (units != FrameUnits.ROWS)
+            return frameFrom < frameTo;
+
         // TODO: What about under/overflows?
         return upper == Long.MAX_VALUE || (index + upper >= 0L && index + upper < partition.list.size());
     }
+
+    /**
+     * The first position whose key is greater than, or if
+     * <code>inclusive</code>, equal to a key.
+     */
+    private static int search(long[] keys, long key, boolean inclusive) {
+        int low = 0;
+        int high = keys.length;
+
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+
+            if (keys[mid] < key || !inclusive && keys[mid] == key)
+                low = mid + 1;
+            else
+                high = mid;
+        }
+
+        return low;
+    }
+
+    /**
+     * Add an offset to a key, saturating at the bounds of <code>long</code>.
+     */
+    private static long add(long key, long offset) {
+        long result = key + offset;
+        return ((key ^ result) & (offset ^ result)) < 0 ? (offset < 0 ? Long.MIN_VALUE : Long.MAX_VALUE) : result;
+    }
+
+    /**
+     * Add an offset to a position, bounded by <code>0 .. size</code>.
+     */
+    private static int offset(int position, long offset, int size) {
+        return (int) Math.max(0L, Math.min(size, position + Math.max(-size, Math.min(size, offset))));
+    }
     
     private boolean completePartition() {
         return count() == partition.list.size();
     }
+
+    int from() {
+        return Math.min(lower(), partition.list.size());
+    }
+
+    int to() {
+        return Math.max(from(), upper() + 1);
+    }
+
+    // Incremental frame aggregation, using structures shared by all rows of the partition
+    // -------------------------------------------------------------------------
+
+    long sum0(Object function, ToLongFunction<? super T> values) {
+        long[] sums = partition.prefixSums(tuple("prefixSums", function), values);
+        return sums[to()] - sums[from()];
+    }
+
+    double sumDouble0(ToDoubleFunction<? super T> function) {
+        return partition.sums(tuple("sums", function), function).sum(from(), to());
+    }
+
+    private double avg0(double sum) {
+        int count = to() - from();
+        return count == 0 ? 0.0 : sum / count;
+    }
+
+    <U> Optional<T> minBy0(Function<? super T, ? extends U> function, Comparator<? super U> comparator) {
+        return extremum(partition.min(tuple("minTree", function, comparator), function, comparator));
+    }
+
+    <U> Optional<T> maxBy0(Function<? super T, ? extends U> function, Comparator<? super U> comparator) {
+        return extremum(partition.min(tuple("maxTree", function, comparator), function, comparator.reversed()));
+    }
+
+    private Optional<T> extremum(SegmentTree tree) {
+        int i = tree.get(from(), to());
+        return i == -1 ? Optional.empty() : Optional.of(partition.list.get(i));
+    }
     
     // Ranking functions
     // -------------------------------------------------------------------------
@@ -121,12 +239,12 @@ class WindowImpl<T> implements Window<T> {
 
     @Override
     public long rank() {
-        return seq(partition.list).map(t -> t.v1).collect(Agg.rank(value.v1, order)).get();
+        return partition.ranks(order).rank[index];
     }
 
     @Override
     public long denseRank() {
-        return seq(partition.list).map(t -> t.v1).collect(Agg.denseRank(value.v1, order)).get();
+        return partition.ranks(order).denseRank[index];
     }
 
     @Override
@@ -134,6 +252,11 @@ class WindowImpl<T> implements Window<T> {
         return ((double) rank()) / ((double) (partition.list.size() - 1));
     }
 
+    @Override
+    public double cumeDist() {
+        return ((double) partition.ranks(order).peersEnd[index]) / ((double) partition.list.size());
+    }
+
     @Override
     public long ntile(long bucket) {
         return (bucket * rowNumber() / partition.list.size());
@@ -161,9 +284,9 @@ class WindowImpl<T> implements Window<T> {
 
     private Optional<T> lead0(long lead) {
         if (lead == 0)
-            return Optional.of(value.v1);
+            return Optional.of(value);
         else if (index + lead >= 0 && index + lead < partition.list.size())
-            return Optional.of(partition.list.get(index + (int) lead).v1);
+            return Optional.of(partition.list.get(index + (int) lead));
         else
             return Optional.empty();
     }
@@ -176,9 +299,9 @@ class WindowImpl<T> implements Window<T> {
     @Override
     public <U> Optional<U> firstValue(Function<? super T, ? extends U> function) {
         return lowerInPartition()
-             ? Optional.of(function.apply(partition.list.get(lower()).v1))
+             ? Optional.of(function.apply(partition.list.get(lower())))
              : upperInPartition()
-             ? Optional.of(function.apply(partition.list.get(0).v1))
+             ? Optional.of(function.apply(partition.list.get(0)))
              : Optional.empty();
     }
 
@@ -190,9 +313,9 @@ class WindowImpl<T> implements Window<T> {
     @Override
     public <U> Optional<U> lastValue(Function<? super T, ? extends U> function) {
         return upperInPartition()
-             ? Optional.of(function.apply(partition.list.get(upper()).v1))
+             ? Optional.of(function.apply(partition.list.get(upper())))
              : lowerInPartition()
-             ? Optional.of(function.apply(partition.list.get(partition.list.size() - 1).v1))
+             ? Optional.of(function.apply(partition.list.get(partition.list.size() - 1)))
              : Optional.empty();
     }
 
@@ -204,7 +327,7 @@ class WindowImpl<T> implements Window<T> {
     @Override
     public <U> Optional<U> nthValue(long n, Function<? super T, ? extends U> function) {
         return lower() + n <= upper()
-             ? Optional.of(function.apply(partition.list.get(lower() + (int) n).v1))
+             ? Optional.of(function.apply(partition.list.get(lower() + (int) n)))
              : Optional.empty();
     }
     
@@ -213,12 +336,12 @@ class WindowImpl<T> implements Window<T> {
     
     @Override
     public long count() {
-        return 1 + upper() - lower();
+        return to() - from();
     }
 
     @Override
     public long count(Predicate<? super T> predicate) {
-        return partition.cacheIf(completePartition(), tuple("count", predicate), () -> window().count(predicate));
+        return partition.cacheIf(completePartition(), tuple("count", predicate), () -> sum0(predicate, t -> predicate.test(t) ? 1L : 0L));
     }
 
     @Override
@@ -253,17 +376,17 @@ class WindowImpl<T> implements Window<T> {
 
     @Override
     public int sumInt(ToIntFunction<? super T> function) {
-        return partition.cacheIf(completePartition(), () -> tuple("sumInt", function), () -> window().sumInt(function));
+        return partition.cacheIf(completePartition(), () -> tuple("sumInt", function), () -> (int) sum0(function, function::applyAsInt));
     }
 
     @Override
     public long sumLong(ToLongFunction<? super T> function) {
-        return partition.cacheIf(completePartition(), () -> tuple("sumLong", function), () -> window().sumLong(function));
+        return partition.cacheIf(completePartition(), () -> tuple("sumLong", function), () -> sum0(function, function));
     }
 
     @Override
     public double sumDouble(ToDoubleFunction<? super T> function) {
-        return partition.cacheIf(completePartition(), () -> tuple("sumDouble", function), () -> window().sumDouble(function));
+        return partition.cacheIf(completePartition(), () -> tuple("sumDouble", function), () -> sumDouble0(function));
     }
 
     @Override
@@ -278,48 +401,48 @@ class WindowImpl<T> implements Window<T> {
 
     @Override
     public double avgInt(ToIntFunction<? super T> function) {
-        return partition.cacheIf(completePartition(), () -> tuple("avgInt", function), () -> window().avgInt(function));
+        return partition.cacheIf(completePartition(), () -> tuple("avgInt", function), () -> avg0(sum0(function, function::applyAsInt)));
     }
 
     @Override
     public double avgLong(ToLongFunction<? super T> function) {
-        return partition.cacheIf(completePartition(), () -> tuple("avgLong", function), () -> window().avgLong(function));
+        return partition.cacheIf(completePartition(), () -> tuple("avgLong", function), () -> avg0(sum0(function, function)));
     }
 
     @Override
     public double avgDouble(ToDoubleFunction<? super T> function) {
-        return partition.cacheIf(completePartition(), () -> tuple("avgDouble", function), () -> window().avgDouble(function));
+        return partition.cacheIf(completePartition(), () -> tuple("avgDouble", function), () -> avg0(sumDouble0(function)));
     }
 
     @Override
     @SuppressWarnings("unchecked")
     public Optional<T> min() {
-        return partition.cacheIf(completePartition(), "min", () -> window().min((Comparator) naturalOrder()));
+        return partition.cacheIf(completePartition(), "min", () -> minBy0(Function.identity(), (Comparator) naturalOrder()));
     }
 
     @Override
     public Optional<T> min(Comparator<? super T> comparator) {
-        return partition.cacheIf(completePartition(), () -> tuple("min", comparator), () -> window().min(comparator));
+        return partition.cacheIf(completePartition(), () -> tuple("min", comparator), () -> minBy0(Function.identity(), comparator));
     }
 
     @Override
     public <U extends Comparable<? super U>> Optional<U> min(Function<? super T, ? extends U> function) {
-        return partition.cacheIf(completePartition(), () -> tuple("min", function), () -> window().min(function));
+        return partition.cacheIf(completePartition(), () -> tuple("min", function), () -> minBy0(function, naturalOrder()).map(function));
     }
 
     @Override
     public <U> Optional<U> min(Function<? super T, ? extends U> function, Comparator<? super U> comparator) {
-        return partition.cacheIf(completePartition(), () -> tuple("min", function, comparator), () -> window().min(function, comparator));
+        return partition.cacheIf(completePartition(), () -> tuple("min", function, comparator), () -> minBy0(function, comparator).map(function));
     }
 
     @Override
     public <U extends Comparable<? super U>> Optional<T> minBy(Function<? super T, ? extends U> function) {
-        return partition.cacheIf(completePartition(), () -> tuple("minBy", function), () -> window().minBy(function));
+        return partition.cacheIf(completePartition(), () -> tuple("minBy", function), () -> minBy0(function, naturalOrder()));
     }
 
     @Override
     public <U> Optional<T> minBy(Function<? super T, ? extends U> function, Comparator<? super U> comparator) {
-        return partition.cacheIf(completePartition(), () -> tuple("minBy", function, comparator), () -> window().minBy(function, comparator));
+        return partition.cacheIf(completePartition(), () -> tuple("minBy", function, comparator), () -> minBy0(function, comparator));
     }
 
     @Override
@@ -356,32 +479,32 @@ class WindowImpl<T> implements Window<T> {
     @Override
     @SuppressWarnings("unchecked")
     public Optional<T> max() {
-        return partition.cacheIf(completePartition(), "max", () -> window().max((Comparator) naturalOrder()));
+        return partition.cacheIf(completePartition(), "max", () -> maxBy0(Function.identity(), (Comparator) naturalOrder()));
     }
 
     @Override
     public Optional<T> max(Comparator<? super T> comparator) {
-        return partition.cacheIf(completePartition(), () -> tuple("max", comparator), () -> window().max(comparator));
+        return partition.cacheIf(completePartition(), () -> tuple("max", comparator), () -> maxBy0(Function.identity(), comparator));
     }
 
     @Override
     public <U extends Comparable<? super U>> Optional<U> max(Function<? super T, ? extends U> function) {
-        return partition.cacheIf(completePartition(), () -> tuple("max", function), () -> window().max(function));
+        return partition.cacheIf(completePartition(), () -> tuple("max", function), () -> maxBy0(function, naturalOrder()).map(function));
     }
 
     @Override
     public <U> Optional<U> max(Function<? super T, ? extends U> function, Comparator<? super U> comparator) {
-        return partition.cacheIf(completePartition(), () -> tuple("max", function, comparator), () -> window().max(function, comparator));
+        return partition.cacheIf(completePartition(), () -> tuple("max", function, comparator), () -> maxBy0(function, comparator).map(function));
     }
 
     @Override
     public <U extends Comparable<? super U>> Optional<T> maxBy(Function<? super T, ? extends U> function) {
-        return partition.cacheIf(completePartition(), () -> tuple("maxBy", function), () -> window().maxBy(function));
+        return partition.cacheIf(completePartition(), () -> tuple("maxBy", function), () -> maxBy0(function, naturalOrder()));
     }
 
     @Override
     public <U> Optional<T> maxBy(Function<? super T, ? extends U> function, Comparator<? super U> comparator) {
-        return partition.cacheIf(completePartition(), () -> tuple("maxBy", function, comparator), () -> window().maxBy(function, comparator));
+        return partition.cacheIf(completePartition(), () -> tuple("maxBy", function, comparator), () -> maxBy0(function, comparator));
     }
 
     @Override
@@ -18,6 +18,7 @@ package org.jooq.lambda;
 import java.util.Comparator;
 import java.util.Optional;
 import java.util.function.Function;
+import java.util.function.ToLongFunction;
 
 /**
  * A specification for a {@link Window}.
@@ -45,4 +46,44 @@ public interface WindowSpecification<T> {
      * The window's upper frame bound.
      */
     long upper();
+
+    /**
+     * The units of the window's frame bounds.
+     */
+    default FrameUnits units() {
+        return FrameUnits.ROWS;
+    }
+
+    /**
+     * The numeric key of the window order, by which {@link FrameUnits#RANGE}
+     * frame bounds are measured.
+     */
+    default Optional<ToLongFunction<? super T>> orderKey() {
+        return Optional.empty();
+    }
+
+    /**
+     * The units of a window's frame bounds.
+     */
+    enum FrameUnits {
+
+        /**
+         * Frame bounds are offsets in rows from the current row.
+         */
+        ROWS,
+
+        /**
+         * Frame bounds are offsets from the current row's order key, i.e. the
+         * frame contains all rows whose key lies between the current row's
+         * key plus <code>lower</code>, and the current row's key plus
+         * <code>upper</code>.
+         */
+        RANGE,
+
+        /**
+         * Frame bounds are offsets in peer groups from the current row's peer
+         * group, where peers are rows that are equal by the window order.
+         */
+        GROUPS
+    }
 }
@@ -18,6 +18,7 @@ package org.jooq.lambda;
 import java.util.Comparator;
 import java.util.Optional;
 import java.util.function.Function;
+import java.util.function.ToLongFunction;
 
 /**
  * @author Lukas Eder
@@ -28,12 +29,27 @@ class WindowSpecificationImpl<T> implements WindowSpecification<T> {
     private final Comparator<? super T> order;
     private final long lower;
     private final long upper;
+    private final FrameUnits units;
+    private final ToLongFunction<? super T> orderKey;
 
     WindowSpecificationImpl(Function<? super T, ?> partition, Comparator<? super T> order, long lower, long upper) {
+        this(partition, order, lower, upper, FrameUnits.ROWS, null);
+    }
+
+    WindowSpecificationImpl(
+        Function<? super T, ?> partition,
+        Comparator<? super T> order,
+        long lower,
+        long upper,
+        FrameUnits units,
+        ToLongFunction<? super T> orderKey
+    ) {
         this.partition = partition;
         this.order = order;
         this.lower = lower;
         this.upper = upper;
+        this.units = units;
+        this.orderKey = orderKey;
     }
     
     @Override
@@ -55,4 +71,14 @@ class WindowSpecificationImpl<T> implements WindowSpecification<T> {
     public long upper() {
         return upper;
     }
+
+    @Override
+    public FrameUnits units() {
+        return units;
+    }
+
+    @Override
+    public Optional<ToLongFunction<? super T>> orderKey() {
+        return Optional.ofNullable(orderKey);
+    }
 }
@@ -15,10 +15,18 @@
  */
 package org.jooq.lambda;
 
+import static java.util.Arrays.asList;
 import static org.jooq.lambda.Agg.allMatch;
 import static org.jooq.lambda.Agg.anyMatch;
+import static org.jooq.lambda.Agg.approxMedian;
+import static org.jooq.lambda.Agg.approxPercentile;
+import static org.jooq.lambda.Agg.approxCountDistinct;
+import static org.jooq.lambda.Agg.approxCountDistinctBy;
+import static org.jooq.lambda.Agg.bottomK;
+import static org.jooq.lambda.Agg.bottomKBy;
 import static org.jooq.lambda.Agg.denseRank;
 import static org.jooq.lambda.Agg.denseRankBy;
+import static org.jooq.lambda.Agg.hyperLogLog;
 import static org.jooq.lambda.Agg.max;
 import static org.jooq.lambda.Agg.maxBy;
 import static org.jooq.lambda.Agg.median;
@@ -28,16 +36,26 @@ import static org.jooq.lambda.Agg.noneMatch;
 import static org.jooq.lambda.Agg.percentRank;
 import static org.jooq.lambda.Agg.percentile;
 import static org.jooq.lambda.Agg.percentileBy;
+import static org.jooq.lambda.Agg.percentiles;
+import static org.jooq.lambda.Agg.percentilesBy;
 import static org.jooq.lambda.Agg.rank;
 import static org.jooq.lambda.Agg.rankBy;
+import static org.jooq.lambda.Agg.tDigest;
+import static org.jooq.lambda.Agg.topK;
+import static org.jooq.lambda.Agg.topKBy;
 import static org.jooq.lambda.tuple.Tuple.tuple;
 import static org.junit.Assert.assertEquals;
 
+import java.util.Comparator;
+import java.util.List;
 import java.util.Optional;
+import java.util.Random;
+import java.util.UUID;
 import java.util.stream.Collector;
 import java.util.stream.Stream;
 
 import org.jooq.lambda.tuple.Tuple;
+import org.jooq.lambda.tuple.Tuple2;
 import org.jooq.lambda.tuple.Tuple9;
 import org.junit.Test;
 
@@ -46,6 +64,101 @@ import org.junit.Test;
  */
 public class CollectorTests {
 
+    @Test
+    public void testTopK() {
+        assertEquals(asList(), Stream.<Integer> of().collect(topK(2)).toList());
+        assertEquals(asList(4, 3), Stream.of(1, 4, 2, 3).collect(topK(2)).toList());
+        assertEquals(asList(1, 2), Stream.of(1, 4, 2, 3).collect(bottomK(2)).toList());
+        assertEquals(asList(1, 2), Stream.of(1, 4, 2, 3).collect(topK(2, Comparator.reverseOrder())).toList());
+        assertEquals(asList(4, 3), Stream.of(1, 4, 2, 3).collect(bottomK(2, Comparator.reverseOrder())).toList());
+        assertEquals(asList("ccc", "bb"), Stream.of("a", "bb", "ccc", "dd").collect(topKBy(2, String::length)).toList());
+        assertEquals(asList("a", "bb"), Stream.of("a", "bb", "ccc", "dd").collect(bottomKBy(2, String::length)).toList());
+        assertEquals(asList("a", "bb"), Stream.of("a", "bb", "ccc", "dd").collect(topKBy(2, String::length, Comparator.reverseOrder())).toList());
+
+        // Parallel accumulators are merged in encounter order
+        List<Integer> list = Seq.range(0, 10000).map(i -> i % 100).toList();
+        assertEquals(Seq.range(0, 100).map(i -> 100L * i).toList(), Seq.seq(list).zipWithIndex().toList().parallelStream()
+            .collect(bottomKBy(100, t -> t.v1)).map(t -> t.v2).toList());
+        assertEquals(Seq.range(0, 10).map(i -> 100L * i + 99).toList(), Seq.seq(list).zipWithIndex().toList().parallelStream()
+            .collect(topKBy(10, t -> t.v1)).map(t -> t.v2).toList());
+
+        // Ties across combined accumulators are broken by encounter order
+        List<Tuple2<Integer, String>> left = asList(tuple(0, "x"));
+        List<Tuple2<Integer, String>> right = asList(tuple(5, "first"), tuple(5, "second"));
+        assertEquals(asList(tuple(0, "x"), tuple(5, "first")), combine(bottomKBy(2, t -> t.v1), left, right).toList());
+        assertEquals(asList(tuple(0, "x"), tuple(5, "first")), combine(bottomKBy(2, t -> t.v1 / 10), left, right).toList());
+        assertEquals(asList(tuple(5, "first"), tuple(5, "second")), combine(bottomKBy(2, t -> t.v1 / 10), right, left).toList());
+        assertEquals(asList(tuple(5, "first"), tuple(5, "second")), combine(topKBy(2, t -> t.v1), left, right).toList());
+        assertEquals(asList(tuple(5, "first")), combine(topKBy(1, t -> t.v1), right, right).toList());
+    }
+
+    /**
+     * Collect two lists in separate accumulators, and combine them.
+     */
+    private static <T, A, R> R combine(Collector<T, A, R> collector, List<T> left, List<T> right) {
+        A a1 = collector.supplier().get();
+        A a2 = collector.supplier().get();
+        left.forEach(t -> collector.accumulator().accept(a1, t));
+        right.forEach(t -> collector.accumulator().accept(a2, t));
+        return collector.finisher().apply(collector.combiner().apply(a1, a2));
+    }
+
+    @Test
+    public void testApproxCountDistinct() {
+        assertEquals(0L, (long) Stream.of().collect(approxCountDistinct(14)));
+        assertEquals(3L, (long) Stream.of(1, 2, 2, 3, 1).collect(approxCountDistinct(14)));
+        assertEquals(2L, (long) Stream.of("a", "bb", "cc").collect(approxCountDistinctBy(14, String::length)));
+
+        // Strings, byte arrays, doubles and UUIDs are hashed based on their contents, not on their hash codes
+        assertEquals("Aa".hashCode(), "BB".hashCode());
+        assertEquals(2L, (long) Stream.of("Aa", "BB", "Aa").collect(approxCountDistinct(14)));
+        assertEquals(2L, (long) Stream.of(new byte[] { 1, 2 }, new byte[] { 1, 2 }, new byte[] { 2, 1 }).collect(approxCountDistinct(14)));
+        assertEquals(2L, (long) Stream.of(0.5, -0.5, 0.5).collect(approxCountDistinct(14)));
+        assertEquals(2L, (long) Stream.of(new UUID(1L, 2L), new UUID(2L, 1L), new UUID(1L, 2L)).collect(approxCountDistinct(14)));
+
+        // The relative standard error of precision 14 is about 0.81%
+        long estimate = Seq.range(0L, 200000L).map(i -> i % 100000L).toList().parallelStream().collect(approxCountDistinct(14));
+        assertEquals(100000.0, estimate, 3000.0);
+
+        // Sketches of several runs can be merged
+        byte[] run1 = Seq.range(0, 60000).collect(hyperLogLog(12)).toByteArray();
+        byte[] run2 = Seq.range(40000, 100000).collect(hyperLogLog(12)).toByteArray();
+        HyperLogLog merged = HyperLogLog.fromByteArray(run1).merge(HyperLogLog.fromByteArray(run2));
+        assertEquals(Seq.range(0, 100000).collect(hyperLogLog(12)), merged);
+        assertEquals(100000.0, merged.estimate(), 6000.0);
+
+        Utils.assertThrows(IllegalArgumentException.class, () -> Stream.of(1).collect(approxCountDistinct(3)));
+        Utils.assertThrows(IllegalArgumentException.class, () -> Stream.of(1).collect(approxCountDistinct(19)));
+        Utils.assertThrows(IllegalArgumentException.class, () -> new HyperLogLog(12).merge(new HyperLogLog(14)));
+        Utils.assertThrows(IllegalArgumentException.class, () -> HyperLogLog.fromByteArray(new byte[] { 12, 0 }));
+    }
+
+    @Test
+    public void testApproxPercentile() {
+        assertEquals(Optional.empty(), Stream.<Integer> of().collect(approxMedian(100)));
+        assertEquals(Optional.of(1.0), Stream.of(1).collect(approxMedian(100)));
+        assertEquals(Optional.of(2.0), Stream.of(3, 1, 2).collect(approxMedian(100)));
+        assertEquals(Optional.of(2.5), Stream.of(4, 3, 1, 2).collect(approxMedian(100)));
+        assertEquals(Optional.of(1.0), Stream.of(4, 3, 1, 2).collect(approxPercentile(0.0, 100)));
+        assertEquals(Optional.of(4.0), Stream.of(4, 3, 1, 2).collect(approxPercentile(1.0, 100)));
+        assertEquals(Optional.of(2.0), Stream.of("a", "bb", "ccc").collect(approxMedian(100, String::length)));
+
+        // Values are summarised, but tail quantiles remain accurate
+        TDigest digest = Seq.range(0, 1000000).map(i -> (int) (i * 7919L % 1000000)).toList().parallelStream().collect(tDigest(100));
+        assertEquals(1000000L, digest.count());
+        assertEquals(0.0, digest.quantile(0.0), 0.0);
+        assertEquals(500000.0, digest.quantile(0.5), 10000.0);
+        assertEquals(950000.0, digest.quantile(0.95), 5000.0);
+        assertEquals(990000.0, digest.quantile(0.99), 1000.0);
+        assertEquals(999000.0, digest.quantile(0.999), 100.0);
+        assertEquals(999999.0, digest.quantile(1.0), 0.0);
+
+        Utils.assertThrows(IllegalArgumentException.class, () -> Stream.of(1).collect(approxPercentile(-1, 100)));
+        Utils.assertThrows(IllegalArgumentException.class, () -> Stream.of(1).collect(approxPercentile(2, 100)));
+        Utils.assertThrows(IllegalArgumentException.class, () -> Stream.of(1).collect(approxPercentile(0.5, 5)));
+        Utils.assertThrows(IllegalArgumentException.class, () -> Stream.of(Double.NaN).collect(approxMedian(100)));
+    }
+
     @Test
     public void testMedian() {
         assertEquals(Optional.empty(), Stream.<Integer> of().collect(median()));
@@ -308,6 +421,32 @@ public class CollectorTests {
         Utils.assertThrows(IllegalArgumentException.class, () -> Stream.of("a").collect(percentileBy(2, String::length)));
     }
 
+    @Test
+    public void testPercentiles() {
+        assertEquals(Optional.empty(), Stream.<Integer> of().collect(percentiles(0.5, 0.9)));
+        assertEquals(Optional.of(asList()), Stream.of(1).collect(percentiles()));
+        assertEquals(Optional.of(asList(2, 4, 1, 2)), Stream.of(4, 1, 3, 2).collect(percentiles(0.5, 1.0, 0.0, 0.5)));
+        assertEquals(Optional.of(asList(3, 1)), Stream.of(4, 1, 3, 2).collect(percentiles(Comparator.reverseOrder(), 0.5, 1.0)));
+        assertEquals(Optional.of(asList("b", "ccc")), Stream.of("a", "b", "ccc", "dd").collect(percentilesBy(String::length, 0.5, 1.0)));
+        assertEquals(Optional.of(asList(-0.0, Double.NaN)), Stream.of(1.0, Double.NaN, -0.0, 0.0, -2.5).collect(percentiles(0.4, 1.0)));
+
+        // Selection yields the same elements as a stable sort
+        Random random = new Random(0);
+        List<Tuple2<Integer, Integer>> list = Seq.range(0, 10000).map(i -> tuple(random.nextInt(100) - 50, i)).toList();
+        List<Tuple2<Integer, Integer>> sorted = Seq.seq(list).sorted(t -> t.v1).toList();
+        double[] p = { 0.0, 0.01, 0.25, 0.5, 0.5, 0.9, 0.99, 0.999, 1.0 };
+        List<Tuple2<Integer, Integer>> expected = Seq.of(0, 99, 2499, 4999, 4999, 8999, 9899, 9989, 9999).map(sorted::get).toList();
+
+        assertEquals(Optional.of(expected), list.stream().collect(percentilesBy(t -> t.v1, p)));
+        assertEquals(Optional.of(expected), list.parallelStream().collect(percentilesBy(t -> t.v1, p)));
+        assertEquals(Optional.of(expected), list.stream().collect(percentilesBy(t -> (double) t.v1, p)));
+        assertEquals(Optional.of(expected), list.stream().collect(percentilesBy(t -> t.v1, Comparator.<Integer> naturalOrder().thenComparing(i -> 0), p)));
+        assertEquals(Optional.of(expected.get(6)), list.stream().collect(percentileBy(0.99, t -> t.v1)));
+
+        Utils.assertThrows(IllegalArgumentException.class, () -> Stream.of(1).collect(percentiles(0.5, -1)));
+        Utils.assertThrows(IllegalArgumentException.class, () -> Stream.of(1).collect(percentiles(2)));
+    }
+
     @Test
     public void testRank() {
 
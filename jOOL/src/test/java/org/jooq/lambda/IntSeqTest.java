@@ -0,0 +1,179 @@
+/**
+ * Copyright (c), Data Geekery GmbH, contact@datageekery.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jooq.lambda;
+
+import static java.util.Arrays.asList;
+import static org.jooq.lambda.tuple.Tuple.tuple;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+
+/**
+ * @author Lukas Eder
+ */
+public class IntSeqTest {
+
+    @Test
+    public void testSeq() {
+        IntSeq s = IntSeq.of(1, 2, 3);
+        assertTrue(IntSeq.seq(s) == s);
+        assertEquals(asList(1, 2, 3), IntSeq.seq(IntStream.of(1, 2, 3)).toList());
+        assertEquals(asList(), IntSeq.empty().toList());
+        assertEquals(asList(1, 2, 3), IntSeq.range(1, 4).toList());
+        assertEquals(asList(1, 3), IntSeq.rangeClosed(1, 4, 2).toList());
+        assertEquals(asList(1L, 2L, 3L), LongSeq.rangeClosed(1L, 3L).toList());
+        assertEquals("1, 2, 3", IntSeq.of(1, 2, 3).toString());
+        assertEquals("1|2|3", IntSeq.of(1, 2, 3).toString("|"));
+
+        // toString() buffers the stream, which can still be consumed afterwards
+        IntSeq i = IntSeq.of(1, 2, 3);
+        assertEquals("1, 2, 3", i.toString());
+        assertEquals("1, 2, 3", i.toString());
+        assertEquals(6, i.sum());
+
+        LongSeq l = LongSeq.of(1L, 2L);
+        assertEquals("1, 2", l.toString());
+        assertEquals(3L, l.sum());
+
+        DoubleSeq d = DoubleSeq.of(1.0, 2.0);
+        assertEquals("1.0, 2.0", d.toString());
+        assertEquals(3.0, d.sum(), 0.0);
+    }
+
+    @Test
+    public void testSeqInputStreamAndReader() {
+        assertEquals(asList(1, -1, 3), IntSeq.seq(new ByteArrayInputStream(new byte[] { 1, -1, 3 })).toList());
+        assertEquals(asList((int) 'a', (int) 'b'), IntSeq.seq(new StringReader("ab")).toList());
+        assertEquals(20000L, IntSeq.seq(new StringReader(Seq.generate("x").limit(20000).toString())).count());
+    }
+
+    @Test
+    public void testSeqMapToPrimitive() {
+        IntSeq ints = Seq.of("a", "bb", "ccc").mapToInt(String::length);
+        assertEquals(asList(1, 2, 3), ints.toList());
+        assertEquals(asList(0, 1, 3, 6), Seq.of("a", "bb", "ccc").mapToInt(String::length).scanLeft(0, Integer::sum).toList());
+        assertEquals(asList(2L, 4L), Seq.of(1, 2).mapToLong(i -> i * 2L).toList());
+        assertEquals(asList(0.5, 1.0), Seq.of(1, 2).mapToDouble(i -> i / 2.0).toList());
+        assertEquals(asList(1, 1, 2), Seq.of(1, 2).flatMapToInt(i -> IntStream.rangeClosed(1, i)).toList());
+        assertEquals(asList(1L, 2L), IntSeq.of(1, 2).asLongStream().toList());
+        assertEquals(asList("1", "2"), IntSeq.of(1, 2).mapToObj(String::valueOf).toList());
+    }
+
+    @Test
+    public void testScanLeft() {
+        assertEquals(asList(0), IntSeq.empty().scanLeft(0, Integer::sum).toList());
+        assertEquals(asList(0, 1, 3, 6), IntSeq.of(1, 2, 3).scanLeft(0, Integer::sum).toList());
+        assertEquals(asList(1.0, 2.0, 6.0), DoubleSeq.of(2.0, 3.0).scanLeft(1.0, (a, b) -> a * b).toList());
+    }
+
+    @Test
+    public void testLimitAndSkip() {
+        assertEquals(asList(1, 2), IntSeq.of(1, 2, 3, 4, 5).limitWhile(i -> i < 3).toList());
+        assertEquals(asList(1, 2), IntSeq.of(1, 2, 3, 4, 5).limitUntil(i -> i == 3).toList());
+        assertEquals(asList(3, 4, 5), IntSeq.of(1, 2, 3, 4, 5).skipWhile(i -> i < 3).toList());
+        assertEquals(asList(3, 4, 5), IntSeq.of(1, 2, 3, 4, 5).skipUntil(i -> i == 3).toList());
+        assertEquals(asList(), IntSeq.of(1, 2, 3).skipUntil(i -> i == 4).toList());
+    }
+
+    @Test
+    public void testZip() {
+        assertEquals(asList(5, 7, 9), IntSeq.of(1, 2, 3).zip(IntSeq.of(4, 5, 6, 7), Integer::sum).toList());
+        assertEquals(2L, IntSeq.of(1, 2).zip(IntStream.of(4, 5, 6), Integer::sum).spliterator().getExactSizeIfKnown());
+        assertEquals(asList(tuple(7, 0L), tuple(8, 1L)), IntSeq.of(7, 8).zipWithIndex().toList());
+        assertEquals(asList(3, 2, 1), IntSeq.of(1, 2, 3).reverse().toList());
+        assertEquals(asList(1, 2, 3, 4), IntSeq.of(1, 2).concat(IntSeq.of(3, 4)).toList());
+    }
+
+    @Test
+    public void testSliding() {
+        List<int[]> windows = IntSeq.of(1, 2, 3, 4, 5).sliding(3).toList();
+        assertEquals(3, windows.size());
+        assertArrayEquals(new int[] { 1, 2, 3 }, windows.get(0));
+        assertArrayEquals(new int[] { 2, 3, 4 }, windows.get(1));
+        assertArrayEquals(new int[] { 3, 4, 5 }, windows.get(2));
+        assertEquals(0, IntSeq.of(1, 2).sliding(3).count());
+        assertEquals(asList(3L, 5L, 7L), LongSeq.of(1L, 2L, 3L, 4L).sliding(2).map(w -> w[0] + w[1]).toList());
+    }
+
+    @Test
+    public void testGrouped() {
+        Map<Integer, int[]> map = IntSeq.of(1, 2, 3, 4, 5, 6).groupBy(i -> i % 2);
+        assertEquals(asList(1, 0), Seq.seq(map.keySet()).toList());
+        assertArrayEquals(new int[] { 1, 3, 5 }, map.get(1));
+        assertArrayEquals(new int[] { 2, 4, 6 }, map.get(0));
+
+        assertEquals(
+            asList(tuple(1, asList(1, 3, 5)), tuple(0, asList(2, 4, 6))),
+            IntSeq.of(1, 2, 3, 4, 5, 6).grouped(i -> i % 2).map(t -> t.map2(IntSeq::toList)).toList()
+        );
+    }
+
+    @Test
+    public void testAggregates() {
+        assertEquals(OptionalInt.empty(), IntSeq.empty().median());
+        assertEquals(OptionalInt.of(2), IntSeq.of(3, 1, 2).median());
+        assertEquals(OptionalInt.of(2), IntSeq.of(4, 1, 3, 2).median());
+        assertEquals(Seq.of(4, 1, 3, 2).median().get().intValue(), IntSeq.of(4, 1, 3, 2).median().getAsInt());
+        assertEquals(OptionalInt.of(1), IntSeq.of(4, 1, 3, 2).percentile(0.0));
+        assertEquals(OptionalInt.of(4), IntSeq.of(4, 1, 3, 2).percentile(1.0));
+        assertEquals(OptionalLong.of(3L), LongSeq.of(1L, 2L, 3L, 4L, 5L).percentile(0.6));
+        Utils.assertThrows(IllegalArgumentException.class, () -> IntSeq.of(1).percentile(1.5));
+
+        assertEquals(OptionalInt.empty(), IntSeq.empty().mode());
+        assertEquals(OptionalInt.of(3), IntSeq.of(3, 1, 1, 3, 2).mode());
+        assertEquals(OptionalDouble.of(2.0), DoubleSeq.of(1.0, 2.0, 2.0).mode());
+        assertEquals(OptionalLong.of(5L), LongSeq.of(5L, 4L, 4L, 5L).mode());
+        assertEquals(OptionalDouble.of(0.0), DoubleSeq.of(-0.0, 0.0, 0.0).mode());
+
+        // Large inputs with many distinct values, whose most frequent values are encountered last
+        int[] values = IntStream.concat(IntStream.range(0, 100000), IntStream.range(50000, 100000)).toArray();
+        assertEquals(OptionalInt.of(50000), IntSeq.of(values).mode());
+        assertEquals(IntSeq.of(values).boxed().mode().get().intValue(), IntSeq.of(values).mode().getAsInt());
+        assertEquals(OptionalInt.of(99999), IntSeq.seq(IntStream.concat(IntStream.range(0, 100000), IntStream.of(99999))).mode());
+
+        assertEquals(0L, IntSeq.empty().countDistinct());
+        assertEquals(3L, IntSeq.of(3, 1, 1, 3, 2).countDistinct());
+        assertEquals(2L, DoubleSeq.of(0.0, -0.0, 0.0).countDistinct());
+    }
+
+    @Test
+    public void testParallel() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+
+        try {
+            assertTrue(IntSeq.range(0, 10000).parallel(pool).isParallel());
+            assertTrue(IntSeq.range(0, 10000).parallel(pool).map(i -> i * 2).isParallel());
+            assertEquals(IntStream.range(0, 10000).sum() * 2, IntSeq.range(0, 10000).parallel(pool).map(i -> i * 2).sum());
+            assertTrue(!IntSeq.of(1, 2).isParallel());
+            assertTrue(!IntSeq.of(1, 2).parallel().isParallel());
+        }
+        finally {
+            pool.shutdown();
+        }
+    }
+}